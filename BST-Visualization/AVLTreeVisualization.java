@@ -1,95 +1,63 @@
 // AVL Tree Visualization - Self-balancing Binary Search Tree
-// Features: Automatic balancing, rotation animations, balance factor display
+// Features: Primitive IntAVL model with insert/delete/search, balance factor badges,
+// custom-painted TreeCanvas view with pan and zoom, bulk loading
 
-import java.awt.BasicStroke;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Cursor;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Font;
-import java.awt.Graphics;
-import java.awt.Graphics2D;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.HierarchyEvent;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
 import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
 import javax.swing.JButton;
+import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JTextField;
-import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
 
 public class AVLTreeVisualization extends JFrame implements ActionListener, KeyListener {
-    private AVLNode root;
-    private JPanel topPanel, treePanel, infoPanel;
+    // Tree model (primitive keys, no Swing state).
+    private final IntAVL tree = new IntAVL();
+
+    private JPanel topPanel, infoPanel;
+    private TreeCanvas treePanel;
+    // Nodes touched by the last insert or delete, handed to the canvas for re-layout
+    private int[] dirtyNodes = new int[64];
     private JPanel topLeftPanel, topRightPanel;
-    private JButton btnAdd, btnDelete, btnSearch, btnClear, btnHelp, btnBack;
+    private JButton btnAdd, btnDelete, btnSearch, btnClear, btnBulk, btnHelp, btnBack;
     private JTextField tf;
     private JLabel labelHeight, ansHeight, labelNodes, ansNodes;
     private JLabel ansInorder, ansPreorder, ansPostorder;
-    private int X = 350, Y = 80;
-    private Graphics2D g2;
 
-    // AVL Node class with balance factor
-    private static class AVLNode {
-        static int TEXT_WIDTH = 50;
-        static int TEXT_HEIGHT = 50;
-        
-        JLabel data;
-        AVLNode left, right;
-        int height;
-        int balanceFactor;
-        Points p;
-        JLabel balanceLabel;
-
-        AVLNode(int value) {
-            data = new JLabel(String.valueOf(value), SwingConstants.CENTER);
-            data.setFont(new Font("Arial", Font.BOLD, 14));
-            data.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createLineBorder(Color.BLACK, 2),
-                BorderFactory.createEmptyBorder(3, 3, 3, 3)
-            ));
-            data.setOpaque(true);
-            data.setBackground(new Color(135, 206, 250)); // Light sky blue
-            data.setForeground(Color.BLACK);
-            
-            // Balance factor label
-            balanceLabel = new JLabel("0", SwingConstants.CENTER);
-            balanceLabel.setFont(new Font("Arial", Font.BOLD, 10));
-            balanceLabel.setForeground(Color.RED);
-            
-            height = 1;
-            balanceFactor = 0;
-            p = null;
-        }
-        
-        void updateBalanceFactorColor() {
-            if (balanceFactor < -1 || balanceFactor > 1) {
-                data.setBackground(new Color(255, 182, 193)); // Light pink for unbalanced
-                balanceLabel.setForeground(Color.RED);
-            } else {
-                data.setBackground(new Color(135, 206, 250)); // Light sky blue for balanced
-                balanceLabel.setForeground(Color.BLUE);
-            }
-            balanceLabel.setText(String.valueOf(balanceFactor));
-        }
-    }
+    // Traversal text is rebuilt only when the info panel is on screen.
+    private static final int TRAVERSAL_LIMIT = 25;
+    private final TraversalFormatter traversals = new TraversalFormatter(TRAVERSAL_LIMIT);
+    private boolean traversalsDirty;
 
-    private static class Points {
-        int x1, y1, x2, y2;
-        Points(int x1, int y1, int x2, int y2) {
-            this.x1 = x1; this.y1 = y1; this.x2 = x2; this.y2 = y2;
-        }
-    }
+    // Display state per node id (search highlighting), kept outside the model.
+    private byte[] nodeState = new byte[16];
+    private static final byte STATE_NORMAL = 0;
+    private static final byte STATE_PATH = 1;
+    private static final byte STATE_FOUND = 2;
+
+    private static final Color NODE_COLOR = new Color(135, 206, 250); // Light sky blue
+    private static final Color PATH_COLOR = new Color(255, 255, 140); // Light yellow
+    private static final Color FOUND_COLOR = new Color(255, 99, 99); // Light red
 
     public AVLTreeVisualization() {
         initialize();
@@ -122,8 +90,17 @@ public class AVLTreeVisualization extends JFrame implements ActionListener, KeyL
         topRightPanel.setBackground(new Color(230, 240, 250));
         topPanel.add(topRightPanel, BorderLayout.EAST);
 
-        treePanel = new JPanel(null);
+        treePanel = new TreeCanvas(new TreeCanvas.Source() {
+            public int root() { return tree.root(); }
+            public int left(int node) { return tree.left(node); }
+            public int right(int node) { return tree.right(node); }
+            public int capacity() { return tree.capacity(); }
+            public String label(int node) { return String.valueOf(tree.key(node)); }
+            public Color fill(int node) { return colorOf(node); }
+            public String badge(int node) { return String.valueOf(tree.balance(node)); }
+        });
         treePanel.setBackground(new Color(248, 248, 255));
+        treePanel.setAnimated(true);
 
         infoPanel = new JPanel();
         infoPanel.setLayout(new BoxLayout(infoPanel, BoxLayout.Y_AXIS));
@@ -134,6 +111,12 @@ public class AVLTreeVisualization extends JFrame implements ActionListener, KeyL
         add(topPanel, BorderLayout.NORTH);
         add(treePanel, BorderLayout.CENTER);
         add(infoPanel, BorderLayout.SOUTH);
+
+        infoPanel.addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && infoPanel.isShowing()) {
+                refreshTraversals();
+            }
+        });
     }
 
     private void setupControls() {
@@ -170,6 +153,7 @@ public class AVLTreeVisualization extends JFrame implements ActionListener, KeyL
         btnDelete = createStyledButton("Delete", new Color(220, 20, 60));
         btnSearch = createStyledButton("Search", new Color(30, 144, 255));
         btnClear = createStyledButton("Clear", new Color(255, 140, 0));
+        btnBulk = createStyledButton("Bulk", new Color(184, 134, 11));
         btnHelp = createStyledButton("Help", new Color(70, 130, 180));
         btnBack = createStyledButton("← Back", new Color(105, 105, 105));
 
@@ -177,6 +161,7 @@ public class AVLTreeVisualization extends JFrame implements ActionListener, KeyL
         btnDelete.addActionListener(this);
         btnSearch.addActionListener(this);
         btnClear.addActionListener(this);
+        btnBulk.addActionListener(this);
         btnHelp.addActionListener(this);
         btnBack.addActionListener(this);
 
@@ -184,6 +169,7 @@ public class AVLTreeVisualization extends JFrame implements ActionListener, KeyL
         topRightPanel.add(btnDelete);
         topRightPanel.add(btnSearch);
         topRightPanel.add(btnClear);
+        topRightPanel.add(btnBulk);
         topRightPanel.add(btnHelp);
         topRightPanel.add(btnBack);
     }
@@ -241,160 +227,164 @@ public class AVLTreeVisualization extends JFrame implements ActionListener, KeyL
     }
 
     // AVL Tree Operations
-    private int height(AVLNode node) {
-        return node == null ? 0 : node.height;
+    public void add(int value) {
+        if (!tree.insert(value)) {
+            JOptionPane.showMessageDialog(this, value + " is already in the tree.");
+            return;
+        }
+        int rotations = tree.lastRotations();
+        nodesChanged();
+        if (rotations > 0) {
+            JOptionPane.showMessageDialog(this, "Added " + value + " to AVL tree!\nTree rebalanced with "
+                + rotations + (rotations == 1 ? " rotation." : " rotations."));
+        }
     }
 
-    private int getBalance(AVLNode node) {
-        return node == null ? 0 : height(node.left) - height(node.right);
+    public void delete(int value) {
+        if (tree.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "AVL tree is empty.");
+            return;
+        }
+        if (!tree.delete(value)) {
+            JOptionPane.showMessageDialog(this, value + " is not available.");
+            return;
+        }
+        int rotations = tree.lastRotations();
+        nodesChanged();
+        if (rotations > 0) {
+            JOptionPane.showMessageDialog(this, "Deleted " + value + ".\nTree rebalanced with "
+                + rotations + (rotations == 1 ? " rotation." : " rotations."));
+        }
     }
 
-    private AVLNode rightRotate(AVLNode y) {
-        AVLNode x = y.left;
-        AVLNode T2 = x.right;
-
-        x.right = y;
-        y.left = T2;
-
-        y.height = Math.max(height(y.left), height(y.right)) + 1;
-        x.height = Math.max(height(x.left), height(x.right)) + 1;
+    // Highlight the search path, and the node itself when found
+    public void search(int value) {
+        if (tree.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "AVL tree is empty.");
+            return;
+        }
+        Arrays.fill(nodeState, STATE_NORMAL);
+        int found = tree.find(value);
+        int pathLength = tree.pathLength();
+        for (int i = 0; i < pathLength; i++) {
+            setState(tree.pathNode(i), STATE_PATH);
+        }
+        if (found != IntAVL.NIL) {
+            setState(found, STATE_FOUND);
+            treePanel.reveal(found);
+        }
+        treePanel.repaint();
 
-        return x;
+        if (found != IntAVL.NIL) {
+            JOptionPane.showMessageDialog(this, "Found " + value + " in the AVL tree!\nSearch path length: "
+                + pathLength + " nodes");
+        } else {
+            JOptionPane.showMessageDialog(this, value + " not found in the AVL tree.");
+        }
     }
 
-    private AVLNode leftRotate(AVLNode x) {
-        AVLNode y = x.right;
-        AVLNode T2 = y.left;
-
-        y.left = x;
-        x.right = T2;
-
-        x.height = Math.max(height(x.left), height(x.right)) + 1;
-        y.height = Math.max(height(y.left), height(y.right)) + 1;
-
-        return y;
+    // Bulk changes lay out the whole tree again.
+    // Node ids may be recycled, so highlighting is dropped as well.
+    private void treeChanged() {
+        Arrays.fill(nodeState, STATE_NORMAL);
+        treePanel.relayout();
+        updateInfo();
     }
 
-    private AVLNode insert(AVLNode node, int key) {
-        if (node == null)
-            return new AVLNode(key);
-
-        int nodeValue = Integer.parseInt(node.data.getText());
-        if (key < nodeValue)
-            node.left = insert(node.left, key);
-        else if (key > nodeValue)
-            node.right = insert(node.right, key);
-        else
-            return node; // Duplicate keys not allowed
-
-        node.height = 1 + Math.max(height(node.left), height(node.right));
-        int balance = getBalance(node);
-        node.balanceFactor = balance;
-
-        // Left Left Case
-        if (balance > 1 && key < Integer.parseInt(node.left.data.getText()))
-            return rightRotate(node);
-
-        // Right Right Case
-        if (balance < -1 && key > Integer.parseInt(node.right.data.getText()))
-            return leftRotate(node);
-
-        // Left Right Case
-        if (balance > 1 && key > Integer.parseInt(node.left.data.getText())) {
-            node.left = leftRotate(node.left);
-            return rightRotate(node);
+    // A single insert or delete only re-lays out its update path and the nodes its
+    // rotations moved; the canvas animates everything else to its new place.
+    private void nodesChanged() {
+        Arrays.fill(nodeState, STATE_NORMAL);
+        int length = tree.changedLength();
+        if (dirtyNodes.length < length) dirtyNodes = new int[Math.max(length, dirtyNodes.length * 2)];
+        for (int i = 0; i < length; i++) {
+            dirtyNodes[i] = tree.changedNode(i);
         }
-
-        // Right Left Case
-        if (balance < -1 && key < Integer.parseInt(node.right.data.getText())) {
-            node.right = rightRotate(node.right);
-            return leftRotate(node);
-        }
-
-        return node;
+        treePanel.relayoutNodes(dirtyNodes, length);
+        updateInfo();
     }
 
-    public void add(int value) {
-        try {
-            root = insert(root, value);
-            arrangeNodes();
-            updateInfo();
-            JOptionPane.showMessageDialog(this, "Added " + value + " to AVL tree!\nTree automatically balanced.");
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error adding node: " + e.getMessage());
+    private Color colorOf(int node) {
+        if (node >= nodeState.length) return NODE_COLOR;
+        switch (nodeState[node]) {
+            case STATE_PATH: return PATH_COLOR;
+            case STATE_FOUND: return FOUND_COLOR;
+            default: return NODE_COLOR;
         }
     }
 
-    private void arrangeNodes() {
-        treePanel.removeAll();
-        if (root != null) {
-            arrangeNode(root, treePanel.getWidth() / 2, 30, treePanel.getWidth() / 4);
-            updateBalanceFactors(root);
+    private void setState(int node, byte state) {
+        if (node >= nodeState.length) {
+            nodeState = Arrays.copyOf(nodeState, Math.max(node + 1, nodeState.length * 2));
         }
-        treePanel.repaint();
+        nodeState[node] = state;
     }
 
-    private void arrangeNode(AVLNode node, int x, int y, int xOffset) {
-        if (node == null) return;
+    // Replace the tree with a perfectly balanced one; every node then has balance factor -1, 0 or 1
+    public void buildFrom(int[] keys) {
+        tree.buildFrom(keys);
+        treeChanged();
+    }
 
-        node.data.setBounds(x - 25, y, 50, 40);
-        node.balanceLabel.setBounds(x - 10, y - 15, 20, 15);
-        treePanel.add(node.data);
-        treePanel.add(node.balanceLabel);
+    private void bulkLoad() {
+        String[] options = {"Random (15 nodes)", "Random (1,000 nodes)", "Random (100,000 nodes)",
+            "Random (1,000,000 nodes)", "From file..."};
+        String choice = (String) JOptionPane.showInputDialog(this, "Choose keys:", "Bulk Load AVL Tree",
+            JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+        if (choice == null) return;
 
-        if (node.left != null) {
-            arrangeNode(node.left, x - xOffset, y + 80, xOffset / 2);
-            node.p = new Points(x, y + 20, x - xOffset + 25, y + 80);
-        }
-        if (node.right != null) {
-            arrangeNode(node.right, x + xOffset, y + 80, xOffset / 2);
-            // Store right connection point too
+        try {
+            int[] keys;
+            if (choice.equals(options[0])) {
+                keys = IntKeys.randomUnique(15, 100, new Random());
+            } else if (choice.equals(options[1])) {
+                keys = IntKeys.randomUnique(1000, 10000, new Random());
+            } else if (choice.equals(options[2])) {
+                keys = IntKeys.randomUnique(100_000, 1_000_000, new Random());
+            } else if (choice.equals(options[3])) {
+                keys = IntKeys.randomUnique(1_000_000, 10_000_000, new Random());
+            } else {
+                JFileChooser chooser = new JFileChooser();
+                if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+                keys = IntKeys.read(chooser.getSelectedFile().toPath());
+            }
+            long start = System.nanoTime();
+            buildFrom(keys);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            JOptionPane.showMessageDialog(this, "Built balanced AVL tree with " + tree.size() + " nodes in " + millis + " ms.");
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(this, "Could not read file: " + ex.getMessage());
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Invalid key in file: " + ex.getMessage());
         }
     }
 
-    private void updateBalanceFactors(AVLNode node) {
-        if (node == null) return;
-        node.balanceFactor = getBalance(node);
-        node.updateBalanceFactorColor();
-        updateBalanceFactors(node.left);
-        updateBalanceFactors(node.right);
+    private void updateInfo() {
+        ansHeight.setText(String.valueOf(tree.height()));
+        ansNodes.setText(String.valueOf(tree.size()));
+
+        traversalsDirty = true;
+        if (infoPanel.isShowing()) {
+            refreshTraversals();
+        }
     }
 
-    private void updateInfo() {
-        if (root == null) {
+    // Rebuild the traversal labels if the tree changed since they were last shown
+    private void refreshTraversals() {
+        if (!traversalsDirty) return;
+        traversalsDirty = false;
+
+        if (tree.isEmpty()) {
             ansInorder.setText("Tree is empty");
             ansPreorder.setText("Tree is empty");
             ansPostorder.setText("Tree is empty");
-            ansHeight.setText("0");
-            ansNodes.setText("0");
         } else {
-            ansInorder.setText(inorder(root));
-            ansPreorder.setText(preorder(root));
-            ansPostorder.setText(postorder(root));
-            ansHeight.setText(String.valueOf(height(root)));
-            ansNodes.setText(String.valueOf(countNodes(root)));
+            ansInorder.setText(traversals.format(tree, TraversalFormatter.Order.INORDER, tree.size()));
+            ansPreorder.setText(traversals.format(tree, TraversalFormatter.Order.PREORDER, tree.size()));
+            ansPostorder.setText(traversals.format(tree, TraversalFormatter.Order.POSTORDER, tree.size()));
         }
     }
 
-    private String inorder(AVLNode node) {
-        if (node == null) return "";
-        return inorder(node.left) + node.data.getText() + " " + inorder(node.right);
-    }
-
-    private String preorder(AVLNode node) {
-        if (node == null) return "";
-        return node.data.getText() + " " + preorder(node.left) + preorder(node.right);
-    }
-
-    private String postorder(AVLNode node) {
-        if (node == null) return "";
-        return postorder(node.left) + postorder(node.right) + node.data.getText() + " ";
-    }
-
-    private int countNodes(AVLNode node) {
-        return node == null ? 0 : 1 + countNodes(node.left) + countNodes(node.right);
-    }
-
     @Override
     public void actionPerformed(ActionEvent e) {
         if (e.getSource() == btnBack) {
@@ -402,10 +392,11 @@ public class AVLTreeVisualization extends JFrame implements ActionListener, KeyL
             SwingUtilities.invokeLater(DSAVisualizationMain::new);
             return;
         } else if (e.getSource() == btnClear) {
-            root = null;
-            treePanel.removeAll();
-            treePanel.repaint();
-            updateInfo();
+            tree.clear();
+            treeChanged();
+            return;
+        } else if (e.getSource() == btnBulk) {
+            bulkLoad();
             return;
         } else if (e.getSource() == btnHelp) {
             showHelp();
@@ -423,9 +414,9 @@ public class AVLTreeVisualization extends JFrame implements ActionListener, KeyL
             if (e.getSource() == btnAdd) {
                 add(value);
             } else if (e.getSource() == btnDelete) {
-                JOptionPane.showMessageDialog(this, "Delete operation coming soon!");
+                delete(value);
             } else if (e.getSource() == btnSearch) {
-                JOptionPane.showMessageDialog(this, "Search operation coming soon!");
+                search(value);
             }
             tf.setText("");
         } catch (NumberFormatException ex) {
@@ -440,15 +431,17 @@ public class AVLTreeVisualization extends JFrame implements ActionListener, KeyL
             "the two child subtrees of any node differ by at most one.</p>" +
             "<h3>Features:</h3>" +
             "<ul>" +
-            "<li><b>Automatic Balancing:</b> Tree maintains balance after every insertion</li>" +
+            "<li><b>Automatic Balancing:</b> Tree maintains balance after every insertion and deletion</li>" +
             "<li><b>Balance Factor:</b> Red numbers show balance factor (left height - right height)</li>" +
-            "<li><b>Color Coding:</b> Pink nodes indicate temporary imbalance during rotations</li>" +
-            "<li><b>Rotations:</b> Left/Right rotations maintain AVL property</li>" +
+            "<li><b>Rotations:</b> Left/Right rotations maintain AVL property; the count is reported after each change</li>" +
+            "<li><b>Search:</b> The search path is highlighted in yellow, the found node in red</li>" +
+            "<li><b>Bulk:</b> Build a perfectly balanced tree from random keys or a key file in one pass</li>" +
+            "<li><b>Navigation:</b> Drag to pan, mouse wheel to zoom, double-click to fit the tree</li>" +
             "</ul>" +
             "<h3>Balance Factor Rules:</h3>" +
             "<ul>" +
-            "<li>-1, 0, 1: Balanced (blue background)</li>" +
-            "<li>&lt;-1 or &gt;1: Unbalanced (pink background)</li>" +
+            "<li>-1, 0, 1: Balanced</li>" +
+            "<li>&lt;-1 or &gt;1: Unbalanced, fixed right away by rotations</li>" +
             "</ul>" +
             "</body></html>";
         
@@ -467,31 +460,4 @@ public class AVLTreeVisualization extends JFrame implements ActionListener, KeyL
 
     @Override
     public void keyReleased(KeyEvent e) {}
-
-    @Override
-    public void paint(Graphics g) {
-        super.paintComponents(g);
-        drawConnections(g);
-    }
-
-    private void drawConnections(Graphics g) {
-        if (root != null) {
-            g2 = (Graphics2D) g;
-            g2.setStroke(new BasicStroke(2.0f));
-            g2.setColor(Color.BLACK);
-            drawNodeConnections(root);
-        }
-    }
-
-    private void drawNodeConnections(AVLNode node) {
-        if (node == null) return;
-        
-        int offset = topPanel.getHeight();
-        if (node.left != null && node.p != null) {
-            g2.drawLine(node.p.x1, node.p.y1 + offset, node.p.x2, node.p.y2 + offset);
-        }
-        
-        drawNodeConnections(node.left);
-        drawNodeConnections(node.right);
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,115 @@
+// Array Strip - Custom-painted row of array cells with their indices
+// Features: Draws only the cells inside the viewport so arrays of millions of slots stay
+// cheap, drag or mouse wheel to scroll, reveal() to center a cell, per-cell fill colors
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import javax.swing.JPanel;
+
+public class ArrayStrip extends JPanel {
+    // Read-only view of the cells; index is what is printed under a cell
+    public interface Source {
+        int first();
+        int last();
+        String label(int index);
+        Color fill(int index);
+    }
+
+    public static final int CELL_WIDTH = 56;
+    private static final int CELL_HEIGHT = 34;
+    private static final int MARGIN = 10;
+
+    private static final Font CELL_FONT = new Font("Arial", Font.BOLD, 13);
+    private static final Font INDEX_FONT = new Font("Arial", Font.PLAIN, 10);
+
+    private final Source source;
+    // Horizontal scroll in pixels from the first cell
+    private double scroll;
+
+    public ArrayStrip(Source source) {
+        this.source = source;
+        setPreferredSize(new Dimension(0, CELL_HEIGHT + 2 * MARGIN + 14));
+
+        MouseAdapter navigation = new MouseAdapter() {
+            private int lastX;
+
+            @Override
+            public void mousePressed(MouseEvent e) {
+                lastX = e.getX();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                scrollTo(scroll - (e.getX() - lastX));
+                lastX = e.getX();
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                scrollTo(scroll + e.getPreciseWheelRotation() * CELL_WIDTH * 3);
+            }
+        };
+        addMouseListener(navigation);
+        addMouseMotionListener(navigation);
+        addMouseWheelListener(navigation);
+    }
+
+    // Scroll so that the cell sits in the middle of the strip
+    public void reveal(int index) {
+        scrollTo((index - source.first()) * (double) CELL_WIDTH + CELL_WIDTH / 2.0 - getWidth() / 2.0);
+    }
+
+    public void scrollToStart() {
+        scrollTo(0);
+    }
+
+    private void scrollTo(double pixels) {
+        int cells = source.last() - source.first() + 1;
+        double max = Math.max(0, cells * (double) CELL_WIDTH + 2 * MARGIN - getWidth());
+        scroll = Math.max(0, Math.min(max, pixels));
+        repaint();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        int first = source.first(), last = source.last();
+        if (last < first) return;
+
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        // Only the cells that intersect the panel are drawn
+        int from = first + Math.max(0, (int) ((scroll - MARGIN) / CELL_WIDTH));
+        int to = (int) Math.min(last, first + (long) ((scroll + getWidth()) / CELL_WIDTH));
+        FontMetrics cellMetrics = g2.getFontMetrics(CELL_FONT);
+        FontMetrics indexMetrics = g2.getFontMetrics(INDEX_FONT);
+        for (int i = from; i <= to; i++) {
+            int x = (int) Math.round(MARGIN + (i - first) * (double) CELL_WIDTH - scroll);
+            g2.setColor(source.fill(i));
+            g2.fillRect(x, MARGIN, CELL_WIDTH, CELL_HEIGHT);
+            g2.setColor(Color.BLACK);
+            g2.drawRect(x, MARGIN, CELL_WIDTH, CELL_HEIGHT);
+
+            g2.setFont(CELL_FONT);
+            String text = source.label(i);
+            g2.drawString(text, x + (CELL_WIDTH - cellMetrics.stringWidth(text)) / 2,
+                MARGIN + (CELL_HEIGHT + cellMetrics.getAscent() - cellMetrics.getDescent()) / 2);
+
+            g2.setFont(INDEX_FONT);
+            String index = String.valueOf(i);
+            g2.setColor(Color.DARK_GRAY);
+            g2.drawString(index, x + (CELL_WIDTH - indexMetrics.stringWidth(index)) / 2,
+                MARGIN + CELL_HEIGHT + indexMetrics.getAscent() + 2);
+        }
+        g2.dispose();
+    }
+}
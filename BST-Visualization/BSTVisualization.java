@@ -1,165 +1,79 @@
 // Enhanced Binary Search Tree Visualization Tool
 // Features: Search with path highlighting, BST validation, random tree generation,
 // improved UI with modern styling, statistical information, keyboard shortcuts,
-// comprehensive help system, and enhanced error handling
+// comprehensive help system, and enhanced error handling, freezing the keys into an
+// Eytzinger-ordered array for read-mostly lookups
 
-import java.awt.BasicStroke;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Cursor;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Font;
-import java.awt.FontMetrics;
-import java.awt.Graphics;
-import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.HierarchyEvent;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.Stack;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
 import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
 import javax.swing.JButton;
+import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JTextField;
-import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
 
 public class BSTVisualization extends JFrame implements ActionListener, KeyListener {
-	// Tree Root Node.
-	private Node root;
+	// Tree model (primitive keys, no Swing state).
+	private IntBST tree;
+	// Copy of the last update path, handed to the canvas for an incremental relayout
+	private int[] dirtyPath = new int[64];
+	// Frozen copy of the keys that searches run against; dropped by the next mutation
+	private IntEytzinger frozen;
 
 	// private Color color;
-	private JPanel topPanel, treePanel, infoPanel;
+	private JPanel topPanel, infoPanel;
+	private TreeCanvas treePanel;
+	private ArrayStrip arrayStrip;
 	private JPanel topLeftPanel, topRightPanel;
-	private JButton btnAdd, btnDelete, btnSearch, btnClear, btnValidate, btnRandom, btnHelp, btnBack;
+	private JButton btnAdd, btnDelete, btnSearch, btnClear, btnValidate, btnRandom, btnQuery, btnFreeze, btnHelp, btnBack;
 	private JTextField tf;
-	private int X = 300, Y = 75;
-	private Graphics2D g2;
 	private Rectangle size;
 	private JLabel labelInorder, labelPreorder, labelPostorder, labelHeight;
 	private JLabel ansInorder, ansPreorder, ansPostorder, ansHeight;
 	private JLabel labelStats, ansStats;
-	private FontMetrics fontMatrix;
-	private java.util.List<Node> searchPath;
-	private Node foundNode;
-
-	//Node Structure
-	private static class Node {
-		static int TEXT_WIDTH = 40;
-		static int TEXT_HEIGHT = 40;
-
-		JLabel data;
-		Node left;
-		Node right;
-		Points p;
-
-		Node(int info) {
-			data = new JLabel(info + "", SwingConstants.CENTER);
-			data.setFont(new Font("Arial", Font.BOLD, 16));
-			data.setBorder(BorderFactory.createCompoundBorder(
-				BorderFactory.createLineBorder(Color.BLACK, 2),
-				BorderFactory.createEmptyBorder(3, 3, 3, 3)
-			));
-			data.setOpaque(true);
-			data.setBackground(new Color(144, 238, 144)); // Light green
-			data.setForeground(Color.BLACK);
-			p = null;
-		}
-		
-		// Reset node color to default
-		void resetColor() {
-			data.setBackground(new Color(144, 238, 144)); // Light green
-		}
-		
-		// Highlight node as part of search path
-		void highlightAsPath() {
-			data.setBackground(new Color(255, 255, 140)); // Light yellow
-		}
-		
-		// Highlight node as found
-		void highlightAsFound() {
-			data.setBackground(new Color(255, 99, 99)); // Light red
-		}
-	}
-
-	//Points structure
-	private static class Points {
-		int x1 = 0, x2 = 0, y2 = 0, y1 = 0;
-
-		Points(int x1, int y1, int x2, int y2) {
-			this.x1 = x1;
-			this.x2 = x2;
-			this.y2 = y2;
-			this.y1 = y1;
-		}
-
-		public String toString() {
-			return "x1 = " + x1 + ", y1 = " + y1 + ", x2 = " + x2 + ", y2 = " + y2;
-		}
-	}
-
-	// For storing the Height of the root,left and right child height.
-	private static class Height {
-		int root, left, right;
-
-		Height() {
-			this.root = 0;
-			this.left = 0;
-			this.right = 0;
-		}
-
-		Height(int left, int right) {
-			this.left = left;
-			this.right = right;
-		}
-
-		@Override
-		public String toString() {
-			return Integer.toString(this.root);
-		}
-	}
 
-	public void paint(Graphics g) {
-		super.paintComponents(g);
+	// Traversal text is rebuilt only when the info panel is on screen.
+	private static final int TRAVERSAL_LIMIT = 25;
+	private TraversalFormatter traversals;
+	private boolean traversalsDirty;
 
-		g2 = (Graphics2D) g;
-		g2.setStroke(new BasicStroke(3.0f));
+	// Display state per node id (search highlighting), kept outside the model.
+	private byte[] nodeState;
+	private byte[] slotState = new byte[0];
+	private static final byte STATE_NORMAL = 0;
+	private static final byte STATE_PATH = 1;
+	private static final byte STATE_FOUND = 2;
 
-		Stack<Node> s = new Stack<>();
-		Node curr = root;
-		Points pts;
-		int offset = topPanel.getBounds().height;
-		while (!s.isEmpty() || curr != null) {
-			while (curr != null) {
-				s.push(curr);
-				curr = curr.left;
-			}
-			if (!s.isEmpty())
-				curr = s.pop();
-			pts = curr.p;
-			g2.drawLine(pts.x1 + 7, pts.y1 + 30 + offset, pts.x2 + 3, pts.y2 + 10 + offset);
-			curr = curr.right;
-		}
-
-		// x1 = label.getX()+7
-		// y1 = label.getY()+30
-	}
+	private static final Color NODE_COLOR = new Color(144, 238, 144); // Light green
+	private static final Color PATH_COLOR = new Color(255, 255, 140); // Light yellow
+	private static final Color FOUND_COLOR = new Color(255, 99, 99); // Light red
 
 	public BSTVisualization() {
 		// Initialize the frame.
-		searchPath = new ArrayList<>();
-		foundNode = null;
+		tree = new IntBST();
+		traversals = new TraversalFormatter(TRAVERSAL_LIMIT);
+		nodeState = new byte[16];
 		initialize();
 	}
 
@@ -197,7 +111,6 @@ public class BSTVisualization extends JFrame implements ActionListener, KeyListe
 		getContentPane().setBackground(new Color(240, 248, 255)); // Alice blue
 
 		size = getBounds();
-		X = size.width / 2;
 
 		topPanel = new JPanel(new BorderLayout());
 		topPanel.setBackground(new Color(230, 240, 250));
@@ -211,10 +124,28 @@ public class BSTVisualization extends JFrame implements ActionListener, KeyListe
 		topRightPanel.setBackground(new Color(230, 240, 250));
 		topPanel.add(topRightPanel, BorderLayout.EAST);
 
-		treePanel = new JPanel(null);
+		treePanel = new TreeCanvas(new TreeCanvas.Source() {
+			public int root() { return tree.root(); }
+			public int left(int node) { return tree.left(node); }
+			public int right(int node) { return tree.right(node); }
+			public int capacity() { return tree.capacity(); }
+			public String label(int node) { return String.valueOf(tree.key(node)); }
+			public Color fill(int node) { return colorOf(node); }
+		});
 		treePanel.setPreferredSize(new Dimension(size.width, size.height - 300));
 		treePanel.setBackground(new Color(248, 248, 255)); // Ghost white
 
+		// Slots of the frozen array, shown under the tree while it is in use
+		arrayStrip = new ArrayStrip(new ArrayStrip.Source() {
+			public int first() { return 1; }
+			public int last() { return frozen == null ? 0 : frozen.size(); }
+			public String label(int slot) { return String.valueOf(frozen.key(slot)); }
+			public Color fill(int slot) { return slotColorOf(slot); }
+		});
+		arrayStrip.setBackground(new Color(248, 248, 255));
+		arrayStrip.setBorder(BorderFactory.createTitledBorder("Eytzinger array (slot i has children 2i and 2i+1)"));
+		arrayStrip.setVisible(false);
+
 		infoPanel = new JPanel();
 		infoPanel.setLayout(new BoxLayout(infoPanel, BoxLayout.Y_AXIS));
 		infoPanel.setPreferredSize(new Dimension(size.width, 200));
@@ -245,7 +176,7 @@ public class BSTVisualization extends JFrame implements ActionListener, KeyListe
 		// Statistics answer
 		ansStats = new JLabel("0");
 		ansStats.setFont(new Font("Calibri", Font.BOLD, 16));
-		ansStats.setPreferredSize(new Dimension(30, 30));
+		ansStats.setPreferredSize(new Dimension(70, 30));
 		topLeftPanel.add(ansStats);
 
 		//For geting data.
@@ -289,6 +220,16 @@ public class BSTVisualization extends JFrame implements ActionListener, KeyListe
 		btnRandom.addActionListener(this);
 		topRightPanel.add(btnRandom);
 
+		//Query Button
+		btnQuery = createStyledButton("Query", new Color(0, 128, 128));
+		btnQuery.addActionListener(this);
+		topRightPanel.add(btnQuery);
+
+		//Freeze Button
+		btnFreeze = createStyledButton("Freeze", new Color(72, 61, 139));
+		btnFreeze.addActionListener(this);
+		topRightPanel.add(btnFreeze);
+
 		//Help Button
 		btnHelp = createStyledButton("Help", new Color(70, 130, 180));
 		btnHelp.addActionListener(this);
@@ -340,9 +281,18 @@ public class BSTVisualization extends JFrame implements ActionListener, KeyListe
 		tf.requestFocusInWindow();
 
 		add(topPanel, BorderLayout.NORTH);
-		add(treePanel, BorderLayout.CENTER);
+		JPanel centerPanel = new JPanel(new BorderLayout());
+		centerPanel.add(treePanel, BorderLayout.CENTER);
+		centerPanel.add(arrayStrip, BorderLayout.SOUTH);
+		add(centerPanel, BorderLayout.CENTER);
 		add(infoPanel, BorderLayout.SOUTH);
 
+		infoPanel.addHierarchyListener(e -> {
+			if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && infoPanel.isShowing()) {
+				refreshTraversals();
+			}
+		});
+
 		setTitle("Enhanced BST Visualization - Interactive Learning Tool"); //Title Frame
 		setResizable(false);
 		setLocationRelativeTo(null);
@@ -361,6 +311,12 @@ public class BSTVisualization extends JFrame implements ActionListener, KeyListe
 		} else if (evt.getSource() == btnRandom) {
 			generateRandomTree();
 			return;
+		} else if (evt.getSource() == btnQuery) {
+			runQuery();
+			return;
+		} else if (evt.getSource() == btnFreeze) {
+			freezeTree();
+			return;
 		} else if (evt.getSource() == btnHelp) {
 			showHelp();
 			return;
@@ -456,6 +412,21 @@ public class BSTVisualization extends JFrame implements ActionListener, KeyListe
 			validateBST();
 			tf.setText("");
 			tf.requestFocusInWindow();
+		} else if (c == 'q' || c == 'Q') {
+			evt.consume();
+			runQuery();
+			tf.setText("");
+			tf.requestFocusInWindow();
+		} else if (c == 'f' || c == 'F') {
+			evt.consume();
+			freezeTree();
+			tf.setText("");
+			tf.requestFocusInWindow();
+		} else if (c == 't' || c == 'T') {
+			evt.consume();
+			infoPanel.setVisible(!infoPanel.isVisible());
+			revalidate();
+			tf.requestFocusInWindow();
 		} else if (c == 'r' || c == 'R') {
 			evt.consume();
 			generateRandomTree();
@@ -475,157 +446,33 @@ public class BSTVisualization extends JFrame implements ActionListener, KeyListe
 
 	//Add element in BST.
 	public void add(int info) {
-		Node newNode = new Node(info);
-		int width = getWidth(newNode);
-
-		if (root == null) {
-			root = newNode;
-			newNode.data.setBounds(treePanel.getBounds().width / 2, 10, width, 40);
-			newNode.p = new Points(0, 0, 0, 0);
-		} else {
-			Node curr = root, pre = root;
-			int currData;
-			X = treePanel.getBounds().width / 2;
-			while (curr != null) {
-				pre = curr;
-				currData = Integer.parseInt(curr.data.getText());
-				if (info == currData) {
-					JOptionPane.showMessageDialog(null, info + " is already exist.");
-					return;
-				} else if (currData > info) {
-					curr = curr.left;
-				} else {
-					curr = curr.right;
-				}
-				X /= 2;
-			}
-
-			currData = Integer.parseInt(pre.data.getText());
-			int x = pre.data.getX();
-			int y = pre.data.getY();
-			Dimension preDimension = pre.data.getSize();
-			Dimension currDimension = new Dimension(width, Node.TEXT_HEIGHT);
-
-			if (currData > info) {
-				pre.left = newNode;
-				newNode.data.setBounds(x - X, y + Y, width, 40);
-				// x1=x;y1=y+20;x2=x-X+20;y2=y+Y+20;
-				newNode.p = new Points(x, y + preDimension.height / 2, x - X + currDimension.width / 2, y + Y + currDimension.height / 2);
-			} else {
-				pre.right = newNode;
-				newNode.data.setBounds(x + X, y + Y, width, 40);
-				// x1=x+40;y1=y+20;x2=x+X+20;y2=y+Y+20;
-				newNode.p = new Points(x + preDimension.width, y + preDimension.height / 2, x + X + currDimension.width / 2, y + Y + currDimension.height / 2);
-			}
+		if (!tree.insert(info)) {
+			JOptionPane.showMessageDialog(null, info + " is already exist.");
+			return;
 		}
+		thaw();
+		setState(tree.pathNode(tree.pathLength() - 1), STATE_NORMAL);
 
 		// Set all traversal and height of BST
 		setInfo();
 
-		// paint(treePanel.getGraphics());
-		treePanel.add(newNode.data);
-		treePanel.validate();
-		treePanel.repaint();
-
-		validate();
-		repaint();
+		relayoutPath();
 	}
 
 	// Delete Node from BST
 	public void delete(int data) {
-		if (root == null) {
+		if (tree.isEmpty()) {
 			JOptionPane.showMessageDialog(null, "BST is empty.");
 		} else {
-			Node curr = root, pre = root;
-
-			while (curr != null) {
-				int info = Integer.parseInt(curr.data.getText());
-				if (info == data) {
-					break;
-				} else if (info > data) {
-					pre = curr;
-					curr = curr.left;
-				} else {
-					pre = curr;
-					curr = curr.right;
-				}
-			}
-
-			if (curr == null) { // data is not find.
+			if (!tree.delete(data)) { // data is not find.
 				JOptionPane.showMessageDialog(null, data + " is not available.");
 				return;
-			} else if (curr.left == null || curr.right == null) { // data has 0 or 1 child
-
-				treePanel.remove(curr.data);
-				treePanel.validate();
-				treePanel.repaint();
-
-				validate();
-				repaint();
-
-				if (curr != root) {
-					Node address = curr.left != null ? curr.left : curr.right;
-					// curr.data>pre.data
-					int preData = Integer.parseInt(pre.data.getText());
-					int currData = Integer.parseInt(curr.data.getText());
-					if (currData > preData) {
-						pre.right = address;
-					} else {
-						pre.left = address;
-					}
-				} else {
-					if (curr.left != null) {
-						root = curr.left;
-					} else {
-						root = curr.right;
-					}
-				}
-
-			} else { // data has 2 child.
-
-				treePanel.remove(curr.data);
-				treePanel.validate();
-				treePanel.repaint();
-
-				validate();
-				repaint();
-
-				/*
-				 It set another node depending upon the height of left and right sub tree.
-				 */
-				Node nextRoot = null, preRoot = curr;
-				Height height = calculateHeight(curr);
-
-				/* For taking maximum element from the left Side. */
-				if (height.left > height.right) {
-					nextRoot = curr.left;
-					while (nextRoot.right != null) {
-						preRoot = nextRoot;
-						nextRoot = nextRoot.right;
-					}
-
-					if (preRoot != curr) {
-						preRoot.right = nextRoot.left;
-					} else {
-						preRoot.left = nextRoot.left;
-					}
-				} else { /* For taking minimum element from the right Side.*/
-					nextRoot = curr.right;
-					while (nextRoot.left != null) {
-						preRoot = nextRoot;
-						nextRoot = nextRoot.left;
-					}
-
-					if (preRoot != curr) {
-						preRoot.left = nextRoot.right;
-					} else {
-						preRoot.right = nextRoot.right;
-					}
-				}
-
-				curr.data = nextRoot.data;
 			}
-			reArrangeNode(root, root, treePanel.getBounds().width / 2);
+
+			// Node ids may be recycled, so drop any highlighting.
+			thaw();
+			resetAllColors();
+			relayoutPath();
 		}
 
 		// Set all traversal and height of BST
@@ -634,161 +481,269 @@ public class BSTVisualization extends JFrame implements ActionListener, KeyListe
 
 	// Set all traversal and height of BST
 	private void setInfo() {
-		Height height = calculateHeight(root);
-		int nodeCount = countNodes(root);
+		// Height and size are kept on the nodes, so this is O(1)
+		ansHeight.setText(String.valueOf(tree.height()));
+		ansStats.setText(String.valueOf(tree.size()));
 
-		if (height.root == 0) {
+		traversalsDirty = true;
+		if (infoPanel.isShowing()) {
+			refreshTraversals();
+		}
+	}
+
+	// Rebuild the traversal labels if the tree changed since they were last shown
+	private void refreshTraversals() {
+		if (!traversalsDirty) return;
+		traversalsDirty = false;
+
+		if (tree.isEmpty()) {
 			ansInorder.setText("BST is empty.");
 			ansPostorder.setText("BST is empty.");
 			ansPreorder.setText("BST is empty.");
 		} else {
-			ansInorder.setText(inorder(root));
-			ansPostorder.setText(postorder(root));
-			ansPreorder.setText(preorder(root));
+			ansInorder.setText(traversals.format(tree, TraversalFormatter.Order.INORDER, tree.size()));
+			ansPostorder.setText(traversals.format(tree, TraversalFormatter.Order.POSTORDER, tree.size()));
+			ansPreorder.setText(traversals.format(tree, TraversalFormatter.Order.PREORDER, tree.size()));
 		}
-
-		ansHeight.setText(String.valueOf(height.root));
-		ansStats.setText(String.valueOf(nodeCount));
 	}
 
-	private int getWidth(Node node) {
-		fontMatrix = getFontMetrics(node.data.getFont());
-		int width = fontMatrix.stringWidth(node.data.getText());
-		return width < Node.TEXT_WIDTH ? Node.TEXT_WIDTH : (width + 5);
-	}
-
-	//Inorder logic
-	private String inorder(Node root) {
-		if (root == null)
-			return "";
-
-		return inorder(root.left) + root.data.getText() + " " + inorder(root.right);
-	}
-
-	//Preorder logic
-	public String preorder(Node root) {
-		if (root == null)
-			return "";
-
-		return root.data.getText() + " " + preorder(root.left) + preorder(root.right);
-	}
-
-	//Postorder logic
-	public String postorder(Node root) {
-		if (root == null)
-			return "";
-
-		return postorder(root.left) + postorder(root.right) + root.data.getText() + " ";
-	}
-
-	// Calculate Height of BST using recursive method.
-	private Height calculateHeight(Node root) {
-		if (root == null) {
-			return new Height();
+	private Color colorOf(int node) {
+		if (node >= nodeState.length) return NODE_COLOR;
+		switch (nodeState[node]) {
+			case STATE_PATH: return PATH_COLOR;
+			case STATE_FOUND: return FOUND_COLOR;
+			default: return NODE_COLOR;
 		}
-		Height leftChild = calculateHeight(root.left);
-		Height rightChild = calculateHeight(root.right);
-		Height current = new Height(leftChild.root, rightChild.root);
-		current.root = 1 + Math.max(leftChild.root, rightChild.root);
-		return current;
 	}
 
-	// Rearrange nodes
-	private void reArrangeNode(Node node, Node pre, int X) {
-		if (node == null)
-			return;
-
-		int width = getWidth(node);
-
-		if (root == node) {
-			node.data.setBounds(X, 10, width, Node.TEXT_HEIGHT);
-		} else {
-			int x = pre.data.getX();
-			int y = pre.data.getY();
-			Dimension preDimension = pre.data.getSize();
-			Dimension currDimension = new Dimension(width, Node.TEXT_HEIGHT);
-
-			int preData = Integer.parseInt(pre.data.getText());
-			int nodeData = Integer.parseInt(node.data.getText());
-			if (nodeData < preData) {
-				node.data.setBounds(x - X, y + Y, width, Node.TEXT_HEIGHT);
-				node.p = new Points(x, y + preDimension.height / 2, x - X + currDimension.width / 2, y + Y + currDimension.height / 2);
-			} else {
-				node.data.setBounds(x + X, y + Y, width, Node.TEXT_HEIGHT);
-				// node.p = new Points(x + 40, y + 20, x + X + 20, y + Y + 20);
-				node.p = new Points(x + preDimension.width, y + preDimension.height / 2, x + X + currDimension.width / 2, y + Y + currDimension.height / 2);
-			}
+	private void setState(int node, byte state) {
+		if (node >= nodeState.length) {
+			nodeState = Arrays.copyOf(nodeState, Math.max(node + 1, nodeState.length * 2));
 		}
-
-		reArrangeNode(node.left, node, X / 2);
-		reArrangeNode(node.right, node, X / 2);
+		nodeState[node] = state;
 	}
 
 	// Search for a value in BST and highlight the search path
 	public void search(int data) {
-		if (root == null) {
+		if (tree.isEmpty()) {
 			JOptionPane.showMessageDialog(null, "BST is empty.");
 			return;
 		}
 		
 		// Reset all node colors first
-		resetAllColors(root);
-		
-		searchPath = new ArrayList<>();
-		foundNode = null;
-		
-		Node curr = root;
-		boolean found = false;
+		resetAllColors();
+
+		if (frozen != null) {
+			searchFrozen(data);
+			return;
+		}
 		
-		while (curr != null) {
-			searchPath.add(curr);
-			curr.highlightAsPath();
-			
-			int currData = Integer.parseInt(curr.data.getText());
-			if (currData == data) {
-				curr.highlightAsFound();
-				foundNode = curr;
-				found = true;
-				break;
-			} else if (currData > data) {
-				curr = curr.left;
-			} else {
-				curr = curr.right;
-			}
+		int found = tree.find(data);
+		int pathLength = tree.pathLength();
+		for (int i = 0; i < pathLength; i++) {
+			setState(tree.pathNode(i), STATE_PATH);
+		}
+		if (found != IntBST.NIL) {
+			setState(found, STATE_FOUND);
+			treePanel.reveal(found);
 		}
 		
 		treePanel.repaint();
 		
-		if (found) {
+		if (found != IntBST.NIL) {
 			JOptionPane.showMessageDialog(null, 
-				"Found " + data + " in the BST!\nSearch path length: " + searchPath.size() + " nodes");
+				"Found " + data + " in the BST!\nSearch path length: " + pathLength + " nodes");
 		} else {
 			JOptionPane.showMessageDialog(null, data + " not found in the BST.");
 		}
 	}
 	
+	// Search the frozen array; the probed slots are highlighted in the strip
+	// and the key found is marked in the tree as well
+	private void searchFrozen(int data) {
+		Arrays.fill(slotState, STATE_NORMAL);
+		int slot = frozen.find(data);
+		int probes = frozen.pathLength();
+		for (int i = 0; i < probes; i++) {
+			slotState[frozen.pathNode(i)] = STATE_PATH;
+		}
+		if (slot != IntEytzinger.NIL) {
+			slotState[slot] = STATE_FOUND;
+			arrayStrip.reveal(slot);
+			int node = tree.find(data);
+			setState(node, STATE_FOUND);
+			treePanel.reveal(node);
+		}
+		arrayStrip.repaint();
+		treePanel.repaint();
+
+		if (slot != IntEytzinger.NIL) {
+			JOptionPane.showMessageDialog(null,
+				"Found " + data + " in slot " + slot + " of the frozen array!\nProbes: " + probes + " slots");
+		} else {
+			JOptionPane.showMessageDialog(null, data + " not found in the frozen array (" + probes + " probes).");
+		}
+	}
+
+	// Copy the keys into an Eytzinger-ordered array; searches use it until the tree changes
+	public void freezeTree() {
+		if (tree.isEmpty()) {
+			JOptionPane.showMessageDialog(null, "BST is empty.");
+			return;
+		}
+		long start = System.nanoTime();
+		frozen = IntEytzinger.freeze(tree);
+		long millis = (System.nanoTime() - start) / 1_000_000;
+		slotState = new byte[frozen.size() + 1];
+		arrayStrip.setVisible(true);
+		arrayStrip.scrollToStart();
+		revalidate();
+		JOptionPane.showMessageDialog(this,
+			"Froze " + frozen.size() + " keys into an array in " + millis + " ms.\n" +
+			"Searches use the array until the next change to the tree.");
+	}
+
+	// Drop the frozen array after a mutation
+	private void thaw() {
+		if (frozen == null) return;
+		frozen = null;
+		slotState = new byte[0];
+		arrayStrip.setVisible(false);
+		revalidate();
+	}
+
+	private Color slotColorOf(int slot) {
+		switch (slotState[slot]) {
+			case STATE_PATH: return PATH_COLOR;
+			case STATE_FOUND: return FOUND_COLOR;
+			default: return NODE_COLOR;
+		}
+	}
+
+	// Order-statistic and range queries answered from the subtree sizes
+	public void runQuery() {
+		if (tree.isEmpty()) {
+			JOptionPane.showMessageDialog(null, "BST is empty.");
+			return;
+		}
+
+		String[] options = {"Rank of key", "K-th smallest", "Percentile", "Floor", "Ceiling", "Count in range", "Keys in range"};
+		String choice = (String) JOptionPane.showInputDialog(
+			this,
+			"Choose query:",
+			"BST Queries",
+			JOptionPane.QUESTION_MESSAGE,
+			null,
+			options,
+			options[0]
+		);
+		if (choice == null) return; // User cancelled
+
+		try {
+			resetAllColors();
+			String message;
+			int result = IntBST.NIL;
+
+			if (choice.equals(options[0])) { // Rank
+				Integer key = askInt("Key:");
+				if (key == null) return;
+				message = key + " has rank " + tree.rank(key) + " (keys smaller than it).";
+			} else if (choice.equals(options[1])) { // Select
+				Integer k = askInt("k (1 = smallest, " + tree.size() + " = largest):");
+				if (k == null) return;
+				if (k < 1 || k > tree.size()) {
+					JOptionPane.showMessageDialog(null, "k must be between 1 and " + tree.size() + ".");
+					return;
+				}
+				int key = tree.select(k - 1);
+				result = tree.pathNode(tree.pathLength() - 1);
+				message = "The " + k + "-th smallest key is " + key + ".";
+			} else if (choice.equals(options[2])) { // Percentile (nearest rank)
+				String input = JOptionPane.showInputDialog(this, "Percentile (0-100):");
+				if (input == null) return;
+				double p = Double.parseDouble(input.trim());
+				if (p < 0 || p > 100) {
+					JOptionPane.showMessageDialog(null, "Percentile must be between 0 and 100.");
+					return;
+				}
+				int index = Math.max(0, (int) Math.ceil(p / 100.0 * tree.size()) - 1);
+				int key = tree.select(index);
+				result = tree.pathNode(tree.pathLength() - 1);
+				message = "The " + input.trim() + "th percentile key is " + key + ".";
+			} else if (choice.equals(options[3]) || choice.equals(options[4])) { // Floor / Ceiling
+				Integer key = askInt("Key:");
+				if (key == null) return;
+				boolean isFloor = choice.equals(options[3]);
+				result = isFloor ? tree.floor(key) : tree.ceiling(key);
+				message = result == IntBST.NIL
+					? "No key " + (isFloor ? "<= " : ">= ") + key + " in the BST."
+					: (isFloor ? "Floor(" : "Ceiling(") + key + ") = " + tree.key(result);
+			} else { // Count / list keys in [lo, hi]
+				Integer lo = askInt("Lower bound (inclusive):");
+				if (lo == null) return;
+				Integer hi = askInt("Upper bound (inclusive):");
+				if (hi == null) return;
+				int count = tree.countInRange(lo, hi);
+				message = count + " keys in [" + lo + ", " + hi + "]";
+				if (choice.equals(options[6]) && count > 0) {
+					StringBuilder keys = new StringBuilder();
+					IntBST.RangeIterator it = tree.rangeIterator(lo, hi);
+					for (int i = 0; i < TRAVERSAL_LIMIT && it.hasNext(); i++) {
+						int node = it.nextNode();
+						setState(node, STATE_FOUND);
+						keys.append(i == 0 ? "" : " ").append(tree.key(node));
+					}
+					if (count > TRAVERSAL_LIMIT) {
+						keys.append(" …(").append(count - TRAVERSAL_LIMIT).append(" more)");
+					}
+					message += ":\n" + keys;
+				} else {
+					message += ".";
+				}
+			}
+
+			// Highlight the nodes the query visited
+			// Bulk-built trees have ids past nodeState until setState grows it
+			for (int i = 0; i < tree.pathLength(); i++) {
+				int node = tree.pathNode(i);
+				if (node >= nodeState.length || nodeState[node] != STATE_FOUND) {
+					setState(node, STATE_PATH);
+				}
+			}
+			if (result != IntBST.NIL) {
+				setState(result, STATE_FOUND);
+				treePanel.reveal(result);
+			}
+			treePanel.repaint();
+			JOptionPane.showMessageDialog(this, message);
+		} catch (NumberFormatException e) {
+			JOptionPane.showMessageDialog(null, "Invalid input! Please enter a valid number.", "Invalid Number", JOptionPane.ERROR_MESSAGE);
+		}
+	}
+
+	// Ask for an integer, null if the user cancelled
+	private Integer askInt(String prompt) {
+		String input = JOptionPane.showInputDialog(this, prompt);
+		if (input == null) return null;
+		return Integer.parseInt(input.trim());
+	}
+
 	// Reset colors of all nodes
-	private void resetAllColors(Node node) {
-		if (node == null) return;
-		node.resetColor();
-		resetAllColors(node.left);
-		resetAllColors(node.right);
+	private void resetAllColors() {
+		Arrays.fill(nodeState, STATE_NORMAL);
 	}
 	
 	// Clear the entire tree
 	public void clearTree() {
-		if (root == null) {
+		if (tree.isEmpty()) {
 			JOptionPane.showMessageDialog(null, "BST is already empty.");
 			return;
 		}
 		
-		// Remove all components from tree panel
-		clearTreeRecursive(root);
-		root = null;
-		
-		treePanel.removeAll();
-		treePanel.validate();
-		treePanel.repaint();
+		tree.clear();
+		thaw();
+		resetAllColors();
+		treePanel.relayout();
 		
 		// Reset info
 		setInfo();
@@ -796,21 +751,14 @@ public class BSTVisualization extends JFrame implements ActionListener, KeyListe
 		JOptionPane.showMessageDialog(null, "Tree cleared successfully!");
 	}
 	
-	private void clearTreeRecursive(Node node) {
-		if (node == null) return;
-		clearTreeRecursive(node.left);
-		clearTreeRecursive(node.right);
-		treePanel.remove(node.data);
-	}
-	
 	// Validate if current structure is a valid BST
 	public void validateBST() {
-		if (root == null) {
+		if (tree.isEmpty()) {
 			JOptionPane.showMessageDialog(null, "BST is empty - technically valid!");
 			return;
 		}
 		
-		boolean isValid = isBSTValid(root, Integer.MIN_VALUE, Integer.MAX_VALUE);
+		boolean isValid = tree.isValid();
 		
 		if (isValid) {
 			JOptionPane.showMessageDialog(null, 
@@ -820,36 +768,11 @@ public class BSTVisualization extends JFrame implements ActionListener, KeyListe
 				"✗ Invalid BST!\nThe tree violates BST properties.");
 		}
 	}
-	
-	private boolean isBSTValid(Node node, int minVal, int maxVal) {
-		if (node == null) return true;
-		
-		int nodeData = Integer.parseInt(node.data.getText());
-		
-		if (nodeData <= minVal || nodeData >= maxVal) {
-			return false;
-		}
-		
-		return isBSTValid(node.left, minVal, nodeData) && 
-			   isBSTValid(node.right, nodeData, maxVal);
-	}
-
-	// Count total number of nodes
-	private int countNodes(Node node) {
-		if (node == null) return 0;
-		return 1 + countNodes(node.left) + countNodes(node.right);
-	}
 
 	// Generate a random BST for demonstration
 	public void generateRandomTree() {
-		// Clear existing tree first
-		if (root != null) {
-			clearTreeRecursive(root);
-			root = null;
-			treePanel.removeAll();
-		}
-		
-		String[] options = {"Small (5-8 nodes)", "Medium (10-15 nodes)", "Large (20-25 nodes)"};
+		String[] options = {"Small (5-8 nodes)", "Medium (10-15 nodes)", "Large (20-25 nodes)",
+			"Balanced (100,000 nodes)", "Balanced (1,000,000 nodes)", "Balanced from file..."};
 		String choice = (String) JOptionPane.showInputDialog(
 			this,
 			"Choose tree size:",
@@ -871,25 +794,74 @@ public class BSTVisualization extends JFrame implements ActionListener, KeyListe
 		} else if (choice.equals(options[1])) { // Medium
 			nodeCount = 10 + (int)(Math.random() * 6); // 10-15 nodes
 			maxValue = 200;
-		} else { // Large
+		} else if (choice.equals(options[2])) { // Large
 			nodeCount = 20 + (int)(Math.random() * 6); // 20-25 nodes
 			maxValue = 500;
+		} else if (choice.equals(options[3])) { // Balanced 100k
+			nodeCount = 100_000;
+			maxValue = 10_000_000;
+		} else if (choice.equals(options[4])) { // Balanced 1M
+			nodeCount = 1_000_000;
+			maxValue = 100_000_000;
+		} else {
+			loadTreeFromFile();
+			return;
 		}
 		
-		java.util.Set<Integer> usedNumbers = new HashSet<>();
-		
-		for (int i = 0; i < nodeCount; i++) {
-			int randomValue;
-			do {
-				randomValue = 1 + (int)(Math.random() * maxValue);
-			} while (usedNumbers.contains(randomValue));
-			
-			usedNumbers.add(randomValue);
-			add(randomValue);
+		long start = System.nanoTime();
+		int[] keys = IntKeys.randomUnique(nodeCount, maxValue, new Random());
+		if (nodeCount <= 25) {
+			// Small demo trees keep the random shape of one-by-one insertion
+			tree.clear();
+			tree.insertAll(keys);
+		} else {
+			tree.buildFrom(keys);
 		}
+		treeReplaced();
+		long millis = (System.nanoTime() - start) / 1_000_000;
 		
 		JOptionPane.showMessageDialog(this, 
-			"Generated random BST with " + nodeCount + " nodes!");
+			"Generated random BST with " + tree.size() + " nodes in " + millis + " ms!");
+	}
+
+	// Build a balanced BST from the integers in a text file
+	private void loadTreeFromFile() {
+		JFileChooser chooser = new JFileChooser();
+		chooser.setDialogTitle("Load keys (integers separated by spaces, commas or new lines)");
+		if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+		try {
+			long start = System.nanoTime();
+			tree.buildFrom(IntKeys.read(chooser.getSelectedFile().toPath()));
+			treeReplaced();
+			long millis = (System.nanoTime() - start) / 1_000_000;
+			JOptionPane.showMessageDialog(this,
+				"Loaded balanced BST with " + tree.size() + " nodes in " + millis + " ms!");
+		} catch (IOException e) {
+			JOptionPane.showMessageDialog(this, "Could not read file: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+		} catch (NumberFormatException e) {
+			JOptionPane.showMessageDialog(this, "Invalid key in file: " + e.getMessage(), "Invalid Number", JOptionPane.ERROR_MESSAGE);
+		}
+	}
+
+	// Insert and delete only change the subtrees along their path, so only those nodes are laid out again
+	private void relayoutPath() {
+		int length = tree.pathLength();
+		if (dirtyPath.length < length) {
+			dirtyPath = new int[length * 2];
+		}
+		for (int i = 0; i < length; i++) {
+			dirtyPath[i] = tree.pathNode(i);
+		}
+		treePanel.relayout(dirtyPath, length);
+	}
+
+	// One layout and one info refresh after the whole tree was replaced
+	private void treeReplaced() {
+		thaw();
+		resetAllColors();
+		setInfo();
+		treePanel.relayout();
 	}
 
 	// Show help dialog with instructions
@@ -903,7 +875,10 @@ public class BSTVisualization extends JFrame implements ActionListener, KeyListe
 			"<li><b>Search:</b> Find a node and highlight the search path</li>" +
 			"<li><b>Clear:</b> Remove all nodes from the tree</li>" +
 			"<li><b>Validate:</b> Check if the structure is a valid BST</li>" +
-			"<li><b>Random:</b> Generate a random BST for demonstration</li>" +
+			"<li><b>Random:</b> Generate a random BST, bulk-load a balanced one or load keys from a file</li>" +
+			"<li><b>Query:</b> Rank, k-th smallest, percentile, floor, ceiling and range queries</li>" +
+			"<li><b>Freeze:</b> Copy the keys into an Eytzinger-ordered array shown under the tree; " +
+			"searches run against it until the next change</li>" +
 			"</ul>" +
 			"<h3 style='color: #048A81;'>Keyboard Shortcuts:</h3>" +
 			"<ul>" +
@@ -913,6 +888,9 @@ public class BSTVisualization extends JFrame implements ActionListener, KeyListe
 			"<li><b>C:</b> Clear the entire tree</li>" +
 			"<li><b>V:</b> Validate the BST structure</li>" +
 			"<li><b>R:</b> Generate a random tree</li>" +
+			"<li><b>Q:</b> Run an order-statistic or range query</li>" +
+			"<li><b>F:</b> Freeze the keys into the search array</li>" +
+			"<li><b>T:</b> Show or hide the traversal panel</li>" +
 			"</ul>" +
 			"<h3 style='color: #048A81;'>Color Legend:</h3>" +
 			"<ul>" +
@@ -921,8 +899,14 @@ public class BSTVisualization extends JFrame implements ActionListener, KeyListe
 			"<li><span style='background-color: #FF6363; padding: 2px 6px;'>Red</span> - Found/Target node</li>" +
 			"</ul>" +
 			"<h3 style='color: #048A81;'>Information Panel:</h3>" +
-			"<p>The bottom panel shows tree traversals (Inorder, Preorder, Postorder) and " +
+			"<p>The bottom panel shows the first " + TRAVERSAL_LIMIT + " keys of each traversal (Inorder, Preorder, Postorder) and " +
 			"the top panel displays tree height and node count.</p>" +
+			"<h3 style='color: #048A81;'>Navigation:</h3>" +
+			"<ul>" +
+			"<li><b>Drag:</b> Pan the tree view</li>" +
+			"<li><b>Mouse wheel:</b> Zoom in and out</li>" +
+			"<li><b>Double-click:</b> Fit the whole tree in the view</li>" +
+			"</ul>" +
 			"</body></html>";
 		
 		JOptionPane.showMessageDialog(
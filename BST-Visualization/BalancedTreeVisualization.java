@@ -0,0 +1,511 @@
+// Balanced Tree Visualization - Red-Black, Treap, Splay, B-Tree, AVL and BST side by side
+// Features: One IntOrderedSet engine at a time drawn on the shared TreeCanvas, switchable
+// structure (B-Tree order configurable), every insert/delete/search recorded in a key
+// stream that is replayed when the structure changes, per-operation rotation / split /
+// node-touch counters and a replay of the stream against every engine for comparison
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Cursor;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.Font;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.Arrays;
+import java.util.Random;
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JComboBox;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JSpinner;
+import javax.swing.JTextArea;
+import javax.swing.JTextField;
+import javax.swing.SpinnerNumberModel;
+import javax.swing.SwingUtilities;
+
+public class BalancedTreeVisualization extends JFrame implements ActionListener, KeyListener {
+    private static final String[] STRUCTURES = {"Red-Black", "Treap", "Splay", "B-Tree", "AVL", "BST"};
+    private static final int B_TREE = 3;
+    // Pixels per key in a B-Tree page
+    private static final int KEY_WIDTH = 48;
+
+    // Recorded key stream: operation and key per entry
+    private static final byte OP_INSERT = 0;
+    private static final byte OP_DELETE = 1;
+    private static final byte OP_FIND = 2;
+    private byte[] streamOps = new byte[64];
+    private int[] streamKeys = new int[64];
+    private int streamLength;
+
+    // Current engine and its totals over the stream
+    private IntOrderedSet set;
+    private long totalRotations, totalSplits, totalTouches;
+    private int foundNode = IntOrderedSet.NIL;
+    // B-Tree pages in first-child / next-sibling form for the canvas
+    private int[] nextSibling = new int[16];
+
+    private JPanel topPanel, infoPanel, canvasHolder;
+    private JPanel topLeftPanel, topRightPanel;
+    private TreeCanvas treePanel;
+    private JComboBox<String> structureBox;
+    private JSpinner orderSpinner;
+    private JButton btnAdd, btnDelete, btnSearch, btnRandom, btnReplay, btnClear, btnHelp, btnBack;
+    private JTextField tf;
+    private JLabel ansHeight, ansKeys, ansLastOp, ansTotals;
+
+    private static final Color NODE_COLOR = new Color(135, 206, 250); // Light sky blue
+    private static final Color FOUND_COLOR = new Color(255, 215, 0); // Gold
+    private static final Color RED_NODE_COLOR = new Color(255, 110, 110);
+    private static final Color BLACK_NODE_COLOR = new Color(150, 150, 150);
+
+    public BalancedTreeVisualization() {
+        initialize();
+    }
+
+    private void initialize() {
+        setTitle("Balanced Trees - Red-Black, Treap, Splay, B-Tree");
+        setSize(1400, 800);
+        getContentPane().setBackground(new Color(240, 248, 255));
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        setLocationRelativeTo(null);
+
+        setupPanels();
+        setupControls();
+        switchStructure();
+
+        setVisible(true);
+    }
+
+    private void setupPanels() {
+        topPanel = new JPanel(new BorderLayout());
+        topPanel.setBackground(new Color(230, 240, 250));
+        topPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        topLeftPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 10));
+        topLeftPanel.setBackground(new Color(230, 240, 250));
+        topPanel.add(topLeftPanel, BorderLayout.WEST);
+
+        topRightPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        topRightPanel.setBackground(new Color(230, 240, 250));
+        topPanel.add(topRightPanel, BorderLayout.EAST);
+
+        canvasHolder = new JPanel(new BorderLayout());
+
+        infoPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 20, 10));
+        infoPanel.setBackground(new Color(245, 245, 245));
+        infoPanel.setBorder(BorderFactory.createTitledBorder("Operation Cost"));
+
+        add(topPanel, BorderLayout.NORTH);
+        add(canvasHolder, BorderLayout.CENTER);
+        add(infoPanel, BorderLayout.SOUTH);
+    }
+
+    private void setupControls() {
+        // Structure selection
+        structureBox = new JComboBox<>(STRUCTURES);
+        structureBox.setFont(new Font("Arial", Font.BOLD, 14));
+        structureBox.addActionListener(e -> switchStructure());
+        topLeftPanel.add(structureBox);
+
+        JLabel orderLabel = new JLabel("Order:");
+        orderLabel.setFont(new Font("Arial", Font.BOLD, 14));
+        topLeftPanel.add(orderLabel);
+        orderSpinner = new JSpinner(new SpinnerNumberModel(4, IntBTree.MIN_ORDER, 64, 1));
+        orderSpinner.addChangeListener(e -> {
+            if (structureBox.getSelectedIndex() == B_TREE) switchStructure();
+        });
+        topLeftPanel.add(orderSpinner);
+
+        // Statistics
+        topLeftPanel.add(boldLabel("  Height: "));
+        ansHeight = boldLabel("0");
+        topLeftPanel.add(ansHeight);
+        topLeftPanel.add(boldLabel("  |  Keys: "));
+        ansKeys = boldLabel("0");
+        topLeftPanel.add(ansKeys);
+
+        // Input field
+        tf = new JTextField();
+        tf.setFont(new Font("Arial", Font.BOLD, 16));
+        tf.setPreferredSize(new Dimension(120, 35));
+        tf.addKeyListener(this);
+        tf.setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(Color.GRAY, 1),
+            BorderFactory.createEmptyBorder(5, 10, 5, 10)
+        ));
+        topRightPanel.add(tf);
+
+        // Buttons
+        btnAdd = createStyledButton("Add", new Color(60, 179, 113));
+        btnDelete = createStyledButton("Delete", new Color(220, 20, 60));
+        btnSearch = createStyledButton("Search", new Color(30, 144, 255));
+        btnRandom = createStyledButton("Random", new Color(184, 134, 11));
+        btnReplay = createStyledButton("Replay", new Color(138, 43, 226));
+        btnClear = createStyledButton("Clear", new Color(255, 140, 0));
+        btnHelp = createStyledButton("Help", new Color(70, 130, 180));
+        btnBack = createStyledButton("← Back", new Color(105, 105, 105));
+
+        for (JButton button : new JButton[] {btnAdd, btnDelete, btnSearch, btnRandom, btnReplay, btnClear, btnHelp, btnBack}) {
+            button.addActionListener(this);
+            topRightPanel.add(button);
+        }
+
+        ansLastOp = new JLabel("Last operation: -");
+        ansLastOp.setFont(new Font("Arial", Font.PLAIN, 14));
+        infoPanel.add(ansLastOp);
+        ansTotals = new JLabel("Stream: 0 operations");
+        ansTotals.setFont(new Font("Arial", Font.PLAIN, 14));
+        infoPanel.add(ansTotals);
+    }
+
+    private JLabel boldLabel(String text) {
+        JLabel label = new JLabel(text);
+        label.setFont(new Font("Arial", Font.BOLD, 16));
+        return label;
+    }
+
+    private JButton createStyledButton(String text, Color backgroundColor) {
+        JButton button = new JButton(text);
+        button.setFont(new Font("Arial", Font.BOLD, 12));
+        button.setPreferredSize(new Dimension(80, 35));
+        button.setBackground(backgroundColor);
+        button.setForeground(Color.WHITE);
+        button.setBorderPainted(false);
+        button.setFocusPainted(false);
+        button.setCursor(new Cursor(Cursor.HAND_CURSOR));
+
+        button.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseEntered(MouseEvent e) {
+                button.setBackground(backgroundColor.brighter());
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                button.setBackground(backgroundColor);
+            }
+        });
+
+        return button;
+    }
+
+    // Engines are created on demand; the Treap seed is fixed so every replay gives the same shape
+    private IntOrderedSet createEngine(int structure, int capacity) {
+        switch (structure) {
+            case 0: return new IntRedBlack(capacity);
+            case 1: return new IntTreap(capacity, 42);
+            case 2: return new IntSplay(capacity);
+            case B_TREE: return new IntBTree((Integer) orderSpinner.getValue(), capacity);
+            case 4: return new IntAVL(capacity);
+            default: return new IntBST(capacity);
+        }
+    }
+
+    // Build the selected engine from the recorded stream and give it a fresh canvas
+    private void switchStructure() {
+        int structure = structureBox.getSelectedIndex();
+        orderSpinner.setEnabled(structure == B_TREE);
+        set = createEngine(structure, 16);
+        totalRotations = totalSplits = totalTouches = 0;
+        for (int i = 0; i < streamLength; i++) {
+            apply(streamOps[i], streamKeys[i]);
+        }
+        foundNode = IntOrderedSet.NIL;
+
+        if (set instanceof IntBTree) {
+            IntBTree btree = (IntBTree) set;
+            treePanel = new TreeCanvas(new TreeCanvas.NarySource() {
+                public int root() { return btree.root(); }
+                public int firstChild(int node) { return btree.child(node, 0); }
+                public int nextSibling(int node) { return nextSibling[node]; }
+                public int capacity() { return btree.capacity(); }
+                public String label(int node) { return pageLabel(btree, node); }
+                public Color fill(int node) { return node == foundNode ? FOUND_COLOR : NODE_COLOR; }
+            }, (btree.order() - 1) * KEY_WIDTH);
+        } else {
+            IntOrderedSet.Binary tree = (IntOrderedSet.Binary) set;
+            treePanel = new TreeCanvas(new TreeCanvas.Source() {
+                public int root() { return tree.root(); }
+                public int left(int node) { return tree.left(node); }
+                public int right(int node) { return tree.right(node); }
+                public int capacity() { return tree.capacity(); }
+                public String label(int node) { return String.valueOf(tree.key(node)); }
+                public Color fill(int node) { return colorOf(node); }
+                public String badge(int node) { return badgeOf(node); }
+            });
+        }
+        treePanel.setBackground(new Color(248, 248, 255));
+        canvasHolder.removeAll();
+        canvasHolder.add(treePanel, BorderLayout.CENTER);
+        canvasHolder.revalidate();
+        treeChanged();
+    }
+
+    private Color colorOf(int node) {
+        if (node == foundNode) return FOUND_COLOR;
+        if (set instanceof IntRedBlack) {
+            return ((IntRedBlack) set).isRed(node) ? RED_NODE_COLOR : BLACK_NODE_COLOR;
+        }
+        return NODE_COLOR;
+    }
+
+    // AVL nodes show their balance factor, Treap nodes the top bits of their heap priority
+    private String badgeOf(int node) {
+        if (set instanceof IntAVL) return String.valueOf(((IntAVL) set).balance(node));
+        if (set instanceof IntTreap) return String.valueOf(((IntTreap) set).priority(node) >>> 24);
+        return null;
+    }
+
+    private static String pageLabel(IntBTree btree, int node) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < btree.keyCount(node); i++) {
+            if (i > 0) sb.append(" | ");
+            sb.append(btree.key(node, i));
+        }
+        return sb.toString();
+    }
+
+    // Run one operation on the current engine and add its cost to the totals
+    private boolean apply(byte op, int key) {
+        boolean changed;
+        if (op == OP_INSERT) {
+            changed = set.insert(key);
+        } else if (op == OP_DELETE) {
+            changed = set.delete(key);
+        } else {
+            changed = set.find(key) != IntOrderedSet.NIL;
+        }
+        addCost();
+        return changed;
+    }
+
+    private void addCost() {
+        totalRotations += set.lastRotations();
+        totalSplits += set.lastSplits();
+        totalTouches += set.lastTouches();
+    }
+
+    private void record(byte op, int key) {
+        if (streamLength == streamOps.length) {
+            streamOps = Arrays.copyOf(streamOps, streamLength * 2);
+            streamKeys = Arrays.copyOf(streamKeys, streamLength * 2);
+        }
+        streamOps[streamLength] = op;
+        streamKeys[streamLength++] = key;
+    }
+
+    // Tree Operations
+    public void add(int value) {
+        record(OP_INSERT, value);
+        if (!apply(OP_INSERT, value)) {
+            JOptionPane.showMessageDialog(this, value + " is already in the tree.");
+        }
+        foundNode = IntOrderedSet.NIL;
+        treeChanged();
+    }
+
+    public void delete(int value) {
+        record(OP_DELETE, value);
+        if (!apply(OP_DELETE, value)) {
+            JOptionPane.showMessageDialog(this, value + " is not available.");
+        }
+        foundNode = IntOrderedSet.NIL;
+        treeChanged();
+    }
+
+    // Searching is recorded too: a splay tree reshapes itself on every lookup
+    public void search(int value) {
+        record(OP_FIND, value);
+        foundNode = set.find(value);
+        addCost();
+        treeChanged();
+        if (foundNode != IntOrderedSet.NIL) {
+            treePanel.reveal(foundNode);
+        } else {
+            JOptionPane.showMessageDialog(this, value + " not found.");
+        }
+    }
+
+    private void addRandom() {
+        String[] options = {"15 keys", "1,000 keys", "100,000 keys"};
+        int choice = JOptionPane.showOptionDialog(this, "Insert random keys:", "Random Keys",
+            JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+        if (choice < 0) return;
+        int count = choice == 0 ? 15 : choice == 1 ? 1000 : 100_000;
+        Random random = new Random();
+        for (int i = 0; i < count; i++) {
+            int key = random.nextInt(count * 10);
+            record(OP_INSERT, key);
+            apply(OP_INSERT, key);
+        }
+        foundNode = IntOrderedSet.NIL;
+        treeChanged();
+    }
+
+    private void treeChanged() {
+        if (set instanceof IntBTree) {
+            linkSiblings((IntBTree) set);
+        }
+        treePanel.relayout();
+        updateInfo();
+    }
+
+    // Chain the children of every B-Tree page so the canvas can walk them as siblings
+    private void linkSiblings(IntBTree btree) {
+        if (nextSibling.length < btree.capacity()) {
+            nextSibling = new int[btree.capacity()];
+        }
+        int root = btree.root();
+        if (root == IntBTree.NIL) return;
+        nextSibling[root] = IntBTree.NIL;
+        int[] stack = new int[Math.max(btree.nodeCount(), 1)];
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            int node = stack[--top];
+            if (btree.isLeaf(node)) continue;
+            int n = btree.keyCount(node);
+            for (int i = 0; i <= n; i++) {
+                int child = btree.child(node, i);
+                nextSibling[child] = i < n ? btree.child(node, i + 1) : IntBTree.NIL;
+                stack[top++] = child;
+            }
+        }
+    }
+
+    private void updateInfo() {
+        ansHeight.setText(String.valueOf(set.height()));
+        ansKeys.setText(String.valueOf(set.size()));
+        ansLastOp.setText("Last operation: " + set.lastRotations() + " rotations, "
+            + set.lastSplits() + " splits/merges, " + set.lastTouches() + " nodes touched");
+        ansTotals.setText("Stream: " + streamLength + " operations  |  Total on " + set.name() + ": "
+            + totalRotations + " rotations, " + totalSplits + " splits/merges, " + totalTouches + " nodes touched");
+    }
+
+    // Replay the recorded stream against every structure and compare their costs
+    private void replayAll() {
+        if (streamLength == 0) {
+            JOptionPane.showMessageDialog(this, "The key stream is empty. Add some keys first.");
+            return;
+        }
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-14s %10s %12s %12s %8s %9s%n",
+            "Structure", "Rotations", "Splits", "Touches", "Height", "Time"));
+        for (int structure = 0; structure < STRUCTURES.length; structure++) {
+            IntOrderedSet engine = createEngine(structure, 16);
+            long rotations = 0, splits = 0, touches = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < streamLength; i++) {
+                int key = streamKeys[i];
+                if (streamOps[i] == OP_INSERT) {
+                    engine.insert(key);
+                } else if (streamOps[i] == OP_DELETE) {
+                    engine.delete(key);
+                } else {
+                    engine.find(key);
+                }
+                rotations += engine.lastRotations();
+                splits += engine.lastSplits();
+                touches += engine.lastTouches();
+            }
+            long micros = (System.nanoTime() - start) / 1000;
+            report.append(String.format("%-14s %10d %12d %12d %8d %7.1fms%n",
+                engine.name(), rotations, splits, touches, engine.height(), micros / 1000.0));
+        }
+
+        JTextArea area = new JTextArea(report.toString());
+        area.setFont(new Font("Monospaced", Font.PLAIN, 13));
+        area.setEditable(false);
+        JOptionPane.showMessageDialog(this, new JScrollPane(area),
+            "Replay of " + streamLength + " operations", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        if (e.getSource() == btnBack) {
+            dispose();
+            SwingUtilities.invokeLater(DSAVisualizationMain::new);
+            return;
+        } else if (e.getSource() == btnClear) {
+            streamLength = 0;
+            switchStructure();
+            return;
+        } else if (e.getSource() == btnRandom) {
+            addRandom();
+            return;
+        } else if (e.getSource() == btnReplay) {
+            replayAll();
+            return;
+        } else if (e.getSource() == btnHelp) {
+            showHelp();
+            return;
+        }
+
+        String input = tf.getText().trim();
+        if (input.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "Please enter a number!");
+            return;
+        }
+
+        try {
+            int value = Integer.parseInt(input);
+            if (e.getSource() == btnAdd) {
+                add(value);
+            } else if (e.getSource() == btnDelete) {
+                delete(value);
+            } else if (e.getSource() == btnSearch) {
+                search(value);
+            }
+            tf.setText("");
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Please enter a valid integer!");
+        }
+    }
+
+    private void showHelp() {
+        String helpText = "<html><body style='width: 500px;'>" +
+            "<h2>Balanced Trees</h2>" +
+            "<p>Compare search tree structures on the same sequence of operations.</p>" +
+            "<ul>" +
+            "<li><b>Red-Black:</b> Recoloring plus at most three rotations per update</li>" +
+            "<li><b>Treap:</b> Random heap priorities (badge) keep the tree balanced on average</li>" +
+            "<li><b>Splay:</b> Every access moves the key to the root</li>" +
+            "<li><b>B-Tree:</b> Wide pages of up to order - 1 keys; full pages split, sparse pages borrow or merge</li>" +
+            "<li><b>AVL / BST:</b> The structures from the other views, for reference</li>" +
+            "</ul>" +
+            "<h3>Key Stream:</h3>" +
+            "<ul>" +
+            "<li>Every Add, Delete, Search and Random insert is recorded</li>" +
+            "<li>Switching structure (or B-Tree order) replays the stream into the new structure</li>" +
+            "<li><b>Replay</b> runs the stream against every structure and compares rotations, " +
+            "splits/merges, nodes touched, final height and time</li>" +
+            "<li><b>Clear</b> empties the tree and the stream</li>" +
+            "</ul>" +
+            "<p>Drag to pan, mouse wheel to zoom, double-click to fit the tree.</p>" +
+            "</body></html>";
+
+        JOptionPane.showMessageDialog(this, helpText, "Balanced Trees Help", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    @Override
+    public void keyTyped(KeyEvent e) {
+        if (e.getKeyChar() == KeyEvent.VK_ENTER) {
+            btnAdd.doClick();
+        }
+    }
+
+    @Override
+    public void keyPressed(KeyEvent e) {}
+
+    @Override
+    public void keyReleased(KeyEvent e) {}
+}
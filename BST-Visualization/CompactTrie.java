@@ -0,0 +1,534 @@
+// Compact Trie engine (headless)
+// Features: Parallel-array nodes with no objects, no boxed Characters and no display state;
+// each node's children sit in one block of a shared child pool, as a small array scanned
+// linearly while the fanout is at most 4 and as a bitmap-indexed array above that (a 64-bit
+// bitmap over the alphabet code, child slot = popcount of the lower bits), so a leaf costs
+// 15 bytes (8 of them the word weight and subtree maximum) and an edge 6; blocks are
+// power-of-two sized and recycled through per-size free lists, nodes through a free list,
+// delete prunes dead branches; recorded prefix walk, allocation-light enumeration with one
+// shared char buffer and top-K completions by weight
+//
+// Children are kept in alphabet-code order: a-z, then 0-9, then other characters in the
+// order they were first added. Characters past code 63 do not fit the bitmap, so a node
+// holding one stays a (longer) small array.
+
+import java.util.Arrays;
+import java.util.List;
+
+public class CompactTrie implements MutableStringTrie {
+    public static final int SMALL_FANOUT = 4;
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private static final byte WORD = 1;
+    private static final byte BITMAP = 2;
+    // A bitmap block starts with its 64-bit bitmap in two ints
+    private static final int BITMAP_HEADER = 2;
+    private static final int BITMAP_CODES = 64;
+    private static final int FIRST_EXTRA_CODE = 36;
+
+    // Node storage: node ids index into these arrays. A leaf has no block (base NIL);
+    // free nodes are chained through base[].
+    private int[] base;
+    private char[] fanout;
+    private byte[] flags;
+    // Word weight, and the highest weight at or below the node (kept up to date along the
+    // path of every add and remove)
+    private int[] weight;
+    private int[] best;
+    private int used;       // Node slots handed out so far (high-water mark)
+    private int freeNodes = NIL;
+    private int nodes;
+
+    // Child pool: child ids, and the edge character of each in the parallel array
+    private int[] pool;
+    private char[] poolChars;
+    private int poolUsed;
+    // Recycled blocks by kind and log2 of their child capacity, chained through pool[]
+    private final int[] freeSmall = new int[17];
+    private final int[] freeBitmap = new int[17];
+
+    // Characters other than a-z and 0-9, code FIRST_EXTRA_CODE + index
+    private char[] extras = new char[8];
+    private int extraCount;
+
+    private int size;
+    private int bitmapNodes;
+
+    // Nodes entered by the last walk, add or remove; an add or remove also keeps the root at
+    // path[0]
+    private int[] path = new int[16];
+    private int pathLength;
+    private TopKCompletions completions;
+
+    public CompactTrie() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public CompactTrie(int nodeCapacity) {
+        int capacity = Math.max(nodeCapacity, 1);
+        base = new int[capacity];
+        fanout = new char[capacity];
+        flags = new byte[capacity];
+        weight = new int[capacity];
+        best = new int[capacity];
+        pool = new int[capacity];
+        poolChars = new char[capacity];
+        clear();
+    }
+
+    // Basic accessors
+    public String name() {
+        return "Trie";
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Live nodes, including the root
+    public int nodeCount() {
+        return nodes;
+    }
+
+    // Node ids are below this; arrays indexed by node id need this many slots
+    public int nodeCapacity() {
+        return used;
+    }
+
+    public int bitmapNodes() {
+        return bitmapNodes;
+    }
+
+    public long memoryBytes() {
+        return 15L * base.length + 6L * pool.length + 2L * extras.length;
+    }
+
+    public void clear() {
+        used = 0;
+        nodes = 0;
+        freeNodes = NIL;
+        poolUsed = 0;
+        Arrays.fill(freeSmall, NIL);
+        Arrays.fill(freeBitmap, NIL);
+        extraCount = 0;
+        size = 0;
+        bitmapNodes = 0;
+        newNode();
+    }
+
+    public boolean isWord(int node) {
+        return (flags[node] & WORD) != 0;
+    }
+
+    public int weight(int node) {
+        return isWord(node) ? weight[node] : 0;
+    }
+
+    public int bestWeight(int node) {
+        return best[node];
+    }
+
+    public int childCount(int node) {
+        return fanout[node];
+    }
+
+    // The i-th child of node in alphabet-code order, and the character on its edge
+    public int childAt(int node, int i) {
+        return pool[entries(node) + i];
+    }
+
+    public char charAt(int node, int i) {
+        return poolChars[entries(node) + i];
+    }
+
+    public String childLabel(int node, int i) {
+        return String.valueOf(charAt(node, i));
+    }
+
+    // Child of node along c, or NIL
+    public int child(int node, char c) {
+        int b = base[node];
+        if (b == NIL) return NIL;
+        if ((flags[node] & BITMAP) != 0) {
+            int code = code(c);
+            if (code < 0 || code >= BITMAP_CODES) return NIL;
+            long bits = bitmap(b);
+            long bit = 1L << code;
+            if ((bits & bit) == 0) return NIL;
+            return pool[b + BITMAP_HEADER + Long.bitCount(bits & (bit - 1))];
+        }
+        for (int end = b + fanout[node]; b < end; b++) {
+            if (poolChars[b] == c) return pool[b];
+        }
+        return NIL;
+    }
+
+    // Node reached by spelling prefix from the root, or NIL
+    public int find(CharSequence prefix) {
+        int node = ROOT;
+        for (int i = 0, n = prefix.length(); i < n && node != NIL; i++) {
+            node = child(node, prefix.charAt(i));
+        }
+        return node;
+    }
+
+    public int walk(CharSequence s) {
+        int n = s.length();
+        if (path.length < n + 1) path = new int[Math.max(n + 1, path.length * 2)];
+        pathLength = 0;
+        int node = ROOT;
+        while (pathLength < n) {
+            node = child(node, s.charAt(pathLength));
+            if (node == NIL) break;
+            path[pathLength++] = node;
+        }
+        return pathLength;
+    }
+
+    public int pathLength() {
+        return pathLength;
+    }
+
+    public int pathNode(int i) {
+        return path[i];
+    }
+
+    public boolean contains(CharSequence word) {
+        int node = find(word);
+        return node != NIL && isWord(node);
+    }
+
+    public int weightOf(CharSequence word) {
+        int node = find(word);
+        return node != NIL ? weight(node) : 0;
+    }
+
+    // Returns false if the word was already present; a new word weighs 0
+    public boolean add(CharSequence word) {
+        return add(word, 0, false);
+    }
+
+    public boolean add(CharSequence word, int weight) {
+        return add(word, weight, true);
+    }
+
+    private boolean add(CharSequence word, int w, boolean reweight) {
+        if (w == NO_WEIGHT) throw new IllegalArgumentException("Weight out of range: " + w);
+        int n = word.length();
+        if (path.length < n + 1) path = new int[Math.max(n + 1, path.length * 2)];
+        pathLength = 0;
+        int node = ROOT;
+        path[0] = ROOT;
+        for (int i = 0; i < n; i++) {
+            char c = word.charAt(i);
+            int next = child(node, c);
+            if (next == NIL) {
+                next = newNode();
+                addChild(node, c, next);
+            }
+            node = next;
+            path[i + 1] = node;
+        }
+        boolean added = !isWord(node);
+        if (!added && !reweight) return false;
+        if (added) {
+            flags[node] |= WORD;
+            size++;
+        }
+        weight[node] = w;
+        updateBest(n);
+        return added;
+    }
+
+    // Unmark the word and free the nodes that no longer lead to any word
+    public boolean remove(CharSequence word) {
+        int n = word.length();
+        if (path.length < n + 1) path = new int[Math.max(n + 1, path.length * 2)];
+        pathLength = 0;
+        int node = ROOT;
+        path[0] = ROOT;
+        for (int i = 0; i < n; i++) {
+            node = child(node, word.charAt(i));
+            if (node == NIL) return false;
+            path[i + 1] = node;
+        }
+        if (!isWord(node)) return false;
+        flags[node] &= ~WORD;
+        size--;
+        int i = n;
+        for (; i > 0 && fanout[path[i]] == 0 && !isWord(path[i]); i--) {
+            removeChild(path[i - 1], word.charAt(i - 1));
+            freeNode(path[i]);
+        }
+        updateBest(i);
+        return true;
+    }
+
+    // Recompute the subtree maximum of path[i] and its ancestors, stopping at the first one
+    // that does not change (nothing above it can then change either)
+    private void updateBest(int i) {
+        for (; i >= 0; i--) {
+            int node = path[i];
+            int b = subtreeBest(node);
+            if (b == best[node]) return;
+            best[node] = b;
+        }
+    }
+
+    private int subtreeBest(int node) {
+        int b = isWord(node) ? weight[node] : NO_WEIGHT;
+        for (int i = 0, start = entries(node), n = fanout[node]; i < n; i++) {
+            b = Math.max(b, best[pool[start + i]]);
+        }
+        return b;
+    }
+
+    public int topK(CharSequence prefix, int k, List<String> out) {
+        if (completions == null) completions = new TopKCompletions();
+        return completions.search(this, find(prefix), prefix.toString(), k, out);
+    }
+
+    public int collect(CharSequence prefix, int limit, List<String> out) {
+        return collect(find(prefix), prefix, limit, out);
+    }
+
+    // Append prefix + suffix of every word under node to out, in alphabet-code order with
+    // each word before its extensions, stopping after limit words; returns the number added
+    public int collect(int node, CharSequence prefix, int limit, List<String> out) {
+        if (node == NIL || limit <= 0) return 0;
+        int added = 0;
+        char[] word = new char[prefix.length() + 16];
+        for (int i = 0; i < prefix.length(); i++) word[i] = prefix.charAt(i);
+        // Depth-first with explicit stacks: node and next child index per level below node
+        int[] stackNode = new int[16];
+        int[] stackIndex = new int[16];
+        int depth = 0;
+        stackNode[0] = node;
+        stackIndex[0] = 0;
+        if (isWord(node)) {
+            out.add(new String(word, 0, prefix.length()));
+            if (++added == limit) return added;
+        }
+        while (depth >= 0) {
+            int current = stackNode[depth];
+            int i = stackIndex[depth]++;
+            if (i == fanout[current]) {
+                depth--;
+                continue;
+            }
+            int length = prefix.length() + depth;
+            if (word.length == length) word = Arrays.copyOf(word, length * 2);
+            word[length] = charAt(current, i);
+            int next = childAt(current, i);
+            if (isWord(next)) {
+                out.add(new String(word, 0, length + 1));
+                if (++added == limit) return added;
+            }
+            if (fanout[next] > 0) {
+                if (++depth == stackNode.length) {
+                    stackNode = Arrays.copyOf(stackNode, depth * 2);
+                    stackIndex = Arrays.copyOf(stackIndex, depth * 2);
+                }
+                stackNode[depth] = next;
+                stackIndex[depth] = 0;
+            }
+        }
+        return added;
+    }
+
+    // Alphabet code of c, or -1 for a character never added
+    private int code(char c) {
+        if (c >= 'a' && c <= 'z') return c - 'a';
+        if (c >= '0' && c <= '9') return 26 + (c - '0');
+        for (int i = 0; i < extraCount; i++) {
+            if (extras[i] == c) return FIRST_EXTRA_CODE + i;
+        }
+        return -1;
+    }
+
+    private int codeOrAdd(char c) {
+        int code = code(c);
+        if (code >= 0) return code;
+        if (extraCount == extras.length) extras = Arrays.copyOf(extras, extraCount * 2);
+        extras[extraCount] = c;
+        return FIRST_EXTRA_CODE + extraCount++;
+    }
+
+    private long bitmap(int block) {
+        return ((long) pool[block] << 32) | (pool[block + 1] & 0xFFFFFFFFL);
+    }
+
+    private void setBitmap(int block, long bits) {
+        pool[block] = (int) (bits >>> 32);
+        pool[block + 1] = (int) bits;
+    }
+
+    // Pool index of the node's first child
+    private int entries(int node) {
+        return (flags[node] & BITMAP) != 0 ? base[node] + BITMAP_HEADER : base[node];
+    }
+
+    private void addChild(int node, char c, int child) {
+        int code = codeOrAdd(c);
+        int n = fanout[node];
+        boolean wasBitmap = (flags[node] & BITMAP) != 0;
+        int start = entries(node);
+        // Insertion point in code order; code order keeps the largest code last
+        int index;
+        if (wasBitmap && code < BITMAP_CODES) {
+            index = Long.bitCount(bitmap(base[node]) & ((1L << code) - 1));
+        } else {
+            index = n;
+            while (index > 0 && code(poolChars[start + index - 1]) > code) index--;
+        }
+        int largest = n == 0 ? code : Math.max(code, code(poolChars[start + n - 1]));
+        boolean bitmap = n + 1 > SMALL_FANOUT && largest < BITMAP_CODES;
+        if (n == 0 || bitmap != wasBitmap || capacityClass(n + 1) != capacityClass(n)) {
+            relocate(node, bitmap, n, n + 1);
+            start = entries(node);
+        }
+        System.arraycopy(pool, start + index, pool, start + index + 1, n - index);
+        System.arraycopy(poolChars, start + index, poolChars, start + index + 1, n - index);
+        pool[start + index] = child;
+        poolChars[start + index] = c;
+        fanout[node] = (char) (n + 1);
+        if (bitmap) setBitmap(base[node], bitmap(base[node]) | 1L << code);
+    }
+
+    private void removeChild(int node, char c) {
+        int n = fanout[node];
+        int start = entries(node);
+        int index = 0;
+        while (poolChars[start + index] != c) index++;
+        System.arraycopy(pool, start + index + 1, pool, start + index, n - index - 1);
+        System.arraycopy(poolChars, start + index + 1, poolChars, start + index, n - index - 1);
+        fanout[node] = (char) --n;
+        boolean wasBitmap = (flags[node] & BITMAP) != 0;
+        if (wasBitmap) setBitmap(base[node], bitmap(base[node]) & ~(1L << code(c)));
+        boolean bitmap = wasBitmap && n > SMALL_FANOUT;
+        if (n == 0 || bitmap != wasBitmap || capacityClass(n) != capacityClass(n + 1)) {
+            relocate(node, bitmap, n + 1, n);
+        }
+    }
+
+    // Move the node's children into a block of the given kind sized for count children;
+    // the current block was sized for oldCount
+    private void relocate(int node, boolean bitmap, int oldCount, int count) {
+        boolean wasBitmap = (flags[node] & BITMAP) != 0;
+        int oldBase = base[node];
+        int oldStart = entries(node);
+        int n = Math.min(fanout[node], count);
+        int newBase = count == 0 ? NIL : allocateBlock(bitmap, capacityClass(count));
+        if (newBase != NIL && n > 0) {
+            int newStart = bitmap ? newBase + BITMAP_HEADER : newBase;
+            System.arraycopy(pool, oldStart, pool, newStart, n);
+            System.arraycopy(poolChars, oldStart, poolChars, newStart, n);
+            if (bitmap) {
+                long bits = 0;
+                for (int i = 0; i < n; i++) bits |= 1L << code(poolChars[newStart + i]);
+                setBitmap(newBase, bits);
+            }
+        }
+        if (oldBase != NIL) freeBlock(oldBase, wasBitmap, capacityClass(oldCount));
+        base[node] = newBase;
+        if (bitmap && !wasBitmap) bitmapNodes++;
+        if (!bitmap && wasBitmap) bitmapNodes--;
+        flags[node] = (byte) (bitmap && newBase != NIL ? flags[node] | BITMAP : flags[node] & ~BITMAP);
+    }
+
+    // log2 of the child capacity for count children; blocks hold 1, 2, 4, 8 ... children
+    private static int capacityClass(int count) {
+        return count <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(count - 1);
+    }
+
+    private int allocateBlock(boolean bitmap, int sizeClass) {
+        int[] free = bitmap ? freeBitmap : freeSmall;
+        int block = free[sizeClass];
+        if (block != NIL) {
+            free[sizeClass] = pool[block];
+            return block;
+        }
+        int length = (1 << sizeClass) + (bitmap ? BITMAP_HEADER : 0);
+        if (poolUsed + length > pool.length) {
+            int capacity = Math.max(poolUsed + length, pool.length * 2);
+            pool = Arrays.copyOf(pool, capacity);
+            poolChars = Arrays.copyOf(poolChars, capacity);
+        }
+        block = poolUsed;
+        poolUsed += length;
+        return block;
+    }
+
+    private void freeBlock(int block, boolean bitmap, int sizeClass) {
+        int[] free = bitmap ? freeBitmap : freeSmall;
+        pool[block] = free[sizeClass];
+        free[sizeClass] = block;
+    }
+
+    private int newNode() {
+        int node = freeNodes;
+        if (node != NIL) {
+            freeNodes = base[node];
+        } else {
+            if (used == base.length) {
+                int capacity = used * 2;
+                base = Arrays.copyOf(base, capacity);
+                fanout = Arrays.copyOf(fanout, capacity);
+                flags = Arrays.copyOf(flags, capacity);
+                weight = Arrays.copyOf(weight, capacity);
+                best = Arrays.copyOf(best, capacity);
+            }
+            node = used++;
+        }
+        base[node] = NIL;
+        fanout[node] = 0;
+        flags[node] = 0;
+        weight[node] = 0;
+        best[node] = NO_WEIGHT;
+        nodes++;
+        return node;
+    }
+
+    // Only childless nodes are freed, so there is no block to return
+    private void freeNode(int node) {
+        base[node] = freeNodes;
+        freeNodes = node;
+        nodes--;
+    }
+
+    // Block kinds match the fanout, bitmaps and code order match the edges, every live node
+    // is reached exactly once, subtree maxima are current and the word count matches
+    public boolean isValid() {
+        int[] stack = new int[16];
+        int top = 1, seen = 0, words = 0, bitmaps = 0;
+        stack[0] = ROOT;
+        while (top > 0) {
+            int node = stack[--top];
+            seen++;
+            if (isWord(node)) words++;
+            int n = fanout[node];
+            boolean bitmap = (flags[node] & BITMAP) != 0;
+            if ((n == 0) != (base[node] == NIL)) return false;
+            if (bitmap) {
+                bitmaps++;
+                if (n <= SMALL_FANOUT) return false;
+            }
+            int start = n == 0 ? 0 : entries(node);
+            long bits = 0;
+            for (int i = 0; i < n; i++) {
+                int code = code(poolChars[start + i]);
+                if (code < 0 || (i > 0 && code <= code(poolChars[start + i - 1]))) return false;
+                if (bitmap) {
+                    if (code >= BITMAP_CODES) return false;
+                    bits |= 1L << code;
+                }
+                if (top == stack.length) stack = Arrays.copyOf(stack, top * 2);
+                stack[top++] = pool[start + i];
+            }
+            if (bitmap && bits != bitmap(base[node])) return false;
+            if (n == 0 && node != ROOT && !isWord(node)) return false;
+            if (best[node] != subtreeBest(node)) return false;
+        }
+        return seen == nodes && words == size && bitmaps == bitmapNodes;
+    }
+}
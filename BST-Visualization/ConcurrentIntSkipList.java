@@ -0,0 +1,248 @@
+// Lock-free int-keyed Skip List engine (headless, thread-safe)
+// Features: Insert / delete / contains callable from any number of threads without locks,
+// logical deletion by marking next references and physical unlinking on later traversals
+// (Harris / Herlihy-Shavit style), wait-free contains, geometric tower heights from a
+// thread-local random source, weakly consistent in-order walk and per-level node counts
+// for sampling views
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+public class ConcurrentIntSkipList {
+    public static final int MAX_LEVEL = 32;
+
+    // A tower. The mark on next[i] means the node is deleted at level i; level 0 decides.
+    private static final class Node {
+        final int key;
+        final AtomicMarkableReference<Node>[] next;
+
+        Node(int key, int height) {
+            this.key = key;
+            next = newLinks(height);
+            for (int i = 0; i < height; i++) {
+                next[i] = new AtomicMarkableReference<>(null, false);
+            }
+        }
+
+        // Generic arrays cannot be created directly
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        private static AtomicMarkableReference<Node>[] newLinks(int height) {
+            return new AtomicMarkableReference[height];
+        }
+
+        int height() {
+            return next.length;
+        }
+    }
+
+    // Sentinel smaller than every key; null ends a level, so Integer.MIN/MAX_VALUE are valid keys
+    private final Node head = new Node(0, MAX_LEVEL);
+    // Highest level any tower has reached; searches start there instead of at MAX_LEVEL
+    private final AtomicInteger levels = new AtomicInteger(1);
+    private final LongAdder size = new LongAdder();
+
+    // Per-thread scratch for find(), so updates do not allocate search arrays
+    private static final ThreadLocal<Node[][]> SCRATCH =
+        ThreadLocal.withInitial(() -> new Node[][] {new Node[MAX_LEVEL], new Node[MAX_LEVEL]});
+
+    public String name() {
+        return "Lock-free Skip List";
+    }
+
+    // Keys present; exact only while no update is running
+    public int size() {
+        return (int) size.sum();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int height() {
+        return levels.get();
+    }
+
+    // Tower height with P(h) = 2^-h
+    private static int randomHeight() {
+        int bits = ThreadLocalRandom.current().nextInt() | (1 << (MAX_LEVEL - 1));
+        return Integer.numberOfTrailingZeros(bits) + 1;
+    }
+
+    // Fill preds/succs around k on every level, unlinking marked nodes on the way.
+    // Returns true if an unmarked node with key k is at level 0.
+    private boolean find(int k, Node[] preds, Node[] succs) {
+        boolean[] marked = {false};
+        retry:
+        while (true) {
+            Node pred = head, curr = null;
+            for (int level = levels.get() - 1; level >= 0; level--) {
+                curr = pred.next[level].getReference();
+                while (curr != null) {
+                    Node succ = curr.next[level].get(marked);
+                    if (marked[0]) {
+                        // Help finish a delete; if pred changed meanwhile, start over
+                        if (!pred.next[level].compareAndSet(curr, succ, false, false)) continue retry;
+                        curr = succ;
+                    } else if (curr.key < k) {
+                        pred = curr;
+                        curr = succ;
+                    } else {
+                        break;
+                    }
+                }
+                preds[level] = pred;
+                succs[level] = curr;
+            }
+            return curr != null && curr.key == k;
+        }
+    }
+
+    // Insert key, returns false if it is already present. The node becomes visible when
+    // it is linked at level 0; the upper levels are only shortcuts and are linked after.
+    public boolean insert(int k) {
+        Node[][] scratch = SCRATCH.get();
+        Node[] preds = scratch[0], succs = scratch[1];
+        int height = randomHeight();
+        for (int top = levels.get(); top < height && !levels.compareAndSet(top, height); top = levels.get()) {
+            // Raise the level hint before linking so searches never start below a tower
+        }
+        while (true) {
+            if (find(k, preds, succs)) {
+                return false;
+            }
+            Node node = new Node(k, height);
+            for (int level = 0; level < height; level++) {
+                node.next[level].set(succs[level], false);
+            }
+            if (!preds[0].next[0].compareAndSet(succs[0], node, false, false)) {
+                continue;
+            }
+            size.increment();
+            for (int level = 1; level < height; level++) {
+                while (true) {
+                    Node succ = succs[level];
+                    Node expected = node.next[level].getReference();
+                    // A concurrent delete has marked this level: stop building the tower
+                    if (node.next[level].isMarked()) return true;
+                    if (expected != succ && !node.next[level].compareAndSet(expected, succ, false, false)) continue;
+                    if (preds[level].next[level].compareAndSet(succ, node, false, false)) break;
+                    find(k, preds, succs);
+                }
+            }
+            return true;
+        }
+    }
+
+    // Delete key, returns false if it is not present. The thread that marks level 0
+    // owns the delete; a final find() unlinks the tower.
+    public boolean delete(int k) {
+        Node[][] scratch = SCRATCH.get();
+        Node[] preds = scratch[0], succs = scratch[1];
+        boolean[] marked = {false};
+        if (!find(k, preds, succs)) {
+            return false;
+        }
+        Node victim = succs[0];
+        for (int level = victim.height() - 1; level >= 1; level--) {
+            Node succ = victim.next[level].get(marked);
+            while (!marked[0]) {
+                victim.next[level].compareAndSet(succ, succ, false, true);
+                succ = victim.next[level].get(marked);
+            }
+        }
+        Node succ = victim.next[0].get(marked);
+        while (true) {
+            boolean iMarked = victim.next[0].compareAndSet(succ, succ, false, true);
+            succ = victim.next[0].get(marked);
+            if (iMarked) {
+                size.decrement();
+                find(k, preds, succs);
+                return true;
+            } else if (marked[0]) {
+                return false;
+            }
+        }
+    }
+
+    // Wait-free: marked nodes are stepped over, never unlinked
+    public boolean contains(int k) {
+        boolean[] marked = {false};
+        Node pred = head, curr = null;
+        for (int level = levels.get() - 1; level >= 0; level--) {
+            curr = pred.next[level].getReference();
+            while (curr != null) {
+                Node succ = curr.next[level].get(marked);
+                if (marked[0]) {
+                    curr = succ;
+                } else if (curr.key < k) {
+                    pred = curr;
+                    curr = succ;
+                } else {
+                    break;
+                }
+            }
+        }
+        return curr != null && curr.key == k;
+    }
+
+    // Remove everything; not atomic with respect to concurrent updates
+    public void clear() {
+        for (int level = 0; level < MAX_LEVEL; level++) {
+            head.next[level].set(null, false);
+        }
+        levels.set(1);
+        size.reset();
+    }
+
+    // Keys at level 0 in order, skipping deleted nodes. Weakly consistent under updates.
+    public void inorder(IntConsumer action) {
+        boolean[] marked = {false};
+        Node curr = head.next[0].getReference();
+        while (curr != null) {
+            Node succ = curr.next[0].get(marked);
+            if (!marked[0]) action.accept(curr.key);
+            curr = succ;
+        }
+    }
+
+    // counts[h - 1] += number of live towers of height h; returns the number of live nodes.
+    // A sample for views: weakly consistent, so it may mix states from different moments.
+    public int towerHeights(int[] counts) {
+        boolean[] marked = {false};
+        int nodes = 0;
+        Node curr = head.next[0].getReference();
+        while (curr != null) {
+            Node succ = curr.next[0].get(marked);
+            if (!marked[0]) {
+                nodes++;
+                if (curr.height() <= counts.length) counts[curr.height() - 1]++;
+            }
+            curr = succ;
+        }
+        return nodes;
+    }
+
+    // Check order on every level and the size; only meaningful when no update is running.
+    // A deleted node may still be linked on an upper level until a search passes it.
+    public boolean isValid() {
+        boolean[] marked = {false};
+        for (int level = 0; level < MAX_LEVEL; level++) {
+            Node prev = null;
+            for (Node curr = head.next[level].getReference(); curr != null; ) {
+                Node succ = curr.next[level].get(marked);
+                if (level >= levels.get()) return false;
+                if (!marked[0]) {
+                    if (prev != null && prev.key >= curr.key) return false;
+                    prev = curr;
+                }
+                curr = succ;
+            }
+        }
+        int[] count = {0};
+        inorder(k -> count[0]++);
+        return count[0] == size();
+    }
+}
@@ -0,0 +1,372 @@
+// Concurrent Set Visualization - Live view of reader/writer threads on a thread-safe int set
+// Features: Lock-free skip list, ConcurrentSkipListSet or a read-write-locked AVL under a
+// configurable number of reader and writer threads, the view samples the op counters and
+// the structure on a timer instead of repainting per operation, throughput history chart,
+// hit rate and size, tower-height histogram of the skip list
+
+import java.awt.BasicStroke;
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Cursor;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.Arrays;
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JComboBox;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JSpinner;
+import javax.swing.SpinnerNumberModel;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+public class ConcurrentSetVisualization extends JFrame implements ActionListener {
+    private static final String[] STRUCTURES = {"Lock-free Skip List", "ConcurrentSkipListSet", "IntAVL + RW lock"};
+    private static final String[] RANGES = {"1,000", "100,000", "1,000,000"};
+    private static final int[] RANGE_VALUES = {1_000, 100_000, 1_000_000};
+
+    private static final int SAMPLE_MS = 250;
+    // Walking the whole skip list is O(n), so the histogram is sampled less often
+    private static final int HISTOGRAM_EVERY = 4;
+    private static final int HISTORY = 240;
+    private static final int HISTOGRAM_LEVELS = 24;
+
+    private ConcurrentWorkload workload;
+    private ConcurrentIntSkipList skipList;
+    private final Timer sampler = new Timer(SAMPLE_MS, e -> sample());
+
+    // Last sample and ring buffers of the throughput history (ops per second)
+    private long lastReads, lastWrites, lastHits, lastSampleNanos;
+    private final double[] readHistory = new double[HISTORY];
+    private final double[] writeHistory = new double[HISTORY];
+    private int historyStart, historyLength;
+    private int samples;
+    private final int[] towerCounts = new int[HISTOGRAM_LEVELS];
+    private int towerNodes;
+
+    private JPanel topPanel, infoPanel, chartPanel;
+    private JPanel topLeftPanel, topRightPanel;
+    private JComboBox<String> structureBox, rangeBox;
+    private JSpinner readersSpinner, writersSpinner;
+    private JButton btnStart, btnHelp, btnBack;
+    private JLabel ansReads, ansWrites, ansHits, ansSize, ansSample;
+
+    private static final Color READ_COLOR = new Color(30, 144, 255);
+    private static final Color WRITE_COLOR = new Color(220, 20, 60);
+    private static final Color BAR_COLOR = new Color(60, 179, 113);
+
+    public ConcurrentSetVisualization() {
+        initialize();
+    }
+
+    private void initialize() {
+        setTitle("Concurrent Sets - Readers and Writers");
+        setSize(1400, 800);
+        getContentPane().setBackground(new Color(240, 248, 255));
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        setLocationRelativeTo(null);
+
+        setupPanels();
+        setupControls();
+
+        setVisible(true);
+    }
+
+    private void setupPanels() {
+        topPanel = new JPanel(new BorderLayout());
+        topPanel.setBackground(new Color(230, 240, 250));
+        topPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        topLeftPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 10));
+        topLeftPanel.setBackground(new Color(230, 240, 250));
+        topPanel.add(topLeftPanel, BorderLayout.WEST);
+
+        topRightPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        topRightPanel.setBackground(new Color(230, 240, 250));
+        topPanel.add(topRightPanel, BorderLayout.EAST);
+
+        chartPanel = new JPanel() {
+            @Override
+            protected void paintComponent(Graphics g) {
+                super.paintComponent(g);
+                paintCharts((Graphics2D) g);
+            }
+        };
+        chartPanel.setBackground(new Color(248, 248, 255));
+
+        infoPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 20, 10));
+        infoPanel.setBackground(new Color(245, 245, 245));
+        infoPanel.setBorder(BorderFactory.createTitledBorder("Sampled every " + SAMPLE_MS + " ms"));
+
+        add(topPanel, BorderLayout.NORTH);
+        add(chartPanel, BorderLayout.CENTER);
+        add(infoPanel, BorderLayout.SOUTH);
+    }
+
+    private void setupControls() {
+        structureBox = new JComboBox<>(STRUCTURES);
+        structureBox.setFont(new Font("Arial", Font.BOLD, 14));
+        topLeftPanel.add(structureBox);
+
+        topLeftPanel.add(boldLabel("Readers:"));
+        readersSpinner = new JSpinner(new SpinnerNumberModel(4, 0, 64, 1));
+        topLeftPanel.add(readersSpinner);
+        topLeftPanel.add(boldLabel("Writers:"));
+        writersSpinner = new JSpinner(new SpinnerNumberModel(2, 0, 64, 1));
+        topLeftPanel.add(writersSpinner);
+        topLeftPanel.add(boldLabel("Keys:"));
+        rangeBox = new JComboBox<>(RANGES);
+        rangeBox.setSelectedIndex(1);
+        topLeftPanel.add(rangeBox);
+
+        btnStart = createStyledButton("Start", new Color(60, 179, 113));
+        btnHelp = createStyledButton("Help", new Color(70, 130, 180));
+        btnBack = createStyledButton("← Back", new Color(105, 105, 105));
+        for (JButton button : new JButton[] {btnStart, btnHelp, btnBack}) {
+            button.addActionListener(this);
+            topRightPanel.add(button);
+        }
+
+        ansReads = infoLabel("Reads: -");
+        ansWrites = infoLabel("Writes: -");
+        ansHits = infoLabel("Hit rate: -");
+        ansSize = infoLabel("Size: -");
+        ansSample = infoLabel("");
+    }
+
+    private JLabel boldLabel(String text) {
+        JLabel label = new JLabel(text);
+        label.setFont(new Font("Arial", Font.BOLD, 14));
+        return label;
+    }
+
+    private JLabel infoLabel(String text) {
+        JLabel label = new JLabel(text);
+        label.setFont(new Font("Arial", Font.PLAIN, 14));
+        infoPanel.add(label);
+        return label;
+    }
+
+    private JButton createStyledButton(String text, Color backgroundColor) {
+        JButton button = new JButton(text);
+        button.setFont(new Font("Arial", Font.BOLD, 12));
+        button.setPreferredSize(new Dimension(80, 35));
+        button.setBackground(backgroundColor);
+        button.setForeground(Color.WHITE);
+        button.setBorderPainted(false);
+        button.setFocusPainted(false);
+        button.setCursor(new Cursor(Cursor.HAND_CURSOR));
+
+        button.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseEntered(MouseEvent e) {
+                button.setBackground(backgroundColor.brighter());
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                button.setBackground(backgroundColor);
+            }
+        });
+
+        return button;
+    }
+
+    // Prefill runs off the EDT; the threads are started back on the EDT, so a Stop in
+    // between simply finds a different (or no) current workload
+    private void startWorkload() {
+        int structure = structureBox.getSelectedIndex();
+        skipList = structure == 0 ? new ConcurrentIntSkipList() : null;
+        ConcurrentWorkload.Target target = structure == 0 ? ConcurrentWorkload.skipList(skipList)
+            : structure == 1 ? ConcurrentWorkload.jdkSkipList() : ConcurrentWorkload.lockedAVL();
+        ConcurrentWorkload next = new ConcurrentWorkload(target, (Integer) readersSpinner.getValue(),
+            (Integer) writersSpinner.getValue(), RANGE_VALUES[rangeBox.getSelectedIndex()]);
+        workload = next;
+
+        historyStart = historyLength = samples = 0;
+        towerNodes = 0;
+        setControlsEnabled(false);
+        btnStart.setText("Stop");
+        ansSample.setText("Prefilling...");
+        Thread prefill = new Thread(() -> {
+            next.prefill();
+            SwingUtilities.invokeLater(() -> {
+                if (workload != next) return;
+                lastReads = lastWrites = lastHits = 0;
+                lastSampleNanos = System.nanoTime();
+                next.start();
+                sampler.start();
+            });
+        }, "prefill");
+        prefill.setDaemon(true);
+        prefill.start();
+    }
+
+    private void stopWorkload() {
+        sampler.stop();
+        if (workload != null) {
+            workload.stop();
+            workload = null;
+        }
+        setControlsEnabled(true);
+        btnStart.setText("Start");
+    }
+
+    private void setControlsEnabled(boolean enabled) {
+        structureBox.setEnabled(enabled);
+        readersSpinner.setEnabled(enabled);
+        writersSpinner.setEnabled(enabled);
+        rangeBox.setEnabled(enabled);
+    }
+
+    // One sample: counter deltas into ops/sec, plus the tower heights every few samples
+    private void sample() {
+        if (workload == null) return;
+        long now = System.nanoTime();
+        long reads = workload.reads(), writes = workload.writes(), hits = workload.hits();
+        double seconds = (now - lastSampleNanos) / 1e9;
+        double readRate = (reads - lastReads) / seconds;
+        double writeRate = (writes - lastWrites) / seconds;
+        long readDelta = reads - lastReads;
+        double hitRate = readDelta == 0 ? 0 : (hits - lastHits) * 100.0 / readDelta;
+        lastReads = reads;
+        lastWrites = writes;
+        lastHits = hits;
+        lastSampleNanos = now;
+
+        int slot = (historyStart + historyLength) % HISTORY;
+        readHistory[slot] = readRate;
+        writeHistory[slot] = writeRate;
+        if (historyLength < HISTORY) {
+            historyLength++;
+        } else {
+            historyStart = (historyStart + 1) % HISTORY;
+        }
+
+        String sampleText = "";
+        if (skipList != null && samples++ % HISTOGRAM_EVERY == 0) {
+            long start = System.nanoTime();
+            Arrays.fill(towerCounts, 0);
+            towerNodes = skipList.towerHeights(towerCounts);
+            sampleText = String.format("Histogram walk: %.1f ms", (System.nanoTime() - start) / 1e6);
+        }
+
+        ansReads.setText(String.format("Reads: %.2f M/s", readRate / 1e6));
+        ansWrites.setText(String.format("Writes: %.2f M/s", writeRate / 1e6));
+        ansHits.setText(String.format("Hit rate: %.1f%%", hitRate));
+        ansSize.setText("Size: " + workload.target().size());
+        if (!sampleText.isEmpty()) ansSample.setText(sampleText);
+        chartPanel.repaint();
+    }
+
+    private void paintCharts(Graphics2D g2) {
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        int width = chartPanel.getWidth(), height = chartPanel.getHeight();
+        int margin = 50;
+        boolean histogram = skipList != null;
+        int chartWidth = histogram ? (width - 3 * margin) * 2 / 3 : width - 2 * margin;
+        int chartHeight = height - 2 * margin;
+
+        // Throughput history
+        g2.setColor(Color.BLACK);
+        g2.setFont(new Font("Arial", Font.BOLD, 14));
+        g2.drawString("Throughput (ops/s), last " + HISTORY * SAMPLE_MS / 1000 + " s", margin, margin - 15);
+        g2.drawRect(margin, margin, chartWidth, chartHeight);
+        double max = 1;
+        for (int i = 0; i < historyLength; i++) {
+            int slot = (historyStart + i) % HISTORY;
+            max = Math.max(max, Math.max(readHistory[slot], writeHistory[slot]));
+        }
+        g2.setFont(new Font("Arial", Font.PLAIN, 11));
+        g2.drawString(String.format("%.2f M", max / 1e6), margin + 5, margin + 14);
+        g2.setStroke(new BasicStroke(2.0f));
+        for (int series = 0; series < 2; series++) {
+            double[] values = series == 0 ? readHistory : writeHistory;
+            g2.setColor(series == 0 ? READ_COLOR : WRITE_COLOR);
+            int prevX = 0, prevY = 0;
+            for (int i = 0; i < historyLength; i++) {
+                int x = margin + (int) ((long) i * chartWidth / (HISTORY - 1));
+                int y = margin + chartHeight - (int) (values[(historyStart + i) % HISTORY] / max * chartHeight);
+                if (i > 0) g2.drawLine(prevX, prevY, x, y);
+                prevX = x;
+                prevY = y;
+            }
+            g2.drawString(series == 0 ? "reads" : "writes", margin + chartWidth - 60, margin + 20 + 16 * series);
+        }
+
+        if (!histogram) return;
+
+        // Tower heights: expected to halve with every level
+        int left = 2 * margin + chartWidth;
+        int histWidth = width - left - margin;
+        g2.setColor(Color.BLACK);
+        g2.setFont(new Font("Arial", Font.BOLD, 14));
+        g2.drawString("Tower heights (" + towerNodes + " nodes)", left, margin - 15);
+        g2.drawRect(left, margin, histWidth, chartHeight);
+        int levels = 0, most = 1;
+        for (int i = 0; i < HISTOGRAM_LEVELS; i++) {
+            if (towerCounts[i] > 0) levels = i + 1;
+            most = Math.max(most, towerCounts[i]);
+        }
+        if (levels == 0) return;
+        int barHeight = Math.max(1, chartHeight / levels);
+        g2.setFont(new Font("Arial", Font.PLAIN, 11));
+        for (int i = 0; i < levels; i++) {
+            int y = margin + chartHeight - (i + 1) * barHeight;
+            int barWidth = (int) ((long) towerCounts[i] * (histWidth - 90) / most);
+            g2.setColor(BAR_COLOR);
+            g2.fillRect(left + 30, y + 1, Math.max(barWidth, towerCounts[i] > 0 ? 1 : 0), barHeight - 2);
+            g2.setColor(Color.BLACK);
+            g2.drawString(String.valueOf(i + 1), left + 8, y + barHeight / 2 + 4);
+            g2.drawString(String.valueOf(towerCounts[i]), left + 34 + barWidth, y + barHeight / 2 + 4);
+        }
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        if (e.getSource() == btnStart) {
+            if (workload == null) {
+                startWorkload();
+            } else {
+                stopWorkload();
+            }
+        } else if (e.getSource() == btnHelp) {
+            showHelp();
+        } else if (e.getSource() == btnBack) {
+            stopWorkload();
+            dispose();
+            SwingUtilities.invokeLater(DSAVisualizationMain::new);
+        }
+    }
+
+    private void showHelp() {
+        String helpText = "<html><body style='width: 500px;'>" +
+            "<h2>Concurrent Sets</h2>" +
+            "<p>Reader threads call contains, writer threads insert or delete (half each) on random " +
+            "keys. The set starts half full.</p>" +
+            "<ul>" +
+            "<li><b>Lock-free Skip List:</b> Deletes mark a node's links first and unlink it later; " +
+            "no thread ever waits for another</li>" +
+            "<li><b>ConcurrentSkipListSet:</b> The JDK's lock-free skip list, for reference</li>" +
+            "<li><b>IntAVL + RW lock:</b> The single-threaded AVL engine behind one read-write lock</li>" +
+            "</ul>" +
+            "<p>The view does not repaint per operation: every " + SAMPLE_MS + " ms it reads the " +
+            "operation counters, and every " + HISTOGRAM_EVERY + " samples it walks the skip list " +
+            "once to count tower heights.</p>" +
+            "<p>Headless: <code>java ConcurrentWorkload [readers] [writers] [keys] [seconds]</code></p>" +
+            "</body></html>";
+
+        JOptionPane.showMessageDialog(this, helpText, "Concurrent Sets Help", JOptionPane.INFORMATION_MESSAGE);
+    }
+}
@@ -0,0 +1,220 @@
+// Concurrent Workload - Reader / writer threads hammering a thread-safe int set
+// Features: N reader threads (contains) and M writer threads (insert or delete, half each)
+// on uniformly random keys, contention-free op counters that a view can sample while the
+// threads run, headless ops/sec report comparing the lock-free skip list with
+// java.util.concurrent.ConcurrentSkipListSet and an IntAVL behind a read-write lock
+// Usage: java ConcurrentWorkload [readers] [writers] [keyRange] [seconds]   (default 4 4 1,000,000 3)
+
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class ConcurrentWorkload {
+    // The key API shared by the concurrent engines
+    public interface Target {
+        String name();
+        boolean insert(int k);
+        boolean delete(int k);
+        boolean contains(int k);
+        int size();
+    }
+
+    private final Target target;
+    private final int readers;
+    private final int writers;
+    private final int keyRange;
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private volatile boolean running;
+    private Thread[] threads = new Thread[0];
+
+    public ConcurrentWorkload(Target target, int readers, int writers, int keyRange) {
+        if (keyRange < 1) {
+            throw new IllegalArgumentException("Key range must be positive: " + keyRange);
+        }
+        this.target = target;
+        this.readers = readers;
+        this.writers = writers;
+        this.keyRange = keyRange;
+    }
+
+    // Fill the set with half of the key range, so inserts and deletes both succeed often
+    public void prefill() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (target.size() < keyRange / 2) {
+            target.insert(random.nextInt(keyRange));
+        }
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        threads = new Thread[readers + writers];
+        for (int i = 0; i < threads.length; i++) {
+            boolean writer = i >= readers;
+            threads[i] = new Thread(writer ? this::write : this::read,
+                (writer ? "writer-" : "reader-") + i);
+            threads[i].setDaemon(true);
+            threads[i].start();
+        }
+    }
+
+    public synchronized void stop() {
+        running = false;
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public Target target() {
+        return target;
+    }
+
+    // Operations completed so far; safe to read from any thread at any time
+    public long reads() {
+        return reads.sum();
+    }
+
+    public long writes() {
+        return writes.sum();
+    }
+
+    // Reads that found their key
+    public long hits() {
+        return hits.sum();
+    }
+
+    // Counters are bumped in batches so the adders stay off the hot path
+    private static final int BATCH = 256;
+
+    private void read() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (running) {
+            int found = 0;
+            for (int i = 0; i < BATCH; i++) {
+                if (target.contains(random.nextInt(keyRange))) found++;
+            }
+            reads.add(BATCH);
+            hits.add(found);
+        }
+    }
+
+    private void write() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (running) {
+            for (int i = 0; i < BATCH; i++) {
+                int k = random.nextInt(keyRange);
+                if (random.nextBoolean()) {
+                    target.insert(k);
+                } else {
+                    target.delete(k);
+                }
+            }
+            writes.add(BATCH);
+        }
+    }
+
+    // Engines behind the Target API
+    public static Target skipList(ConcurrentIntSkipList set) {
+        return new Target() {
+            public String name() { return set.name(); }
+            public boolean insert(int k) { return set.insert(k); }
+            public boolean delete(int k) { return set.delete(k); }
+            public boolean contains(int k) { return set.contains(k); }
+            public int size() { return set.size(); }
+        };
+    }
+
+    public static Target jdkSkipList() {
+        ConcurrentSkipListSet<Integer> set = new ConcurrentSkipListSet<>();
+        return new Target() {
+            public String name() { return "ConcurrentSkipListSet"; }
+            public boolean insert(int k) { return set.add(k); }
+            public boolean delete(int k) { return set.remove(k); }
+            public boolean contains(int k) { return set.contains(k); }
+            public int size() { return set.size(); }
+        };
+    }
+
+    // Coarse-grained baseline: one lock around the single-threaded AVL engine
+    public static Target lockedAVL() {
+        IntAVL tree = new IntAVL();
+        ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        return new Target() {
+            public String name() { return "IntAVL + RW lock"; }
+
+            public boolean insert(int k) {
+                lock.writeLock().lock();
+                try {
+                    return tree.insert(k);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+
+            public boolean delete(int k) {
+                lock.writeLock().lock();
+                try {
+                    return tree.delete(k);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+
+            public boolean contains(int k) {
+                lock.readLock().lock();
+                try {
+                    return tree.contains(k);
+                } finally {
+                    lock.readLock().unlock();
+                }
+            }
+
+            public int size() {
+                lock.readLock().lock();
+                try {
+                    return tree.size();
+                } finally {
+                    lock.readLock().unlock();
+                }
+            }
+        };
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int readers = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int writers = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int keyRange = args.length > 2 ? Integer.parseInt(args[2]) : 1_000_000;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+
+        System.out.println(readers + " readers, " + writers + " writers, keys in [0, " + keyRange + "), "
+            + seconds + " s per run (after a 1 s warm-up)");
+        System.out.println(String.format("%-24s %14s %14s %10s", "", "reads/s", "writes/s", "size"));
+        for (Target target : new Target[] {skipList(new ConcurrentIntSkipList()), jdkSkipList(), lockedAVL()}) {
+            ConcurrentWorkload workload = new ConcurrentWorkload(target, readers, writers, keyRange);
+            workload.prefill();
+            workload.start();
+            Thread.sleep(1000);
+            long reads = workload.reads(), writes = workload.writes();
+            long start = System.nanoTime();
+            Thread.sleep(seconds * 1000L);
+            long nanos = System.nanoTime() - start;
+            reads = workload.reads() - reads;
+            writes = workload.writes() - writes;
+            workload.stop();
+            System.out.println(String.format("%-24s %12.2f M %12.2f M %10d", target.name(),
+                reads * 1000.0 / nanos, writes * 1000.0 / nanos, target.size()));
+        }
+    }
+}
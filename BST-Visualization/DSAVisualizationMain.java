@@ -33,7 +33,7 @@ public class DSAVisualizationMain extends JFrame implements ActionListener {
     private UserManager userManager;
     
     // Menu buttons for different DSA concepts
-    private JButton btnBST, btnAVL, btnHeap, btnGraph, btnSort, btnTrie, btnHash, btnDP, btnAbout, btnLogout;
+    private JButton btnBST, btnAVL, btnBalanced, btnPersistent, btnConcurrent, btnSkipList, btnHeap, btnGraph, btnSort, btnTrie, btnHash, btnDP, btnAbout, btnLogout;
     
     public DSAVisualizationMain() {
         userManager = UserManager.getInstance();
@@ -42,7 +42,7 @@ public class DSAVisualizationMain extends JFrame implements ActionListener {
     
     private void initializeMainMenu() {
         setTitle("DSA Visualization - Interactive Learning Platform");
-        setSize(900, 700);
+        setSize(900, 920);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setLocationRelativeTo(null);
         
@@ -128,7 +128,7 @@ public class DSAVisualizationMain extends JFrame implements ActionListener {
         gbc.gridx = 2;
         mainPanel.add(btnTrie, gbc);
         
-        // Row 3: Hash Table, Dynamic Programming, About
+        // Row 3: Hash Table, Dynamic Programming, Balanced Trees
         btnHash = createMenuButton("Hash Table", "Hash functions and collision handling", new Color(184, 134, 11));
         gbc.gridx = 0; gbc.gridy = startRow + 2;
         mainPanel.add(btnHash, gbc);
@@ -137,15 +137,32 @@ public class DSAVisualizationMain extends JFrame implements ActionListener {
         gbc.gridx = 1;
         mainPanel.add(btnDP, gbc);
         
-        // About & Help button
-        btnAbout = createMenuButton("About & Help", "Learn about this platform", new Color(105, 105, 105));
+        btnBalanced = createMenuButton("Balanced Trees", "Red-Black, Treap, Splay and B-Tree compared", new Color(199, 21, 133));
+        gbc.gridx = 2;
+        mainPanel.add(btnBalanced, gbc);
+        
+        // Row 4: Persistent BST, Concurrent Sets, Skip List
+        btnPersistent = createMenuButton("Persistent BST", "Path copying with undo, redo and time travel", new Color(72, 61, 139));
+        gbc.gridx = 0; gbc.gridy = startRow + 3;
+        mainPanel.add(btnPersistent, gbc);
+
+        btnConcurrent = createMenuButton("Concurrent Sets", "Lock-free skip list under reader and writer threads", new Color(0, 128, 128));
+        gbc.gridx = 1;
+        mainPanel.add(btnConcurrent, gbc);
+
+        btnSkipList = createMenuButton("Skip List", "Towers, search paths and level distribution", new Color(46, 139, 87));
         gbc.gridx = 2;
+        mainPanel.add(btnSkipList, gbc);
+
+        // Row 5: About & Help, Logout
+        btnAbout = createMenuButton("About & Help", "Learn about this platform", new Color(105, 105, 105));
+        gbc.gridx = 0; gbc.gridy = startRow + 4;
         mainPanel.add(btnAbout, gbc);
         
         // Logout button (if user is logged in)
         if (currentUser != null) {
             btnLogout = createMenuButton("Logout", "Sign out and return to login", new Color(220, 20, 60));
-            gbc.gridx = 1; gbc.gridy = startRow + 3;
+            gbc.gridx = 1;
             gbc.insets = new Insets(20, 15, 10, 15);
             mainPanel.add(btnLogout, gbc);
         }
@@ -201,6 +218,18 @@ public class DSAVisualizationMain extends JFrame implements ActionListener {
         } else if (e.getSource() == btnAVL) {
             dispose();
             SwingUtilities.invokeLater(AVLTreeVisualization::new);
+        } else if (e.getSource() == btnBalanced) {
+            dispose();
+            SwingUtilities.invokeLater(BalancedTreeVisualization::new);
+        } else if (e.getSource() == btnPersistent) {
+            dispose();
+            SwingUtilities.invokeLater(PersistentBSTVisualization::new);
+        } else if (e.getSource() == btnConcurrent) {
+            dispose();
+            SwingUtilities.invokeLater(ConcurrentSetVisualization::new);
+        } else if (e.getSource() == btnSkipList) {
+            dispose();
+            SwingUtilities.invokeLater(SkipListVisualization::new);
         } else if (e.getSource() == btnHeap) {
             dispose();
             SwingUtilities.invokeLater(HeapVisualization::new);
@@ -253,6 +282,10 @@ public class DSAVisualizationMain extends JFrame implements ActionListener {
             "<ul>" +
             "<li><b>Binary Search Tree:</b> Complete implementation with search, insert, delete, validation</li>" +
             "<li><b>AVL Tree:</b> Self-balancing BST with rotation animations</li>" +
+            "<li><b>Balanced Trees:</b> Red-Black, Treap, Splay and B-Tree replaying the same key stream</li>" +
+            "<li><b>Persistent BST:</b> Path-copying versions with undo, redo and a history slider</li>" +
+            "<li><b>Concurrent Sets:</b> Lock-free skip list against locked and JDK sets under live threads</li>" +
+            "<li><b>Skip List:</b> Towers of random height with configurable p and max level</li>" +
             "<li><b>Heap:</b> Min/Max heap data structure with heapify operations</li>" +
             "<li><b>Graph Algorithms:</b> BFS, DFS, Dijkstra's shortest path</li>" +
             "<li><b>Sorting Algorithms:</b> Bubble, Quick, Selection sort visualizations</li>" +
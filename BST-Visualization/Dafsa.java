@@ -0,0 +1,466 @@
+// DAFSA - Minimal deterministic acyclic automaton for a static dictionary (headless)
+// Features: Built in one pass over a sorted word list (Daciuk's incremental algorithm: only
+// the states on the previous word's path can change, each is frozen and looked up in a
+// register of equivalent states once the next word leaves it), so shared suffixes are stored
+// once as well as shared prefixes; the automaton lives in two flat int arrays, one edge per
+// slot with the states' edges back to back (labels: character, final and last-edge bits;
+// targets: first edge of the target state); contains and prefix enumeration read them
+// directly; save() writes them to a file that load() memory-maps, so a dictionary opens
+// without parsing or copying
+// Usage: java Dafsa build <sorted words> <out.dafsa> | java Dafsa load <file.dafsa> [prefix]
+//
+// Read-only and unweighted: a plain StringTrie with no single-word add or remove, build()
+// replaces the whole dictionary, and top-K lists the shortest completions first. Node ids
+// for the StringTrie view are edge + 1 (0 is the root), so a state reached along several
+// edges shows up once per edge.
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class Dafsa implements StringTrie {
+    private static final int FINAL = 1 << 16;
+    private static final int LAST = 1 << 17;
+    private static final int MAGIC = 0x44414653;  // "DAFS"
+    private static final int VERSION = 1;
+    private static final int HEADER_INTS = 5;
+
+    // Flat automaton: labels and targets of edges 0 .. edges-1. Int arrays when built here,
+    // views of the mapped file when loaded.
+    private IntBuffer labels;
+    private IntBuffer targets;
+    private int edges;
+    private int root;      // First edge of the start state, NIL for an empty dictionary
+    private int size;
+
+    // Nodes entered by the last walk
+    private int[] path = new int[16];
+    private int pathLength;
+    private TopKCompletions completions;
+
+    private Dafsa(IntBuffer labels, IntBuffer targets, int edges, int root, int size) {
+        this.labels = labels;
+        this.targets = targets;
+        this.edges = edges;
+        this.root = root;
+        this.size = size;
+    }
+
+    // Builds from words in strictly ascending String order (duplicates are skipped)
+    public static class Builder {
+        private int[] labels = new int[64];
+        private int[] targets = new int[64];
+        private int edges;
+        private int words;
+
+        // Frozen states by their edges (label with its FINAL bit, target), mapped to their
+        // first edge. Whether a state is final is stored on the edges into it, so states with
+        // the same edges accept the same suffixes and are merged.
+        private final Map<String, Integer> register = new HashMap<>();
+        private final StringBuilder key = new StringBuilder();
+
+        // The previous word and the not yet frozen state at each depth of its path: the edges
+        // added so far (all to frozen states) and whether a word ends there
+        private final StringBuilder previous = new StringBuilder();
+        private int[][] pendingLabels = new int[16][];
+        private int[][] pendingTargets = new int[16][];
+        private int[] pendingCount = new int[16];
+        private boolean[] pendingFinal = new boolean[16];
+
+        public Builder() {
+            startState(0);
+        }
+
+        public void add(CharSequence word) {
+            int n = word.length();
+            if (n == 0) return;
+            int common = 0;
+            int limit = Math.min(n, previous.length());
+            while (common < limit && word.charAt(common) == previous.charAt(common)) common++;
+            if (common == n && n == previous.length()) return;
+            if (common < limit ? word.charAt(common) < previous.charAt(common) : n < previous.length()) {
+                throw new IllegalArgumentException("Words are not sorted: '" + word + "' after '" + previous + "'");
+            }
+            freezeDownTo(common);
+            for (int depth = common + 1; depth <= n; depth++) {
+                startState(depth);
+            }
+            pendingFinal[n] = true;
+            previous.setLength(common);
+            previous.append(word, common, n);
+            words++;
+        }
+
+        public Dafsa build() {
+            freezeDownTo(0);
+            int start = freeze(0);
+            Dafsa dafsa = new Dafsa(IntBuffer.wrap(Arrays.copyOf(labels, edges)),
+                IntBuffer.wrap(Arrays.copyOf(targets, edges)), edges, start, words);
+            register.clear();
+            return dafsa;
+        }
+
+        private void startState(int depth) {
+            if (depth == pendingCount.length) {
+                int capacity = depth * 2;
+                pendingLabels = Arrays.copyOf(pendingLabels, capacity);
+                pendingTargets = Arrays.copyOf(pendingTargets, capacity);
+                pendingCount = Arrays.copyOf(pendingCount, capacity);
+                pendingFinal = Arrays.copyOf(pendingFinal, capacity);
+            }
+            if (pendingLabels[depth] == null) {
+                pendingLabels[depth] = new int[4];
+                pendingTargets[depth] = new int[4];
+            }
+            pendingCount[depth] = 0;
+            pendingFinal[depth] = false;
+        }
+
+        // Freeze the previous word's states below depth, deepest first, each becoming an
+        // edge of its parent
+        private void freezeDownTo(int depth) {
+            for (int d = previous.length(); d > depth; d--) {
+                int target = freeze(d);
+                int label = previous.charAt(d - 1) | (pendingFinal[d] ? FINAL : 0);
+                int parent = d - 1;
+                int count = pendingCount[parent];
+                if (count == pendingLabels[parent].length) {
+                    pendingLabels[parent] = Arrays.copyOf(pendingLabels[parent], count * 2);
+                    pendingTargets[parent] = Arrays.copyOf(pendingTargets[parent], count * 2);
+                }
+                pendingLabels[parent][count] = label;
+                pendingTargets[parent][count] = target;
+                pendingCount[parent] = count + 1;
+            }
+        }
+
+        // First edge of an equivalent registered state, or of this one written out now
+        private int freeze(int depth) {
+            int count = pendingCount[depth];
+            if (count == 0) return NIL;
+            key.setLength(0);
+            for (int i = 0; i < count; i++) {
+                int label = pendingLabels[depth][i], target = pendingTargets[depth][i];
+                key.append((char) label).append((char) (label >>> 16))
+                    .append((char) (target >>> 16)).append((char) target);
+            }
+            String signature = key.toString();
+            Integer known = register.get(signature);
+            if (known != null) return known;
+            if (edges + count > labels.length) {
+                int capacity = Math.max(edges + count, labels.length * 2);
+                labels = Arrays.copyOf(labels, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+            }
+            int first = edges;
+            System.arraycopy(pendingLabels[depth], 0, labels, first, count);
+            System.arraycopy(pendingTargets[depth], 0, targets, first, count);
+            edges += count;
+            labels[edges - 1] |= LAST;
+            register.put(signature, first);
+            return first;
+        }
+    }
+
+    public static Dafsa fromSorted(List<String> sortedWords) {
+        Builder builder = new Builder();
+        for (String word : sortedWords) builder.add(word);
+        return builder.build();
+    }
+
+    // One word per line, trimmed, in ascending order; streamed, so only the automaton and the
+    // last word's path are held
+    public static Dafsa buildFromFile(String path) throws IOException {
+        Builder builder = new Builder();
+        try (BufferedReader in = Files.newBufferedReader(Paths.get(path), StandardCharsets.UTF_8)) {
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                builder.add(line.trim());
+            }
+        }
+        return builder.build();
+    }
+
+    // Header (magic, version, words, edges, start), then labels and targets, little-endian
+    public void save(String path) throws IOException {
+        try (FileChannel out = FileChannel.open(Paths.get(path), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(size).putInt(edges).putInt(root);
+            for (IntBuffer array : new IntBuffer[] {labels, targets}) {
+                for (int i = 0; i < edges; i++) {
+                    if (buffer.remaining() < 4) {
+                        buffer.flip();
+                        while (buffer.hasRemaining()) out.write(buffer);
+                        buffer.clear();
+                    }
+                    buffer.putInt(array.get(i));
+                }
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) out.write(buffer);
+        }
+    }
+
+    // Map a saved file read-only; the arrays are used in place, nothing is parsed
+    public static Dafsa load(String path) throws IOException {
+        try (FileChannel in = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            long length = in.size();
+            if (length < HEADER_INTS * 4) throw new IOException("Not a DAFSA file: " + path);
+            ByteBuffer bytes = in.map(FileChannel.MapMode.READ_ONLY, 0, length).order(ByteOrder.LITTLE_ENDIAN);
+            if (bytes.getInt(0) != MAGIC || bytes.getInt(4) != VERSION) {
+                throw new IOException("Not a DAFSA file: " + path);
+            }
+            int size = bytes.getInt(8), edges = bytes.getInt(12), root = bytes.getInt(16);
+            if (edges < 0 || length != (HEADER_INTS + 2L * edges) * 4) {
+                throw new IOException("Truncated DAFSA file: " + path);
+            }
+            IntBuffer all = bytes.asIntBuffer();
+            all.position(HEADER_INTS).limit(HEADER_INTS + edges);
+            IntBuffer labels = all.slice();
+            all.limit(HEADER_INTS + 2 * edges).position(HEADER_INTS + edges);
+            IntBuffer targets = all.slice();
+            return new Dafsa(labels, targets, edges, root, size);
+        }
+    }
+
+    // Basic accessors
+    public String name() {
+        return "DAFSA";
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int edgeCount() {
+        return edges;
+    }
+
+    public int nodeCount() {
+        return edges + 1;
+    }
+
+    public int nodeCapacity() {
+        return edges + 1;
+    }
+
+    public long memoryBytes() {
+        return 8L * edges;
+    }
+
+    // Empties the dictionary; it cannot be refilled except by building a new one
+    public void clear() {
+        labels = IntBuffer.allocate(0);
+        targets = IntBuffer.allocate(0);
+        edges = 0;
+        root = NIL;
+        size = 0;
+        pathLength = 0;
+    }
+
+    // Replace the contents with the given words, in any order
+    public void build(List<String> words) {
+        List<String> sorted = new ArrayList<>(words);
+        Collections.sort(sorted);
+        Dafsa built = fromSorted(sorted);
+        labels = built.labels;
+        targets = built.targets;
+        edges = built.edges;
+        root = built.root;
+        size = built.size;
+        pathLength = 0;
+    }
+
+    // Unweighted: every word weighs 0, so top-K lists the shortest completions first
+    public int weight(int node) {
+        return 0;
+    }
+
+    public int bestWeight(int node) {
+        return node == ROOT && root == NIL ? NO_WEIGHT : 0;
+    }
+
+    public int weightOf(CharSequence word) {
+        return 0;
+    }
+
+    // First edge of the state a node leads to, NIL if it has none
+    private int state(int node) {
+        return node == ROOT ? root : targets.get(node - 1);
+    }
+
+    public boolean isWord(int node) {
+        return node != ROOT && (labels.get(node - 1) & FINAL) != 0;
+    }
+
+    public int childCount(int node) {
+        int e = state(node);
+        if (e == NIL) return 0;
+        int first = e;
+        while ((labels.get(e) & LAST) == 0) e++;
+        return e - first + 1;
+    }
+
+    public int childAt(int node, int i) {
+        return state(node) + i + 1;
+    }
+
+    public String childLabel(int node, int i) {
+        return String.valueOf((char) labels.get(state(node) + i));
+    }
+
+    // Edge out of the state starting at first labelled c, or NIL; edges are in character order
+    private int edge(int first, char c) {
+        for (int e = first; ; e++) {
+            int label = labels.get(e);
+            char d = (char) label;
+            if (d == c) return e;
+            if (d > c || (label & LAST) != 0) return NIL;
+        }
+    }
+
+    public int walk(CharSequence s) {
+        int n = s.length();
+        if (path.length < n) path = new int[Math.max(n, path.length * 2)];
+        pathLength = 0;
+        int state = root;
+        while (pathLength < n && state != NIL) {
+            int e = edge(state, s.charAt(pathLength));
+            if (e == NIL) break;
+            path[pathLength++] = e + 1;
+            state = targets.get(e);
+        }
+        return pathLength;
+    }
+
+    public int pathLength() {
+        return pathLength;
+    }
+
+    public int pathNode(int i) {
+        return path[i];
+    }
+
+    public boolean contains(CharSequence word) {
+        int state = root;
+        int label = 0;
+        for (int i = 0, n = word.length(); i < n; i++) {
+            if (state == NIL) return false;
+            int e = edge(state, word.charAt(i));
+            if (e == NIL) return false;
+            label = labels.get(e);
+            state = targets.get(e);
+        }
+        return (label & FINAL) != 0;
+    }
+
+    public int collect(CharSequence prefix, int limit, List<String> out) {
+        int n = prefix.length();
+        if (limit <= 0 || walk(prefix) < n) return 0;
+        int added = 0;
+        char[] word = new char[n + 16];
+        for (int i = 0; i < n; i++) word[i] = prefix.charAt(i);
+        if (n > 0 && isWord(path[n - 1])) {
+            out.add(new String(word, 0, n));
+            if (++added == limit) return added;
+        }
+        // Depth-first with one stack entry per level: the next edge to take there, NIL when done
+        int[] stackEdge = new int[16];
+        int depth = 0;
+        stackEdge[0] = n == 0 ? root : targets.get(path[n - 1] - 1);
+        while (depth >= 0) {
+            int e = stackEdge[depth];
+            if (e == NIL) {
+                depth--;
+                continue;
+            }
+            int label = labels.get(e);
+            stackEdge[depth] = (label & LAST) != 0 ? NIL : e + 1;
+            int length = n + depth;
+            if (word.length == length) word = Arrays.copyOf(word, length * 2);
+            word[length] = (char) label;
+            if ((label & FINAL) != 0) {
+                out.add(new String(word, 0, length + 1));
+                if (++added == limit) return added;
+            }
+            int target = targets.get(e);
+            if (target != NIL) {
+                if (++depth == stackEdge.length) stackEdge = Arrays.copyOf(stackEdge, depth * 2);
+                stackEdge[depth] = target;
+            }
+        }
+        return added;
+    }
+
+    public int topK(CharSequence prefix, int k, List<String> out) {
+        int n = prefix.length();
+        if (walk(prefix) < n) return 0;
+        if (completions == null) completions = new TopKCompletions();
+        return completions.search(this, n == 0 ? ROOT : path[n - 1], prefix.toString(), k, out);
+    }
+
+    // Every state's edges are in ascending character order and end with a LAST edge, targets
+    // point to states written earlier (so there is no cycle), states without edges are final,
+    // and the start state's edges spell exactly size words
+    public boolean isValid() {
+        if (edges == 0) return root == NIL && size == 0;
+        if (root < 0 || root >= edges || (labels.get(edges - 1) & LAST) == 0) return false;
+        // Words spelled from each state, stored at its first edge
+        long[] words = new long[edges];
+        int first = 0;
+        long sum = 0;
+        for (int e = 0; e < edges; e++) {
+            int label = labels.get(e), target = targets.get(e);
+            if (e > first && (char) label <= (char) labels.get(e - 1)) return false;
+            if (target == NIL) {
+                if ((label & FINAL) == 0) return false;
+            } else if (target >= first) {
+                return false;
+            }
+            sum += ((label & FINAL) != 0 ? 1 : 0) + (target == NIL ? 0 : words[target]);
+            if ((label & LAST) != 0) {
+                words[first] = sum;
+                sum = 0;
+                first = e + 1;
+            }
+        }
+        return words[root] == size;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 3 && args[0].equals("build")) {
+            long start = System.nanoTime();
+            Dafsa dafsa = buildFromFile(args[1]);
+            long built = System.nanoTime();
+            dafsa.save(args[2]);
+            System.out.println(String.format("%,d words -> %,d edges (%,d bytes) in %d ms, saved in %d ms",
+                dafsa.size(), dafsa.edgeCount(), dafsa.memoryBytes(), (built - start) / 1_000_000,
+                (System.nanoTime() - built) / 1_000_000));
+        } else if (args.length >= 2 && args[0].equals("load")) {
+            long start = System.nanoTime();
+            Dafsa dafsa = load(args[1]);
+            System.out.println(String.format("Mapped %,d words, %,d edges in %.2f ms", dafsa.size(),
+                dafsa.edgeCount(), (System.nanoTime() - start) / 1e6));
+            if (args.length > 2) {
+                List<String> words = new ArrayList<>();
+                dafsa.collect(args[2], 20, words);
+                System.out.println(args[2] + ": " + words);
+            }
+        } else {
+            System.out.println("Usage: java Dafsa build <sorted words> <out.dafsa> | java Dafsa load <file.dafsa> [prefix]");
+        }
+    }
+}
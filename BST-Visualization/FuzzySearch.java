@@ -0,0 +1,148 @@
+// Fuzzy Search - Words within k edits of a query, found by walking the trie (headless)
+// Features: Works on any StringTrie through its node API; depth-first with an explicit stack,
+// carrying one Levenshtein DP row per character of the path (insert, delete and substitute
+// each cost 1) in one flat int array, so words sharing a prefix share its rows; a branch is
+// cut as soon as its row minimum exceeds k, since no extension can get back under it; radix
+// edges are consumed a character at a time and can be cut part-way; records every node
+// entered and whether it was cut there, for highlighting; brute-force distance for baselines
+
+import java.util.Arrays;
+import java.util.List;
+
+public class FuzzySearch {
+    // Rows by path length: row d (query.length() + 1 entries) starts at d * (query.length() + 1)
+    private int[] rows = new int[256];
+    private char[] word = new char[32];
+
+    // Depth-first stack: node, next child index and path length per level
+    private int[] stackNode = new int[16];
+    private int[] stackIndex = new int[16];
+    private int[] stackDepth = new int[16];
+
+    // Nodes entered by the last search and whether the branch was cut there
+    private int[] visited = new int[64];
+    private boolean[] cut = new boolean[64];
+    private int visitedCount;
+
+    // Distance of each word the last search added, in the order added
+    private int[] distances = new int[16];
+    private int found;
+
+    public int visitedCount() {
+        return visitedCount;
+    }
+
+    public int visitedNode(int i) {
+        return visited[i];
+    }
+
+    public boolean wasCut(int i) {
+        return cut[i];
+    }
+
+    public int distance(int i) {
+        return distances[i];
+    }
+
+    // Append every word within k edits of query to out, in child order. Returns the number
+    // added; distance(i) is the edit distance of the i-th.
+    public int search(StringTrie trie, CharSequence query, int k, List<String> out) {
+        int m = query.length();
+        int width = m + 1;
+        visitedCount = 0;
+        found = 0;
+        if (rows.length < width) rows = new int[width * 2];
+        for (int j = 0; j <= m; j++) rows[j] = j;
+        if (trie.isWord(StringTrie.ROOT) && m <= k) addResult(out, 0, m);
+        if (k < 0 || trie.isEmpty()) return found;
+
+        int top = 0;
+        stackNode[0] = StringTrie.ROOT;
+        stackIndex[0] = 0;
+        stackDepth[0] = 0;
+        while (top >= 0) {
+            int current = stackNode[top];
+            int i = stackIndex[top]++;
+            if (i == trie.childCount(current)) {
+                top--;
+                continue;
+            }
+            int child = trie.childAt(current, i);
+            String label = trie.childLabel(current, i);
+            int depth = stackDepth[top];
+            int end = depth + label.length();
+            if (rows.length < (end + 1) * width) rows = Arrays.copyOf(rows, Math.max((end + 1) * width, rows.length * 2));
+            if (word.length < end) word = Arrays.copyOf(word, Math.max(end, word.length * 2));
+
+            // One row per label character; stop at the first whose minimum is over k
+            boolean alive = true;
+            for (int c = 0; c < label.length() && alive; c++) {
+                char ch = label.charAt(c);
+                word[depth + c] = ch;
+                alive = nextRow(query, (depth + c) * width, ch) <= k;
+            }
+            record(child, !alive);
+            if (!alive) continue;
+            int distance = rows[end * width + m];
+            if (trie.isWord(child) && distance <= k) addResult(out, end, distance);
+            if (trie.childCount(child) > 0) {
+                if (++top == stackNode.length) {
+                    stackNode = Arrays.copyOf(stackNode, top * 2);
+                    stackIndex = Arrays.copyOf(stackIndex, top * 2);
+                    stackDepth = Arrays.copyOf(stackDepth, top * 2);
+                }
+                stackNode[top] = child;
+                stackIndex[top] = 0;
+                stackDepth[top] = end;
+            }
+        }
+        return found;
+    }
+
+    // Fill the row after the one at offset for path character ch; returns its minimum
+    private int nextRow(CharSequence query, int offset, char ch) {
+        int m = query.length();
+        int next = offset + m + 1;
+        rows[next] = rows[offset] + 1;
+        int min = rows[next];
+        for (int j = 1; j <= m; j++) {
+            int substitute = rows[offset + j - 1] + (query.charAt(j - 1) == ch ? 0 : 1);
+            int value = Math.min(substitute, Math.min(rows[offset + j] + 1, rows[next + j - 1] + 1));
+            rows[next + j] = value;
+            if (value < min) min = value;
+        }
+        return min;
+    }
+
+    private void record(int node, boolean wasCut) {
+        if (visitedCount == visited.length) {
+            visited = Arrays.copyOf(visited, visitedCount * 2);
+            cut = Arrays.copyOf(cut, visitedCount * 2);
+        }
+        visited[visitedCount] = node;
+        cut[visitedCount++] = wasCut;
+    }
+
+    private void addResult(List<String> out, int length, int distance) {
+        out.add(new String(word, 0, length));
+        if (found == distances.length) distances = Arrays.copyOf(distances, found * 2);
+        distances[found++] = distance;
+    }
+
+    // Levenshtein distance with a single row, for comparing against every word
+    public static int distance(CharSequence a, CharSequence b) {
+        int m = b.length();
+        int[] row = new int[m + 1];
+        for (int j = 0; j <= m; j++) row[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            int diagonal = row[0];
+            row[0] = i;
+            for (int j = 1; j <= m; j++) {
+                int above = row[j];
+                row[j] = Math.min(diagonal + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1), Math.min(above, row[j - 1]) + 1);
+                diagonal = above;
+            }
+        }
+        return row[m];
+    }
+}
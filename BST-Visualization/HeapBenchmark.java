@@ -0,0 +1,180 @@
+// Heap Benchmark - Insert / extract throughput of the primitive heap vs PriorityQueue
+// Features: IntHeap (min and max order) vs java.util.PriorityQueue<Integer> on the same
+// random keys, warm-up rounds before timing, million operations per second and heap bytes
+// allocated per operation (measured on the benchmark thread), then in-place IntHeapSort vs
+// Arrays.sort on copies of the same keys with comparisons, swaps and wall time, then cancel
+// and reschedule by id: IntIndexedHeap (O(log n)) vs PriorityQueue.remove(Object) (O(n))
+// Usage: java HeapBenchmark [keys]   (default 10,000,000)
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+public class HeapBenchmark {
+    private static final int WARMUP_ROUNDS = 2;
+    // PriorityQueue.remove(Object) scans the whole queue, so this part uses a smaller queue
+    private static final int BY_ID_SIZE = 100_000;
+    private static final int BY_ID_OPS = 10_000;
+
+    private static long sink;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int[] keys = new int[n];
+        Random random = new Random(42);
+        for (int i = 0; i < n; i++) keys[i] = random.nextInt();
+
+        System.out.println("Keys: " + n);
+        System.out.println(String.format("%-22s %10s %10s %14s", "", "insert", "extract", "bytes/op"));
+        run("IntHeap min", keys, (k, times) -> intHeap(IntHeap.MIN, k, times));
+        run("IntHeap max", keys, (k, times) -> intHeap(IntHeap.MAX, k, times));
+        run("PriorityQueue<Integer>", keys, HeapBenchmark::priorityQueue);
+        sorts(keys);
+        byId(BY_ID_SIZE, BY_ID_OPS);
+        if (sink == 42) System.out.println();
+    }
+
+    private interface Workload {
+        // Fills times[0..1] with insert and extract nanoseconds
+        void measure(int[] keys, long[] times);
+    }
+
+    private static void run(String name, int[] keys, Workload workload) {
+        long[] times = new long[2];
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            workload.measure(keys, times);
+        }
+        long before = allocatedBytes();
+        workload.measure(keys, times);
+        long bytes = allocatedBytes() - before;
+        System.out.println(String.format("%-22s %10s %10s %14.2f", name,
+            rate(keys.length, times[0]), rate(keys.length, times[1]), bytes / (2.0 * keys.length)));
+    }
+
+    // Both sorts run on fresh copies; the copy is outside the timed region
+    private static void sorts(int[] keys) {
+        int[] heapSorted = null;
+        int[] jdkSorted = null;
+        IntHeapSort stats = null;
+        long heapNanos = 0, jdkNanos = 0;
+        for (int i = 0; i <= WARMUP_ROUNDS; i++) {
+            heapSorted = keys.clone();
+            long start = System.nanoTime();
+            stats = IntHeapSort.sort(heapSorted, IntHeap.MAX);
+            heapNanos = System.nanoTime() - start;
+
+            jdkSorted = keys.clone();
+            start = System.nanoTime();
+            Arrays.sort(jdkSorted);
+            jdkNanos = System.nanoTime() - start;
+        }
+        if (!Arrays.equals(heapSorted, jdkSorted)) {
+            throw new IllegalStateException("IntHeapSort and Arrays.sort disagree");
+        }
+
+        System.out.println();
+        System.out.println(String.format("%-22s %14s %14s %10s", "Sort", "comparisons", "swaps", "time"));
+        System.out.println(String.format("%-22s %14d %14d %7d ms", "IntHeapSort (in place)",
+            stats.comparisons(), stats.swaps(), heapNanos / 1_000_000));
+        System.out.println(String.format("%-22s %14s %14s %7d ms", "Arrays.sort(int[])", "-", "-", jdkNanos / 1_000_000));
+    }
+
+    // A queue of n timers with distinct deadlines; ops random timers are cancelled (removed),
+    // then ops others rescheduled (given a new deadline)
+    private static void byId(int n, int ops) {
+        Random random = new Random(7);
+        int[] deadlines = new int[n];
+        for (int i = 0; i < n; i++) deadlines[i] = i * 2;
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = deadlines[i];
+            deadlines[i] = deadlines[j];
+            deadlines[j] = t;
+        }
+        // Distinct ids to cancel, then distinct ids to reschedule, with odd (unused) new deadlines
+        int[] picks = new int[2 * ops];
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) ids[i] = i;
+        for (int i = 0; i < picks.length; i++) {
+            int j = i + random.nextInt(n - i);
+            picks[i] = ids[j];
+            ids[j] = ids[i];
+        }
+
+        long[] indexedTimes = new long[2];
+        long[] queueTimes = new long[2];
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            IntIndexedHeap heap = new IntIndexedHeap(IntHeap.MIN, n);
+            for (int id = 0; id < n; id++) heap.insert(id, deadlines[id]);
+            long start = System.nanoTime();
+            for (int i = 0; i < ops; i++) heap.remove(picks[i]);
+            indexedTimes[0] = System.nanoTime() - start;
+            start = System.nanoTime();
+            for (int i = ops; i < 2 * ops; i++) heap.changeKey(picks[i], 2 * i + 1);
+            indexedTimes[1] = System.nanoTime() - start;
+            sink += heap.peek();
+
+            PriorityQueue<Integer> queue = new PriorityQueue<>(n);
+            for (int id = 0; id < n; id++) queue.add(deadlines[id]);
+            start = System.nanoTime();
+            for (int i = 0; i < ops; i++) queue.remove(deadlines[picks[i]]);
+            queueTimes[0] = System.nanoTime() - start;
+            start = System.nanoTime();
+            for (int i = ops; i < 2 * ops; i++) {
+                queue.remove(deadlines[picks[i]]);
+                queue.add(2 * i + 1);
+            }
+            queueTimes[1] = System.nanoTime() - start;
+            sink += queue.peek();
+        }
+
+        System.out.println();
+        System.out.println(String.format("%-30s %12s %12s", "By id (n = " + n + ", " + ops + " ops)", "cancel", "reschedule"));
+        System.out.println(String.format("%-30s %12s %12s", "IntIndexedHeap remove/change",
+            rate(ops, indexedTimes[0]), rate(ops, indexedTimes[1])));
+        System.out.println(String.format("%-30s %12s %12s", "PriorityQueue remove(Object)",
+            rate(ops, queueTimes[0]), rate(ops, queueTimes[1])));
+    }
+
+    // Million operations per second
+    private static String rate(int ops, long nanos) {
+        return String.format("%.2f M/s", ops * 1000.0 / Math.max(nanos, 1));
+    }
+
+    // Bytes allocated by this thread so far, or 0 where the JVM does not report it
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    // Sized up front, so the timed run allocates nothing but the heap itself
+    private static void intHeap(IntHeap.Order order, int[] keys, long[] times) {
+        IntHeap heap = new IntHeap(order, keys.length);
+        long start = System.nanoTime();
+        for (int k : keys) heap.insert(k);
+        times[0] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long sum = 0;
+        while (!heap.isEmpty()) sum += heap.extract();
+        times[1] = System.nanoTime() - start;
+        sink += sum;
+    }
+
+    private static void priorityQueue(int[] keys, long[] times) {
+        PriorityQueue<Integer> heap = new PriorityQueue<>(keys.length);
+        long start = System.nanoTime();
+        for (int k : keys) heap.add(k);
+        times[0] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long sum = 0;
+        while (!heap.isEmpty()) sum += heap.poll();
+        times[1] = System.nanoTime() - start;
+        sink += sum;
+    }
+}
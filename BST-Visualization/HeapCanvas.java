@@ -0,0 +1,266 @@
+// Heap Canvas - Custom-painted view of an array heap (complete binary tree)
+// Features: Node positions computed straight from the array index (slot p of level d sits at
+// (p + 0.5) / 2^d of the width), so nothing is laid out and nothing is allocated per node;
+// only the index range of each level that meets the clip is drawn, nodes shrink as a level
+// gets dense and collapse into a band below a few pixels; repaintNode(index) invalidates just
+// one node and its edges so a sift repaints its path; the levels always fit the height,
+// drag to pan, mouse wheel to zoom horizontally and double-click to fit
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import javax.swing.JPanel;
+
+public class HeapCanvas extends JPanel {
+    // Read-only view of the heap array; children of i at 2i+1 and 2i+2
+    public interface Source {
+        int size();
+        String label(int index);
+        Color fill(int index);
+
+        // Small text drawn above the node's top-right corner, or null for none
+        default String badge(int index) {
+            return null;
+        }
+    }
+
+    private static final int NODE_WIDTH = 50;
+    private static final int NODE_HEIGHT = 40;
+    private static final int SLOT_WIDTH = NODE_WIDTH + 10;
+    private static final int LEVEL_GAP = 80;
+    private static final int MARGIN = 30;
+
+    private static final Font NODE_FONT = new Font("Arial", Font.BOLD, 14);
+    private static final Font SMALL_FONT = new Font("Arial", Font.BOLD, 10);
+    private static final Color BADGE_COLOR = new Color(200, 0, 0);
+    private static final BasicStroke EDGE_STROKE = new BasicStroke(2.0f);
+    private static final BasicStroke THIN_STROKE = new BasicStroke(1.0f);
+    private static final Color BAND_COLOR = new Color(120, 120, 120);
+
+    private final Source source;
+    // Levels at the last resized(); positions only move when this changes
+    private int shownLevels;
+
+    // Horizontal view transform: screen x = world x * zoom + panX
+    private double zoom = 1.0;
+    private double panX = 0;
+    private int dragX;
+    // Keep fitting the heap into view until the user pans or zooms
+    private boolean autoFit = true;
+
+    public HeapCanvas(Source source) {
+        this.source = source;
+        setOpaque(true);
+
+        MouseAdapter navigation = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                dragX = e.getX();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                autoFit = false;
+                panX += e.getX() - dragX;
+                dragX = e.getX();
+                repaint();
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                autoFit = false;
+                double factor = Math.pow(1.15, -e.getPreciseWheelRotation());
+                double newZoom = Math.max(1e-6, Math.min(4.0, zoom * factor));
+                panX = e.getX() - (e.getX() - panX) * newZoom / zoom;
+                zoom = newZoom;
+                repaint();
+            }
+
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    autoFit = true;
+                    fitToView();
+                }
+            }
+        };
+        addMouseListener(navigation);
+        addMouseMotionListener(navigation);
+        addMouseWheelListener(navigation);
+    }
+
+    // Call after the size changed. Returns true if that moved nodes (a new level was started
+    // or the last one emptied) and the whole canvas was repainted.
+    public boolean resized() {
+        int levels = levels();
+        if (levels == shownLevels) return false;
+        shownLevels = levels;
+        if (autoFit) {
+            fitToView();
+        } else {
+            repaint();
+        }
+        return true;
+    }
+
+    // Repaint one node together with the edges to its parent and children. Slots past the end
+    // may be passed too, to erase a node that was just removed.
+    public void repaintNode(int index) {
+        if (index < 0) return;
+        int depth = depth(index);
+        double x = screenX(index, depth);
+        // The parent is half a slot of this level away, the children a quarter
+        double reach = Math.max(slotWidth(depth) * zoom, NODE_WIDTH) / 2 + 2;
+        int top = rowY(Math.max(depth - 1, 0));
+        int bottom = rowY(depth + 1) + nodeHeight();
+        repaint((int) Math.floor(x - reach), top - 2, (int) Math.ceil(2 * reach), bottom - top + 4);
+    }
+
+    // Reset the view so the whole heap fits the panel
+    public void fitToView() {
+        shownLevels = levels();
+        if (shownLevels == 0 || getWidth() == 0) {
+            zoom = 1.0;
+            panX = 0;
+        } else {
+            double worldWidth = worldWidth() + 2 * MARGIN;
+            zoom = Math.min(1.0, getWidth() / worldWidth);
+            panX = (getWidth() - worldWidth * zoom) / 2;
+        }
+        repaint();
+    }
+
+    // Pan so that the node is centered, keeping the zoom level
+    public void reveal(int index) {
+        if (index < 0 || index >= source.size()) return;
+        autoFit = false;
+        panX += getWidth() / 2.0 - screenX(index, depth(index));
+        repaint();
+    }
+
+    @Override
+    public void setBounds(int x, int y, int width, int height) {
+        super.setBounds(x, y, width, height);
+        if (autoFit) fitToView();
+    }
+
+    private int levels() {
+        return 32 - Integer.numberOfLeadingZeros(source.size());
+    }
+
+    private static int depth(int index) {
+        return 31 - Integer.numberOfLeadingZeros(index + 1);
+    }
+
+    // Width of the bottom level, which every level divides evenly
+    private double worldWidth() {
+        return Math.scalb((double) SLOT_WIDTH, Math.max(levels() - 1, 0));
+    }
+
+    private double slotWidth(int depth) {
+        return Math.scalb(worldWidth(), -depth);
+    }
+
+    private double screenX(int index, int depth) {
+        int position = index + 1 - (1 << depth);
+        return (MARGIN + (position + 0.5) * slotWidth(depth)) * zoom + panX;
+    }
+
+    // Levels share the height: LEVEL_GAP apart while they fit, closer when they do not
+    private double levelGap() {
+        int levels = levels();
+        if (levels < 2) return LEVEL_GAP;
+        double fit = (getHeight() - 2 * MARGIN - NODE_HEIGHT) / (double) (levels - 1);
+        return Math.max(4, Math.min(LEVEL_GAP, fit));
+    }
+
+    private int nodeHeight() {
+        return (int) Math.min(NODE_HEIGHT, levelGap() * 0.6);
+    }
+
+    private int rowY(int depth) {
+        return (int) (MARGIN + depth * levelGap());
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        int size = source.size();
+        int levels = levels();
+        if (size == 0) return;
+
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setFont(NODE_FONT);
+        FontMetrics fm = g2.getFontMetrics();
+        FontMetrics small = g2.getFontMetrics(SMALL_FONT);
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+        int nodeHeight = nodeHeight();
+
+        // Level by level: the edges up to the parents of the visible range first, then its nodes
+        for (int depth = 0; depth < levels; depth++) {
+            int y = rowY(depth);
+            int parentBottom = depth > 0 ? rowY(depth - 1) + nodeHeight : y;
+            if (parentBottom > clip.y + clip.height || y + nodeHeight < clip.y) continue;
+            int levelStart = (1 << depth) - 1;
+            int levelEnd = Math.min(size, 2 * levelStart + 1);
+            double slot = slotWidth(depth) * zoom;
+            double firstX = screenX(levelStart, depth);
+            // Edges reach half a slot sideways, nodes at most half a node width
+            double reach = Math.max(slot, NODE_WIDTH);
+            int from = (int) Math.max(levelStart, levelStart + (long) Math.floor((clip.x - reach - firstX) / slot));
+            int to = (int) Math.min(levelEnd, levelStart + (long) Math.ceil((clip.x + clip.width + reach - firstX) / slot) + 1);
+            if (from >= to) continue;
+
+            // Nodes closer than a few pixels are drawn as one band with their edges
+            if (slot < 3) {
+                g2.setColor(BAND_COLOR);
+                int left = (int) screenX(from, depth), right = (int) Math.ceil(screenX(to - 1, depth));
+                g2.fillRect(left, parentBottom, right - left + 1, y + nodeHeight - parentBottom);
+                continue;
+            }
+
+            int nodeWidth = (int) Math.min(NODE_WIDTH, slot - 2);
+            g2.setColor(Color.BLACK);
+            g2.setStroke(nodeWidth >= NODE_WIDTH / 2 ? EDGE_STROKE : THIN_STROKE);
+            if (depth > 0) {
+                for (int i = from; i < to; i++) {
+                    int parent = (i - 1) >>> 1;
+                    g2.drawLine((int) screenX(parent, depth - 1), parentBottom, (int) screenX(i, depth), y);
+                }
+            }
+            for (int i = from; i < to; i++) {
+                int x = (int) screenX(i, depth) - nodeWidth / 2;
+                g2.setColor(source.fill(i));
+                g2.fillRect(x, y, nodeWidth, nodeHeight);
+                g2.setColor(Color.BLACK);
+                g2.drawRect(x, y, nodeWidth, nodeHeight);
+                // Text only where it fits, in the small font if the normal one is too wide
+                String text = source.label(i);
+                FontMetrics metrics = fm.stringWidth(text) + 4 <= nodeWidth ? fm : small;
+                int textWidth = metrics.stringWidth(text);
+                if (textWidth + 4 <= nodeWidth && metrics.getAscent() <= nodeHeight) {
+                    g2.setFont(metrics.getFont());
+                    g2.drawString(text, x + (nodeWidth - textWidth) / 2,
+                        y + (nodeHeight + metrics.getAscent() - metrics.getDescent()) / 2);
+                    String badge = source.badge(i);
+                    if (badge != null) {
+                        g2.setFont(SMALL_FONT);
+                        g2.setColor(BADGE_COLOR);
+                        g2.drawString(badge, x + nodeWidth - 4, y - 2);
+                    }
+                }
+            }
+        }
+        g2.dispose();
+    }
+}
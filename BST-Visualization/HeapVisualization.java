@@ -1,52 +1,125 @@
 // Heap Visualization - Min/Max Heap with Heapify Operations
-// Features: Insert, Extract, Heapify, Build Heap, Heap Sort
+// Features: Insert, Extract, Heapify, Build Heap, Heap Sort on the primitive IntHeap engine,
+// operations log fed by the engine's sift trace, selectable d-ary / pairing / Fibonacci
+// engines with handle-based decrease-key and meld drawn as multiway trees, comparisons and
+// memory per element for every engine, animated in-place heap sort on a scratch copy,
+// custom-painted heap canvas that repaints only the nodes a sift touched, windowed array strip,
+// bounded top-K streaming from a file or a generator thread with live ingest rate,
+// indexed heap with change-key and remove by id shown next to its id -> slot position map
 
-import java.awt.BasicStroke;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Cursor;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Font;
-import java.awt.Graphics;
-import java.awt.Graphics2D;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
+import java.util.Random;
 import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
 import javax.swing.JButton;
+import javax.swing.JComboBox;
+import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
+import javax.swing.JSpinner;
 import javax.swing.JTextArea;
 import javax.swing.JTextField;
-import javax.swing.SwingConstants;
+import javax.swing.SpinnerNumberModel;
 import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 
 public class HeapVisualization extends JFrame implements ActionListener, KeyListener {
-    private java.util.List<Integer> heap;
+    private static final String[] STRUCTURES = {"Binary", "d-ary", "Pairing", "Fibonacci", "Indexed"};
+    private static final int D_ARY = 1, PAIRING = 2, FIBONACCI = 3, INDEXED = 4;
+    private static final int MELD_KEYS = 5;
+    private static final int SORT_STEP_MS = 400;
+    private static final int STREAM_SAMPLE_MS = 250;
+    private static final int STREAM_KEY_BOUND = 1_000_000;
+
+    private IntHeap heap;
     private boolean isMinHeap;
-    private JPanel topPanel, heapPanel, infoPanel;
+    // Handle-based engine for every structure but Binary, null in Binary mode. The indexed heap
+    // has the binary shape and shares the heap canvas; the others are drawn on queueCanvas.
+    private IntPriorityQueue queue;
+    private IntIndexedHeap indexed;
+    private TreeCanvas queueCanvas;
+    private long reportedComparisons;
+    private final Random random = new Random();
+
+    // Animated heap sort: runs on a scratch copy of the array, which the canvas and the strip
+    // show instead of the heap while sortKeys is set; the timer only runs while it is sorting
+    private Timer sortTimer;
+    private IntHeapSort sortRun;
+    private int[] sortKeys;
+    private int swappedA = -1, swappedB = -1;
+    private final IntHeapSort.Trace sortTrace = new IntHeapSort.Trace() {
+        public void swapped(int i, int j) {
+            unmarkSwap();
+            swappedA = i;
+            swappedB = j;
+            heapCanvas.repaintNode(i);
+            heapCanvas.repaintNode(j);
+            logOperation("Swap " + sortKeys[j] + " (index " + i + ") with " + sortKeys[i] + " (index " + j + ")");
+        }
+
+        public void sorted(int index) {
+            heapCanvas.repaintNode(index);
+        }
+    };
+    // Top-K streaming: the stream thread owns its own IntTopK; every sample copies the K kept
+    // keys into the binary heap for display, so the view never holds more than K keys
+    private TopKStream stream;
+    private Timer streamTimer;
+    private int[] streamKeys;
+    private long streamStart, sampledItems, sampledAt;
+
+    // Turns the engine's sift moves into log lines and remembers the slots they touched
+    private final IntHeap.Trace logTrace = new IntHeap.Trace() {
+        public void moved(int key, int from, int to) {
+            logOperation("Moved " + key + " from position " + from + " to " + to);
+            markDirty(to);
+        }
+
+        public void placed(int key, int index) {
+            logOperation("Placed " + key + " at position " + index);
+            markDirty(index);
+            lastPlaced = index;
+        }
+    };
+    // Slots changed since the last updateDisplay(); past DIRTY_LIMIT the whole canvas is repainted
+    private static final int DIRTY_LIMIT = 256;
+    private final int[] dirty = new int[DIRTY_LIMIT];
+    private int dirtyCount;
+    private int shownSize;
+    private int lastPlaced = -1;
+
+    private JPanel topPanel, infoPanel;
+    private HeapCanvas heapCanvas;
+    private ArrayStrip arrayStrip, positionStrip;
     private JPanel topLeftPanel, topRightPanel;
     private JButton btnInsert, btnExtract, btnHeapify, btnBuildHeap, btnHeapSort, btnClear, btnToggleType, btnBack, btnHelp;
+    private JButton btnDecrease, btnMeld, btnStream, btnRemove;
+    private JComboBox<String> structureBox;
+    private JSpinner aritySpinner;
     private JTextField tf;
     private JLabel labelSize, ansSize, labelType, ansType;
-    private JLabel heapOrderLabel, heapArrayLabel;
+    private JLabel heapOrderLabel, costLabel, streamLabel;
     private JTextArea logArea;
-    private Graphics2D g2;
 
     public HeapVisualization() {
-        heap = new ArrayList<>();
+        heap = new IntHeap(IntHeap.MIN);
+        heap.setTrace(logTrace);
         isMinHeap = true;
         initialize();
     }
@@ -77,19 +150,25 @@ public class HeapVisualization extends JFrame implements ActionListener, KeyList
 
         topRightPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
         topRightPanel.setBackground(new Color(230, 240, 250));
-        topPanel.add(topRightPanel, BorderLayout.EAST);
-
-        heapPanel = new JPanel(null);
-        heapPanel.setBackground(new Color(248, 248, 255));
+        // The buttons get a row of their own below the inputs
+        topPanel.add(topRightPanel, BorderLayout.SOUTH);
+
+        heapCanvas = new HeapCanvas(new HeapCanvas.Source() {
+            public int size() { return arraySize(); }
+            public String label(int index) { return String.valueOf(slotKey(index)); }
+            public Color fill(int index) { return slotColor(index); }
+            public String badge(int index) { return indexed != null && sortKeys == null ? "id" + indexed.idAt(index) : null; }
+        });
+        heapCanvas.setBackground(new Color(248, 248, 255));
 
         infoPanel = new JPanel();
         infoPanel.setLayout(new BoxLayout(infoPanel, BoxLayout.Y_AXIS));
-        infoPanel.setPreferredSize(new Dimension(getWidth(), 200));
+        infoPanel.setPreferredSize(new Dimension(getWidth(), 270));
         infoPanel.setBackground(new Color(245, 245, 245));
         infoPanel.setBorder(BorderFactory.createTitledBorder("Heap Information & Operations Log"));
 
         add(topPanel, BorderLayout.NORTH);
-        add(heapPanel, BorderLayout.CENTER);
+        add(heapCanvas, BorderLayout.CENTER);
         add(infoPanel, BorderLayout.SOUTH);
     }
 
@@ -112,6 +191,22 @@ public class HeapVisualization extends JFrame implements ActionListener, KeyList
         ansType.setForeground(new Color(0, 128, 0));
         topLeftPanel.add(ansType);
 
+        // Structure selection; the arity only applies to the d-ary heap
+        structureBox = new JComboBox<>(STRUCTURES);
+        structureBox.setFont(new Font("Arial", Font.BOLD, 14));
+        structureBox.addActionListener(e -> switchStructure());
+        topLeftPanel.add(structureBox);
+
+        JLabel arityLabel = new JLabel("d:");
+        arityLabel.setFont(new Font("Arial", Font.BOLD, 14));
+        topLeftPanel.add(arityLabel);
+        aritySpinner = new JSpinner(new SpinnerNumberModel(4, IntDaryHeap.MIN_ARITY, IntDaryHeap.MAX_ARITY, 1));
+        aritySpinner.setEnabled(false);
+        aritySpinner.addChangeListener(e -> {
+            if (structureBox.getSelectedIndex() == D_ARY) switchStructure();
+        });
+        topLeftPanel.add(aritySpinner);
+
         // Input field
         tf = new JTextField();
         tf.setFont(new Font("Arial", Font.BOLD, 16));
@@ -126,6 +221,14 @@ public class HeapVisualization extends JFrame implements ActionListener, KeyList
         btnBuildHeap = createStyledButton("Build", new Color(138, 43, 226));
         btnHeapSort = createStyledButton("Sort", new Color(30, 144, 255));
         btnToggleType = createStyledButton("Min⇄Max", new Color(184, 134, 11));
+        btnDecrease = createStyledButton("Decrease", new Color(0, 128, 128));
+        btnMeld = createStyledButton("Meld", new Color(72, 61, 139));
+        btnStream = createStyledButton("Stream", new Color(199, 21, 133));
+        btnRemove = createStyledButton("Remove", new Color(178, 34, 34));
+        // Handles only exist on the d-ary, pairing and Fibonacci engines
+        btnDecrease.setEnabled(false);
+        btnMeld.setEnabled(false);
+        btnRemove.setEnabled(false);
         btnClear = createStyledButton("Clear", new Color(255, 69, 0));
         btnHelp = createStyledButton("Help", new Color(70, 130, 180));
         btnBack = createStyledButton("← Back", new Color(105, 105, 105));
@@ -136,6 +239,10 @@ public class HeapVisualization extends JFrame implements ActionListener, KeyList
         btnBuildHeap.addActionListener(this);
         btnHeapSort.addActionListener(this);
         btnToggleType.addActionListener(this);
+        btnDecrease.addActionListener(this);
+        btnMeld.addActionListener(this);
+        btnStream.addActionListener(this);
+        btnRemove.addActionListener(this);
         btnClear.addActionListener(this);
         btnHelp.addActionListener(this);
         btnBack.addActionListener(this);
@@ -146,6 +253,10 @@ public class HeapVisualization extends JFrame implements ActionListener, KeyList
         topRightPanel.add(btnBuildHeap);
         topRightPanel.add(btnHeapSort);
         topRightPanel.add(btnToggleType);
+        topRightPanel.add(btnDecrease);
+        topRightPanel.add(btnMeld);
+        topRightPanel.add(btnRemove);
+        topRightPanel.add(btnStream);
         topRightPanel.add(btnClear);
         topRightPanel.add(btnHelp);
         topRightPanel.add(btnBack);
@@ -155,8 +266,34 @@ public class HeapVisualization extends JFrame implements ActionListener, KeyList
         heapOrderLabel = new JLabel("Heap Order: ");
         heapOrderLabel.setFont(new Font("Arial", Font.BOLD, 14));
         
-        heapArrayLabel = new JLabel("Array Representation: []");
-        heapArrayLabel.setFont(new Font("Arial", Font.PLAIN, 12));
+        // Only the slots in view are painted, however large the heap
+        arrayStrip = new ArrayStrip(new ArrayStrip.Source() {
+            public int first() { return 0; }
+            public int last() { return arraySize() - 1; }
+            public String label(int index) { return String.valueOf(slotKey(index)); }
+            public Color fill(int index) { return slotColor(index); }
+        });
+        arrayStrip.setBackground(new Color(248, 248, 255));
+        arrayStrip.setBorder(BorderFactory.createTitledBorder("Array Representation"));
+        arrayStrip.setAlignmentX(LEFT_ALIGNMENT);
+
+        // Indexed mode only: where each id sits in the heap array
+        positionStrip = new ArrayStrip(new ArrayStrip.Source() {
+            public int first() { return 0; }
+            public int last() { return indexed == null ? -1 : indexed.idsUsed() - 1; }
+            public String label(int id) { return indexed.contains(id) ? String.valueOf(indexed.position(id)) : "-"; }
+            public Color fill(int id) { return indexed.contains(id) ? new Color(173, 216, 230) : new Color(225, 225, 225); }
+        });
+        positionStrip.setBackground(new Color(248, 248, 255));
+        positionStrip.setBorder(BorderFactory.createTitledBorder("Position Map (id → heap slot, - = not in the heap)"));
+        positionStrip.setAlignmentX(LEFT_ALIGNMENT);
+        positionStrip.setVisible(false);
+
+        costLabel = new JLabel("Comparisons: -");
+        costLabel.setFont(new Font("Arial", Font.PLAIN, 12));
+
+        streamLabel = new JLabel("Stream: not running");
+        streamLabel.setFont(new Font("Arial", Font.PLAIN, 12));
 
         logArea = new JTextArea(5, 50);
         logArea.setFont(new Font("Courier New", Font.PLAIN, 11));
@@ -167,7 +304,10 @@ public class HeapVisualization extends JFrame implements ActionListener, KeyList
 
         infoPanel.add(Box.createRigidArea(new Dimension(0, 5)));
         infoPanel.add(heapOrderLabel);
-        infoPanel.add(heapArrayLabel);
+        infoPanel.add(arrayStrip);
+        infoPanel.add(positionStrip);
+        infoPanel.add(costLabel);
+        infoPanel.add(streamLabel);
         infoPanel.add(Box.createRigidArea(new Dimension(0, 5)));
         infoPanel.add(new JLabel("Operations Log:"));
         infoPanel.add(scrollPane);
@@ -199,71 +339,38 @@ public class HeapVisualization extends JFrame implements ActionListener, KeyList
     }
 
     // Heap Operations
-    private void heapifyUp(int index) {
-        if (index == 0) return;
-        
-        int parentIndex = (index - 1) / 2;
-        boolean shouldSwap = isMinHeap ? 
-            heap.get(index) < heap.get(parentIndex) : 
-            heap.get(index) > heap.get(parentIndex);
-            
-        if (shouldSwap) {
-            Collections.swap(heap, index, parentIndex);
-            logOperation("Swapped " + heap.get(index) + " with parent " + heap.get(parentIndex));
-            heapifyUp(parentIndex);
-        }
-    }
-
-    private void heapifyDown(int index) {
-        int size = heap.size();
-        int leftChild = 2 * index + 1;
-        int rightChild = 2 * index + 2;
-        int targetIndex = index;
-
-        if (leftChild < size) {
-            boolean leftBetter = isMinHeap ? 
-                heap.get(leftChild) < heap.get(targetIndex) : 
-                heap.get(leftChild) > heap.get(targetIndex);
-            if (leftBetter) targetIndex = leftChild;
-        }
-
-        if (rightChild < size) {
-            boolean rightBetter = isMinHeap ? 
-                heap.get(rightChild) < heap.get(targetIndex) : 
-                heap.get(rightChild) > heap.get(targetIndex);
-            if (rightBetter) targetIndex = rightChild;
-        }
-
-        if (targetIndex != index) {
-            Collections.swap(heap, index, targetIndex);
-            logOperation("Heapify: Swapped " + heap.get(index) + " with " + heap.get(targetIndex));
-            heapifyDown(targetIndex);
-        }
-    }
-
     private void insert(int value) {
-        heap.add(value);
-        logOperation("Inserted " + value + " at position " + (heap.size() - 1));
-        heapifyUp(heap.size() - 1);
+        if (queue != null) {
+            int handle = queue.insert(value);
+            logOperation("Inserted " + value + " with handle " + handle);
+            updateDisplay();
+            return;
+        }
+        logOperation("Inserting " + value + " at position " + heap.size());
+        heap.insert(value);
         updateDisplay();
         logOperation("Heap property maintained after insertion");
     }
 
     private Integer extract() {
-        if (heap.isEmpty()) {
+        if (heap.isEmpty() && (queue == null || queue.isEmpty())) {
             JOptionPane.showMessageDialog(this, "Heap is empty!");
             return null;
         }
+        if (queue != null) {
+            int handle = queue.peekHandle();
+            int root = queue.extract();
+            logOperation("Extracted " + (isMinHeap ? "minimum" : "maximum") + " value: " + root
+                + " (handle " + handle + ")");
+            updateDisplay();
+            return root;
+        }
 
-        int root = heap.get(0);
-        int lastElement = heap.remove(heap.size() - 1);
-        
-        if (!heap.isEmpty()) {
-            heap.set(0, lastElement);
-            logOperation("Moved last element " + lastElement + " to root");
-            heapifyDown(0);
+        if (heap.size() > 1) {
+            logOperation("Moving last element " + heap.get(heap.size() - 1) + " to root");
         }
-        
+        int root = heap.extract();
+
         logOperation("Extracted " + (isMinHeap ? "minimum" : "maximum") + " value: " + root);
         updateDisplay();
         return root;
@@ -271,19 +378,22 @@ public class HeapVisualization extends JFrame implements ActionListener, KeyList
 
     private void buildHeap(String input) {
         try {
-            heap.clear();
             String[] numbers = input.split("[,\\s]+");
+            int[] keys = new int[numbers.length];
+            int count = 0;
             for (String num : numbers) {
                 if (!num.trim().isEmpty()) {
-                    heap.add(Integer.parseInt(num.trim()));
+                    keys[count++] = Integer.parseInt(num.trim());
                 }
             }
             
             logOperation("Building heap from array: " + Arrays.toString(numbers));
             
             // Build heap bottom-up
-            for (int i = (heap.size() / 2) - 1; i >= 0; i--) {
-                heapifyDown(i);
+            if (queue != null) {
+                queue.build(keys, count);
+            } else {
+                heap.build(keys, count);
             }
             
             updateDisplay();
@@ -293,91 +403,469 @@ public class HeapVisualization extends JFrame implements ActionListener, KeyList
         }
     }
 
+    // Binary mode sorts a copy of the array in place, one swap per timer tick; pressing Sort
+    // again runs the rest at once. The other engines have no array, so they extract from a copy.
     private void performHeapSort() {
-        if (heap.isEmpty()) {
+        if (sortTimer != null) {
+            sortRun.finish();
+            finishSort();
+            return;
+        }
+        if (sortKeys != null) stopSort();
+        if (heap.isEmpty() && (queue == null || queue.isEmpty())) {
             JOptionPane.showMessageDialog(this, "Heap is empty!");
             return;
         }
 
-        java.util.List<Integer> sorted = new ArrayList<>();
-        java.util.List<Integer> originalHeap = new ArrayList<>(heap);
-        
         logOperation("Starting Heap Sort...");
-        
-        while (!heap.isEmpty()) {
-            sorted.add(extract());
+        if (queue != null) {
+            int[] sorted = extractAll();
+            String sortOrder = isMinHeap ? "ascending" : "descending";
+            logOperation("Heap Sort completed. Sorted in " + sortOrder + " order: " + preview(sorted));
+            return;
         }
-        
-        String sortOrder = isMinHeap ? "ascending" : "descending";
-        logOperation("Heap Sort completed. Sorted in " + sortOrder + " order: " + sorted);
-        
-        // Restore original heap
-        heap = originalHeap;
+
+        // The array is already a heap in the current order, so the build phase is skipped
+        sortKeys = heap.toArray();
+        sortRun = new IntHeapSort(sortKeys, sortKeys.length, heap.order(), true);
+        sortRun.setTrace(sortTrace);
+        sortTimer = new Timer(SORT_STEP_MS, e -> {
+            if (!sortRun.step()) finishSort();
+        });
+        sortTimer.start();
+        btnHeapSort.setText("Finish");
+        arrayStrip.repaint();
+    }
+
+    // The sorted copy stays on screen until the next operation
+    private void finishSort() {
+        sortTimer.stop();
+        sortTimer = null;
+        unmarkSwap();
+        btnHeapSort.setText("Sort");
+        logOperation(String.format("Heap Sort completed in place with %d comparisons and %d swaps: %s",
+            sortRun.comparisons(), sortRun.swaps(), preview(sortKeys)));
+        heapCanvas.repaint();
+        arrayStrip.repaint();
+    }
+
+    // Leave the sort and show the heap again
+    private void stopSort() {
+        if (sortTimer != null) sortTimer.stop();
+        sortTimer = null;
+        sortRun = null;
+        sortKeys = null;
+        swappedA = swappedB = -1;
+        btnHeapSort.setText("Sort");
+        heapCanvas.resized();
+        heapCanvas.repaint();
+        arrayStrip.repaint();
+    }
+
+    private void unmarkSwap() {
+        int a = swappedA, b = swappedB;
+        swappedA = swappedB = -1;
+        heapCanvas.repaintNode(a);
+        heapCanvas.repaintNode(b);
+    }
+
+    // Key and color of an array slot, for both the canvas and the strip: the sort's copy while
+    // one is shown, otherwise the binary heap or, in d-ary mode, the d-ary heap's array
+    private int slotKey(int index) {
+        if (sortKeys != null) return sortKeys[index];
+        if (indexed != null) return indexed.keyAt(index);
+        if (queue instanceof IntDaryHeap) return ((IntDaryHeap) queue).get(index);
+        return heap.get(index);
+    }
+
+    private Color slotColor(int index) {
+        if (sortKeys != null) {
+            if (index >= sortRun.heapSize()) return new Color(211, 211, 211);
+            if (index == swappedA || index == swappedB) return new Color(255, 165, 0);
+        }
+        return nodeColor(index == 0, false);
+    }
+
+    // Slots the strip shows; the pairing and Fibonacci heaps have no array
+    private int arraySize() {
+        if (sortKeys != null) return sortKeys.length;
+        if (queue != null) return queue instanceof IntDaryHeap || queue == indexed ? queue.size() : 0;
+        return heap.size();
+    }
+
+    // Short form of a long array for the log; the strip shows all of it
+    private static String preview(int[] keys) {
+        if (keys.length <= 32) return Arrays.toString(keys);
+        String head = Arrays.toString(Arrays.copyOf(keys, 32));
+        return head.substring(0, head.length() - 1) + ", ... (" + keys.length + " keys)]";
+    }
+
+    // Ask for K and a source, then keep the K best keys of the stream in the binary heap view.
+    // A MIN heap keeps the K largest keys, a MAX heap the K smallest.
+    private void startStream() {
+        if (queue != null) {
+            JOptionPane.showMessageDialog(this, "Top-K streaming uses the Binary heap. Switch the structure to Binary first.");
+            return;
+        }
+        String answer = JOptionPane.showInputDialog(this, "Keep how many keys (K)?", "15");
+        if (answer == null) return;
+        int k;
+        try {
+            k = Integer.parseInt(answer.trim());
+        } catch (NumberFormatException ex) {
+            k = 0;
+        }
+        if (k < 1 || k > 1_000_000) {
+            JOptionPane.showMessageDialog(this, "K must be between 1 and 1,000,000.");
+            return;
+        }
+        String[] sources = {"Generator", "File...", "Cancel"};
+        int choice = JOptionPane.showOptionDialog(this,
+            "Stream random keys in [0, " + STREAM_KEY_BOUND + ") without end, or the numbers in a file?",
+            "Top-K Stream", JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, sources, sources[0]);
+        TopKStream.Source source;
+        String sourceName;
+        if (choice == 0) {
+            source = TopKStream.generator(System.nanoTime(), STREAM_KEY_BOUND);
+            sourceName = "generator";
+        } else if (choice == 1) {
+            JFileChooser chooser = new JFileChooser();
+            if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+            try {
+                source = TopKStream.file(chooser.getSelectedFile().getPath());
+            } catch (java.io.IOException ex) {
+                JOptionPane.showMessageDialog(this, "Cannot open the file: " + ex.getMessage());
+                return;
+            }
+            sourceName = chooser.getSelectedFile().getName();
+        } else {
+            return;
+        }
+
+        heap.clear();
+        streamKeys = new int[k];
+        stream = new TopKStream(source, new IntTopK(k, heap.order()));
+        logOperation("Streaming top " + k + " (" + (isMinHeap ? "largest" : "smallest") + ") from " + sourceName);
+        streamStart = sampledAt = System.nanoTime();
+        sampledItems = 0;
+        stream.start();
+        streamTimer = new Timer(STREAM_SAMPLE_MS, e -> sampleStream());
+        streamTimer.start();
+        btnStream.setText("Stop");
+    }
+
+    // Copy the kept keys into the heap (already in heap order, so nothing moves) and the rate
+    private void sampleStream() {
+        int n = stream.snapshot(streamKeys);
+        heap.setTrace(null);
+        heap.build(streamKeys, n);
+        heap.setTrace(logTrace);
+        shownSize = heap.size();
+        if (!heapCanvas.resized()) heapCanvas.repaint();
+        arrayStrip.repaint();
+        ansSize.setText(String.valueOf(n));
+
+        long now = System.nanoTime(), items = stream.items();
+        double rate = (items - sampledItems) * 1e9 / Math.max(now - sampledAt, 1);
+        sampledItems = items;
+        sampledAt = now;
+        IntTopK topK = stream.topK();
+        streamLabel.setText(String.format("Stream: %,.0f items/s  |  %,d items  |  top %d stored in %d bytes  |  best: %s",
+            rate, items, topK.capacity(), topK.memoryBytes(), preview(firstKeys(stream.sortedSnapshot(), 10))));
+        if (stream.isFinished()) stopStream();
+    }
+
+    private void stopStream() {
+        streamTimer.stop();
+        stream.stop();
+        TopKStream finished = stream;
+        stream = null;
+        btnStream.setText("Stream");
+        double seconds = (System.nanoTime() - streamStart) / 1e9;
+        if (finished.failure() != null) {
+            logOperation("Stream failed: " + finished.failure().getMessage());
+        }
+        logOperation(String.format("Stream stopped after %,d items in %.1f s (%,.0f items/s); %,d entered the top %d",
+            finished.items(), seconds, finished.items() / Math.max(seconds, 1e-9),
+            finished.topK().accepted(), finished.topK().capacity()));
+        logOperation("Top " + finished.topK().capacity() + ": " + preview(finished.sortedSnapshot()));
+        // The display copies are not an operation of their own
+        reportedComparisons = comparisons();
         updateDisplay();
-        
-        JOptionPane.showMessageDialog(this, 
-            "Heap Sort Result (" + sortOrder + "):\n" + sorted + 
-            "\n\nOriginal heap restored.");
     }
 
-    private void updateDisplay() {
-        heapPanel.removeAll();
-        
-        if (!heap.isEmpty()) {
-            drawHeap();
+    private static int[] firstKeys(int[] keys, int count) {
+        return keys.length <= count ? keys : Arrays.copyOf(keys, count);
+    }
+
+    // Every key in extraction order, taken from an untraced copy so the heap stays as it is
+    private int[] extractAll() {
+        if (queue != null) {
+            IntPriorityQueue copy = queue.copy();
+            int[] sorted = new int[copy.size()];
+            for (int i = 0; i < sorted.length; i++) {
+                sorted[i] = copy.extract();
+            }
+            return sorted;
         }
-        
-        ansSize.setText(String.valueOf(heap.size()));
-        ansType.setText(isMinHeap ? "Min Heap" : "Max Heap");
-        ansType.setForeground(isMinHeap ? new Color(0, 128, 0) : new Color(128, 0, 0));
-        
-        heapArrayLabel.setText("Array Representation: " + heap.toString());
-        
-        heapPanel.repaint();
+        IntHeap copy = new IntHeap(heap);
+        int[] sorted = new int[copy.size()];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = copy.extract();
+        }
+        return sorted;
     }
 
-    private void drawHeap() {
-        int size = heap.size();
-        if (size == 0) return;
+    // Decrease-key by handle: input is "handle newKey"
+    private void decreaseKey(String input) {
+        if (queue == null) {
+            JOptionPane.showMessageDialog(this, "Binary mode has no handles. Pick d-ary, Pairing, Fibonacci or Indexed.");
+            return;
+        }
+        String[] parts = input.split("[,\\s]+");
+        if (parts.length != 2) {
+            JOptionPane.showMessageDialog(this, "Enter a handle and the new key, e.g. \"3 -10\".");
+            return;
+        }
+        int handle = Integer.parseInt(parts[0]);
+        int newKey = Integer.parseInt(parts[1]);
+        if (!queue.contains(handle)) {
+            JOptionPane.showMessageDialog(this, "No key with handle " + handle + ".");
+            return;
+        }
+        int oldKey = queue.key(handle);
+        if (indexed != null) {
+            indexed.changeKey(handle, newKey);
+            logOperation("Changed id " + handle + " from " + oldKey + " to " + newKey
+                + ", now in slot " + indexed.position(handle));
+            updateDisplay();
+            return;
+        }
+        try {
+            queue.decreaseKey(handle, newKey);
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, "The new key must be " + (isMinHeap ? "at most " : "at least ") + oldKey + ".");
+            return;
+        }
+        logOperation("Decreased handle " + handle + " from " + oldKey + " to " + newKey);
+        updateDisplay();
+    }
 
-        int startX = heapPanel.getWidth() / 2;
-        int startY = 50;
-        int levelHeight = 80;
-        
-        drawNode(0, startX, startY, heapPanel.getWidth() / 4, levelHeight);
+    // Remove by id from the indexed heap
+    private void removeId(String input) {
+        int id = Integer.parseInt(input);
+        if (indexed == null || !indexed.contains(id)) {
+            JOptionPane.showMessageDialog(this, "No key with id " + id + ".");
+            return;
+        }
+        int slot = indexed.position(id);
+        int key = indexed.remove(id);
+        logOperation("Removed id " + id + " (key " + key + ") from slot " + slot);
+        updateDisplay();
+    }
+
+    // Indexed mode takes "key" (the lowest free id is used) or "id key"
+    private void insertInput(String input) {
+        String[] parts = input.split("[,\\s]+");
+        if (indexed == null || parts.length != 2) {
+            insert(Integer.parseInt(input));
+            return;
+        }
+        int id = Integer.parseInt(parts[0]);
+        int key = Integer.parseInt(parts[1]);
+        if (id < 0 || indexed.contains(id)) {
+            JOptionPane.showMessageDialog(this, "Id " + id + (id < 0 ? " is negative." : " is already in the heap."));
+            return;
+        }
+        indexed.insert(id, key);
+        logOperation("Inserted " + key + " with id " + id + " at slot " + indexed.position(id));
+        updateDisplay();
+    }
+
+    // Meld in a second heap of the same kind holding a few random keys
+    private void meld() {
+        if (queue == null) {
+            JOptionPane.showMessageDialog(this, "Binary mode has no meld. Pick d-ary, Pairing, Fibonacci or Indexed.");
+            return;
+        }
+        IntPriorityQueue other = createQueue(structureBox.getSelectedIndex());
+        int[] keys = new int[MELD_KEYS];
+        for (int i = 0; i < MELD_KEYS; i++) {
+            keys[i] = random.nextInt(100);
+            other.insert(keys[i]);
+        }
+        int offset = queue.meld(other);
+        logOperation("Melded " + Arrays.toString(keys) + "; their handles are shifted by " + offset);
+        updateDisplay();
     }
 
-    private void drawNode(int index, int x, int y, int xOffset, int levelHeight) {
-        if (index >= heap.size()) return;
+    private IntPriorityQueue createQueue(int structure) {
+        IntHeap.Order order = isMinHeap ? IntHeap.MIN : IntHeap.MAX;
+        switch (structure) {
+            case D_ARY: return new IntDaryHeap((Integer) aritySpinner.getValue(), order);
+            case PAIRING: return new IntPairingHeap(order);
+            case INDEXED: return new IntIndexedHeap(order);
+            default: return new IntFibonacciHeap(order);
+        }
+    }
 
-        // Create node
-        JLabel nodeLabel = new JLabel(String.valueOf(heap.get(index)), SwingConstants.CENTER);
-        nodeLabel.setFont(new Font("Arial", Font.BOLD, 14));
-        nodeLabel.setBorder(BorderFactory.createLineBorder(Color.BLACK, 2));
-        nodeLabel.setOpaque(true);
-        
-        // Color coding based on heap type and position
-        if (index == 0) {
-            nodeLabel.setBackground(new Color(255, 215, 0)); // Gold for root
+    // Move the keys into the selected engine (handles are renumbered) and show its canvas
+    private void switchStructure() {
+        if (stream != null) stopStream();
+        if (sortKeys != null) stopSort();
+        int structure = structureBox.getSelectedIndex();
+        aritySpinner.setEnabled(structure == D_ARY);
+        btnHeapify.setEnabled(structure == 0);
+        btnDecrease.setEnabled(structure != 0);
+        btnDecrease.setText(structure == INDEXED ? "Change" : "Decrease");
+        btnMeld.setEnabled(structure != 0);
+        btnRemove.setEnabled(structure == INDEXED);
+        positionStrip.setVisible(structure == INDEXED);
+        infoPanel.setPreferredSize(new Dimension(getWidth(), structure == INDEXED ? 350 : 270));
+        int[] keys = extractAll();
+
+        if (queueCanvas != null) remove(queueCanvas);
+        queueCanvas = null;
+        remove(heapCanvas);
+        if (structure == 0) {
+            queue = null;
+            indexed = null;
+            heap.build(keys, keys.length);
         } else {
-            nodeLabel.setBackground(isMinHeap ? 
-                new Color(144, 238, 144) :  // Light green for min heap
-                new Color(255, 182, 193));  // Light pink for max heap
+            heap.clear();
+            queue = createQueue(structure);
+            indexed = structure == INDEXED ? (IntIndexedHeap) queue : null;
+            queue.build(keys, keys.length);
         }
-        
-        nodeLabel.setBounds(x - 25, y, 50, 40);
-        heapPanel.add(nodeLabel);
+        if (queue == null || indexed != null) {
+            add(heapCanvas, BorderLayout.CENTER);
+            heapCanvas.repaint();
+        } else {
+            queueCanvas = createCanvas(queue);
+            queueCanvas.setBackground(new Color(248, 248, 255));
+            add(queueCanvas, BorderLayout.CENTER);
+        }
+        reportedComparisons = comparisons();
+        logOperation("Switched to " + STRUCTURES[structure]
+            + (structure == D_ARY ? " (d = " + aritySpinner.getValue() + ")" : "") + " with " + keys.length + " keys");
+        revalidate();
+        updateDisplay();
+    }
+
+    // Each engine's own shape in first-child / next-sibling form; badges show the handles
+    private TreeCanvas createCanvas(IntPriorityQueue engine) {
+        if (engine instanceof IntDaryHeap) {
+            IntDaryHeap dary = (IntDaryHeap) engine;
+            return new TreeCanvas(new TreeCanvas.NarySource() {
+                public int root() { return dary.isEmpty() ? TreeCanvas.NIL : 0; }
+                public int firstChild(int node) {
+                    int child = dary.arity() * node + 1;
+                    return child < dary.size() ? child : TreeCanvas.NIL;
+                }
+                public int nextSibling(int node) {
+                    return node > 0 && node % dary.arity() != 0 && node + 1 < dary.size() ? node + 1 : TreeCanvas.NIL;
+                }
+                public int capacity() { return Math.max(dary.size(), 1); }
+                public String label(int node) { return String.valueOf(dary.get(node)); }
+                public Color fill(int node) { return nodeColor(node == 0, false); }
+                public String badge(int node) { return "h" + dary.handleAt(node); }
+            }, 50);
+        } else if (engine instanceof IntPairingHeap) {
+            IntPairingHeap pairing = (IntPairingHeap) engine;
+            return new TreeCanvas(new TreeCanvas.NarySource() {
+                public int root() { return pairing.root(); }
+                public int firstChild(int node) { return pairing.child(node); }
+                public int nextSibling(int node) { return pairing.next(node); }
+                public int capacity() { return pairing.capacity(); }
+                public String label(int node) { return String.valueOf(pairing.key(node)); }
+                public Color fill(int node) { return nodeColor(node == pairing.root(), false); }
+                public String badge(int node) { return "h" + node; }
+            }, 50);
+        }
+        // The root list hangs under one extra node with id capacity(), drawn as "roots"
+        IntFibonacciHeap fib = (IntFibonacciHeap) engine;
+        return new TreeCanvas(new TreeCanvas.NarySource() {
+            public int root() { return fib.isEmpty() ? TreeCanvas.NIL : fib.capacity(); }
+            public int firstChild(int node) { return node == fib.capacity() ? fib.min() : fib.child(node); }
+            public int nextSibling(int node) {
+                if (node == fib.capacity()) return TreeCanvas.NIL;
+                int p = fib.parent(node);
+                int first = p == IntFibonacciHeap.NIL ? fib.min() : fib.child(p);
+                return fib.right(node) == first ? TreeCanvas.NIL : fib.right(node);
+            }
+            public int capacity() { return fib.capacity() + 1; }
+            public String label(int node) { return node == fib.capacity() ? "roots" : String.valueOf(fib.key(node)); }
+            public Color fill(int node) {
+                if (node == fib.capacity()) return new Color(211, 211, 211);
+                return nodeColor(node == fib.min(), fib.isMarked(node));
+            }
+            public String badge(int node) { return node == fib.capacity() ? null : "h" + node; }
+        }, 50);
+    }
 
-        // Draw children
-        int leftChild = 2 * index + 1;
-        int rightChild = 2 * index + 2;
+    // Same color coding as the binary view; marked Fibonacci nodes (lost a child) are gray
+    private Color nodeColor(boolean root, boolean marked) {
+        if (root) return new Color(255, 215, 0);
+        if (marked) return new Color(169, 169, 169);
+        return isMinHeap ? new Color(144, 238, 144) : new Color(255, 182, 193);
+    }
+
+    private long comparisons() {
+        return queue != null ? queue.comparisons() : heap.comparisons();
+    }
+
+    private void updateDisplay() {
+        arrayStrip.repaint();
+        if (queue != null) {
+            ansSize.setText(String.valueOf(queue.size()));
+            ansType.setText(isMinHeap ? "Min Heap" : "Max Heap");
+            ansType.setForeground(isMinHeap ? new Color(0, 128, 0) : new Color(128, 0, 0));
+            updateCost(queue.size(), queue.memoryBytes());
+            if (queueCanvas != null) {
+                queueCanvas.relayout();
+            } else {
+                heapCanvas.resized();
+                heapCanvas.repaint();
+                positionStrip.repaint();
+            }
+            dirtyCount = 0;
+            return;
+        }
+        updateCost(heap.size(), heap.memoryBytes());
+        ansSize.setText(String.valueOf(heap.size()));
+        ansType.setText(isMinHeap ? "Min Heap" : "Max Heap");
+        ansType.setForeground(isMinHeap ? new Color(0, 128, 0) : new Color(128, 0, 0));
 
-        if (leftChild < heap.size()) {
-            drawNode(leftChild, x - xOffset, y + levelHeight, xOffset / 2, levelHeight);
+        // Slots that appeared or disappeared are dirty too; a new or emptied level moves every node
+        for (int i = Math.min(shownSize, heap.size()); i < Math.max(shownSize, heap.size()) && dirtyCount <= DIRTY_LIMIT; i++) {
+            markDirty(i);
         }
-        if (rightChild < heap.size()) {
-            drawNode(rightChild, x + xOffset, y + levelHeight, xOffset / 2, levelHeight);
+        shownSize = heap.size();
+        if (!heapCanvas.resized()) {
+            if (dirtyCount > DIRTY_LIMIT) {
+                heapCanvas.repaint();
+            } else {
+                for (int i = 0; i < dirtyCount; i++) {
+                    heapCanvas.repaintNode(dirty[i]);
+                }
+            }
         }
+        dirtyCount = 0;
+        if (lastPlaced >= 0) arrayStrip.reveal(lastPlaced);
+        lastPlaced = -1;
+    }
+
+    // Counts past DIRTY_LIMIT only record that the limit was passed
+    private void markDirty(int index) {
+        if (dirtyCount < DIRTY_LIMIT) dirty[dirtyCount] = index;
+        if (dirtyCount <= DIRTY_LIMIT) dirtyCount++;
+    }
+
+    private void updateCost(int size, long bytes) {
+        long total = comparisons();
+        costLabel.setText(String.format("Comparisons: %d last operation, %d total  |  Memory: %d bytes (%s per element)",
+            total - reportedComparisons, total, bytes, size == 0 ? "-" : String.format("%.1f", bytes / (double) size)));
+        reportedComparisons = total;
     }
 
     private void logOperation(String operation) {
@@ -387,12 +875,21 @@ public class HeapVisualization extends JFrame implements ActionListener, KeyList
 
     @Override
     public void actionPerformed(ActionEvent e) {
+        if (stream != null && e.getSource() != btnHelp) {
+            stopStream();
+            if (e.getSource() == btnStream) return;
+        }
+        if (sortKeys != null && e.getSource() != btnHeapSort && e.getSource() != btnHelp) {
+            stopSort();
+            updateDisplay();
+        }
         if (e.getSource() == btnBack) {
             dispose();
             SwingUtilities.invokeLater(DSAVisualizationMain::new);
             return;
         } else if (e.getSource() == btnClear) {
             heap.clear();
+            if (queue != null) queue.clear();
             updateDisplay();
             logArea.setText("");
             logOperation("Heap cleared");
@@ -402,11 +899,11 @@ public class HeapVisualization extends JFrame implements ActionListener, KeyList
             logOperation("Switched to " + (isMinHeap ? "Min" : "Max") + " Heap");
             
             // Rebuild heap with new type
-            if (!heap.isEmpty()) {
-                for (int i = (heap.size() / 2) - 1; i >= 0; i--) {
-                    heapifyDown(i);
-                }
+            if (queue != null) {
+                switchStructure();
+                return;
             }
+            heap.setOrder(isMinHeap ? IntHeap.MIN : IntHeap.MAX);
             updateDisplay();
             return;
         } else if (e.getSource() == btnExtract) {
@@ -415,6 +912,13 @@ public class HeapVisualization extends JFrame implements ActionListener, KeyList
         } else if (e.getSource() == btnHeapSort) {
             performHeapSort();
             return;
+        } else if (e.getSource() == btnMeld) {
+            meld();
+            return;
+        } else if (e.getSource() == btnStream) {
+            if (sortKeys != null) stopSort();
+            startStream();
+            return;
         } else if (e.getSource() == btnHelp) {
             showHelp();
             return;
@@ -428,15 +932,16 @@ public class HeapVisualization extends JFrame implements ActionListener, KeyList
 
         try {
             if (e.getSource() == btnInsert) {
-                int value = Integer.parseInt(input);
-                insert(value);
+                insertInput(input);
+            } else if (e.getSource() == btnRemove) {
+                removeId(input);
             } else if (e.getSource() == btnBuildHeap) {
                 buildHeap(input);
+            } else if (e.getSource() == btnDecrease) {
+                decreaseKey(input);
             } else if (e.getSource() == btnHeapify) {
                 if (!heap.isEmpty()) {
-                    for (int i = (heap.size() / 2) - 1; i >= 0; i--) {
-                        heapifyDown(i);
-                    }
+                    heap.heapify();
                     updateDisplay();
                     logOperation("Performed heapify on entire heap");
                 } else {
@@ -459,9 +964,29 @@ public class HeapVisualization extends JFrame implements ActionListener, KeyList
             "<li><b>Extract:</b> Remove root (min/max) element</li>" +
             "<li><b>Heapify:</b> Restore heap property for entire heap</li>" +
             "<li><b>Build:</b> Create heap from comma-separated numbers</li>" +
-            "<li><b>Sort:</b> Perform heap sort (shows result)</li>" +
+            "<li><b>Sort:</b> Animate an in-place heap sort of a copy of the array, one swap per step " +
+            "(orange = swapped, gray = in final place); press Finish to run the rest at once</li>" +
             "<li><b>Min⇄Max:</b> Toggle between min and max heap</li>" +
+            "<li><b>Decrease:</b> Enter \"handle newKey\" to move a key toward the root (not in Binary mode)</li>" +
+            "<li><b>Stream:</b> Keep only the K best keys of an endless generator or a file of numbers: " +
+            "a min heap keeps the K largest (its root is the entry threshold), a max heap the K smallest. " +
+            "Shows items per second; memory stays at K keys. Press Stop or any other button to end it</li>" +
+            "<li><b>Remove:</b> Enter an id to remove its key from the Indexed heap</li>" +
+            "<li><b>Meld:</b> Merge a second heap of " + MELD_KEYS + " random keys into this one (not in Binary mode)</li>" +
+            "</ul>" +
+            "<h3>Structures:</h3>" +
+            "<ul>" +
+            "<li><b>Binary:</b> The classic array heap with the sift log below</li>" +
+            "<li><b>d-ary:</b> Array heap with d = 2..16 children per node: shallower, more comparisons per level</li>" +
+            "<li><b>Pairing:</b> Multiway tree; insert and meld are one link, extract pairs up the root's children</li>" +
+            "<li><b>Indexed:</b> Binary heap of caller-chosen ids with a position map (id → slot) " +
+            "shown below the array: Insert takes \"key\" or \"id key\", Change takes \"id newKey\" " +
+            "in either direction, Remove takes an id, all in O(log n)</li>" +
+            "<li><b>Fibonacci:</b> Forest of trees under \"roots\"; decrease-key cuts a node out, " +
+            "gray nodes have already lost a child</li>" +
             "</ul>" +
+            "<p>Every engine reports comparisons per operation and memory per element. " +
+            "Handles (badges) stay valid until their key is extracted; switching structure renumbers them.</p>" +
             "<h3>Heap Properties:</h3>" +
             "<ul>" +
             "<li><b>Min Heap:</b> Parent ≤ Children (root is minimum)</li>" +
@@ -493,37 +1018,4 @@ public class HeapVisualization extends JFrame implements ActionListener, KeyList
 
     @Override
     public void keyReleased(KeyEvent e) {}
-
-    @Override
-    public void paint(Graphics g) {
-        super.paintComponents(g);
-        drawConnections(g);
-    }
-
-    private void drawConnections(Graphics g) {
-        if (heap.isEmpty()) return;
-        
-        g2 = (Graphics2D) g;
-        g2.setStroke(new BasicStroke(2.0f));
-        g2.setColor(Color.BLACK);
-        
-        int offset = topPanel.getHeight();
-        drawNodeConnections(0, heapPanel.getWidth() / 2, 50 + offset, heapPanel.getWidth() / 4, 80);
-    }
-
-    private void drawNodeConnections(int index, int x, int y, int xOffset, int levelHeight) {
-        if (index >= heap.size()) return;
-
-        int leftChild = 2 * index + 1;
-        int rightChild = 2 * index + 2;
-
-        if (leftChild < heap.size()) {
-            g2.drawLine(x, y + 20, x - xOffset, y + levelHeight);
-            drawNodeConnections(leftChild, x - xOffset, y + levelHeight, xOffset / 2, levelHeight);
-        }
-        if (rightChild < heap.size()) {
-            g2.drawLine(x, y + 20, x + xOffset, y + levelHeight);
-            drawNodeConnections(rightChild, x + xOffset, y + levelHeight, xOffset / 2, levelHeight);
-        }
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,565 @@
+// Primitive int-keyed AVL Tree engine (headless)
+// Features: Parallel-array nodes with a free list, byte heights, iterative insert/delete
+// with bottom-up rebalancing that stops as soon as a subtree height is unchanged,
+// search, floor/ceiling, O(n + m) bulk union, balanced bulk build, iterative traversals
+// and search-path recording for the visualization layer
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+public class IntAVL implements IntOrderedSet.Binary {
+    public static final int NIL = -1;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // Node storage: node ids index into these arrays.
+    private int[] key;
+    private int[] left;
+    private int[] right;
+    // Levels in the subtree (leaf = 1). An AVL tree of 2^31 nodes is under 46 levels.
+    private byte[] height;
+
+    private int root;
+    private int size;
+    private int used;      // Slots handed out so far (high-water mark)
+    private int freeList;  // Recycled slots, chained through right[]
+
+    // Nodes visited by the last insert, delete or search (root first)
+    private int[] path;
+    private int pathLength;
+    // Single rotations done by the last insert or delete (a double rotation counts twice)
+    private int rotations;
+    // Nodes whose subtree changed shape in the last insert or delete, children before
+    // parents: the update path plus the nodes moved by rotations
+    private int[] changed;
+    private int changedLength;
+
+    // Scratch stack for iterative walks
+    private int[] stack;
+
+    public IntAVL() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntAVL(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        key = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        height = new byte[capacity];
+        path = new int[48];
+        changed = new int[64];
+        stack = new int[48];
+        clear();
+    }
+
+    // Basic accessors
+    public int root() {
+        return root;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int key(int node) {
+        return key[node];
+    }
+
+    public int left(int node) {
+        return left[node];
+    }
+
+    public int right(int node) {
+        return right[node];
+    }
+
+    // Levels in the subtree rooted at node, 0 for NIL
+    public int height(int node) {
+        return node == NIL ? 0 : height[node];
+    }
+
+    // Height of the whole tree in levels (empty tree = 0)
+    public int height() {
+        return height(root);
+    }
+
+    // Left subtree height minus right subtree height, always -1, 0 or 1 between operations
+    public int balance(int node) {
+        return height(left[node]) - height(right[node]);
+    }
+
+    // Number of node slots; every node id is below this value
+    public int capacity() {
+        return key.length;
+    }
+
+    public String name() {
+        return "AVL";
+    }
+
+    public int lastRotations() {
+        return rotations;
+    }
+
+    public int lastSplits() {
+        return 0;
+    }
+
+    public int lastTouches() {
+        return pathLength;
+    }
+
+    public void clear() {
+        root = NIL;
+        size = 0;
+        used = 0;
+        freeList = NIL;
+        pathLength = 0;
+        rotations = 0;
+        changedLength = 0;
+    }
+
+    // Insert key, returns false if it is already present
+    public boolean insert(int k) {
+        pathLength = 0;
+        rotations = 0;
+        changedLength = 0;
+        int curr = root, parent = NIL;
+        while (curr != NIL) {
+            pushPath(curr);
+            int currKey = key[curr];
+            if (k == currKey) {
+                return false;
+            }
+            parent = curr;
+            curr = k < currKey ? left[curr] : right[curr];
+        }
+
+        int node = allocate(k);
+        if (parent == NIL) {
+            root = node;
+        } else if (k < key[parent]) {
+            left[parent] = node;
+        } else {
+            right[parent] = node;
+        }
+        pushPath(node);
+        pushChanged(node);
+        size++;
+        rebalancePath(pathLength - 2);
+        return true;
+    }
+
+    // Delete key, returns false if it is not present.
+    // A node with two children takes the key of its in-order successor.
+    public boolean delete(int k) {
+        pathLength = 0;
+        rotations = 0;
+        changedLength = 0;
+        int curr = root, parent = NIL;
+        while (curr != NIL && key[curr] != k) {
+            pushPath(curr);
+            parent = curr;
+            curr = k < key[curr] ? left[curr] : right[curr];
+        }
+        if (curr == NIL) {
+            return false;
+        }
+
+        if (left[curr] == NIL || right[curr] == NIL) {
+            int child = left[curr] != NIL ? left[curr] : right[curr];
+            replaceChild(parent, curr, child);
+            release(curr);
+        } else {
+            pushPath(curr);
+            int next = right[curr], nextParent = curr;
+            while (left[next] != NIL) {
+                pushPath(next);
+                nextParent = next;
+                next = left[next];
+            }
+            if (nextParent == curr) {
+                right[curr] = right[next];
+            } else {
+                left[nextParent] = right[next];
+            }
+            key[curr] = key[next];
+            release(next);
+        }
+        size--;
+        rebalancePath(pathLength - 1);
+        return true;
+    }
+
+    // Fix heights and balance for path[last..0]. Once a subtree keeps its old height
+    // nothing above it can rotate, so the rebalancing stops there.
+    private void rebalancePath(int last) {
+        int i = last;
+        for (; i >= 0; i--) {
+            int node = path[i];
+            int oldHeight = height[node];
+            int newRoot = rebalance(node);
+            if (newRoot != node) {
+                replaceChild(i > 0 ? path[i - 1] : NIL, node, newRoot);
+                path[i] = newRoot;
+            }
+            pushChanged(newRoot);
+            if (height[newRoot] == oldHeight) {
+                break;
+            }
+        }
+        // The ancestors keep their heights but their subtrees still changed
+        for (i--; i >= 0; i--) {
+            pushChanged(path[i]);
+        }
+    }
+
+    // Restore the AVL property at node, returning the root of the rebalanced subtree
+    private int rebalance(int node) {
+        updateHeight(node);
+        int b = balance(node);
+        if (b > 1) {
+            if (balance(left[node]) < 0) {
+                left[node] = rotateLeft(left[node]);
+            }
+            return rotateRight(node);
+        }
+        if (b < -1) {
+            if (balance(right[node]) > 0) {
+                right[node] = rotateRight(right[node]);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private int rotateRight(int node) {
+        int pivot = left[node];
+        left[node] = right[pivot];
+        right[pivot] = node;
+        updateHeight(node);
+        updateHeight(pivot);
+        rotations++;
+        pushChanged(node);
+        pushChanged(pivot);
+        return pivot;
+    }
+
+    private int rotateLeft(int node) {
+        int pivot = right[node];
+        right[node] = left[pivot];
+        left[pivot] = node;
+        updateHeight(node);
+        updateHeight(pivot);
+        rotations++;
+        pushChanged(node);
+        pushChanged(pivot);
+        return pivot;
+    }
+
+    private void updateHeight(int node) {
+        height[node] = (byte) (1 + Math.max(height(left[node]), height(right[node])));
+    }
+
+    // Node id holding key, or NIL. Records the search path.
+    public int find(int k) {
+        pathLength = 0;
+        int curr = root;
+        while (curr != NIL) {
+            pushPath(curr);
+            int currKey = key[curr];
+            if (k == currKey) {
+                return curr;
+            }
+            curr = k < currKey ? left[curr] : right[curr];
+        }
+        return NIL;
+    }
+
+    public boolean contains(int k) {
+        int curr = root;
+        while (curr != NIL) {
+            int currKey = key[curr];
+            if (k == currKey) {
+                return true;
+            }
+            curr = k < currKey ? left[curr] : right[curr];
+        }
+        return false;
+    }
+
+    // Node with the largest key <= k, or NIL
+    public int floor(int k) {
+        pathLength = 0;
+        int best = NIL;
+        int curr = root;
+        while (curr != NIL) {
+            pushPath(curr);
+            if (k == key[curr]) {
+                return curr;
+            } else if (k < key[curr]) {
+                curr = left[curr];
+            } else {
+                best = curr;
+                curr = right[curr];
+            }
+        }
+        return best;
+    }
+
+    // Node with the smallest key >= k, or NIL
+    public int ceiling(int k) {
+        pathLength = 0;
+        int best = NIL;
+        int curr = root;
+        while (curr != NIL) {
+            pushPath(curr);
+            if (k == key[curr]) {
+                return curr;
+            } else if (k > key[curr]) {
+                curr = right[curr];
+            } else {
+                best = curr;
+                curr = left[curr];
+            }
+        }
+        return best;
+    }
+
+    // Search path of the last insert, delete or query
+    public int pathLength() {
+        return pathLength;
+    }
+
+    public int pathNode(int index) {
+        return path[index];
+    }
+
+    // Nodes reshaped by the last insert or delete, each listed after all of its
+    // changed descendants; a node may appear more than once
+    public int changedLength() {
+        return changedLength;
+    }
+
+    public int changedNode(int index) {
+        return changed[index];
+    }
+
+    // Add all keys at once: merge the sorted keys with the in-order contents and rebuild.
+    // O(n + m) for sorted input instead of m separate O(log n) inserts; returns keys added.
+    public int union(int[] keys) {
+        int[] incoming = IntKeys.sortedUnique(keys);
+        int[] current = toSortedArray();
+        int[] merged = new int[current.length + incoming.length];
+        int i = 0, j = 0, count = 0;
+        while (i < current.length || j < incoming.length) {
+            if (j == incoming.length || (i < current.length && current[i] < incoming[j])) {
+                merged[count++] = current[i++];
+            } else if (i == current.length || incoming[j] < current[i]) {
+                merged[count++] = incoming[j++];
+            } else {
+                merged[count++] = current[i++];
+                j++;
+            }
+        }
+        int added = count - current.length;
+        buildSorted(merged, count);
+        return added;
+    }
+
+    public int union(IntAVL other) {
+        return union(other.toSortedArray());
+    }
+
+    // Replace the contents with a perfectly balanced tree of the given keys.
+    // Unsorted input is sorted first (O(n log n)); sorted input is built in O(n).
+    public void buildFrom(int[] keys) {
+        int[] sorted = IntKeys.sortedUnique(keys);
+        buildSorted(sorted, sorted.length);
+    }
+
+    public void buildFrom(IntStream keys) {
+        buildFrom(keys.toArray());
+    }
+
+    private void buildSorted(int[] sorted, int count) {
+        clear();
+        if (key.length < count) {
+            int capacity = Math.max(count, DEFAULT_CAPACITY);
+            key = new int[capacity];
+            left = new int[capacity];
+            right = new int[capacity];
+            height = new byte[capacity];
+        }
+        // Node i holds the i-th smallest key, so the node ids follow in-order
+        System.arraycopy(sorted, 0, key, 0, count);
+        used = count;
+        size = count;
+        root = build(0, count - 1);
+    }
+
+    // Middle of the range becomes the subtree root; recursion depth is log2(n)
+    private int build(int lo, int hi) {
+        if (lo > hi) return NIL;
+        int mid = (lo + hi) >>> 1;
+        left[mid] = build(lo, mid - 1);
+        right[mid] = build(mid + 1, hi);
+        updateHeight(mid);
+        return mid;
+    }
+
+    // Traversals (iterative)
+    public void inorder(IntConsumer action) {
+        int top = 0;
+        int curr = root;
+        while (top > 0 || curr != NIL) {
+            while (curr != NIL) {
+                top = push(top, curr);
+                curr = left[curr];
+            }
+            curr = stack[--top];
+            action.accept(key[curr]);
+            curr = right[curr];
+        }
+    }
+
+    public void preorder(IntConsumer action) {
+        if (root == NIL) return;
+        int top = push(0, root);
+        while (top > 0) {
+            int n = stack[--top];
+            action.accept(key[n]);
+            if (right[n] != NIL) top = push(top, right[n]);
+            if (left[n] != NIL) top = push(top, left[n]);
+        }
+    }
+
+    public void postorder(IntConsumer action) {
+        int top = 0;
+        int curr = root, lastVisited = NIL;
+        while (top > 0 || curr != NIL) {
+            if (curr != NIL) {
+                top = push(top, curr);
+                curr = left[curr];
+            } else {
+                int peek = stack[top - 1];
+                if (right[peek] != NIL && lastVisited != right[peek]) {
+                    curr = right[peek];
+                } else {
+                    action.accept(key[peek]);
+                    lastVisited = peek;
+                    top--;
+                }
+            }
+        }
+    }
+
+    // Sorted keys as a new array
+    public int[] toSortedArray() {
+        int[] out = new int[size];
+        int[] index = {0};
+        inorder(k -> out[index[0]++] = k);
+        return out;
+    }
+
+    // Check ordering, stored heights and the AVL balance condition with a post-order walk
+    public boolean isValid() {
+        int top = 0;
+        int curr = root, lastVisited = NIL;
+        while (top > 0 || curr != NIL) {
+            if (curr != NIL) {
+                top = push(top, curr);
+                curr = left[curr];
+            } else {
+                int peek = stack[top - 1];
+                if (right[peek] != NIL && lastVisited != right[peek]) {
+                    curr = right[peek];
+                } else {
+                    int l = left[peek], r = right[peek];
+                    if (l != NIL && key[l] >= key[peek]) return false;
+                    if (r != NIL && key[r] <= key[peek]) return false;
+                    if (height[peek] != 1 + Math.max(height(l), height(r))) return false;
+                    if (Math.abs(balance(peek)) > 1) return false;
+                    lastVisited = peek;
+                    top--;
+                }
+            }
+        }
+        // Parent/child order alone does not bound whole subtrees, so check in-order too
+        int[] sorted = toSortedArray();
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i - 1] >= sorted[i]) return false;
+        }
+        return true;
+    }
+
+    // Node slot management
+    private int allocate(int k) {
+        int node;
+        if (freeList != NIL) {
+            node = freeList;
+            freeList = right[node];
+        } else {
+            if (used == key.length) {
+                grow();
+            }
+            node = used++;
+        }
+        key[node] = k;
+        left[node] = NIL;
+        right[node] = NIL;
+        height[node] = 1;
+        return node;
+    }
+
+    private void release(int node) {
+        left[node] = NIL;
+        right[node] = freeList;
+        freeList = node;
+    }
+
+    private void grow() {
+        int capacity = key.length * 2;
+        key = Arrays.copyOf(key, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        height = Arrays.copyOf(height, capacity);
+    }
+
+    private void replaceChild(int parent, int oldChild, int newChild) {
+        if (parent == NIL) {
+            root = newChild;
+        } else if (left[parent] == oldChild) {
+            left[parent] = newChild;
+        } else {
+            right[parent] = newChild;
+        }
+    }
+
+    private void pushPath(int node) {
+        if (pathLength == path.length) {
+            path = Arrays.copyOf(path, path.length * 2);
+        }
+        path[pathLength++] = node;
+    }
+
+    private void pushChanged(int node) {
+        if (changedLength == changed.length) {
+            changed = Arrays.copyOf(changed, changed.length * 2);
+        }
+        changed[changedLength++] = node;
+    }
+
+    private int push(int top, int node) {
+        if (top == stack.length) {
+            stack = Arrays.copyOf(stack, stack.length * 2);
+        }
+        stack[top] = node;
+        return top + 1;
+    }
+}
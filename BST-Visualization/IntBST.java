@@ -0,0 +1,608 @@
+// Primitive int-keyed Binary Search Tree engine (headless)
+// Features: Parallel-array nodes with a free list, insert/delete/search, range scans,
+// subtree height/size kept up to date along the update path, order statistics
+// (select, rank, floor, ceiling, countInRange, range iterator), iterative traversals
+// O(n) balanced bulk build and search-path recording for the visualization layer
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+public class IntBST implements IntOrderedSet.Binary {
+    public static final int NIL = -1;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // Node storage: node ids index into these arrays.
+    private int[] key;
+    private int[] left;
+    private int[] right;
+    // Augmentation, maintained incrementally by insert and delete
+    private int[] subtreeHeight; // Levels in the subtree (leaf = 1)
+    private int[] subtreeSize;   // Nodes in the subtree
+
+    private int root;
+    private int size;
+    private int used;      // Slots handed out so far (high-water mark)
+    private int freeList;  // Recycled slots, chained through right[]
+
+    // Nodes visited by the last insert, delete or search (root first)
+    private int[] path;
+    private int pathLength;
+
+    // Scratch stack for iterative walks
+    private int[] stack;
+
+    public IntBST() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntBST(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        key = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        subtreeHeight = new int[capacity];
+        subtreeSize = new int[capacity];
+        path = new int[32];
+        stack = new int[32];
+        clear();
+    }
+
+    // Basic accessors
+    public int root() {
+        return root;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int key(int node) {
+        return key[node];
+    }
+
+    public int left(int node) {
+        return left[node];
+    }
+
+    public int right(int node) {
+        return right[node];
+    }
+
+    // Levels in the subtree rooted at node, 0 for NIL
+    public int height(int node) {
+        return node == NIL ? 0 : subtreeHeight[node];
+    }
+
+    // Nodes in the subtree rooted at node, 0 for NIL
+    public int size(int node) {
+        return node == NIL ? 0 : subtreeSize[node];
+    }
+
+    // Number of node slots; every node id is below this value
+    public int capacity() {
+        return key.length;
+    }
+
+    public String name() {
+        return "BST";
+    }
+
+    // A plain BST never rotates or splits; its cost is the search path alone
+    public int lastRotations() {
+        return 0;
+    }
+
+    public int lastSplits() {
+        return 0;
+    }
+
+    public int lastTouches() {
+        return pathLength;
+    }
+
+    public void clear() {
+        root = NIL;
+        size = 0;
+        used = 0;
+        freeList = NIL;
+        pathLength = 0;
+    }
+
+    // Insert key, returns false if it is already present
+    public boolean insert(int k) {
+        pathLength = 0;
+        if (root == NIL) {
+            root = allocate(k);
+            pushPath(root);
+            size++;
+            return true;
+        }
+
+        int curr = root, parent = NIL;
+        while (curr != NIL) {
+            pushPath(curr);
+            int currKey = key[curr];
+            if (k == currKey) {
+                return false;
+            }
+            parent = curr;
+            curr = k < currKey ? left[curr] : right[curr];
+        }
+
+        int node = allocate(k);
+        if (k < key[parent]) {
+            left[parent] = node;
+        } else {
+            right[parent] = node;
+        }
+        pushPath(node);
+        size++;
+        updatePath(pathLength - 2);
+        return true;
+    }
+
+    // Insert many keys without any per-key bookkeeping outside the tree; returns keys added
+    public int insertAll(int[] keys) {
+        int added = 0;
+        for (int k : keys) {
+            if (insert(k)) added++;
+        }
+        pathLength = 0;
+        return added;
+    }
+
+    // Replace the contents with a perfectly balanced tree of the given keys.
+    // Unsorted input is sorted first (O(n log n)); sorted input is built in O(n).
+    public void buildFrom(int[] keys) {
+        int[] sorted = IntKeys.sortedUnique(keys);
+        clear();
+        if (key.length < sorted.length) {
+            int capacity = Math.max(sorted.length, DEFAULT_CAPACITY);
+            key = new int[capacity];
+            left = new int[capacity];
+            right = new int[capacity];
+            subtreeHeight = new int[capacity];
+            subtreeSize = new int[capacity];
+        }
+        // Node i holds the i-th smallest key, so the node ids follow in-order
+        System.arraycopy(sorted, 0, key, 0, sorted.length);
+        used = sorted.length;
+        size = sorted.length;
+        root = build(0, sorted.length - 1);
+    }
+
+    public void buildFrom(IntStream keys) {
+        buildFrom(keys.toArray());
+    }
+
+    // Middle of the range becomes the subtree root; recursion depth is log2(n)
+    private int build(int lo, int hi) {
+        if (lo > hi) return NIL;
+        int mid = (lo + hi) >>> 1;
+        int l = build(lo, mid - 1);
+        int r = build(mid + 1, hi);
+        left[mid] = l;
+        right[mid] = r;
+        subtreeHeight[mid] = 1 + Math.max(height(l), height(r));
+        subtreeSize[mid] = hi - lo + 1;
+        return mid;
+    }
+
+    // Delete key, returns false if it is not present.
+    // A node with two children takes the key of the in-order predecessor when its
+    // left subtree is taller, otherwise the key of the in-order successor.
+    public boolean delete(int k) {
+        pathLength = 0;
+        int curr = root, parent = NIL;
+        while (curr != NIL && key[curr] != k) {
+            pushPath(curr);
+            parent = curr;
+            curr = k < key[curr] ? left[curr] : right[curr];
+        }
+        if (curr == NIL) {
+            return false;
+        }
+        pushPath(curr);
+
+        if (left[curr] == NIL || right[curr] == NIL) {
+            int child = left[curr] != NIL ? left[curr] : right[curr];
+            replaceChild(parent, curr, child);
+            release(curr);
+            pathLength--;
+        } else {
+            int next, nextParent = curr;
+            if (height(left[curr]) > height(right[curr])) {
+                next = left[curr];
+                while (right[next] != NIL) {
+                    pushPath(next);
+                    nextParent = next;
+                    next = right[next];
+                }
+                if (nextParent != curr) {
+                    right[nextParent] = left[next];
+                } else {
+                    left[nextParent] = left[next];
+                }
+            } else {
+                next = right[curr];
+                while (left[next] != NIL) {
+                    pushPath(next);
+                    nextParent = next;
+                    next = left[next];
+                }
+                if (nextParent != curr) {
+                    left[nextParent] = right[next];
+                } else {
+                    right[nextParent] = right[next];
+                }
+            }
+            key[curr] = key[next];
+            release(next);
+        }
+        size--;
+        updatePath(pathLength - 1);
+        return true;
+    }
+
+    // Node id holding key, or NIL. Records the search path.
+    public int find(int k) {
+        pathLength = 0;
+        int curr = root;
+        while (curr != NIL) {
+            pushPath(curr);
+            int currKey = key[curr];
+            if (k == currKey) {
+                return curr;
+            }
+            curr = k < currKey ? left[curr] : right[curr];
+        }
+        return NIL;
+    }
+
+    public boolean contains(int k) {
+        int curr = root;
+        while (curr != NIL) {
+            int currKey = key[curr];
+            if (k == currKey) {
+                return true;
+            }
+            curr = k < currKey ? left[curr] : right[curr];
+        }
+        return false;
+    }
+
+    // Search path of the last insert, delete or query
+    public int pathLength() {
+        return pathLength;
+    }
+
+    public int pathNode(int index) {
+        return path[index];
+    }
+
+    // Height in levels (empty tree = 0, single node = 1)
+    public int height() {
+        return height(root);
+    }
+
+    // k-th smallest key (0-based), found by descending on subtree sizes
+    public int select(int k) {
+        if (k < 0 || k >= size) {
+            throw new IndexOutOfBoundsException("k = " + k + ", size = " + size);
+        }
+        pathLength = 0;
+        int curr = root;
+        while (true) {
+            pushPath(curr);
+            int leftSize = size(left[curr]);
+            if (k < leftSize) {
+                curr = left[curr];
+            } else if (k == leftSize) {
+                return key[curr];
+            } else {
+                k -= leftSize + 1;
+                curr = right[curr];
+            }
+        }
+    }
+
+    // Number of keys strictly smaller than k
+    public int rank(int k) {
+        pathLength = 0;
+        return countBelow(k, false);
+    }
+
+    // Number of keys in [lo, hi]; the recorded path covers both boundary searches
+    public int countInRange(int lo, int hi) {
+        pathLength = 0;
+        if (lo > hi) return 0;
+        return countBelow(hi, true) - countBelow(lo, false);
+    }
+
+    // Keys < k (or <= k when inclusive), appending the visited nodes to the path
+    private int countBelow(int k, boolean inclusive) {
+        int count = 0;
+        int curr = root;
+        while (curr != NIL) {
+            pushPath(curr);
+            if (k < key[curr]) {
+                curr = left[curr];
+            } else if (k == key[curr]) {
+                return count + size(left[curr]) + (inclusive ? 1 : 0);
+            } else {
+                count += size(left[curr]) + 1;
+                curr = right[curr];
+            }
+        }
+        return count;
+    }
+
+    // Node with the largest key <= k, or NIL
+    public int floor(int k) {
+        pathLength = 0;
+        int best = NIL;
+        int curr = root;
+        while (curr != NIL) {
+            pushPath(curr);
+            if (k == key[curr]) {
+                return curr;
+            } else if (k < key[curr]) {
+                curr = left[curr];
+            } else {
+                best = curr;
+                curr = right[curr];
+            }
+        }
+        return best;
+    }
+
+    // Node with the smallest key >= k, or NIL
+    public int ceiling(int k) {
+        pathLength = 0;
+        int best = NIL;
+        int curr = root;
+        while (curr != NIL) {
+            pushPath(curr);
+            if (k == key[curr]) {
+                return curr;
+            } else if (k > key[curr]) {
+                curr = right[curr];
+            } else {
+                best = curr;
+                curr = left[curr];
+            }
+        }
+        return best;
+    }
+
+    // Ascending keys in [lo, hi]: O(depth) to start, then amortized O(1) per key.
+    // The tree must not be modified while the iterator is in use.
+    public RangeIterator rangeIterator(int lo, int hi) {
+        return new RangeIterator(lo, hi);
+    }
+
+    public class RangeIterator implements PrimitiveIterator.OfInt {
+        private final int hi;
+        private int[] pending = new int[32];
+        private int top;
+
+        RangeIterator(int lo, int hi) {
+            this.hi = hi;
+            // Keep the left spine of the nodes >= lo, skipping everything below lo
+            int curr = root;
+            while (curr != NIL) {
+                if (key[curr] < lo) {
+                    curr = right[curr];
+                } else {
+                    push(curr);
+                    curr = left[curr];
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return top > 0 && key[pending[top - 1]] <= hi;
+        }
+
+        @Override
+        public int nextInt() {
+            return key[nextNode()];
+        }
+
+        // Node id of the next key in range
+        public int nextNode() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int node = pending[--top];
+            int curr = right[node];
+            while (curr != NIL) {
+                push(curr);
+                curr = left[curr];
+            }
+            return node;
+        }
+
+        private void push(int node) {
+            if (top == pending.length) {
+                pending = Arrays.copyOf(pending, pending.length * 2);
+            }
+            pending[top++] = node;
+        }
+    }
+
+    // Recompute height and size bottom-up for path[0..last]
+    private void updatePath(int last) {
+        for (int i = last; i >= 0; i--) {
+            int node = path[i];
+            int l = left[node], r = right[node];
+            subtreeHeight[node] = 1 + Math.max(height(l), height(r));
+            subtreeSize[node] = 1 + size(l) + size(r);
+        }
+    }
+
+    // Traversals (iterative, safe on degenerate trees)
+    public void inorder(IntConsumer action) {
+        int top = 0;
+        int curr = root;
+        while (top > 0 || curr != NIL) {
+            while (curr != NIL) {
+                top = push(top, curr);
+                curr = left[curr];
+            }
+            curr = stack[--top];
+            action.accept(key[curr]);
+            curr = right[curr];
+        }
+    }
+
+    public void preorder(IntConsumer action) {
+        if (root == NIL) return;
+        int top = push(0, root);
+        while (top > 0) {
+            int n = stack[--top];
+            action.accept(key[n]);
+            if (right[n] != NIL) top = push(top, right[n]);
+            if (left[n] != NIL) top = push(top, left[n]);
+        }
+    }
+
+    public void postorder(IntConsumer action) {
+        int top = 0;
+        int curr = root, lastVisited = NIL;
+        while (top > 0 || curr != NIL) {
+            if (curr != NIL) {
+                top = push(top, curr);
+                curr = left[curr];
+            } else {
+                int peek = stack[top - 1];
+                if (right[peek] != NIL && lastVisited != right[peek]) {
+                    curr = right[peek];
+                } else {
+                    action.accept(key[peek]);
+                    lastVisited = peek;
+                    top--;
+                }
+            }
+        }
+    }
+
+    // Sorted keys as a new array
+    public int[] toSortedArray() {
+        int[] out = new int[size];
+        int[] index = {0};
+        inorder(k -> out[index[0]++] = k);
+        return out;
+    }
+
+    // Visit keys in [lo, hi] in ascending order, skipping subtrees outside the range
+    public void range(int lo, int hi, IntConsumer action) {
+        int top = 0;
+        int curr = root;
+        while (top > 0 || curr != NIL) {
+            while (curr != NIL) {
+                if (key[curr] < lo) {
+                    curr = right[curr];
+                } else {
+                    top = push(top, curr);
+                    curr = left[curr];
+                }
+            }
+            if (top == 0) break;
+            curr = stack[--top];
+            if (key[curr] > hi) break;
+            action.accept(key[curr]);
+            curr = right[curr];
+        }
+    }
+
+    // Check the ordering invariant with an in-order walk
+    public boolean isValid() {
+        int top = 0;
+        int curr = root;
+        boolean first = true;
+        int prev = 0;
+        while (top > 0 || curr != NIL) {
+            while (curr != NIL) {
+                top = push(top, curr);
+                curr = left[curr];
+            }
+            curr = stack[--top];
+            if (!first && key[curr] <= prev) {
+                return false;
+            }
+            first = false;
+            prev = key[curr];
+            curr = right[curr];
+        }
+        return true;
+    }
+
+    // Node slot management
+    private int allocate(int k) {
+        int node;
+        if (freeList != NIL) {
+            node = freeList;
+            freeList = right[node];
+        } else {
+            if (used == key.length) {
+                grow();
+            }
+            node = used++;
+        }
+        key[node] = k;
+        left[node] = NIL;
+        right[node] = NIL;
+        subtreeHeight[node] = 1;
+        subtreeSize[node] = 1;
+        return node;
+    }
+
+    private void release(int node) {
+        left[node] = NIL;
+        right[node] = freeList;
+        freeList = node;
+    }
+
+    private void grow() {
+        int capacity = key.length * 2;
+        key = Arrays.copyOf(key, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        subtreeHeight = Arrays.copyOf(subtreeHeight, capacity);
+        subtreeSize = Arrays.copyOf(subtreeSize, capacity);
+    }
+
+    private void replaceChild(int parent, int oldChild, int newChild) {
+        if (parent == NIL) {
+            root = newChild;
+        } else if (left[parent] == oldChild) {
+            left[parent] = newChild;
+        } else {
+            right[parent] = newChild;
+        }
+    }
+
+    private void pushPath(int node) {
+        if (pathLength == path.length) {
+            path = Arrays.copyOf(path, path.length * 2);
+        }
+        path[pathLength++] = node;
+    }
+
+    private int push(int top, int node) {
+        if (top == stack.length) {
+            stack = Arrays.copyOf(stack, stack.length * 2);
+        }
+        stack[top] = node;
+        return top + 1;
+    }
+}
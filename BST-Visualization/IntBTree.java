@@ -0,0 +1,523 @@
+// Primitive int-keyed B-Tree engine (headless)
+// Features: Configurable order (max children per node), node keys and child ids packed
+// into flat int arrays with a free list, bottom-up splits on insert, borrow-from-sibling
+// ("rotation") or merge on delete, per-operation split/merge, rotation and node-touch
+// counters, iterative in-order walk and invariant check
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+public class IntBTree implements IntOrderedSet {
+    public static final int NIL = -1;
+    public static final int MIN_ORDER = 3;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final int order;
+    private final int minKeys;
+    // Slots per node; one more than the maximum so a node can overflow before it splits
+    private final int keyStride;
+    private final int childStride;
+
+    // Node storage: node n owns keys[n * keyStride ..] and children[n * childStride ..].
+    // A leaf has NIL as its first child.
+    private int[] keys;
+    private int[] children;
+    private int[] count;
+
+    private int root;
+    private int size;
+    private int nodes;
+    private int used;      // Slots handed out so far (high-water mark)
+    private int freeList;  // Recycled slots, chained through count[]
+
+    // Root-to-leaf path of the last operation with the child (or key) index taken at each node
+    private int[] path;
+    private int[] pathIndex;
+    private int pathLength;
+    // Cost of the last insert, delete or find
+    private int splits;
+    private int rotations;
+    private int touches;
+
+    public IntBTree(int order) {
+        this(order, DEFAULT_CAPACITY);
+    }
+
+    public IntBTree(int order, int initialCapacity) {
+        if (order < MIN_ORDER) {
+            throw new IllegalArgumentException("B-Tree order must be at least " + MIN_ORDER + ": " + order);
+        }
+        this.order = order;
+        minKeys = (order + 1) / 2 - 1;
+        keyStride = order;
+        childStride = order + 1;
+        int capacity = Math.max(initialCapacity, 1);
+        keys = new int[capacity * keyStride];
+        children = new int[capacity * childStride];
+        count = new int[capacity];
+        path = new int[32];
+        pathIndex = new int[32];
+        clear();
+    }
+
+    // Basic accessors
+    public String name() {
+        return "B-Tree (" + order + ")";
+    }
+
+    public int order() {
+        return order;
+    }
+
+    public int root() {
+        return root;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Nodes in use
+    public int nodeCount() {
+        return nodes;
+    }
+
+    public int keyCount(int node) {
+        return count[node];
+    }
+
+    public int key(int node, int index) {
+        return keys[node * keyStride + index];
+    }
+
+    // index-th child, 0 <= index <= keyCount(node); NIL below a leaf
+    public int child(int node, int index) {
+        if (isLeaf(node)) return NIL;
+        return children[node * childStride + index];
+    }
+
+    public boolean isLeaf(int node) {
+        return children[node * childStride] == NIL;
+    }
+
+    // Number of node slots; every node id is below this value
+    public int capacity() {
+        return count.length;
+    }
+
+    public int lastRotations() {
+        return rotations;
+    }
+
+    public int lastSplits() {
+        return splits;
+    }
+
+    public int lastTouches() {
+        return touches;
+    }
+
+    // Path of the last insert, delete or find (root first)
+    public int pathLength() {
+        return pathLength;
+    }
+
+    public int pathNode(int index) {
+        return path[index];
+    }
+
+    public void clear() {
+        root = NIL;
+        size = 0;
+        nodes = 0;
+        used = 0;
+        freeList = NIL;
+        pathLength = 0;
+        splits = 0;
+        rotations = 0;
+        touches = 0;
+    }
+
+    // Levels in the tree; every leaf sits at the same depth
+    public int height() {
+        int levels = 0;
+        for (int n = root; n != NIL; n = child(n, 0)) {
+            levels++;
+        }
+        return levels;
+    }
+
+    // First index in node whose key is >= k (binary search)
+    private int lowerBound(int node, int k) {
+        int base = node * keyStride;
+        int lo = 0, hi = count[node];
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[base + mid] < k) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // Node id holding key, or NIL. Records the search path.
+    public int find(int k) {
+        pathLength = 0;
+        splits = 0;
+        rotations = 0;
+        touches = 0;
+        int node = root;
+        while (node != NIL) {
+            touches++;
+            int i = lowerBound(node, k);
+            pushPath(node, i);
+            if (i < count[node] && keys[node * keyStride + i] == k) {
+                return node;
+            }
+            if (isLeaf(node)) break;
+            node = children[node * childStride + i];
+        }
+        return NIL;
+    }
+
+    public boolean contains(int k) {
+        int node = root;
+        while (node != NIL) {
+            int i = lowerBound(node, k);
+            if (i < count[node] && keys[node * keyStride + i] == k) {
+                return true;
+            }
+            if (isLeaf(node)) break;
+            node = children[node * childStride + i];
+        }
+        return false;
+    }
+
+    // Insert key into its leaf, then split full nodes from the leaf upward.
+    // Returns false if the key is already present.
+    public boolean insert(int k) {
+        pathLength = 0;
+        splits = 0;
+        rotations = 0;
+        touches = 0;
+        if (root == NIL) {
+            root = allocate();
+            keys[root * keyStride] = k;
+            count[root] = 1;
+            touches = 1;
+            size++;
+            return true;
+        }
+
+        int node = root;
+        while (true) {
+            touches++;
+            int i = lowerBound(node, k);
+            if (i < count[node] && keys[node * keyStride + i] == k) {
+                return false;
+            }
+            pushPath(node, i);
+            if (isLeaf(node)) break;
+            node = children[node * childStride + i];
+        }
+        insertAt(node, pathIndex[pathLength - 1], k, NIL);
+        size++;
+
+        for (int level = pathLength - 1; level >= 0 && count[path[level]] == order; level--) {
+            split(level);
+        }
+        return true;
+    }
+
+    // Split the overflowing node at path[level]: the middle key moves up to the parent
+    private void split(int level) {
+        int node = path[level];
+        int mid = order / 2;
+        int sibling = allocate();
+        int moved = order - mid - 1;
+        System.arraycopy(keys, node * keyStride + mid + 1, keys, sibling * keyStride, moved);
+        if (!isLeaf(node)) {
+            System.arraycopy(children, node * childStride + mid + 1, children, sibling * childStride, moved + 1);
+        }
+        count[sibling] = moved;
+        count[node] = mid;
+        int median = keys[node * keyStride + mid];
+        splits++;
+        touches++;
+
+        if (level == 0) {
+            int newRoot = allocate();
+            keys[newRoot * keyStride] = median;
+            children[newRoot * childStride] = node;
+            children[newRoot * childStride + 1] = sibling;
+            count[newRoot] = 1;
+            root = newRoot;
+        } else {
+            insertAt(path[level - 1], pathIndex[level - 1], median, sibling);
+        }
+    }
+
+    // Put key at index of node; a non-NIL rightChild goes just after it
+    private void insertAt(int node, int index, int k, int rightChild) {
+        int base = node * keyStride;
+        int n = count[node];
+        System.arraycopy(keys, base + index, keys, base + index + 1, n - index);
+        keys[base + index] = k;
+        if (rightChild != NIL) {
+            int cbase = node * childStride;
+            System.arraycopy(children, cbase + index + 1, children, cbase + index + 2, n - index);
+            children[cbase + index + 1] = rightChild;
+        }
+        count[node] = n + 1;
+    }
+
+    // Delete key, returns false if it is not present. A key in an inner node is replaced by
+    // its in-order predecessor; underfull nodes then borrow from a sibling or merge with one.
+    public boolean delete(int k) {
+        pathLength = 0;
+        splits = 0;
+        rotations = 0;
+        touches = 0;
+        int node = root, found = NIL, foundIndex = 0;
+        while (node != NIL) {
+            touches++;
+            int i = lowerBound(node, k);
+            if (found == NIL && i < count[node] && keys[node * keyStride + i] == k) {
+                found = node;
+                foundIndex = i;
+            }
+            // Below the found key, keep to the right edge of its left subtree
+            int next = found == NIL || found == node ? i : count[node];
+            pushPath(node, next);
+            if (isLeaf(node)) break;
+            node = children[node * childStride + next];
+        }
+        if (found == NIL) {
+            return false;
+        }
+
+        int leaf = path[pathLength - 1];
+        if (leaf == found) {
+            removeAt(leaf, foundIndex);
+        } else {
+            int last = count[leaf] - 1;
+            keys[found * keyStride + foundIndex] = keys[leaf * keyStride + last];
+            count[leaf] = last;
+            pathIndex[pathLength - 1] = last;
+        }
+        size--;
+
+        for (int level = pathLength - 1; level > 0 && count[path[level]] < minKeys; level--) {
+            fixUnderflow(level);
+        }
+        if (count[root] == 0) {
+            int old = root;
+            root = isLeaf(old) ? NIL : child(old, 0);
+            release(old);
+        }
+        return true;
+    }
+
+    private void removeAt(int node, int index) {
+        int base = node * keyStride;
+        System.arraycopy(keys, base + index + 1, keys, base + index, count[node] - index - 1);
+        count[node]--;
+    }
+
+    // path[level] has too few keys: borrow one through the parent, or merge with a sibling
+    private void fixUnderflow(int level) {
+        int node = path[level];
+        int parent = path[level - 1];
+        int ci = pathIndex[level - 1];
+        int pbase = parent * keyStride, cbase = parent * childStride;
+        int leftSibling = ci > 0 ? children[cbase + ci - 1] : NIL;
+        int rightSibling = ci < count[parent] ? children[cbase + ci + 1] : NIL;
+
+        if (leftSibling != NIL) {
+            touches++;
+            if (count[leftSibling] > minKeys) {
+                // Rotate right: separator comes down, left sibling's last key goes up
+                int ln = count[leftSibling];
+                int moving = children[leftSibling * childStride + ln];
+                insertFront(node, keys[pbase + ci - 1], moving);
+                keys[pbase + ci - 1] = keys[leftSibling * keyStride + ln - 1];
+                count[leftSibling] = ln - 1;
+                rotations++;
+                return;
+            }
+        }
+        if (rightSibling != NIL) {
+            touches++;
+            if (count[rightSibling] > minKeys) {
+                // Rotate left: separator comes down, right sibling's first key goes up
+                int n = count[node];
+                keys[node * keyStride + n] = keys[pbase + ci];
+                if (!isLeaf(node)) {
+                    children[node * childStride + n + 1] = children[rightSibling * childStride];
+                }
+                count[node] = n + 1;
+                keys[pbase + ci] = keys[rightSibling * keyStride];
+                int rbase = rightSibling * keyStride, rcbase = rightSibling * childStride;
+                int rn = count[rightSibling];
+                System.arraycopy(keys, rbase + 1, keys, rbase, rn - 1);
+                if (!isLeaf(rightSibling)) {
+                    System.arraycopy(children, rcbase + 1, children, rcbase, rn);
+                }
+                count[rightSibling] = rn - 1;
+                rotations++;
+                return;
+            }
+        }
+        merge(parent, leftSibling != NIL ? ci - 1 : ci);
+    }
+
+    // Prepend key (and leftChild ahead of the current first child) to node
+    private void insertFront(int node, int k, int leftChild) {
+        int base = node * keyStride, cbase = node * childStride;
+        int n = count[node];
+        System.arraycopy(keys, base, keys, base + 1, n);
+        keys[base] = k;
+        if (!isLeaf(node)) {
+            System.arraycopy(children, cbase, children, cbase + 1, n + 1);
+            children[cbase] = leftChild;
+        }
+        count[node] = n + 1;
+    }
+
+    // Merge child index+1 into child index of parent, pulling the separator key down
+    private void merge(int parent, int index) {
+        int pbase = parent * keyStride, cbase = parent * childStride;
+        int a = children[cbase + index], b = children[cbase + index + 1];
+        int an = count[a], bn = count[b];
+        keys[a * keyStride + an] = keys[pbase + index];
+        System.arraycopy(keys, b * keyStride, keys, a * keyStride + an + 1, bn);
+        if (!isLeaf(a)) {
+            System.arraycopy(children, b * childStride, children, a * childStride + an + 1, bn + 1);
+        }
+        count[a] = an + 1 + bn;
+        int pn = count[parent];
+        System.arraycopy(keys, pbase + index + 1, keys, pbase + index, pn - index - 1);
+        System.arraycopy(children, cbase + index + 2, children, cbase + index + 1, pn - index - 1);
+        count[parent] = pn - 1;
+        release(b);
+        splits++;
+    }
+
+    // In-order walk with an explicit (node, next child) stack
+    public void inorder(IntConsumer action) {
+        if (root == NIL) return;
+        int[] stackNode = new int[Math.max(height(), 1)];
+        int[] stackIndex = new int[stackNode.length];
+        stackNode[0] = root;
+        stackIndex[0] = 0;
+        int top = 1;
+        while (top > 0) {
+            int node = stackNode[top - 1];
+            int i = stackIndex[top - 1];
+            if (isLeaf(node)) {
+                int base = node * keyStride;
+                for (int j = 0; j < count[node]; j++) {
+                    action.accept(keys[base + j]);
+                }
+                top--;
+                continue;
+            }
+            // Key i - 1 once child i - 1 is done, then child i
+            if (i > count[node]) {
+                top--;
+                continue;
+            }
+            if (i > 0) {
+                action.accept(keys[node * keyStride + i - 1]);
+            }
+            stackIndex[top - 1] = i + 1;
+            stackNode[top] = children[node * childStride + i];
+            stackIndex[top] = 0;
+            top++;
+        }
+    }
+
+    // Check key counts, sorted keys across the whole tree and equal leaf depth
+    public boolean isValid() {
+        if (root == NIL) return size == 0 && nodes == 0;
+        int leafDepth = height();
+        int[] stackNode = new int[64];
+        int[] stackDepth = new int[64];
+        int top = 1, seen = 0;
+        stackNode[0] = root;
+        stackDepth[0] = 1;
+        while (top > 0) {
+            top--;
+            int node = stackNode[top], depth = stackDepth[top];
+            seen++;
+            int n = count[node];
+            if (n > order - 1 || n < (node == root ? 1 : minKeys)) return false;
+            if (isLeaf(node)) {
+                if (depth != leafDepth) return false;
+                continue;
+            }
+            if (stackNode.length < top + n + 1) {
+                stackNode = Arrays.copyOf(stackNode, (top + n + 1) * 2);
+                stackDepth = Arrays.copyOf(stackDepth, stackNode.length);
+            }
+            for (int i = 0; i <= n; i++) {
+                int c = children[node * childStride + i];
+                if (c == NIL) return false;
+                stackNode[top] = c;
+                stackDepth[top++] = depth + 1;
+            }
+        }
+        if (seen != nodes) return false;
+        int[] total = {0};
+        int[] previous = {0};
+        boolean[] ok = {true};
+        inorder(k -> {
+            if (total[0] > 0 && previous[0] >= k) ok[0] = false;
+            previous[0] = k;
+            total[0]++;
+        });
+        return ok[0] && total[0] == size;
+    }
+
+    // Node slot management
+    private int allocate() {
+        int node;
+        if (freeList != NIL) {
+            node = freeList;
+            freeList = count[node];
+        } else {
+            if (used == count.length) {
+                grow();
+            }
+            node = used++;
+        }
+        count[node] = 0;
+        children[node * childStride] = NIL;
+        nodes++;
+        return node;
+    }
+
+    private void release(int node) {
+        count[node] = freeList;
+        freeList = node;
+        nodes--;
+    }
+
+    private void grow() {
+        int capacity = count.length * 2;
+        keys = Arrays.copyOf(keys, capacity * keyStride);
+        children = Arrays.copyOf(children, capacity * childStride);
+        count = Arrays.copyOf(count, capacity);
+    }
+
+    private void pushPath(int node, int index) {
+        if (pathLength == path.length) {
+            path = Arrays.copyOf(path, path.length * 2);
+            pathIndex = Arrays.copyOf(pathIndex, path.length);
+        }
+        path[pathLength] = node;
+        pathIndex[pathLength++] = index;
+    }
+}
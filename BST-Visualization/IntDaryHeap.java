@@ -0,0 +1,297 @@
+// Primitive int d-ary Heap engine (headless)
+// Features: Implicit d-ary tree in an int[] (children of i at d*i+1 .. d*i+d, d = 2..16),
+// hole-based sift-up / sift-down, handles mapped to array slots through a position array so
+// decrease-key is O(log_d n), meld by appending (then sift-up or re-heapify), MIN or MAX order,
+// comparison counter
+
+import java.util.Arrays;
+
+public class IntDaryHeap implements IntPriorityQueue {
+    public static final int MIN_ARITY = 2;
+    public static final int MAX_ARITY = 16;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final int d;
+    private final IntHeap.Order order;
+
+    // Slot storage: keys[i] and the handle that owns slot i
+    private int[] keys;
+    private int[] handleAt;
+    private int size;
+
+    // Handle storage: slot of each handle, NIL once its key has left
+    private int[] position;
+    private int handlesUsed;
+    private int[] freeHandles;
+    private int freeCount;
+
+    private long comparisons;
+
+    public IntDaryHeap(int d, IntHeap.Order order) {
+        this(d, order, DEFAULT_CAPACITY);
+    }
+
+    public IntDaryHeap(int d, IntHeap.Order order, int initialCapacity) {
+        if (d < MIN_ARITY || d > MAX_ARITY) {
+            throw new IllegalArgumentException("Arity must be in " + MIN_ARITY + ".." + MAX_ARITY + ": " + d);
+        }
+        this.d = d;
+        this.order = order;
+        int capacity = Math.max(initialCapacity, 1);
+        keys = new int[capacity];
+        handleAt = new int[capacity];
+        position = new int[capacity];
+        freeHandles = new int[16];
+    }
+
+    // Basic accessors
+    public String name() {
+        return d + "-ary";
+    }
+
+    public int arity() {
+        return d;
+    }
+
+    public IntHeap.Order order() {
+        return order;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Key and handle in array slot index
+    public int get(int index) {
+        return keys[index];
+    }
+
+    public int handleAt(int index) {
+        return handleAt[index];
+    }
+
+    // Array slot of a live handle
+    public int position(int handle) {
+        return position[handle];
+    }
+
+    public int key(int handle) {
+        return keys[position[handle]];
+    }
+
+    public boolean contains(int handle) {
+        return handle >= 0 && handle < handlesUsed && position[handle] != NIL;
+    }
+
+    public long comparisons() {
+        return comparisons;
+    }
+
+    public long memoryBytes() {
+        return 4L * (keys.length + handleAt.length + position.length + freeHandles.length);
+    }
+
+    public void clear() {
+        size = 0;
+        handlesUsed = 0;
+        freeCount = 0;
+    }
+
+    public int peek() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        return keys[0];
+    }
+
+    public int peekHandle() {
+        peek();
+        return handleAt[0];
+    }
+
+    public int insert(int k) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            handleAt = Arrays.copyOf(handleAt, size * 2);
+        }
+        int handle = newHandle();
+        siftUp(size++, k, handle);
+        return handle;
+    }
+
+    public int extract() {
+        int root = peek();
+        position[handleAt[0]] = NIL;
+        releaseHandle(handleAt[0]);
+        size--;
+        if (size > 0) {
+            siftDown(0, keys[size], handleAt[size]);
+        }
+        return root;
+    }
+
+    public void decreaseKey(int handle, int newKey) {
+        if (!contains(handle)) {
+            throw new IllegalArgumentException("No key with handle " + handle);
+        }
+        int slot = position[handle];
+        if (before(keys[slot], newKey)) {
+            throw new IllegalArgumentException(newKey + " would move handle " + handle + " away from the root");
+        }
+        siftUp(slot, newKey, handle);
+    }
+
+    // Handles are numbered in input order: key i gets handle i
+    @Override
+    public void build(int[] source, int count) {
+        clear();
+        ensureSlots(count);
+        ensureHandles(count);
+        for (int i = 0; i < count; i++) {
+            keys[i] = source[i];
+            handleAt[i] = i;
+            position[i] = i;
+        }
+        size = count;
+        handlesUsed = count;
+        heapify();
+    }
+
+    // Other's slots are appended behind ours, then sifted up one by one or re-heapified as a whole
+    public int meld(IntPriorityQueue other) {
+        if (!(other instanceof IntDaryHeap) || other == this || other.order() != order) {
+            throw new IllegalArgumentException("Can only meld another " + name() + " heap with the same order");
+        }
+        IntDaryHeap o = (IntDaryHeap) other;
+        int offset = handlesUsed;
+        ensureSlots(size + o.size);
+        ensureHandles(handlesUsed + o.handlesUsed);
+        for (int h = 0; h < o.handlesUsed; h++) {
+            position[offset + h] = NIL;
+        }
+        for (int i = 0; i < o.size; i++) {
+            keys[size + i] = o.keys[i];
+            handleAt[size + i] = offset + o.handleAt[i];
+            position[offset + o.handleAt[i]] = size + i;
+        }
+        handlesUsed += o.handlesUsed;
+        // Other's free handles stay free here
+        for (int h = offset; h < handlesUsed; h++) {
+            if (position[h] == NIL) releaseHandle(h);
+        }
+        int first = size;
+        size += o.size;
+        o.clear();
+        // Sifting each new key up costs about m log n, a full re-heapify n + m
+        if ((long) (size - first) * (32 - Integer.numberOfLeadingZeros(size)) < size) {
+            for (int i = first; i < size; i++) {
+                siftUp(i, keys[i], handleAt[i]);
+            }
+        } else {
+            heapify();
+        }
+        return offset;
+    }
+
+    public IntDaryHeap copy() {
+        IntDaryHeap c = new IntDaryHeap(d, order, Math.max(size, 1));
+        c.keys = keys.clone();
+        c.handleAt = handleAt.clone();
+        c.position = position.clone();
+        c.freeHandles = freeHandles.clone();
+        c.size = size;
+        c.handlesUsed = handlesUsed;
+        c.freeCount = freeCount;
+        return c;
+    }
+
+    // Bottom-up from the last parent; (size - 2) / d truncates toward zero, hence the guard
+    private void heapify() {
+        if (size < 2) return;
+        for (int i = (size - 2) / d; i >= 0; i--) {
+            siftDown(i, keys[i], handleAt[i]);
+        }
+    }
+
+    private boolean before(int a, int b) {
+        comparisons++;
+        return order.before(a, b);
+    }
+
+    // Move the hole at index up while k belongs above the parent, then fill it
+    private void siftUp(int index, int k, int handle) {
+        while (index > 0) {
+            int parent = (index - 1) / d;
+            if (!before(k, keys[parent])) break;
+            place(index, keys[parent], handleAt[parent]);
+            index = parent;
+        }
+        place(index, k, handle);
+    }
+
+    // Move the hole at index down to the best of its d children while that child belongs above k
+    private void siftDown(int index, int k, int handle) {
+        while (true) {
+            int first = d * index + 1;
+            if (first >= size) break;
+            int last = Math.min(first + d, size);
+            int best = first;
+            for (int c = first + 1; c < last; c++) {
+                if (before(keys[c], keys[best])) best = c;
+            }
+            if (!before(keys[best], k)) break;
+            place(index, keys[best], handleAt[best]);
+            index = best;
+        }
+        place(index, k, handle);
+    }
+
+    private void place(int index, int k, int handle) {
+        keys[index] = k;
+        handleAt[index] = handle;
+        position[handle] = index;
+    }
+
+    // Handle management
+    private int newHandle() {
+        if (freeCount > 0) {
+            return freeHandles[--freeCount];
+        }
+        ensureHandles(handlesUsed + 1);
+        return handlesUsed++;
+    }
+
+    private void releaseHandle(int handle) {
+        if (freeCount == freeHandles.length) {
+            freeHandles = Arrays.copyOf(freeHandles, freeCount * 2);
+        }
+        freeHandles[freeCount++] = handle;
+    }
+
+    private void ensureSlots(int count) {
+        if (keys.length < count) {
+            int capacity = Math.max(count, keys.length * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            handleAt = Arrays.copyOf(handleAt, capacity);
+        }
+    }
+
+    private void ensureHandles(int count) {
+        if (position.length < count) {
+            position = Arrays.copyOf(position, Math.max(count, position.length * 2));
+        }
+    }
+
+    // Heap order on every parent/child pair, and slots and handles pointing at each other
+    public boolean isValid() {
+        for (int i = 0; i < size; i++) {
+            if (i > 0 && order.before(keys[i], keys[(i - 1) / d])) return false;
+            if (position[handleAt[i]] != i) return false;
+        }
+        int live = 0;
+        for (int h = 0; h < handlesUsed; h++) {
+            if (position[h] != NIL) live++;
+        }
+        return live == size && live + freeCount == handlesUsed;
+    }
+}
@@ -0,0 +1,127 @@
+// Static int search tree in Eytzinger (BFS) order (headless)
+// Features: Frozen copy of any IntOrderedSet or sorted int[], keys laid out like an implicit
+// binary heap so the top levels share a few cache lines, branch-free lower-bound / contains
+// with a fixed iteration count and look-ahead loads, probe-path recording for the view
+
+import java.util.Arrays;
+
+public class IntEytzinger {
+    public static final int NIL = -1;
+
+    // Slot 1 is the root, slot i has children 2i and 2i + 1; slot 0 is unused
+    private final int[] slots;
+    private final int size;
+
+    // Slots probed by the last find (root first)
+    private int[] path = new int[32];
+    private int pathLength;
+
+    // Fill cursor for the in-order copy
+    private int cursor;
+    // Keeps the look-ahead loads of lowerBound alive
+    private int prefetched;
+
+    public IntEytzinger(int[] sortedKeys) {
+        size = sortedKeys.length;
+        slots = new int[size + 1];
+        start();
+        for (int k : sortedKeys) {
+            append(k);
+        }
+    }
+
+    private IntEytzinger(IntOrderedSet set) {
+        size = set.size();
+        slots = new int[size + 1];
+        start();
+        set.inorder(this::append);
+    }
+
+    // Snapshot of the keys of set; later changes to set are not seen
+    public static IntEytzinger freeze(IntOrderedSet set) {
+        return new IntEytzinger(set);
+    }
+
+    // An in-order walk of the implicit tree visits the slots in key order, so the keys are
+    // copied straight in: each key goes to the in-order successor of the previous slot.
+    private void start() {
+        cursor = 1;
+        while (2 * cursor <= size) cursor *= 2;
+    }
+
+    private void append(int k) {
+        slots[cursor] = k;
+        if (2 * cursor + 1 <= size) {
+            cursor = 2 * cursor + 1;
+            while (2 * cursor <= size) cursor *= 2;
+        } else {
+            // Climb while we are a right child, then once more
+            cursor >>= Integer.numberOfTrailingZeros(~cursor) + 1;
+        }
+    }
+
+    // Basic accessors
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Key in slot, 1 <= slot <= size()
+    public int key(int slot) {
+        return slots[slot];
+    }
+
+    // Levels of the implicit tree
+    public int height() {
+        return 32 - Integer.numberOfLeadingZeros(size);
+    }
+
+    // Slots probed by the last find (root first)
+    public int pathLength() {
+        return pathLength;
+    }
+
+    public int pathNode(int index) {
+        return path[index];
+    }
+
+    // Slot of the smallest key >= k, or NIL. The descent always runs to the bottom and
+    // picks the child with arithmetic, so there is no data-dependent branch to mispredict;
+    // the slot comes back from the last left turn, found in the trailing one bits.
+    // Java has no prefetch instruction, so the loop loads the slot four levels further down
+    // (16i, whose 16 descendants share its cache line) while the compare is still waiting.
+    public int lowerBound(int k) {
+        int i = 1, ahead = 0;
+        int lastAhead = size >>> 4;
+        while (i <= size) {
+            ahead += slots[Math.min(i, lastAhead) << 4];
+            i = 2 * i + (slots[i] < k ? 1 : 0);
+        }
+        prefetched = ahead;
+        i >>= Integer.numberOfTrailingZeros(~i) + 1;
+        return i == 0 ? NIL : i;
+    }
+
+    public boolean contains(int k) {
+        int i = lowerBound(k);
+        return i != NIL && slots[i] == k;
+    }
+
+    // Slot holding key, or NIL. Records the probe path for highlighting.
+    public int find(int k) {
+        pathLength = 0;
+        int i = 1;
+        while (i <= size) {
+            if (pathLength == path.length) {
+                path = Arrays.copyOf(path, path.length * 2);
+            }
+            path[pathLength++] = i;
+            i = 2 * i + (slots[i] < k ? 1 : 0);
+        }
+        i >>= Integer.numberOfTrailingZeros(~i) + 1;
+        return i != 0 && slots[i] == k ? i : NIL;
+    }
+}
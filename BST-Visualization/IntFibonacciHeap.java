@@ -0,0 +1,420 @@
+// Primitive int Fibonacci Heap engine (headless)
+// Features: Parallel-array nodes in circular doubly linked root and child lists with a free
+// list, O(1) insert and meld-splice, extract with consolidation by degree, decrease-key with
+// cut and cascading cut (iterative), node ids as handles, MIN or MAX order, comparison counter
+
+import java.util.Arrays;
+
+public class IntFibonacciHeap implements IntPriorityQueue {
+    private static final int DEFAULT_CAPACITY = 16;
+    // Degrees stay below log_phi(n) + 1, far under this for any int-sized heap
+    private static final int MAX_DEGREE = 64;
+    // degree[] value of a node on the free list
+    private static final int FREE = -1;
+
+    private final IntHeap.Order order;
+
+    // Node storage: node ids index into these arrays and double as handles.
+    // left / right link a node into its circular sibling list (root list or a child list).
+    private int[] key;
+    private int[] parent;
+    private int[] child;
+    private int[] left;
+    private int[] right;
+    private int[] degree;
+    private boolean[] marked;
+    private int used;      // Slots handed out so far (high-water mark)
+    private int freeList;  // Recycled slots, chained through right[]
+
+    private int min;       // Root holding the root key, entry point of the root list
+    private int size;
+    private long comparisons;
+
+    // Scratch for consolidation: roots by degree, and a snapshot of the root list
+    private final int[] byDegree = new int[MAX_DEGREE];
+    private int[] roots = new int[64];
+
+    public IntFibonacciHeap(IntHeap.Order order) {
+        this(order, DEFAULT_CAPACITY);
+    }
+
+    public IntFibonacciHeap(IntHeap.Order order, int initialCapacity) {
+        this.order = order;
+        int capacity = Math.max(initialCapacity, 1);
+        key = new int[capacity];
+        parent = new int[capacity];
+        child = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        degree = new int[capacity];
+        marked = new boolean[capacity];
+        clear();
+    }
+
+    // Basic accessors
+    public String name() {
+        return "Fibonacci";
+    }
+
+    public IntHeap.Order order() {
+        return order;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int min() {
+        return min;
+    }
+
+    public int parent(int node) {
+        return parent[node];
+    }
+
+    public int child(int node) {
+        return child[node];
+    }
+
+    public int right(int node) {
+        return right[node];
+    }
+
+    public int degree(int node) {
+        return degree[node];
+    }
+
+    public boolean isMarked(int node) {
+        return marked[node];
+    }
+
+    // Number of node slots; every handle is below this value
+    public int capacity() {
+        return key.length;
+    }
+
+    public int key(int handle) {
+        return key[handle];
+    }
+
+    public boolean contains(int handle) {
+        return handle >= 0 && handle < used && degree[handle] != FREE;
+    }
+
+    public long comparisons() {
+        return comparisons;
+    }
+
+    public long memoryBytes() {
+        return 4L * (key.length * 6 + roots.length + byDegree.length) + marked.length;
+    }
+
+    public void clear() {
+        min = NIL;
+        size = 0;
+        used = 0;
+        freeList = NIL;
+    }
+
+    public int peek() {
+        if (min == NIL) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        return key[min];
+    }
+
+    public int peekHandle() {
+        peek();
+        return min;
+    }
+
+    public int insert(int k) {
+        int node = allocate(k);
+        addRoot(node);
+        size++;
+        return node;
+    }
+
+    // The root's children join the root list, then roots of equal degree are linked
+    // until every degree occurs once
+    public int extract() {
+        int top = peek();
+        int z = min;
+        int c = child[z];
+        if (c != NIL) {
+            int x = c;
+            do {
+                parent[x] = NIL;
+                marked[x] = false;
+                x = right[x];
+            } while (x != c);
+            splice(z, c);
+        }
+        int after = right[z];
+        unlink(z);
+        release(z);
+        size--;
+        if (after == z) {
+            min = NIL;
+        } else {
+            min = after;
+            consolidate();
+        }
+        return top;
+    }
+
+    private void consolidate() {
+        int count = 0;
+        int x = min;
+        do {
+            if (count == roots.length) {
+                roots = Arrays.copyOf(roots, count * 2);
+            }
+            roots[count++] = x;
+            x = right[x];
+        } while (x != min);
+
+        Arrays.fill(byDegree, NIL);
+        for (int i = 0; i < count; i++) {
+            x = roots[i];
+            int d = degree[x];
+            while (byDegree[d] != NIL) {
+                int y = byDegree[d];
+                if (before(key[y], key[x])) {
+                    int t = x;
+                    x = y;
+                    y = t;
+                }
+                makeChild(y, x);
+                byDegree[d++] = NIL;
+            }
+            byDegree[d] = x;
+        }
+
+        min = NIL;
+        for (int d = 0; d < MAX_DEGREE; d++) {
+            int r = byDegree[d];
+            if (r != NIL && (min == NIL || before(key[r], key[min]))) {
+                min = r;
+            }
+        }
+    }
+
+    // Remove root y from the root list and make it a child of root x
+    private void makeChild(int y, int x) {
+        unlink(y);
+        left[y] = right[y] = y;
+        if (child[x] == NIL) {
+            child[x] = y;
+        } else {
+            splice(child[x], y);
+        }
+        parent[y] = x;
+        degree[x]++;
+        marked[y] = false;
+    }
+
+    // A node that gets ahead of its parent is cut to the root list; a parent that loses a
+    // second child is cut as well, up the tree
+    public void decreaseKey(int handle, int newKey) {
+        if (!contains(handle)) {
+            throw new IllegalArgumentException("No key with handle " + handle);
+        }
+        if (before(key[handle], newKey)) {
+            throw new IllegalArgumentException(newKey + " would move handle " + handle + " away from the root");
+        }
+        key[handle] = newKey;
+        int p = parent[handle];
+        if (p != NIL && before(newKey, key[p])) {
+            cut(handle, p);
+            while (parent[p] != NIL) {
+                if (!marked[p]) {
+                    marked[p] = true;
+                    break;
+                }
+                int up = parent[p];
+                cut(p, up);
+                p = up;
+            }
+        }
+        if (before(newKey, key[min])) {
+            min = handle;
+        }
+    }
+
+    // Move x from the child list of p to the root list
+    private void cut(int x, int p) {
+        if (right[x] == x) {
+            child[p] = NIL;
+        } else if (child[p] == x) {
+            child[p] = right[x];
+        }
+        unlink(x);
+        degree[p]--;
+        parent[x] = NIL;
+        marked[x] = false;
+        left[x] = right[x] = x;
+        splice(min, x);
+    }
+
+    // Other's nodes are copied behind ours with shifted ids; the root lists are then spliced
+    public int meld(IntPriorityQueue other) {
+        if (!(other instanceof IntFibonacciHeap) || other == this || other.order() != order) {
+            throw new IllegalArgumentException("Can only meld another " + name() + " heap with the same order");
+        }
+        IntFibonacciHeap o = (IntFibonacciHeap) other;
+        int offset = used;
+        ensureCapacity(used + o.used);
+        for (int i = 0; i < o.used; i++) {
+            int n = offset + i;
+            key[n] = o.key[i];
+            degree[n] = o.degree[i];
+            marked[n] = o.marked[i];
+            parent[n] = shift(o.parent[i], offset);
+            child[n] = shift(o.child[i], offset);
+            left[n] = shift(o.left[i], offset);
+            right[n] = shift(o.right[i], offset);
+        }
+        used += o.used;
+        // Other's free slots join our free list
+        for (int i = 0; i < o.used; i++) {
+            int n = offset + i;
+            if (degree[n] == FREE) {
+                right[n] = freeList;
+                freeList = n;
+            }
+        }
+        if (o.min != NIL) {
+            int m = o.min + offset;
+            if (min == NIL) {
+                min = m;
+            } else {
+                splice(min, m);
+                if (before(key[m], key[min])) min = m;
+            }
+        }
+        size += o.size;
+        o.clear();
+        return offset;
+    }
+
+    private static int shift(int node, int offset) {
+        return node == NIL ? NIL : node + offset;
+    }
+
+    public IntFibonacciHeap copy() {
+        IntFibonacciHeap c = new IntFibonacciHeap(order, key.length);
+        System.arraycopy(key, 0, c.key, 0, used);
+        System.arraycopy(parent, 0, c.parent, 0, used);
+        System.arraycopy(child, 0, c.child, 0, used);
+        System.arraycopy(left, 0, c.left, 0, used);
+        System.arraycopy(right, 0, c.right, 0, used);
+        System.arraycopy(degree, 0, c.degree, 0, used);
+        System.arraycopy(marked, 0, c.marked, 0, used);
+        c.used = used;
+        c.freeList = freeList;
+        c.min = min;
+        c.size = size;
+        return c;
+    }
+
+    private boolean before(int a, int b) {
+        comparisons++;
+        return order.before(a, b);
+    }
+
+    // Circular list helpers
+    private void addRoot(int node) {
+        if (min == NIL) {
+            min = node;
+        } else {
+            splice(min, node);
+            if (before(key[node], key[min])) min = node;
+        }
+    }
+
+    // Join the circular list containing b into the one containing a, after a
+    private void splice(int a, int b) {
+        int aRight = right[a];
+        int bLeft = left[b];
+        right[a] = b;
+        left[b] = a;
+        right[bLeft] = aRight;
+        left[aRight] = bLeft;
+    }
+
+    private void unlink(int node) {
+        right[left[node]] = right[node];
+        left[right[node]] = left[node];
+    }
+
+    // Node slot management
+    private int allocate(int k) {
+        int node;
+        if (freeList != NIL) {
+            node = freeList;
+            freeList = right[node];
+        } else {
+            ensureCapacity(used + 1);
+            node = used++;
+        }
+        key[node] = k;
+        parent[node] = NIL;
+        child[node] = NIL;
+        left[node] = right[node] = node;
+        degree[node] = 0;
+        marked[node] = false;
+        return node;
+    }
+
+    private void release(int node) {
+        degree[node] = FREE;
+        right[node] = freeList;
+        freeList = node;
+    }
+
+    private void ensureCapacity(int count) {
+        if (key.length < count) {
+            int capacity = Math.max(count, key.length * 2);
+            key = Arrays.copyOf(key, capacity);
+            parent = Arrays.copyOf(parent, capacity);
+            child = Arrays.copyOf(child, capacity);
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+            degree = Arrays.copyOf(degree, capacity);
+            marked = Arrays.copyOf(marked, capacity);
+        }
+    }
+
+    // Heap order, circular links, parent pointers, degrees, min among the roots and the count
+    public boolean isValid() {
+        if (min == NIL) return size == 0;
+        int count = 0;
+        int[] stack = new int[Math.max(size, 1)];
+        int top = 0;
+        int x = min;
+        do {
+            if (parent[x] != NIL || left[right[x]] != x || order.before(key[x], key[min])) return false;
+            if (top == stack.length) return false;
+            stack[top++] = x;
+            x = right[x];
+        } while (x != min);
+        while (top > 0) {
+            int n = stack[--top];
+            count++;
+            int c = child[n];
+            int children = 0;
+            if (c != NIL) {
+                int y = c;
+                do {
+                    if (parent[y] != n || left[right[y]] != y || order.before(key[y], key[n])) return false;
+                    if (top == stack.length || ++children > size) return false;
+                    stack[top++] = y;
+                    y = right[y];
+                } while (y != c);
+            }
+            if (children != degree[n]) return false;
+        }
+        return count == size;
+    }
+}
@@ -0,0 +1,209 @@
+// Primitive int Binary Heap engine (headless)
+// Features: Growable int[] storage, iterative hole-based sift-up / sift-down (the moving key
+// is written once instead of swapped at every level), min or max order as a comparison
+// strategy instead of a flag tested on every compare, bottom-up build in O(n), optional
+// trace of every move for views, comparison counter, no allocation per operation
+
+import java.util.Arrays;
+
+public class IntHeap {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // Heap order: before(a, b) means a belongs above b
+    public interface Order {
+        boolean before(int a, int b);
+    }
+
+    public static final Order MIN = (a, b) -> a < b;
+    public static final Order MAX = (a, b) -> a > b;
+
+    // Receives every key the hole passes, then the final slot of the sifted key
+    public interface Trace {
+        void moved(int key, int from, int to);
+        void placed(int key, int index);
+    }
+
+    private int[] keys;
+    private int size;
+    private Order order;
+    private Trace trace;
+    private long comparisons;
+
+    public IntHeap() {
+        this(MIN, DEFAULT_CAPACITY);
+    }
+
+    public IntHeap(Order order) {
+        this(order, DEFAULT_CAPACITY);
+    }
+
+    public IntHeap(Order order, int initialCapacity) {
+        this.order = order;
+        keys = new int[Math.max(initialCapacity, 1)];
+    }
+
+    // Copy with the same order and keys; the trace is not copied
+    public IntHeap(IntHeap other) {
+        order = other.order;
+        keys = Arrays.copyOf(other.keys, Math.max(other.size, 1));
+        size = other.size;
+    }
+
+    // Basic accessors
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Key in array slot index (root = 0, children of i at 2i+1 and 2i+2)
+    public int get(int index) {
+        return keys[index];
+    }
+
+    public Order order() {
+        return order;
+    }
+
+    public boolean isMinHeap() {
+        return order == MIN;
+    }
+
+    // Key comparisons since the heap was created
+    public long comparisons() {
+        return comparisons;
+    }
+
+    // Bytes of array storage currently allocated
+    public long memoryBytes() {
+        return 4L * keys.length;
+    }
+
+    // Trace of sift moves, or null (the default) for none
+    public void setTrace(Trace trace) {
+        this.trace = trace;
+    }
+
+    // Switch between min and max order; the keys are re-heapified in place
+    public void setOrder(Order order) {
+        this.order = order;
+        heapify();
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    // Root key; the heap must not be empty
+    public int peek() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        return keys[0];
+    }
+
+    public void insert(int k) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        siftUp(size++, k);
+    }
+
+    // Remove and return the root; the last key is sifted down from the root's slot
+    public int extract() {
+        int root = peek();
+        int last = keys[--size];
+        if (size > 0) {
+            siftDown(0, last);
+        }
+        return root;
+    }
+
+    // Replace the root with k and sift it down, returning the old root: one sift instead of
+    // the two of extract() followed by insert()
+    public int replaceTop(int k) {
+        int root = peek();
+        siftDown(0, k);
+        return root;
+    }
+
+    // Replace the contents with keys[0..count) and heapify bottom-up in O(n)
+    public void build(int[] source, int count) {
+        if (keys.length < count) {
+            keys = new int[count];
+        }
+        System.arraycopy(source, 0, keys, 0, count);
+        size = count;
+        heapify();
+    }
+
+    // Restore the heap property over the whole array, bottom-up
+    public void heapify() {
+        for (int i = (size >>> 1) - 1; i >= 0; i--) {
+            siftDown(i, keys[i]);
+        }
+    }
+
+    // Move the hole at index up while k belongs above its parent, then fill it with k
+    private void siftUp(int index, int k) {
+        int[] a = keys;
+        Order o = order;
+        int compared = 0;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            int p = a[parent];
+            compared++;
+            if (!o.before(k, p)) break;
+            a[index] = p;
+            if (trace != null) trace.moved(p, parent, index);
+            index = parent;
+        }
+        comparisons += compared;
+        a[index] = k;
+        if (trace != null) trace.placed(k, index);
+    }
+
+    // Move the hole at index down toward the preferred child while that child belongs above k
+    private void siftDown(int index, int k) {
+        int[] a = keys;
+        Order o = order;
+        int n = size;
+        int half = n >>> 1;
+        int compared = 0;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int c = a[child];
+            int right = child + 1;
+            if (right < n) {
+                compared++;
+                if (o.before(a[right], c)) {
+                    child = right;
+                    c = a[right];
+                }
+            }
+            compared++;
+            if (!o.before(c, k)) break;
+            a[index] = c;
+            if (trace != null) trace.moved(c, child, index);
+            index = child;
+        }
+        comparisons += compared;
+        a[index] = k;
+        if (trace != null) trace.placed(k, index);
+    }
+
+    // Keys in array order
+    public int[] toArray() {
+        return Arrays.copyOf(keys, size);
+    }
+
+    // No child belongs above its parent
+    public boolean isValid() {
+        for (int i = 1; i < size; i++) {
+            if (order.before(keys[i], keys[(i - 1) >>> 1])) return false;
+        }
+        return true;
+    }
+}
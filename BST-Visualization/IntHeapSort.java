@@ -0,0 +1,163 @@
+// Int Heap Sort - In-place heap sort of a primitive int[] (headless)
+// Features: Bottom-up build then repeated root / last swap, no boxing and no extra array,
+// resumable one swap at a time so a view can animate exactly the two slots that changed,
+// optional trace of every swap and every slot that reaches its final place,
+// comparison and swap counters
+//
+// Sorting with the MAX order leaves the array ascending, with MIN descending: the root
+// always goes behind the shrinking heap.
+
+public class IntHeapSort {
+    // Receives each swap, and each slot once its key is final
+    public interface Trace {
+        void swapped(int i, int j);
+        void sorted(int index);
+    }
+
+    private final int[] a;
+    private final IntHeap.Order order;
+    private Trace trace;
+
+    private int heapSize;
+    private int nextBuild;    // Next slot to sift in the build phase, -1 once built
+    private int cursor = -1;  // Slot being sifted down, -1 between sifts
+    private boolean building;
+    private long comparisons;
+    private long swaps;
+
+    // Sorts a[0..count) in place; if heapOrdered, a[0..count) must already be a heap in order
+    public IntHeapSort(int[] a, int count, IntHeap.Order order, boolean heapOrdered) {
+        this.a = a;
+        this.order = order;
+        heapSize = count;
+        nextBuild = heapOrdered ? -1 : (count >>> 1) - 1;
+        building = !heapOrdered;
+    }
+
+    // Run to completion
+    public static IntHeapSort sort(int[] a, IntHeap.Order order) {
+        IntHeapSort sort = new IntHeapSort(a, a.length, order, false);
+        sort.finish();
+        return sort;
+    }
+
+    public void setTrace(Trace trace) {
+        this.trace = trace;
+    }
+
+    public long comparisons() {
+        return comparisons;
+    }
+
+    public long swaps() {
+        return swaps;
+    }
+
+    // Slots below this are still the heap; the rest is sorted
+    public int heapSize() {
+        return heapSize;
+    }
+
+    // True until the first root is swapped behind the heap
+    public boolean isBuilding() {
+        return building;
+    }
+
+    public boolean isDone() {
+        return heapSize == 0;
+    }
+
+    // Advance to the next swap; returns false once the array is sorted
+    public boolean step() {
+        while (true) {
+            if (cursor >= 0) {
+                if (siftOneLevel()) return true;
+                cursor = -1;
+            }
+            if (nextBuild >= 0) {
+                cursor = nextBuild--;
+                continue;
+            }
+            building = false;
+            if (heapSize > 1) {
+                heapSize--;
+                swap(0, heapSize);
+                if (trace != null) trace.sorted(heapSize);
+                cursor = 0;
+                return true;
+            }
+            if (heapSize == 1) {
+                heapSize = 0;
+                if (trace != null) trace.sorted(0);
+            }
+            return false;
+        }
+    }
+
+    // Run to completion with whole sifts instead of single steps
+    public void finish() {
+        while (cursor >= 0 && siftOneLevel()) {
+            // Complete the sift in progress
+        }
+        cursor = -1;
+        for (; nextBuild >= 0; nextBuild--) {
+            siftDown(nextBuild);
+        }
+        building = false;
+        while (heapSize > 1) {
+            heapSize--;
+            swap(0, heapSize);
+            if (trace != null) trace.sorted(heapSize);
+            siftDown(0);
+        }
+        if (heapSize == 1) {
+            heapSize = 0;
+            if (trace != null) trace.sorted(0);
+        }
+    }
+
+    private void siftDown(int index) {
+        int[] a = this.a;
+        IntHeap.Order o = order;
+        int n = heapSize;
+        long compared = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= n) break;
+            int right = child + 1;
+            if (right < n) {
+                compared++;
+                if (o.before(a[right], a[child])) child = right;
+            }
+            compared++;
+            if (!o.before(a[child], a[index])) break;
+            swap(index, child);
+            index = child;
+        }
+        comparisons += compared;
+    }
+
+    // Swap the cursor with its preferred child if that child belongs above it
+    private boolean siftOneLevel() {
+        int child = 2 * cursor + 1;
+        if (child >= heapSize) return false;
+        int right = child + 1;
+        if (right < heapSize) {
+            comparisons++;
+            if (order.before(a[right], a[child])) child = right;
+        }
+        comparisons++;
+        if (!order.before(a[child], a[cursor])) return false;
+        swap(cursor, child);
+        cursor = child;
+        return true;
+    }
+
+    private void swap(int i, int j) {
+        int t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+        swaps++;
+        if (trace != null) trace.swapped(i, j);
+    }
+}
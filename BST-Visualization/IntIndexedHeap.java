@@ -0,0 +1,270 @@
+// Primitive int Indexed Binary Heap engine (headless)
+// Features: Keys addressed by caller-chosen ids (timers, jobs), binary heap of ids in an int[]
+// with a position map from id to heap slot, so contains is O(1) and changeKey / remove by id
+// are O(log n); hole-based sifts that keep the position map in step, MIN or MAX order,
+// comparison counter. Also usable as an IntPriorityQueue, where insert picks a free id.
+
+import java.util.Arrays;
+
+public class IntIndexedHeap implements IntPriorityQueue {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final IntHeap.Order order;
+
+    // Id storage: key of each id and its heap slot, NIL while the id is not in the heap
+    private int[] keys;
+    private int[] position;
+    // Heap storage: id in each slot
+    private int[] heap;
+    private int size;
+    // Lowest id that might be free, for insert(k), and one past the highest id used
+    private int freeHint;
+    private int idsUsed;
+
+    private long comparisons;
+
+    public IntIndexedHeap(IntHeap.Order order) {
+        this(order, DEFAULT_CAPACITY);
+    }
+
+    public IntIndexedHeap(IntHeap.Order order, int idCapacity) {
+        this.order = order;
+        int capacity = Math.max(idCapacity, 1);
+        keys = new int[capacity];
+        position = new int[capacity];
+        heap = new int[capacity];
+        Arrays.fill(position, NIL);
+    }
+
+    // Basic accessors
+    public String name() {
+        return "Indexed";
+    }
+
+    public IntHeap.Order order() {
+        return order;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Ids below this can be used without growing the arrays
+    public int idCapacity() {
+        return keys.length;
+    }
+
+    // One past the highest id used since the last clear
+    public int idsUsed() {
+        return idsUsed;
+    }
+
+    // Id and key in heap slot index
+    public int idAt(int index) {
+        return heap[index];
+    }
+
+    public int keyAt(int index) {
+        return keys[heap[index]];
+    }
+
+    // Heap slot of an id, NIL if the id is not in the heap
+    public int position(int id) {
+        return id >= 0 && id < position.length ? position[id] : NIL;
+    }
+
+    public boolean contains(int id) {
+        return position(id) != NIL;
+    }
+
+    public int key(int id) {
+        if (!contains(id)) {
+            throw new IllegalArgumentException("No key with id " + id);
+        }
+        return keys[id];
+    }
+
+    public long comparisons() {
+        return comparisons;
+    }
+
+    public long memoryBytes() {
+        return 4L * (keys.length + position.length + heap.length);
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = NIL;
+        }
+        size = 0;
+        freeHint = 0;
+        idsUsed = 0;
+    }
+
+    public int peek() {
+        return keys[peekHandle()];
+    }
+
+    public int peekHandle() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        return heap[0];
+    }
+
+    // Insert with the lowest free id, returned as the handle
+    public int insert(int k) {
+        while (freeHint < position.length && position[freeHint] != NIL) freeHint++;
+        int id = freeHint;
+        insert(id, k);
+        return id;
+    }
+
+    public void insert(int id, int k) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Ids must not be negative: " + id);
+        }
+        if (contains(id)) {
+            throw new IllegalArgumentException("Id " + id + " is already in the heap");
+        }
+        ensureIds(id + 1);
+        idsUsed = Math.max(idsUsed, id + 1);
+        keys[id] = k;
+        siftUp(size++, id);
+    }
+
+    public int extract() {
+        int id = peekHandle();
+        int root = keys[id];
+        remove(id);
+        return root;
+    }
+
+    // Remove the id and return its key; the last slot fills the hole and moves up or down
+    public int remove(int id) {
+        int k = key(id);
+        int slot = position[id];
+        position[id] = NIL;
+        if (id < freeHint) freeHint = id;
+        int last = heap[--size];
+        if (slot < size) {
+            reposition(slot, last);
+        }
+        return k;
+    }
+
+    // New key in either direction
+    public void changeKey(int id, int newKey) {
+        int old = key(id);
+        keys[id] = newKey;
+        if (newKey != old) reposition(position[id], id);
+    }
+
+    public void decreaseKey(int id, int newKey) {
+        if (contains(id) && before(keys[id], newKey)) {
+            throw new IllegalArgumentException(newKey + " would move id " + id + " away from the root");
+        }
+        changeKey(id, newKey);
+    }
+
+    // Other's ids are shifted behind ours and its slots appended, then sifted up one by one
+    public int meld(IntPriorityQueue other) {
+        if (!(other instanceof IntIndexedHeap) || other == this || other.order() != order) {
+            throw new IllegalArgumentException("Can only meld another " + name() + " heap with the same order");
+        }
+        IntIndexedHeap o = (IntIndexedHeap) other;
+        int offset = idsUsed;
+        ensureIds(offset + o.idsUsed);
+        idsUsed += o.idsUsed;
+        for (int i = 0; i < o.size; i++) {
+            int id = offset + o.heap[i];
+            keys[id] = o.keys[o.heap[i]];
+            siftUp(size++, id);
+        }
+        o.clear();
+        return offset;
+    }
+
+    public IntIndexedHeap copy() {
+        IntIndexedHeap c = new IntIndexedHeap(order, keys.length);
+        c.keys = keys.clone();
+        c.position = position.clone();
+        c.heap = heap.clone();
+        c.size = size;
+        c.freeHint = freeHint;
+        c.idsUsed = idsUsed;
+        return c;
+    }
+
+    private boolean before(int a, int b) {
+        comparisons++;
+        return order.before(a, b);
+    }
+
+    // Place id at slot, then sift it whichever way its key needs
+    private void reposition(int slot, int id) {
+        if (slot > 0 && before(keys[id], keys[heap[(slot - 1) >>> 1]])) {
+            siftUp(slot, id);
+        } else {
+            siftDown(slot, id);
+        }
+    }
+
+    // Move the hole at index up while id's key belongs above the parent, then fill it
+    private void siftUp(int index, int id) {
+        int k = keys[id];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            int p = heap[parent];
+            if (!before(k, keys[p])) break;
+            place(index, p);
+            index = parent;
+        }
+        place(index, id);
+    }
+
+    private void siftDown(int index, int id) {
+        int k = keys[id];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && before(keys[heap[right]], keys[heap[child]])) child = right;
+            if (!before(keys[heap[child]], k)) break;
+            place(index, heap[child]);
+            index = child;
+        }
+        place(index, id);
+    }
+
+    private void place(int index, int id) {
+        heap[index] = id;
+        position[id] = index;
+    }
+
+    private void ensureIds(int count) {
+        if (keys.length < count) {
+            int capacity = Math.max(count, keys.length * 2);
+            int old = keys.length;
+            keys = Arrays.copyOf(keys, capacity);
+            heap = Arrays.copyOf(heap, capacity);
+            position = Arrays.copyOf(position, capacity);
+            Arrays.fill(position, old, capacity, NIL);
+        }
+    }
+
+    // Heap order on every slot, and slots and positions pointing at each other
+    public boolean isValid() {
+        int live = 0;
+        for (int id = 0; id < position.length; id++) {
+            if (position[id] != NIL) {
+                live++;
+                if (position[id] >= size || heap[position[id]] != id) return false;
+            }
+        }
+        for (int i = 1; i < size; i++) {
+            if (order.before(keys[heap[i]], keys[heap[(i - 1) >>> 1]])) return false;
+        }
+        return live == size;
+    }
+}
@@ -0,0 +1,92 @@
+// Integer Key Helpers - Shared input handling for bulk-loading the tree engines
+// Features: Sort + de-duplicate with an already-sorted fast path, fast key file parsing,
+// unique random keys without a HashSet retry loop
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+public final class IntKeys {
+    private IntKeys() {
+    }
+
+    // Strictly increasing copy of the keys; sorting is skipped when the input is already sorted
+    public static int[] sortedUnique(int[] keys) {
+        int[] sorted = keys.clone();
+        if (!isSorted(sorted)) {
+            Arrays.sort(sorted);
+        }
+        int unique = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[unique - 1]) {
+                sorted[unique++] = sorted[i];
+            }
+        }
+        return unique == sorted.length ? sorted : Arrays.copyOf(sorted, unique);
+    }
+
+    public static boolean isSorted(int[] keys) {
+        for (int i = 1; i < keys.length; i++) {
+            if (keys[i - 1] > keys[i]) return false;
+        }
+        return true;
+    }
+
+    // Read every integer from a text file; any character other than a digit or '-' separates keys
+    public static int[] read(Path file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        int[] keys = new int[Math.max(16, bytes.length / 4)];
+        int count = 0;
+        int i = 0;
+        while (i < bytes.length) {
+            byte b = bytes[i];
+            boolean negative = b == '-';
+            int start = negative ? i + 1 : i;
+            if (start >= bytes.length || bytes[start] < '0' || bytes[start] > '9') {
+                i++;
+                continue;
+            }
+            long value = 0;
+            i = start;
+            while (i < bytes.length && bytes[i] >= '0' && bytes[i] <= '9') {
+                value = value * 10 + (bytes[i] - '0');
+                if (value > (long) Integer.MAX_VALUE + 1) {
+                    throw new NumberFormatException("Key out of int range near byte " + start);
+                }
+                i++;
+            }
+            value = negative ? -value : value;
+            if (value > Integer.MAX_VALUE) {
+                throw new NumberFormatException("Key out of int range near byte " + start);
+            }
+            if (count == keys.length) {
+                keys = Arrays.copyOf(keys, keys.length * 2);
+            }
+            keys[count++] = (int) value;
+        }
+        return Arrays.copyOf(keys, count);
+    }
+
+    // count distinct keys from [1, maxValue] in random order.
+    // One key is drawn from each of count equal strata, then the result is shuffled.
+    public static int[] randomUnique(int count, int maxValue, Random random) {
+        if (count > maxValue) {
+            throw new IllegalArgumentException("Cannot draw " + count + " unique keys from 1.." + maxValue);
+        }
+        int[] keys = new int[count];
+        if (count == 0) return keys;
+        long stride = (long) maxValue / count;
+        for (int i = 0; i < count; i++) {
+            keys[i] = (int) (1 + i * stride + random.nextInt((int) stride));
+        }
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = keys[i];
+            keys[i] = keys[j];
+            keys[j] = tmp;
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,54 @@
+// Int Ordered Set - Common interface of the int-keyed search tree engines
+// Features: Insert / delete / search over int keys with per-operation cost counters
+// (rotations, node splits, node touches), so one key stream can be replayed against
+// every engine and the results compared
+
+import java.util.function.IntConsumer;
+
+public interface IntOrderedSet {
+    int NIL = -1;
+
+    // Short display name, e.g. "Red-Black"
+    String name();
+
+    // Insert key, returns false if it is already present
+    boolean insert(int k);
+
+    // Delete key, returns false if it is not present
+    boolean delete(int k);
+
+    // Node id holding key, or NIL. Updates the cost counters (and may restructure a
+    // self-adjusting tree), unlike contains() on the engines that have a faster read path.
+    int find(int k);
+
+    boolean contains(int k);
+
+    int size();
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // Levels in the tree (empty tree = 0)
+    int height();
+
+    void clear();
+
+    void inorder(IntConsumer action);
+
+    // Check every structural invariant of the engine
+    boolean isValid();
+
+    // Cost of the last insert, delete or find
+    int lastRotations();
+    // Node splits on insert and node merges on delete; always 0 for binary trees
+    int lastSplits();
+    // Nodes visited
+    int lastTouches();
+
+    // Engines made of binary nodes addressed by int ids, drawn by TreeCanvas
+    interface Binary extends IntOrderedSet, TraversalFormatter.Tree {
+        // Upper bound (exclusive) for node ids
+        int capacity();
+    }
+}
@@ -0,0 +1,298 @@
+// Primitive int Pairing Heap engine (headless)
+// Features: Parallel-array multiway tree in first-child / next-sibling form with a free list,
+// O(1) insert and meld-link, decrease-key by cutting the subtree and linking it with the root,
+// extract by iterative two-pass pairing of the root's children, node ids as handles,
+// MIN or MAX order, comparison counter
+
+import java.util.Arrays;
+
+public class IntPairingHeap implements IntPriorityQueue {
+    private static final int DEFAULT_CAPACITY = 16;
+    // prev[] value of a node on the free list
+    private static final int FREE = -2;
+
+    private final IntHeap.Order order;
+
+    // Node storage: node ids index into these arrays and double as handles.
+    // prev is the previous sibling, or the parent for a first child.
+    private int[] key;
+    private int[] child;
+    private int[] next;
+    private int[] prev;
+    private int used;      // Slots handed out so far (high-water mark)
+    private int freeList;  // Recycled slots, chained through next[]
+
+    private int root;
+    private int size;
+    private long comparisons;
+
+    // Scratch for the first pairing pass
+    private int[] pairs = new int[64];
+
+    public IntPairingHeap(IntHeap.Order order) {
+        this(order, DEFAULT_CAPACITY);
+    }
+
+    public IntPairingHeap(IntHeap.Order order, int initialCapacity) {
+        this.order = order;
+        int capacity = Math.max(initialCapacity, 1);
+        key = new int[capacity];
+        child = new int[capacity];
+        next = new int[capacity];
+        prev = new int[capacity];
+        clear();
+    }
+
+    // Basic accessors
+    public String name() {
+        return "Pairing";
+    }
+
+    public IntHeap.Order order() {
+        return order;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int root() {
+        return root;
+    }
+
+    public int child(int node) {
+        return child[node];
+    }
+
+    public int next(int node) {
+        return next[node];
+    }
+
+    // Number of node slots; every handle is below this value
+    public int capacity() {
+        return key.length;
+    }
+
+    public int key(int handle) {
+        return key[handle];
+    }
+
+    public boolean contains(int handle) {
+        return handle >= 0 && handle < used && prev[handle] != FREE;
+    }
+
+    public long comparisons() {
+        return comparisons;
+    }
+
+    public long memoryBytes() {
+        return 4L * (key.length * 4 + pairs.length);
+    }
+
+    public void clear() {
+        root = NIL;
+        size = 0;
+        used = 0;
+        freeList = NIL;
+    }
+
+    public int peek() {
+        if (root == NIL) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        return key[root];
+    }
+
+    public int peekHandle() {
+        peek();
+        return root;
+    }
+
+    public int insert(int k) {
+        int node = allocate(k);
+        root = root == NIL ? node : link(root, node);
+        size++;
+        return node;
+    }
+
+    // The root's children are linked in pairs left to right, then the pairs are folded
+    // right to left into one tree
+    public int extract() {
+        int top = peek();
+        int old = root;
+        int count = 0;
+        int c = child[old];
+        while (c != NIL) {
+            int a = c;
+            int b = next[a];
+            c = b == NIL ? NIL : next[b];
+            next[a] = prev[a] = NIL;
+            if (b != NIL) {
+                next[b] = prev[b] = NIL;
+                a = link(a, b);
+            }
+            if (count == pairs.length) {
+                pairs = Arrays.copyOf(pairs, count * 2);
+            }
+            pairs[count++] = a;
+        }
+        int merged = count == 0 ? NIL : pairs[count - 1];
+        for (int i = count - 2; i >= 0; i--) {
+            merged = link(pairs[i], merged);
+        }
+        root = merged;
+        release(old);
+        size--;
+        return top;
+    }
+
+    // Cut the node's subtree out of its sibling list and link it with the root
+    public void decreaseKey(int handle, int newKey) {
+        if (!contains(handle)) {
+            throw new IllegalArgumentException("No key with handle " + handle);
+        }
+        if (before(key[handle], newKey)) {
+            throw new IllegalArgumentException(newKey + " would move handle " + handle + " away from the root");
+        }
+        key[handle] = newKey;
+        if (handle == root) return;
+        int p = prev[handle];
+        if (child[p] == handle) {
+            child[p] = next[handle];
+        } else {
+            next[p] = next[handle];
+        }
+        if (next[handle] != NIL) {
+            prev[next[handle]] = p;
+        }
+        next[handle] = prev[handle] = NIL;
+        root = link(root, handle);
+    }
+
+    // Other's nodes are copied behind ours with shifted ids; the two roots are then linked once
+    public int meld(IntPriorityQueue other) {
+        if (!(other instanceof IntPairingHeap) || other == this || other.order() != order) {
+            throw new IllegalArgumentException("Can only meld another " + name() + " heap with the same order");
+        }
+        IntPairingHeap o = (IntPairingHeap) other;
+        int offset = used;
+        ensureCapacity(used + o.used);
+        for (int i = 0; i < o.used; i++) {
+            int n = offset + i;
+            key[n] = o.key[i];
+            child[n] = shift(o.child[i], offset);
+            next[n] = shift(o.next[i], offset);
+            prev[n] = o.prev[i] == FREE ? FREE : shift(o.prev[i], offset);
+        }
+        used += o.used;
+        // Other's free slots join our free list
+        for (int i = 0; i < o.used; i++) {
+            int n = offset + i;
+            if (prev[n] == FREE) {
+                next[n] = freeList;
+                freeList = n;
+            }
+        }
+        if (o.root != NIL) {
+            int r = o.root + offset;
+            root = root == NIL ? r : link(root, r);
+        }
+        size += o.size;
+        o.clear();
+        return offset;
+    }
+
+    private static int shift(int node, int offset) {
+        return node == NIL ? NIL : node + offset;
+    }
+
+    public IntPairingHeap copy() {
+        IntPairingHeap c = new IntPairingHeap(order, key.length);
+        System.arraycopy(key, 0, c.key, 0, used);
+        System.arraycopy(child, 0, c.child, 0, used);
+        System.arraycopy(next, 0, c.next, 0, used);
+        System.arraycopy(prev, 0, c.prev, 0, used);
+        c.used = used;
+        c.freeList = freeList;
+        c.root = root;
+        c.size = size;
+        return c;
+    }
+
+    private boolean before(int a, int b) {
+        comparisons++;
+        return order.before(a, b);
+    }
+
+    // Link two roots: the one that loses becomes the first child of the other
+    private int link(int a, int b) {
+        if (before(key[b], key[a])) {
+            int t = a;
+            a = b;
+            b = t;
+        }
+        int first = child[a];
+        next[b] = first;
+        if (first != NIL) prev[first] = b;
+        prev[b] = a;
+        child[a] = b;
+        next[a] = NIL;
+        prev[a] = NIL;
+        return a;
+    }
+
+    // Node slot management
+    private int allocate(int k) {
+        int node;
+        if (freeList != NIL) {
+            node = freeList;
+            freeList = next[node];
+        } else {
+            ensureCapacity(used + 1);
+            node = used++;
+        }
+        key[node] = k;
+        child[node] = NIL;
+        next[node] = NIL;
+        prev[node] = NIL;
+        return node;
+    }
+
+    private void release(int node) {
+        prev[node] = FREE;
+        next[node] = freeList;
+        freeList = node;
+    }
+
+    private void ensureCapacity(int count) {
+        if (key.length < count) {
+            int capacity = Math.max(count, key.length * 2);
+            key = Arrays.copyOf(key, capacity);
+            child = Arrays.copyOf(child, capacity);
+            next = Arrays.copyOf(next, capacity);
+            prev = Arrays.copyOf(prev, capacity);
+        }
+    }
+
+    // Heap order, prev pointers matching the child / next links, and the node count
+    public boolean isValid() {
+        if (root == NIL) return size == 0;
+        if (prev[root] != NIL || next[root] != NIL) return false;
+        int count = 0;
+        int[] stack = new int[Math.max(size, 1)];
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            int n = stack[--top];
+            count++;
+            int previous = n;
+            for (int c = child[n]; c != NIL; c = next[c]) {
+                if (prev[c] != previous || order.before(key[c], key[n])) return false;
+                if (top == stack.length || count + top > size) return false;
+                stack[top++] = c;
+                previous = c;
+            }
+        }
+        return count == size;
+    }
+}
@@ -0,0 +1,402 @@
+// Primitive int-keyed persistent Binary Search Tree engine (headless)
+// Features: Immutable parallel-array nodes, insert/delete by path copying so every version
+// shares its unchanged subtrees with the previous one, O(1) snapshots (a version is just a
+// root id), undo/redo and jumping to any version, subtree height/size stored per node,
+// search-path recording, iterative traversals
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+public class IntPersistentBST implements IntOrderedSet.Binary {
+    public static final int NIL = -1;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // What produced a version
+    public static final byte OP_NONE = 0;
+    public static final byte OP_INSERT = 1;
+    public static final byte OP_DELETE = 2;
+    public static final byte OP_CLEAR = 3;
+
+    // Node storage. Nodes are never changed after they are made, so any number of
+    // versions can point into the same subtree. Ids are handed out in creation order.
+    private int[] key;
+    private int[] left;
+    private int[] right;
+    private int[] subtreeHeight; // Levels in the subtree (leaf = 1)
+    private int[] subtreeSize;   // Nodes in the subtree
+    private int used;
+
+    // Version v: its root, the node high-water mark after it was made, and the operation
+    private int[] versionRoot;
+    private int[] versionUsed;
+    private byte[] versionOp;
+    private int[] versionKey;
+    private int versions;
+    private int current;
+
+    // Nodes visited by the last insert, delete or find (root first)
+    private int[] path;
+    private int pathLength;
+
+    // Scratch stack for iterative walks
+    private int[] stack;
+
+    public IntPersistentBST() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntPersistentBST(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        key = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        subtreeHeight = new int[capacity];
+        subtreeSize = new int[capacity];
+        versionRoot = new int[16];
+        versionUsed = new int[16];
+        versionOp = new byte[16];
+        versionKey = new int[16];
+        path = new int[32];
+        stack = new int[32];
+        clear();
+    }
+
+    // Basic accessors
+    public String name() {
+        return "Persistent BST";
+    }
+
+    // Root of the current version
+    public int root() {
+        return versionRoot[current];
+    }
+
+    public int size() {
+        return size(root());
+    }
+
+    public int key(int node) {
+        return key[node];
+    }
+
+    public int left(int node) {
+        return left[node];
+    }
+
+    public int right(int node) {
+        return right[node];
+    }
+
+    public int height(int node) {
+        return node == NIL ? 0 : subtreeHeight[node];
+    }
+
+    public int size(int node) {
+        return node == NIL ? 0 : subtreeSize[node];
+    }
+
+    // Number of node slots; every node id is below this value
+    public int capacity() {
+        return key.length;
+    }
+
+    // Nodes kept for all versions together
+    public int nodeCount() {
+        return used;
+    }
+
+    public int lastRotations() {
+        return 0;
+    }
+
+    public int lastSplits() {
+        return 0;
+    }
+
+    public int lastTouches() {
+        return pathLength;
+    }
+
+    public int pathLength() {
+        return pathLength;
+    }
+
+    public int pathNode(int index) {
+        return path[index];
+    }
+
+    // History. Version 0 is the empty tree.
+    public int version() {
+        return current;
+    }
+
+    public int versionCount() {
+        return versions;
+    }
+
+    public int root(int version) {
+        return versionRoot[version];
+    }
+
+    public byte operation(int version) {
+        return versionOp[version];
+    }
+
+    public int operationKey(int version) {
+        return versionKey[version];
+    }
+
+    // Nodes made by the operation that produced the current version are the ids
+    // firstNewNode() .. nodeCount(version) - 1, children before parents.
+    public int firstNewNode() {
+        return current == 0 ? 0 : versionUsed[current - 1];
+    }
+
+    public int nodeCount(int version) {
+        return versionUsed[version];
+    }
+
+    public boolean canUndo() {
+        return current > 0;
+    }
+
+    public boolean canRedo() {
+        return current < versions - 1;
+    }
+
+    public void undo() {
+        if (canUndo()) current--;
+    }
+
+    public void redo() {
+        if (canRedo()) current++;
+    }
+
+    // Make an older or newer version current; nothing is copied
+    public void setVersion(int version) {
+        if (version < 0 || version >= versions) {
+            throw new IndexOutOfBoundsException("Version " + version + " of " + versions);
+        }
+        current = version;
+    }
+
+    // Drop every version and node
+    public void clear() {
+        used = 0;
+        versions = 1;
+        current = 0;
+        versionRoot[0] = NIL;
+        versionUsed[0] = 0;
+        versionOp[0] = OP_NONE;
+        pathLength = 0;
+    }
+
+    // New empty version; the older ones stay reachable through undo
+    public boolean clearVersion() {
+        if (root() == NIL) return false;
+        discardRedo();
+        commit(NIL, OP_CLEAR, 0);
+        return true;
+    }
+
+    // Insert key as a new version, returns false (and makes no version) if it is present.
+    // Only the search path is copied, bottom-up.
+    public boolean insert(int k) {
+        pathLength = 0;
+        int curr = root();
+        while (curr != NIL) {
+            pushPath(curr);
+            int currKey = key[curr];
+            if (k == currKey) {
+                return false;
+            }
+            curr = k < currKey ? left[curr] : right[curr];
+        }
+        discardRedo();
+        int copy = make(k, NIL, NIL);
+        copy = copyPath(pathLength - 1, k, copy);
+        commit(copy, OP_INSERT, k);
+        return true;
+    }
+
+    // Delete key as a new version, returns false if it is not present. A node with two
+    // children is replaced by a new node holding its successor's key; the path down to the
+    // successor is copied as well, the original nodes are never touched.
+    public boolean delete(int k) {
+        pathLength = 0;
+        int curr = root();
+        while (curr != NIL && key[curr] != k) {
+            pushPath(curr);
+            curr = k < key[curr] ? left[curr] : right[curr];
+        }
+        if (curr == NIL) {
+            return false;
+        }
+        int above = pathLength - 1;
+        pushPath(curr);
+        discardRedo();
+
+        int replacement;
+        if (left[curr] == NIL || right[curr] == NIL) {
+            replacement = left[curr] != NIL ? left[curr] : right[curr];
+        } else {
+            // Walk to the successor, then rebuild the right spine of that walk without it
+            int from = pathLength;
+            int next = right[curr];
+            while (left[next] != NIL) {
+                pushPath(next);
+                next = left[next];
+            }
+            pushPath(next);
+            int rebuilt = right[next];
+            for (int i = pathLength - 2; i >= from; i--) {
+                int n = path[i];
+                rebuilt = make(key[n], rebuilt, right[n]);
+            }
+            replacement = make(key[next], left[curr], rebuilt);
+        }
+        commit(copyPath(above, k, replacement), OP_DELETE, k);
+        return true;
+    }
+
+    // Copy path[0..last] bottom-up, hanging child where the search for k went
+    private int copyPath(int last, int k, int child) {
+        for (int i = last; i >= 0; i--) {
+            int n = path[i];
+            child = k < key[n] ? make(key[n], child, right[n]) : make(key[n], left[n], child);
+        }
+        return child;
+    }
+
+    // Versions after the current one are dropped by a new operation, and so are the
+    // nodes only they used: those are exactly the ids made after the current version.
+    private void discardRedo() {
+        versions = current + 1;
+        used = versionUsed[current];
+    }
+
+    private void commit(int root, byte op, int k) {
+        if (versions == versionRoot.length) {
+            int length = versions * 2;
+            versionRoot = Arrays.copyOf(versionRoot, length);
+            versionUsed = Arrays.copyOf(versionUsed, length);
+            versionOp = Arrays.copyOf(versionOp, length);
+            versionKey = Arrays.copyOf(versionKey, length);
+        }
+        current = versions++;
+        versionRoot[current] = root;
+        versionUsed[current] = used;
+        versionOp[current] = op;
+        versionKey[current] = k;
+    }
+
+    // Node id holding key in the current version, or NIL. Records the search path.
+    public int find(int k) {
+        pathLength = 0;
+        int curr = root();
+        while (curr != NIL) {
+            pushPath(curr);
+            int currKey = key[curr];
+            if (k == currKey) {
+                return curr;
+            }
+            curr = k < currKey ? left[curr] : right[curr];
+        }
+        return NIL;
+    }
+
+    public boolean contains(int k) {
+        int curr = root();
+        while (curr != NIL) {
+            int currKey = key[curr];
+            if (k == currKey) {
+                return true;
+            }
+            curr = k < currKey ? left[curr] : right[curr];
+        }
+        return false;
+    }
+
+    // Height of the current version, stored on its root
+    public int height() {
+        return height(root());
+    }
+
+    public void inorder(IntConsumer action) {
+        int top = 0;
+        int curr = root();
+        while (top > 0 || curr != NIL) {
+            while (curr != NIL) {
+                top = push(top, curr);
+                curr = left[curr];
+            }
+            curr = stack[--top];
+            action.accept(key[curr]);
+            curr = right[curr];
+        }
+    }
+
+    // Check key order and the stored heights and sizes of the current version
+    public boolean isValid() {
+        int root = root();
+        if (root != NIL) {
+            int top = push(0, root);
+            while (top > 0) {
+                int n = stack[--top];
+                int l = left[n], r = right[n];
+                if (subtreeHeight[n] != 1 + Math.max(height(l), height(r))
+                        || subtreeSize[n] != 1 + size(l) + size(r)) {
+                    return false;
+                }
+                if (l != NIL) top = push(top, l);
+                if (r != NIL) top = push(top, r);
+            }
+        }
+        int[] previous = {0};
+        boolean[] ok = {true, false};
+        inorder(k -> {
+            if (ok[1] && previous[0] >= k) ok[0] = false;
+            previous[0] = k;
+            ok[1] = true;
+        });
+        return ok[0];
+    }
+
+    // Node creation; the only place node arrays are written
+    private int make(int k, int l, int r) {
+        if (used == key.length) {
+            grow();
+        }
+        int node = used++;
+        key[node] = k;
+        left[node] = l;
+        right[node] = r;
+        subtreeHeight[node] = 1 + Math.max(height(l), height(r));
+        subtreeSize[node] = 1 + size(l) + size(r);
+        return node;
+    }
+
+    private void grow() {
+        int capacity = key.length * 2;
+        key = Arrays.copyOf(key, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        subtreeHeight = Arrays.copyOf(subtreeHeight, capacity);
+        subtreeSize = Arrays.copyOf(subtreeSize, capacity);
+    }
+
+    private void pushPath(int node) {
+        if (pathLength == path.length) {
+            path = Arrays.copyOf(path, path.length * 2);
+        }
+        path[pathLength++] = node;
+    }
+
+    private int push(int top, int node) {
+        if (top == stack.length) {
+            stack = Arrays.copyOf(stack, stack.length * 2);
+        }
+        stack[top] = node;
+        return top + 1;
+    }
+}
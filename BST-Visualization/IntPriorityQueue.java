@@ -0,0 +1,65 @@
+// Int Priority Queue - Common interface of the handle-based int heap engines
+// Features: Insert returning a handle, peek / extract of the root, decrease-key and meld by
+// handle, comparison counter and allocated storage, so one workload can be replayed
+// against every engine and the results compared
+
+public interface IntPriorityQueue {
+    int NIL = -1;
+
+    // Short display name, e.g. "Pairing"
+    String name();
+
+    // MIN or MAX; "decrease" always means moving toward the root in this order
+    IntHeap.Order order();
+
+    int size();
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // Insert key, returns its handle. A handle stays valid until its key is extracted.
+    int insert(int k);
+
+    // Root key and its handle; the queue must not be empty
+    int peek();
+
+    int peekHandle();
+
+    // Remove and return the root key
+    int extract();
+
+    int key(int handle);
+
+    // True while the handle's key is in the queue
+    boolean contains(int handle);
+
+    // Give a key a new value that is not after its current one in the order
+    void decreaseKey(int handle, int newKey);
+
+    // Move every key of other (same engine and order) into this queue and leave other empty.
+    // Returns the offset added to other's handles: handle h of other is now h + offset.
+    int meld(IntPriorityQueue other);
+
+    // Replace the contents with keys[0..count); key i gets a handle the engine chooses
+    default void build(int[] keys, int count) {
+        clear();
+        for (int i = 0; i < count; i++) {
+            insert(keys[i]);
+        }
+    }
+
+    void clear();
+
+    // Independent copy with the same keys, handles and order
+    IntPriorityQueue copy();
+
+    // Key comparisons since the queue was created
+    long comparisons();
+
+    // Bytes of array storage currently allocated (capacity, not just live elements)
+    long memoryBytes();
+
+    // Check the heap order and every link of the engine
+    boolean isValid();
+}
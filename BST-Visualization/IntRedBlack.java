@@ -0,0 +1,465 @@
+// Primitive int-keyed Red-Black Tree engine (headless)
+// Features: Parallel-array nodes with parent links and a free list, iterative insert/delete
+// with the classic recolor-and-rotate fix-ups, search, iterative traversals, per-operation
+// rotation and node-touch counters
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+public class IntRedBlack implements IntOrderedSet.Binary {
+    public static final int NIL = -1;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // Node storage: node ids index into these arrays.
+    private int[] key;
+    private int[] left;
+    private int[] right;
+    private int[] parent;
+    private boolean[] red;
+
+    private int root;
+    private int size;
+    private int used;      // Slots handed out so far (high-water mark)
+    private int freeList;  // Recycled slots, chained through right[]
+
+    // Cost of the last insert, delete or find
+    private int rotations;
+    private int touches;
+
+    // Scratch stack for iterative walks
+    private int[] stack;
+
+    public IntRedBlack() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntRedBlack(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        key = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        parent = new int[capacity];
+        red = new boolean[capacity];
+        stack = new int[64];
+        clear();
+    }
+
+    // Basic accessors
+    public String name() {
+        return "Red-Black";
+    }
+
+    public int root() {
+        return root;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int key(int node) {
+        return key[node];
+    }
+
+    public int left(int node) {
+        return left[node];
+    }
+
+    public int right(int node) {
+        return right[node];
+    }
+
+    public boolean isRed(int node) {
+        return node != NIL && red[node];
+    }
+
+    // Number of node slots; every node id is below this value
+    public int capacity() {
+        return key.length;
+    }
+
+    public int lastRotations() {
+        return rotations;
+    }
+
+    public int lastSplits() {
+        return 0;
+    }
+
+    public int lastTouches() {
+        return touches;
+    }
+
+    public void clear() {
+        root = NIL;
+        size = 0;
+        used = 0;
+        freeList = NIL;
+        rotations = 0;
+        touches = 0;
+    }
+
+    // Insert key, returns false if it is already present
+    public boolean insert(int k) {
+        rotations = 0;
+        touches = 0;
+        int curr = root, p = NIL;
+        while (curr != NIL) {
+            touches++;
+            int currKey = key[curr];
+            if (k == currKey) {
+                return false;
+            }
+            p = curr;
+            curr = k < currKey ? left[curr] : right[curr];
+        }
+
+        int node = allocate(k, p);
+        if (p == NIL) {
+            root = node;
+        } else if (k < key[p]) {
+            left[p] = node;
+        } else {
+            right[p] = node;
+        }
+        touches++;
+        size++;
+        fixAfterInsert(node);
+        return true;
+    }
+
+    // A red node with a red parent: recolor while the uncle is red, then rotate once or twice
+    private void fixAfterInsert(int x) {
+        while (x != root && red[parent[x]]) {
+            int p = parent[x], g = parent[p];
+            if (p == left[g]) {
+                int uncle = right[g];
+                if (isRed(uncle)) {
+                    red[p] = false;
+                    red[uncle] = false;
+                    red[g] = true;
+                    x = g;
+                } else {
+                    if (x == right[p]) {
+                        x = p;
+                        rotateLeft(x);
+                        p = parent[x];
+                    }
+                    red[p] = false;
+                    red[g] = true;
+                    rotateRight(g);
+                }
+            } else {
+                int uncle = left[g];
+                if (isRed(uncle)) {
+                    red[p] = false;
+                    red[uncle] = false;
+                    red[g] = true;
+                    x = g;
+                } else {
+                    if (x == left[p]) {
+                        x = p;
+                        rotateRight(x);
+                        p = parent[x];
+                    }
+                    red[p] = false;
+                    red[g] = true;
+                    rotateLeft(g);
+                }
+            }
+        }
+        red[root] = false;
+    }
+
+    // Delete key, returns false if it is not present.
+    // A node with two children takes the key of its in-order successor.
+    public boolean delete(int k) {
+        rotations = 0;
+        touches = 0;
+        int node = search(k);
+        if (node == NIL) {
+            return false;
+        }
+        if (left[node] != NIL && right[node] != NIL) {
+            int next = right[node];
+            touches++;
+            while (left[next] != NIL) {
+                next = left[next];
+                touches++;
+            }
+            key[node] = key[next];
+            node = next;
+        }
+
+        // node now has at most one child
+        int child = left[node] != NIL ? left[node] : right[node];
+        if (child != NIL) {
+            replaceChild(node, child);
+            if (!red[node]) {
+                fixAfterDelete(child);
+            }
+        } else if (parent[node] == NIL) {
+            root = NIL;
+        } else {
+            // A leaf is fixed up while still linked, so the fix-up can use it as the "double black"
+            if (!red[node]) {
+                fixAfterDelete(node);
+            }
+            replaceChild(node, NIL);
+        }
+        release(node);
+        size--;
+        return true;
+    }
+
+    // x carries an extra black: rotate a red sibling away, then recolor or rotate the sibling's children
+    private void fixAfterDelete(int x) {
+        while (x != root && !red[x]) {
+            int p = parent[x];
+            if (x == left[p]) {
+                int sibling = right[p];
+                if (red[sibling]) {
+                    red[sibling] = false;
+                    red[p] = true;
+                    rotateLeft(p);
+                    sibling = right[p];
+                }
+                if (!isRed(left[sibling]) && !isRed(right[sibling])) {
+                    red[sibling] = true;
+                    x = p;
+                } else {
+                    if (!isRed(right[sibling])) {
+                        red[left[sibling]] = false;
+                        red[sibling] = true;
+                        rotateRight(sibling);
+                        sibling = right[p];
+                    }
+                    red[sibling] = red[p];
+                    red[p] = false;
+                    red[right[sibling]] = false;
+                    rotateLeft(p);
+                    x = root;
+                }
+            } else {
+                int sibling = left[p];
+                if (red[sibling]) {
+                    red[sibling] = false;
+                    red[p] = true;
+                    rotateRight(p);
+                    sibling = left[p];
+                }
+                if (!isRed(left[sibling]) && !isRed(right[sibling])) {
+                    red[sibling] = true;
+                    x = p;
+                } else {
+                    if (!isRed(left[sibling])) {
+                        red[right[sibling]] = false;
+                        red[sibling] = true;
+                        rotateLeft(sibling);
+                        sibling = left[p];
+                    }
+                    red[sibling] = red[p];
+                    red[p] = false;
+                    red[left[sibling]] = false;
+                    rotateRight(p);
+                    x = root;
+                }
+            }
+        }
+        red[x] = false;
+    }
+
+    private void rotateLeft(int node) {
+        int pivot = right[node];
+        right[node] = left[pivot];
+        if (left[pivot] != NIL) {
+            parent[left[pivot]] = node;
+        }
+        replaceChild(node, pivot);
+        left[pivot] = node;
+        parent[node] = pivot;
+        rotations++;
+    }
+
+    private void rotateRight(int node) {
+        int pivot = left[node];
+        left[node] = right[pivot];
+        if (right[pivot] != NIL) {
+            parent[right[pivot]] = node;
+        }
+        replaceChild(node, pivot);
+        right[pivot] = node;
+        parent[node] = pivot;
+        rotations++;
+    }
+
+    // Put newChild where oldChild hangs from its parent
+    private void replaceChild(int oldChild, int newChild) {
+        int p = parent[oldChild];
+        if (newChild != NIL) {
+            parent[newChild] = p;
+        }
+        if (p == NIL) {
+            root = newChild;
+        } else if (left[p] == oldChild) {
+            left[p] = newChild;
+        } else {
+            right[p] = newChild;
+        }
+    }
+
+    // Node id holding key, or NIL
+    public int find(int k) {
+        rotations = 0;
+        touches = 0;
+        return search(k);
+    }
+
+    private int search(int k) {
+        int curr = root;
+        while (curr != NIL) {
+            touches++;
+            int currKey = key[curr];
+            if (k == currKey) {
+                return curr;
+            }
+            curr = k < currKey ? left[curr] : right[curr];
+        }
+        return NIL;
+    }
+
+    public boolean contains(int k) {
+        int curr = root;
+        while (curr != NIL) {
+            int currKey = key[curr];
+            if (k == currKey) {
+                return true;
+            }
+            curr = k < currKey ? left[curr] : right[curr];
+        }
+        return false;
+    }
+
+    // Levels in the tree, found with an iterative walk
+    public int height() {
+        if (root == NIL) return 0;
+        int max = 0;
+        int[] depth = new int[64];
+        int top = push(0, root);
+        depth[0] = 1;
+        while (top > 0) {
+            int n = stack[--top], d = depth[top];
+            max = Math.max(max, d);
+            if (depth.length < top + 2) depth = Arrays.copyOf(depth, depth.length * 2);
+            if (left[n] != NIL) {
+                depth[top] = d + 1;
+                top = push(top, left[n]);
+            }
+            if (right[n] != NIL) {
+                depth[top] = d + 1;
+                top = push(top, right[n]);
+            }
+        }
+        return max;
+    }
+
+    public void inorder(IntConsumer action) {
+        int top = 0;
+        int curr = root;
+        while (top > 0 || curr != NIL) {
+            while (curr != NIL) {
+                top = push(top, curr);
+                curr = left[curr];
+            }
+            curr = stack[--top];
+            action.accept(key[curr]);
+            curr = right[curr];
+        }
+    }
+
+    // Check ordering, parent links, no red node with a red child and equal black heights
+    public boolean isValid() {
+        if (root == NIL) return size == 0;
+        if (red[root] || parent[root] != NIL) return false;
+        int blackHeight = -1;
+        int count = 0;
+        int[] blacks = new int[64];
+        int top = push(0, root);
+        blacks[0] = 1;
+        while (top > 0) {
+            int n = stack[--top], b = blacks[top];
+            count++;
+            if (blacks.length < top + 2) blacks = Arrays.copyOf(blacks, blacks.length * 2);
+            int l = left[n], r = right[n];
+            if (red[n] && (isRed(l) || isRed(r))) return false;
+            if (l == NIL || r == NIL) {
+                if (blackHeight == -1) blackHeight = b;
+                else if (blackHeight != b) return false;
+            }
+            if (l != NIL) {
+                if (parent[l] != n || key[l] >= key[n]) return false;
+                blacks[top] = b + (red[l] ? 0 : 1);
+                top = push(top, l);
+            }
+            if (r != NIL) {
+                if (parent[r] != n || key[r] <= key[n]) return false;
+                blacks[top] = b + (red[r] ? 0 : 1);
+                top = push(top, r);
+            }
+        }
+        if (count != size) return false;
+        // Parent/child order alone does not bound whole subtrees, so check in-order too
+        int[] previous = {0};
+        boolean[] ok = {true, false};
+        inorder(k -> {
+            if (ok[1] && previous[0] >= k) ok[0] = false;
+            previous[0] = k;
+            ok[1] = true;
+        });
+        return ok[0];
+    }
+
+    // Node slot management
+    private int allocate(int k, int p) {
+        int node;
+        if (freeList != NIL) {
+            node = freeList;
+            freeList = right[node];
+        } else {
+            if (used == key.length) {
+                grow();
+            }
+            node = used++;
+        }
+        key[node] = k;
+        left[node] = NIL;
+        right[node] = NIL;
+        parent[node] = p;
+        red[node] = true;
+        return node;
+    }
+
+    private void release(int node) {
+        left[node] = NIL;
+        parent[node] = NIL;
+        right[node] = freeList;
+        freeList = node;
+    }
+
+    private void grow() {
+        int capacity = key.length * 2;
+        key = Arrays.copyOf(key, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        parent = Arrays.copyOf(parent, capacity);
+        red = Arrays.copyOf(red, capacity);
+    }
+
+    private int push(int top, int node) {
+        if (top == stack.length) {
+            stack = Arrays.copyOf(stack, stack.length * 2);
+        }
+        stack[top] = node;
+        return top + 1;
+    }
+}
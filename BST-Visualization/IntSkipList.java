@@ -0,0 +1,370 @@
+// Primitive int-keyed Skip List engine (headless)
+// Features: Parallel-array nodes whose towers of forward links sit back to back in one int
+// array, configurable level probability p and maximum level, reproducible tower heights
+// from a seeded xorshift source, per-height free lists, search-path recording as
+// (node, level) steps, predecessor lookup on every level, tower-height counts
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+public class IntSkipList implements IntOrderedSet {
+    public static final int NIL = -1;
+    // Node 0 is the head sentinel: a full-height tower before every key
+    public static final int HEAD = 0;
+    public static final int DEFAULT_MAX_LEVEL = 32;
+    public static final double DEFAULT_P = 0.5;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final double p;
+    private final int maxLevel;
+    // A tower grows one more level while a 31-bit random value is below this
+    private final int threshold;
+
+    // Node storage: node ids index into these arrays. Node n's forward link on level l
+    // is links[linkStart[n] + l], for l < towerHeight[n].
+    private int[] key;
+    private int[] towerHeight;
+    private int[] linkStart;
+    private int[] links;
+    private int used;       // Node slots handed out so far (high-water mark)
+    private int linksUsed;
+    // Recycled nodes by tower height, chained through their level-0 link
+    private final int[] freeList;
+
+    private int levels;     // Highest tower in the list (empty list = 0)
+    private int size;
+    private final long initialSeed;
+    private long seed;
+
+    // Steps of the last insert, delete or find: the node the search stood on and its level
+    private int[] pathNode;
+    private int[] pathLevel;
+    private int pathLength;
+    private int touches;
+
+    // Last node before the key on every level, filled by search()
+    private final int[] preds;
+
+    public IntSkipList() {
+        this(DEFAULT_P, DEFAULT_MAX_LEVEL);
+    }
+
+    public IntSkipList(double p, int maxLevel) {
+        this(p, maxLevel, DEFAULT_CAPACITY, 42);
+    }
+
+    // A fixed seed makes the tower heights, and so a replayed key stream, reproducible
+    public IntSkipList(double p, int maxLevel, int initialCapacity, long seed) {
+        if (!(p > 0 && p < 1)) {
+            throw new IllegalArgumentException("Level probability must be in (0, 1): " + p);
+        }
+        if (maxLevel < 1 || maxLevel > 64) {
+            throw new IllegalArgumentException("Max level must be in 1..64: " + maxLevel);
+        }
+        this.p = p;
+        this.maxLevel = maxLevel;
+        threshold = (int) Math.min(Integer.MAX_VALUE, Math.round(p * (1L << 31)));
+        int capacity = Math.max(initialCapacity, 1) + 1;
+        key = new int[capacity];
+        towerHeight = new int[capacity];
+        linkStart = new int[capacity];
+        // Expected links per node is 1 / (1 - p)
+        links = new int[maxLevel + (int) Math.min(Integer.MAX_VALUE / 2, capacity / (1 - p))];
+        freeList = new int[maxLevel + 1];
+        preds = new int[maxLevel];
+        pathNode = new int[64];
+        pathLevel = new int[64];
+        initialSeed = seed != 0 ? seed : 1;
+        clear();
+    }
+
+    // Basic accessors
+    public String name() {
+        return "Skip List";
+    }
+
+    public double probability() {
+        return p;
+    }
+
+    public int maxLevel() {
+        return maxLevel;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Levels in use: the height of the tallest tower
+    public int height() {
+        return levels;
+    }
+
+    public int key(int node) {
+        return key[node];
+    }
+
+    public int towerHeight(int node) {
+        return towerHeight[node];
+    }
+
+    // Next node on a level, or NIL at the end of the level
+    public int next(int node, int level) {
+        return links[linkStart[node] + level];
+    }
+
+    // Number of node slots; every node id is below this value
+    public int capacity() {
+        return key.length;
+    }
+
+    public int lastRotations() {
+        return 0;
+    }
+
+    public int lastSplits() {
+        return 0;
+    }
+
+    // Keys compared by the last insert, delete or find
+    public int lastTouches() {
+        return touches;
+    }
+
+    public int pathLength() {
+        return pathLength;
+    }
+
+    public int pathNode(int index) {
+        return pathNode[index];
+    }
+
+    public int pathLevel(int index) {
+        return pathLevel[index];
+    }
+
+    public void clear() {
+        used = 1;
+        linksUsed = maxLevel;
+        key[HEAD] = Integer.MIN_VALUE;
+        towerHeight[HEAD] = maxLevel;
+        linkStart[HEAD] = 0;
+        Arrays.fill(links, 0, maxLevel, NIL);
+        Arrays.fill(freeList, NIL);
+        levels = 0;
+        size = 0;
+        seed = initialSeed;
+        pathLength = 0;
+        touches = 0;
+    }
+
+    // Walk from the top level of the head down to level 0, recording every step and
+    // leaving the last node before k on each level in preds. Returns the level-0 successor.
+    private int search(int k) {
+        pathLength = 0;
+        touches = 0;
+        int x = HEAD;
+        for (int level = levels - 1; level >= 0; level--) {
+            pushPath(x, level);
+            int next;
+            while ((next = links[linkStart[x] + level]) != NIL) {
+                touches++;
+                if (key[next] >= k) break;
+                x = next;
+                pushPath(x, level);
+            }
+            preds[level] = x;
+        }
+        return levels == 0 ? NIL : links[linkStart[x]];
+    }
+
+    // Insert key, returns false if it is already present
+    public boolean insert(int k) {
+        int next = search(k);
+        if (next != NIL && key[next] == k) {
+            pushPath(next, 0);
+            return false;
+        }
+        int height = randomHeight();
+        for (; levels < height; levels++) {
+            preds[levels] = HEAD;
+        }
+        int node = allocate(k, height);
+        int start = linkStart[node];
+        for (int level = 0; level < height; level++) {
+            int pred = linkStart[preds[level]] + level;
+            links[start + level] = links[pred];
+            links[pred] = node;
+        }
+        pushPath(node, 0);
+        size++;
+        return true;
+    }
+
+    // Delete key, returns false if it is not present. The tower is spliced out of every
+    // level it reaches; preds holds exactly its predecessor on each of them.
+    public boolean delete(int k) {
+        int node = search(k);
+        if (node == NIL || key[node] != k) {
+            return false;
+        }
+        pushPath(node, 0);
+        int start = linkStart[node];
+        for (int level = 0; level < towerHeight[node]; level++) {
+            links[linkStart[preds[level]] + level] = links[start + level];
+        }
+        while (levels > 0 && links[levels - 1] == NIL) {
+            levels--;
+        }
+        release(node);
+        size--;
+        return true;
+    }
+
+    // Node id holding key, or NIL. Records the search path.
+    public int find(int k) {
+        int next = search(k);
+        if (next != NIL && key[next] == k) {
+            pushPath(next, 0);
+            return next;
+        }
+        return NIL;
+    }
+
+    public boolean contains(int k) {
+        int x = HEAD;
+        int next = NIL;
+        for (int level = levels - 1; level >= 0; level--) {
+            while ((next = links[linkStart[x] + level]) != NIL && key[next] < k) {
+                x = next;
+            }
+        }
+        return next != NIL && key[next] == k;
+    }
+
+    // out[l] = last node before k on level l (HEAD if none), for every level in use.
+    // Does not record a path, so a view can call it while painting.
+    public void predecessors(int k, int[] out) {
+        int x = HEAD;
+        for (int level = levels - 1; level >= 0; level--) {
+            int next;
+            while ((next = links[linkStart[x] + level]) != NIL && key[next] < k) {
+                x = next;
+            }
+            out[level] = x;
+        }
+    }
+
+    public void inorder(IntConsumer action) {
+        for (int n = links[0]; n != NIL; n = links[linkStart[n]]) {
+            action.accept(key[n]);
+        }
+    }
+
+    // Node ids in key order
+    public void nodes(IntConsumer action) {
+        for (int n = links[0]; n != NIL; n = links[linkStart[n]]) {
+            action.accept(n);
+        }
+    }
+
+    // counts[h - 1] += number of towers of height h; returns the number of nodes
+    public int towerHeights(int[] counts) {
+        int nodes = 0;
+        for (int n = links[0]; n != NIL; n = links[linkStart[n]]) {
+            nodes++;
+            if (towerHeight[n] <= counts.length) counts[towerHeight[n] - 1]++;
+        }
+        return nodes;
+    }
+
+    // Check key order on every level, that each level is a subset of the one below it,
+    // that towers are exactly as tall as the levels they are linked on, and the size
+    public boolean isValid() {
+        for (int level = 0; level < maxLevel; level++) {
+            int below = level == 0 ? NIL : links[level - 1];
+            int previous = NIL;
+            for (int n = links[level]; n != NIL; n = links[linkStart[n] + level]) {
+                if (level >= levels || towerHeight[n] <= level) return false;
+                if (previous != NIL && key[previous] >= key[n]) return false;
+                if (level > 0) {
+                    while (below != NIL && below != n) below = links[linkStart[below] + level - 1];
+                    if (below == NIL) return false;
+                }
+                previous = n;
+            }
+        }
+        if (levels > 0 && links[levels - 1] == NIL) return false;
+        int[] count = new int[maxLevel];
+        if (towerHeights(count) != size) return false;
+        // Level l holds exactly the towers taller than l
+        for (int level = 1; level < levels; level++) {
+            int onLevel = 0;
+            for (int n = links[level]; n != NIL; n = links[linkStart[n] + level]) onLevel++;
+            int taller = 0;
+            for (int h = level + 1; h <= maxLevel; h++) taller += count[h - 1];
+            if (onLevel != taller) return false;
+        }
+        return true;
+    }
+
+    // Tower height h with P(h) = p^(h-1) * (1 - p), capped at maxLevel
+    private int randomHeight() {
+        int height = 1;
+        while (height < maxLevel && nextRandom() < threshold) {
+            height++;
+        }
+        return height;
+    }
+
+    // xorshift64*, 31 random bits
+    private int nextRandom() {
+        seed ^= seed >>> 12;
+        seed ^= seed << 25;
+        seed ^= seed >>> 27;
+        return (int) ((seed * 0x2545F4914F6CDD1DL) >>> 33);
+    }
+
+    // Node slot management. A recycled node keeps its tower, so it is reused for the same height.
+    private int allocate(int k, int height) {
+        int node = freeList[height];
+        if (node != NIL) {
+            freeList[height] = links[linkStart[node]];
+        } else {
+            if (used == key.length) {
+                grow();
+            }
+            node = used++;
+            if (linksUsed + height > links.length) {
+                links = Arrays.copyOf(links, Math.max(links.length * 2, linksUsed + height));
+            }
+            linkStart[node] = linksUsed;
+            linksUsed += height;
+            towerHeight[node] = height;
+        }
+        key[node] = k;
+        return node;
+    }
+
+    private void release(int node) {
+        int height = towerHeight[node];
+        links[linkStart[node]] = freeList[height];
+        freeList[height] = node;
+    }
+
+    private void grow() {
+        int capacity = key.length * 2;
+        key = Arrays.copyOf(key, capacity);
+        towerHeight = Arrays.copyOf(towerHeight, capacity);
+        linkStart = Arrays.copyOf(linkStart, capacity);
+    }
+
+    private void pushPath(int node, int level) {
+        if (pathLength == pathNode.length) {
+            pathNode = Arrays.copyOf(pathNode, pathLength * 2);
+            pathLevel = Arrays.copyOf(pathLevel, pathLength * 2);
+        }
+        pathNode[pathLength] = node;
+        pathLevel[pathLength++] = level;
+    }
+}
@@ -0,0 +1,308 @@
+// Primitive int-keyed Splay Tree engine (headless)
+// Features: Parallel-array nodes with a free list, top-down splaying (no parent links and
+// no recursion), insert/delete/find that move the accessed key to the root, iterative
+// traversals, per-operation rotation and node-touch counters
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+public class IntSplay implements IntOrderedSet.Binary {
+    public static final int NIL = -1;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // Node storage: node ids index into these arrays.
+    private int[] key;
+    private int[] left;
+    private int[] right;
+
+    private int root;
+    private int size;
+    private int used;      // Slots handed out so far (high-water mark)
+    private int freeList;  // Recycled slots, chained through right[]
+
+    // Cost of the last insert, delete or find
+    private int rotations;
+    private int touches;
+
+    // Scratch stack for iterative walks
+    private int[] stack;
+
+    public IntSplay() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntSplay(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        key = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        stack = new int[64];
+        clear();
+    }
+
+    // Basic accessors
+    public String name() {
+        return "Splay";
+    }
+
+    public int root() {
+        return root;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int key(int node) {
+        return key[node];
+    }
+
+    public int left(int node) {
+        return left[node];
+    }
+
+    public int right(int node) {
+        return right[node];
+    }
+
+    // Number of node slots; every node id is below this value
+    public int capacity() {
+        return key.length;
+    }
+
+    public int lastRotations() {
+        return rotations;
+    }
+
+    public int lastSplits() {
+        return 0;
+    }
+
+    public int lastTouches() {
+        return touches;
+    }
+
+    public void clear() {
+        root = NIL;
+        size = 0;
+        used = 0;
+        freeList = NIL;
+        rotations = 0;
+        touches = 0;
+    }
+
+    // Top-down splay of the subtree at t around k: returns the new subtree root, which holds k
+    // or the last key met on the way down. Nodes smaller than k are collected in a left tree,
+    // larger ones in a right tree, and both are hung under the final root.
+    private int splay(int t, int k) {
+        if (t == NIL) return NIL;
+        // Right end of the left tree and left end of the right tree, plus their roots
+        int leftMax = NIL, rightMin = NIL;
+        int leftRoot = NIL, rightRoot = NIL;
+        while (true) {
+            touches++;
+            if (k < key[t]) {
+                int l = left[t];
+                if (l == NIL) break;
+                if (k < key[l]) {
+                    // Zig-zig: rotate right first
+                    touches++;
+                    left[t] = right[l];
+                    right[l] = t;
+                    rotations++;
+                    t = l;
+                    if (left[t] == NIL) break;
+                }
+                // Link t into the right tree
+                if (rightMin == NIL) rightRoot = t; else left[rightMin] = t;
+                rightMin = t;
+                t = left[t];
+            } else if (k > key[t]) {
+                int r = right[t];
+                if (r == NIL) break;
+                if (k > key[r]) {
+                    touches++;
+                    right[t] = left[r];
+                    left[r] = t;
+                    rotations++;
+                    t = r;
+                    if (right[t] == NIL) break;
+                }
+                if (leftMax == NIL) leftRoot = t; else right[leftMax] = t;
+                leftMax = t;
+                t = right[t];
+            } else {
+                break;
+            }
+        }
+        // Reassemble
+        if (leftMax != NIL) {
+            right[leftMax] = left[t];
+            left[t] = leftRoot;
+        }
+        if (rightMin != NIL) {
+            left[rightMin] = right[t];
+            right[t] = rightRoot;
+        }
+        return t;
+    }
+
+    // Insert key and splay it to the root, returns false if it is already present
+    public boolean insert(int k) {
+        rotations = 0;
+        touches = 0;
+        if (root == NIL) {
+            root = allocate(k);
+            size++;
+            return true;
+        }
+        root = splay(root, k);
+        if (key[root] == k) {
+            return false;
+        }
+        // The new node splits the old root's tree around k
+        int node = allocate(k);
+        if (k < key[root]) {
+            left[node] = left[root];
+            right[node] = root;
+            left[root] = NIL;
+        } else {
+            right[node] = right[root];
+            left[node] = root;
+            right[root] = NIL;
+        }
+        root = node;
+        size++;
+        return true;
+    }
+
+    // Delete key, returns false if it is not present. The key is splayed to the root and
+    // the largest key of its left subtree is splayed up to take its place.
+    public boolean delete(int k) {
+        rotations = 0;
+        touches = 0;
+        if (root == NIL) {
+            return false;
+        }
+        root = splay(root, k);
+        if (key[root] != k) {
+            return false;
+        }
+        int old = root;
+        if (left[old] == NIL) {
+            root = right[old];
+        } else {
+            // k is larger than everything on the left, so the left maximum comes up with no right child
+            root = splay(left[old], k);
+            right[root] = right[old];
+        }
+        release(old);
+        size--;
+        return true;
+    }
+
+    // Node id holding key, or NIL. The key (or the last node on its search path) becomes the root.
+    public int find(int k) {
+        rotations = 0;
+        touches = 0;
+        if (root == NIL) {
+            return NIL;
+        }
+        root = splay(root, k);
+        return key[root] == k ? root : NIL;
+    }
+
+    // Splaying on every lookup is what keeps the amortized bound, so contains splays too
+    public boolean contains(int k) {
+        return find(k) != NIL;
+    }
+
+    // Levels in the tree, found with an iterative walk
+    public int height() {
+        if (root == NIL) return 0;
+        int max = 0;
+        int[] depth = new int[64];
+        int top = push(0, root);
+        depth[0] = 1;
+        while (top > 0) {
+            int n = stack[--top], d = depth[top];
+            max = Math.max(max, d);
+            if (depth.length < top + 2) depth = Arrays.copyOf(depth, depth.length * 2);
+            if (left[n] != NIL) {
+                depth[top] = d + 1;
+                top = push(top, left[n]);
+            }
+            if (right[n] != NIL) {
+                depth[top] = d + 1;
+                top = push(top, right[n]);
+            }
+        }
+        return max;
+    }
+
+    public void inorder(IntConsumer action) {
+        int top = 0;
+        int curr = root;
+        while (top > 0 || curr != NIL) {
+            while (curr != NIL) {
+                top = push(top, curr);
+                curr = left[curr];
+            }
+            curr = stack[--top];
+            action.accept(key[curr]);
+            curr = right[curr];
+        }
+    }
+
+    // A splay tree has no shape invariant beyond key order
+    public boolean isValid() {
+        int[] count = {0};
+        int[] previous = {0};
+        boolean[] ok = {true};
+        inorder(k -> {
+            if (count[0] > 0 && previous[0] >= k) ok[0] = false;
+            previous[0] = k;
+            count[0]++;
+        });
+        return ok[0] && count[0] == size;
+    }
+
+    // Node slot management
+    private int allocate(int k) {
+        int node;
+        if (freeList != NIL) {
+            node = freeList;
+            freeList = right[node];
+        } else {
+            if (used == key.length) {
+                grow();
+            }
+            node = used++;
+        }
+        key[node] = k;
+        left[node] = NIL;
+        right[node] = NIL;
+        return node;
+    }
+
+    private void release(int node) {
+        left[node] = NIL;
+        right[node] = freeList;
+        freeList = node;
+    }
+
+    private void grow() {
+        int capacity = key.length * 2;
+        key = Arrays.copyOf(key, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+    }
+
+    private int push(int top, int node) {
+        if (top == stack.length) {
+            stack = Arrays.copyOf(stack, stack.length * 2);
+        }
+        stack[top] = node;
+        return top + 1;
+    }
+}
@@ -0,0 +1,111 @@
+// Int Top-K - The K best keys of a stream of any length (headless)
+// Features: Fixed-capacity IntHeap whose root is the worst key kept, so a new key is either
+// rejected with one comparison or replaces the root with one sift-down; batch offer with the
+// threshold held in a local, storage fixed at K ints however long the stream runs
+//
+// The heap order names the heap, not the result: a MIN heap keeps the K largest keys (its
+// root is the smallest of them), a MAX heap the K smallest.
+
+public class IntTopK {
+    private final IntHeap heap;
+    private final int capacity;
+    private long offered;
+    private long accepted;
+
+    public IntTopK(int capacity, IntHeap.Order order) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("K must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        heap = new IntHeap(order, capacity);
+    }
+
+    // Basic accessors
+    public int capacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    public IntHeap.Order order() {
+        return heap.order();
+    }
+
+    // Keys seen so far, and how many of them entered the top K at the time
+    public long offered() {
+        return offered;
+    }
+
+    public long accepted() {
+        return accepted;
+    }
+
+    // Worst key kept; once the heap is full a key must beat this to get in
+    public int threshold() {
+        return heap.peek();
+    }
+
+    public long memoryBytes() {
+        return heap.memoryBytes();
+    }
+
+    public void clear() {
+        heap.clear();
+        offered = 0;
+        accepted = 0;
+    }
+
+    public boolean offer(int key) {
+        offered++;
+        if (heap.size() < capacity) {
+            heap.insert(key);
+            accepted++;
+            return true;
+        }
+        if (!heap.order().before(heap.peek(), key)) return false;
+        heap.replaceTop(key);
+        accepted++;
+        return true;
+    }
+
+    // Offer keys[0..count); the threshold is only re-read after a key got in
+    public void offerAll(int[] keys, int count) {
+        int i = 0;
+        while (i < count && heap.size() < capacity) {
+            offer(keys[i++]);
+        }
+        if (i == count) return;
+        offered += count - i;
+        IntHeap.Order order = heap.order();
+        int threshold = heap.peek();
+        for (; i < count; i++) {
+            int key = keys[i];
+            if (order.before(threshold, key)) {
+                heap.replaceTop(key);
+                threshold = heap.peek();
+                accepted++;
+            }
+        }
+    }
+
+    // Copy the kept keys in heap array order into out (length >= size()), returns the count
+    public int copyTo(int[] out) {
+        int n = heap.size();
+        for (int i = 0; i < n; i++) {
+            out[i] = heap.get(i);
+        }
+        return n;
+    }
+
+    // The kept keys, best first
+    public int[] toSortedArray() {
+        IntHeap copy = new IntHeap(heap);
+        int[] sorted = new int[copy.size()];
+        for (int i = sorted.length - 1; i >= 0; i--) {
+            sorted[i] = copy.extract();
+        }
+        return sorted;
+    }
+}
@@ -0,0 +1,355 @@
+// Primitive int-keyed Treap engine (headless)
+// Features: Parallel-array nodes with a free list and random heap priorities, insert by
+// rotating the new leaf up, delete by rotating the node down to a leaf, search-path
+// recording, iterative traversals, per-operation rotation and node-touch counters
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+public class IntTreap implements IntOrderedSet.Binary {
+    public static final int NIL = -1;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // Node storage: node ids index into these arrays.
+    private int[] key;
+    private int[] left;
+    private int[] right;
+    // Max-heap order on priorities keeps the expected height logarithmic
+    private int[] priority;
+
+    private int root;
+    private int size;
+    private int used;      // Slots handed out so far (high-water mark)
+    private int freeList;  // Recycled slots, chained through right[]
+    private final long initialSeed;
+    private long seed;
+
+    // Nodes visited by the last insert, delete or find (root first)
+    private int[] path;
+    private int pathLength;
+    private int rotations;
+
+    // Scratch stack for iterative walks
+    private int[] stack;
+
+    public IntTreap() {
+        this(DEFAULT_CAPACITY, 42);
+    }
+
+    // A fixed seed makes the shape, and so a replayed key stream, reproducible
+    public IntTreap(int initialCapacity, long seed) {
+        int capacity = Math.max(initialCapacity, 1);
+        key = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        priority = new int[capacity];
+        path = new int[64];
+        stack = new int[64];
+        initialSeed = seed != 0 ? seed : 1;
+        clear();
+    }
+
+    // Basic accessors
+    public String name() {
+        return "Treap";
+    }
+
+    public int root() {
+        return root;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int key(int node) {
+        return key[node];
+    }
+
+    public int left(int node) {
+        return left[node];
+    }
+
+    public int right(int node) {
+        return right[node];
+    }
+
+    public int priority(int node) {
+        return priority[node];
+    }
+
+    // Number of node slots; every node id is below this value
+    public int capacity() {
+        return key.length;
+    }
+
+    public int lastRotations() {
+        return rotations;
+    }
+
+    public int lastSplits() {
+        return 0;
+    }
+
+    public int lastTouches() {
+        return pathLength;
+    }
+
+    // Search path of the last insert, delete or find
+    public int pathLength() {
+        return pathLength;
+    }
+
+    public int pathNode(int index) {
+        return path[index];
+    }
+
+    public void clear() {
+        root = NIL;
+        size = 0;
+        used = 0;
+        freeList = NIL;
+        pathLength = 0;
+        rotations = 0;
+        seed = initialSeed;
+    }
+
+    // Insert key as a leaf, then rotate it up while its priority beats its parent's
+    public boolean insert(int k) {
+        pathLength = 0;
+        rotations = 0;
+        int curr = root;
+        while (curr != NIL) {
+            pushPath(curr);
+            int currKey = key[curr];
+            if (k == currKey) {
+                return false;
+            }
+            curr = k < currKey ? left[curr] : right[curr];
+        }
+
+        int node = allocate(k);
+        int i = pathLength - 1;
+        if (i < 0) {
+            root = node;
+        } else if (k < key[path[i]]) {
+            left[path[i]] = node;
+        } else {
+            right[path[i]] = node;
+        }
+        pushPath(node);
+        size++;
+        for (; i >= 0 && priority[path[i]] < priority[node]; i--) {
+            int p = path[i];
+            int top = left[p] == node ? rotateRight(p) : rotateLeft(p);
+            replaceChild(i > 0 ? path[i - 1] : NIL, p, top);
+        }
+        return true;
+    }
+
+    // Delete key, returns false if it is not present. The node is rotated down
+    // toward its higher-priority child until it is a leaf or has one child.
+    public boolean delete(int k) {
+        pathLength = 0;
+        rotations = 0;
+        int curr = root, p = NIL;
+        while (curr != NIL && key[curr] != k) {
+            pushPath(curr);
+            p = curr;
+            curr = k < key[curr] ? left[curr] : right[curr];
+        }
+        if (curr == NIL) {
+            return false;
+        }
+        pushPath(curr);
+
+        while (left[curr] != NIL && right[curr] != NIL) {
+            int top = priority[left[curr]] > priority[right[curr]] ? rotateRight(curr) : rotateLeft(curr);
+            replaceChild(p, curr, top);
+            pushPath(top);
+            p = top;
+        }
+        replaceChild(p, curr, left[curr] != NIL ? left[curr] : right[curr]);
+        release(curr);
+        size--;
+        return true;
+    }
+
+    private int rotateRight(int node) {
+        int pivot = left[node];
+        left[node] = right[pivot];
+        right[pivot] = node;
+        rotations++;
+        return pivot;
+    }
+
+    private int rotateLeft(int node) {
+        int pivot = right[node];
+        right[node] = left[pivot];
+        left[pivot] = node;
+        rotations++;
+        return pivot;
+    }
+
+    private void replaceChild(int parent, int oldChild, int newChild) {
+        if (parent == NIL) {
+            root = newChild;
+        } else if (left[parent] == oldChild) {
+            left[parent] = newChild;
+        } else {
+            right[parent] = newChild;
+        }
+    }
+
+    // Node id holding key, or NIL. Records the search path.
+    public int find(int k) {
+        pathLength = 0;
+        rotations = 0;
+        int curr = root;
+        while (curr != NIL) {
+            pushPath(curr);
+            int currKey = key[curr];
+            if (k == currKey) {
+                return curr;
+            }
+            curr = k < currKey ? left[curr] : right[curr];
+        }
+        return NIL;
+    }
+
+    public boolean contains(int k) {
+        int curr = root;
+        while (curr != NIL) {
+            int currKey = key[curr];
+            if (k == currKey) {
+                return true;
+            }
+            curr = k < currKey ? left[curr] : right[curr];
+        }
+        return false;
+    }
+
+    // Levels in the tree, found with an iterative walk
+    public int height() {
+        if (root == NIL) return 0;
+        int max = 0;
+        int[] depth = new int[64];
+        int top = push(0, root);
+        depth[0] = 1;
+        while (top > 0) {
+            int n = stack[--top], d = depth[top];
+            max = Math.max(max, d);
+            if (depth.length < top + 2) depth = Arrays.copyOf(depth, depth.length * 2);
+            if (left[n] != NIL) {
+                depth[top] = d + 1;
+                top = push(top, left[n]);
+            }
+            if (right[n] != NIL) {
+                depth[top] = d + 1;
+                top = push(top, right[n]);
+            }
+        }
+        return max;
+    }
+
+    public void inorder(IntConsumer action) {
+        int top = 0;
+        int curr = root;
+        while (top > 0 || curr != NIL) {
+            while (curr != NIL) {
+                top = push(top, curr);
+                curr = left[curr];
+            }
+            curr = stack[--top];
+            action.accept(key[curr]);
+            curr = right[curr];
+        }
+    }
+
+    // Check in-order keys and the heap order of the priorities
+    public boolean isValid() {
+        int count = 0;
+        if (root != NIL) {
+            int top = push(0, root);
+            while (top > 0) {
+                int n = stack[--top];
+                count++;
+                int l = left[n], r = right[n];
+                if (l != NIL) {
+                    if (priority[l] > priority[n]) return false;
+                    top = push(top, l);
+                }
+                if (r != NIL) {
+                    if (priority[r] > priority[n]) return false;
+                    top = push(top, r);
+                }
+            }
+        }
+        if (count != size) return false;
+        // Parent/child order alone does not bound whole subtrees, so check in-order
+        int[] previous = {0};
+        boolean[] ok = {true, false};
+        inorder(k -> {
+            if (ok[1] && previous[0] >= k) ok[0] = false;
+            previous[0] = k;
+            ok[1] = true;
+        });
+        return ok[0];
+    }
+
+    // Node slot management
+    private int allocate(int k) {
+        int node;
+        if (freeList != NIL) {
+            node = freeList;
+            freeList = right[node];
+        } else {
+            if (used == key.length) {
+                grow();
+            }
+            node = used++;
+        }
+        key[node] = k;
+        left[node] = NIL;
+        right[node] = NIL;
+        priority[node] = nextPriority();
+        return node;
+    }
+
+    // xorshift64*, plenty for heap priorities and far cheaper than java.util.Random
+    private int nextPriority() {
+        seed ^= seed >>> 12;
+        seed ^= seed << 25;
+        seed ^= seed >>> 27;
+        return (int) ((seed * 0x2545F4914F6CDD1DL) >>> 33);
+    }
+
+    private void release(int node) {
+        left[node] = NIL;
+        right[node] = freeList;
+        freeList = node;
+    }
+
+    private void grow() {
+        int capacity = key.length * 2;
+        key = Arrays.copyOf(key, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        priority = Arrays.copyOf(priority, capacity);
+    }
+
+    private void pushPath(int node) {
+        if (pathLength == path.length) {
+            path = Arrays.copyOf(path, path.length * 2);
+        }
+        path[pathLength++] = node;
+    }
+
+    private int push(int top, int node) {
+        if (top == stack.length) {
+            stack = Arrays.copyOf(stack, stack.length * 2);
+        }
+        stack[top] = node;
+        return top + 1;
+    }
+}
@@ -0,0 +1,24 @@
+// Mutable String Trie - Trie engines that add and remove single words
+// Features: Add with or without a weight (re-weighting a present word), remove, and a build
+// that clears and adds word by word
+
+import java.util.List;
+
+public interface MutableStringTrie extends StringTrie {
+    // Returns false if the word was already present
+    boolean add(CharSequence word);
+
+    // Add the word with the given weight, or re-weight it if present. Returns false if the
+    // word was already present.
+    boolean add(CharSequence word, int weight);
+
+    // Returns false if the word was not present
+    boolean remove(CharSequence word);
+
+    default void build(List<String> words) {
+        clear();
+        for (String word : words) {
+            add(word);
+        }
+    }
+}
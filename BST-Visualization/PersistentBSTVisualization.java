@@ -0,0 +1,383 @@
+// Persistent BST Visualization - Path-copying BST with undo/redo and a version slider
+// Features: Every insert, delete and clear makes a new version that shares its unchanged
+// subtrees with the previous one, the nodes copied by the last operation are highlighted,
+// undo/redo buttons and a slider to scrub through the whole history, node count shared
+// by all versions
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Cursor;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.Font;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.Random;
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JSlider;
+import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
+
+public class PersistentBSTVisualization extends JFrame implements ActionListener, KeyListener {
+    private final IntPersistentBST tree = new IntPersistentBST();
+    private int foundNode = IntPersistentBST.NIL;
+    // Ids of the nodes made by the last operations, handed to the canvas for relayout
+    private int[] newNodes = new int[64];
+
+    private JPanel topPanel, infoPanel;
+    private JPanel topLeftPanel, topRightPanel;
+    private TreeCanvas treePanel;
+    private JSlider versionSlider;
+    // Set while the slider is moved from code, so its listener does not jump versions
+    private boolean updatingSlider;
+    private JButton btnAdd, btnDelete, btnSearch, btnUndo, btnRedo, btnRandom, btnClear, btnHelp, btnBack;
+    private JTextField tf;
+    private JLabel ansHeight, ansKeys, ansVersion, ansNodes;
+
+    private static final Color NODE_COLOR = new Color(144, 238, 144); // Light green
+    private static final Color COPIED_COLOR = new Color(255, 200, 120); // Light orange
+    private static final Color FOUND_COLOR = new Color(255, 99, 99); // Light red
+
+    public PersistentBSTVisualization() {
+        initialize();
+    }
+
+    private void initialize() {
+        setTitle("Persistent BST - Undo, Redo and Time Travel");
+        setSize(1400, 800);
+        getContentPane().setBackground(new Color(240, 248, 255));
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        setLocationRelativeTo(null);
+
+        setupPanels();
+        setupControls();
+        updateInfo();
+
+        setVisible(true);
+    }
+
+    private void setupPanels() {
+        topPanel = new JPanel(new BorderLayout());
+        topPanel.setBackground(new Color(230, 240, 250));
+        topPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        topLeftPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 10));
+        topLeftPanel.setBackground(new Color(230, 240, 250));
+        topPanel.add(topLeftPanel, BorderLayout.WEST);
+
+        topRightPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        topRightPanel.setBackground(new Color(230, 240, 250));
+        topPanel.add(topRightPanel, BorderLayout.EAST);
+
+        treePanel = new TreeCanvas(new TreeCanvas.Source() {
+            public int root() { return tree.root(); }
+            public int left(int node) { return tree.left(node); }
+            public int right(int node) { return tree.right(node); }
+            public int capacity() { return tree.capacity(); }
+            public String label(int node) { return String.valueOf(tree.key(node)); }
+            public Color fill(int node) { return colorOf(node); }
+        });
+        treePanel.setBackground(new Color(248, 248, 255));
+        treePanel.setAnimated(true);
+
+        infoPanel = new JPanel(new BorderLayout(20, 0));
+        infoPanel.setBackground(new Color(245, 245, 245));
+        infoPanel.setBorder(BorderFactory.createTitledBorder("History"));
+
+        add(topPanel, BorderLayout.NORTH);
+        add(treePanel, BorderLayout.CENTER);
+        add(infoPanel, BorderLayout.SOUTH);
+    }
+
+    private void setupControls() {
+        // Statistics
+        topLeftPanel.add(boldLabel("Height: "));
+        ansHeight = boldLabel("0");
+        topLeftPanel.add(ansHeight);
+        topLeftPanel.add(boldLabel("  |  Keys: "));
+        ansKeys = boldLabel("0");
+        topLeftPanel.add(ansKeys);
+
+        // Input field
+        tf = new JTextField();
+        tf.setFont(new Font("Arial", Font.BOLD, 16));
+        tf.setPreferredSize(new Dimension(120, 35));
+        tf.addKeyListener(this);
+        tf.setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(Color.GRAY, 1),
+            BorderFactory.createEmptyBorder(5, 10, 5, 10)
+        ));
+        topRightPanel.add(tf);
+
+        // Buttons
+        btnAdd = createStyledButton("Add", new Color(60, 179, 113));
+        btnDelete = createStyledButton("Delete", new Color(220, 20, 60));
+        btnSearch = createStyledButton("Search", new Color(30, 144, 255));
+        btnUndo = createStyledButton("Undo", new Color(138, 43, 226));
+        btnRedo = createStyledButton("Redo", new Color(138, 43, 226));
+        btnRandom = createStyledButton("Random", new Color(184, 134, 11));
+        btnClear = createStyledButton("Clear", new Color(255, 140, 0));
+        btnHelp = createStyledButton("Help", new Color(70, 130, 180));
+        btnBack = createStyledButton("← Back", new Color(105, 105, 105));
+
+        for (JButton button : new JButton[] {btnAdd, btnDelete, btnSearch, btnUndo, btnRedo, btnRandom, btnClear, btnHelp, btnBack}) {
+            button.addActionListener(this);
+            topRightPanel.add(button);
+        }
+
+        // Version slider: one stop per version, version 0 is the empty tree
+        versionSlider = new JSlider(0, 0, 0);
+        versionSlider.setBackground(new Color(245, 245, 245));
+        versionSlider.addChangeListener(e -> {
+            if (!updatingSlider) jumpTo(versionSlider.getValue());
+        });
+        infoPanel.add(versionSlider, BorderLayout.CENTER);
+
+        JPanel labels = new JPanel(new FlowLayout(FlowLayout.LEFT, 20, 5));
+        labels.setBackground(new Color(245, 245, 245));
+        ansVersion = new JLabel();
+        ansVersion.setFont(new Font("Arial", Font.PLAIN, 14));
+        labels.add(ansVersion);
+        ansNodes = new JLabel();
+        ansNodes.setFont(new Font("Arial", Font.PLAIN, 14));
+        labels.add(ansNodes);
+        infoPanel.add(labels, BorderLayout.SOUTH);
+    }
+
+    private JLabel boldLabel(String text) {
+        JLabel label = new JLabel(text);
+        label.setFont(new Font("Arial", Font.BOLD, 16));
+        return label;
+    }
+
+    private JButton createStyledButton(String text, Color backgroundColor) {
+        JButton button = new JButton(text);
+        button.setFont(new Font("Arial", Font.BOLD, 12));
+        button.setPreferredSize(new Dimension(80, 35));
+        button.setBackground(backgroundColor);
+        button.setForeground(Color.WHITE);
+        button.setBorderPainted(false);
+        button.setFocusPainted(false);
+        button.setCursor(new Cursor(Cursor.HAND_CURSOR));
+
+        button.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseEntered(MouseEvent e) {
+                button.setBackground(backgroundColor.brighter());
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                button.setBackground(backgroundColor);
+            }
+        });
+
+        return button;
+    }
+
+    // Nodes copied by the operation that made the current version stand out
+    private Color colorOf(int node) {
+        if (node == foundNode) return FOUND_COLOR;
+        if (node >= tree.firstNewNode()) return COPIED_COLOR;
+        return NODE_COLOR;
+    }
+
+    // Tree Operations
+    public void add(int value) {
+        if (!tree.insert(value)) {
+            JOptionPane.showMessageDialog(this, value + " is already in the tree.");
+            return;
+        }
+        versionAdded(tree.firstNewNode());
+    }
+
+    public void delete(int value) {
+        if (!tree.delete(value)) {
+            JOptionPane.showMessageDialog(this, value + " is not available.");
+            return;
+        }
+        versionAdded(tree.firstNewNode());
+    }
+
+    public void search(int value) {
+        foundNode = tree.find(value);
+        treePanel.repaint();
+        if (foundNode != IntPersistentBST.NIL) {
+            treePanel.reveal(foundNode);
+        } else {
+            JOptionPane.showMessageDialog(this, value + " not found in version " + tree.version() + ".");
+        }
+    }
+
+    private void clearTree() {
+        if (!tree.clearVersion()) {
+            JOptionPane.showMessageDialog(this, "The tree is already empty.");
+            return;
+        }
+        versionAdded(tree.firstNewNode());
+    }
+
+    // Random keys, one version each
+    private void addRandom() {
+        String[] options = {"10 keys", "1,000 keys", "100,000 keys"};
+        int choice = JOptionPane.showOptionDialog(this, "Insert random keys (one version per key):", "Random Keys",
+            JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+        if (choice < 0) return;
+        int count = choice == 0 ? 10 : choice == 1 ? 1000 : 100_000;
+        // Nodes of discarded redo versions are reused from here on, but only once an insert
+        // succeeds; if none does, the redo versions stay and nothing new needs a layout
+        int first = tree.nodeCount(tree.version());
+        Random random = new Random();
+        boolean inserted = false;
+        for (int i = 0; i < count; i++) {
+            inserted |= tree.insert(random.nextInt(count * 10));
+        }
+        if (!inserted) {
+            JOptionPane.showMessageDialog(this, "Every key drawn is already in the tree.");
+            return;
+        }
+        versionAdded(first);
+    }
+
+    // Only nodes made since the given id need a layout: the subtrees hanging off the copied
+    // path are already laid out for the version on screen. Ids grow from children to
+    // parents, which is the order the canvas expects. Nodes of redo versions (past the
+    // shown version's count) are not in the tree on screen and are left alone.
+    private void versionAdded(int firstNode) {
+        foundNode = IntPersistentBST.NIL;
+        int count = tree.nodeCount(tree.version()) - firstNode;
+        if (newNodes.length < count) {
+            newNodes = new int[Math.max(count, newNodes.length * 2)];
+        }
+        for (int i = 0; i < count; i++) {
+            newNodes[i] = firstNode + i;
+        }
+        treePanel.relayoutNodes(newNodes, count);
+        updateInfo();
+    }
+
+    // Switching versions is O(1) in the tree. The canvas keeps each node's offset from its
+    // parent, and a shared node has a different parent in each version, so the version
+    // shown is laid out again in full.
+    private void jumpTo(int version) {
+        if (version == tree.version()) return;
+        tree.setVersion(version);
+        foundNode = IntPersistentBST.NIL;
+        treePanel.relayout();
+        updateInfo();
+    }
+
+    private void updateInfo() {
+        ansHeight.setText(String.valueOf(tree.height()));
+        ansKeys.setText(String.valueOf(tree.size()));
+
+        int version = tree.version();
+        ansVersion.setText("Version " + version + " of " + (tree.versionCount() - 1) + ": " + describe(version));
+        ansNodes.setText("Nodes stored for all versions: " + tree.nodeCount()
+            + "  |  copied by this version: " + (tree.nodeCount(version) - tree.firstNewNode()));
+
+        updatingSlider = true;
+        versionSlider.setMaximum(tree.versionCount() - 1);
+        versionSlider.setValue(version);
+        updatingSlider = false;
+
+        btnUndo.setEnabled(tree.canUndo());
+        btnRedo.setEnabled(tree.canRedo());
+    }
+
+    private String describe(int version) {
+        switch (tree.operation(version)) {
+            case IntPersistentBST.OP_INSERT: return "insert " + tree.operationKey(version);
+            case IntPersistentBST.OP_DELETE: return "delete " + tree.operationKey(version);
+            case IntPersistentBST.OP_CLEAR: return "clear";
+            default: return "empty tree";
+        }
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        if (e.getSource() == btnBack) {
+            dispose();
+            SwingUtilities.invokeLater(DSAVisualizationMain::new);
+            return;
+        } else if (e.getSource() == btnUndo) {
+            jumpTo(tree.version() - 1);
+            return;
+        } else if (e.getSource() == btnRedo) {
+            jumpTo(tree.version() + 1);
+            return;
+        } else if (e.getSource() == btnClear) {
+            clearTree();
+            return;
+        } else if (e.getSource() == btnRandom) {
+            addRandom();
+            return;
+        } else if (e.getSource() == btnHelp) {
+            showHelp();
+            return;
+        }
+
+        String input = tf.getText().trim();
+        if (input.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "Please enter a number!");
+            return;
+        }
+
+        try {
+            int value = Integer.parseInt(input);
+            if (e.getSource() == btnAdd) {
+                add(value);
+            } else if (e.getSource() == btnDelete) {
+                delete(value);
+            } else if (e.getSource() == btnSearch) {
+                search(value);
+            }
+            tf.setText("");
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Please enter a valid integer!");
+        }
+    }
+
+    private void showHelp() {
+        String helpText = "<html><body style='width: 500px;'>" +
+            "<h2>Persistent BST</h2>" +
+            "<p>Nodes are never changed. An insert or delete copies only the nodes on its search " +
+            "path (orange) and shares every other subtree with the previous version, so each " +
+            "version costs O(height) new nodes and a snapshot is just a root.</p>" +
+            "<ul>" +
+            "<li><b>Add / Delete:</b> Make a new version</li>" +
+            "<li><b>Search:</b> Find a key in the version shown</li>" +
+            "<li><b>Undo / Redo:</b> Step through the versions</li>" +
+            "<li><b>Slider:</b> Jump to any version in the history</li>" +
+            "<li><b>Clear:</b> Make an empty version; undo brings the tree back</li>" +
+            "<li><b>Random:</b> Insert random keys, one version each</li>" +
+            "</ul>" +
+            "<p>An operation on an older version drops the versions after it.</p>" +
+            "<p>Drag to pan, mouse wheel to zoom, double-click to fit the tree.</p>" +
+            "</body></html>";
+
+        JOptionPane.showMessageDialog(this, helpText, "Persistent BST Help", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    @Override
+    public void keyTyped(KeyEvent e) {
+        if (e.getKeyChar() == KeyEvent.VK_ENTER) {
+            btnAdd.doClick();
+        }
+    }
+
+    @Override
+    public void keyPressed(KeyEvent e) {}
+
+    @Override
+    public void keyReleased(KeyEvent e) {}
+}
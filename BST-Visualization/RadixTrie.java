@@ -0,0 +1,543 @@
+// Radix Trie engine (path-compressed / Patricia trie, headless)
+// Features: Chains of single-child nodes merged into one edge whose label is a run of a
+// shared char buffer, so a node exists only where words branch or end; an insert that
+// leaves an edge part-way splits it (both halves keep pointing into the same characters),
+// a delete that leaves a non-word node with one child merges it into that child; children
+// in power-of-two blocks of a shared pool sorted by first character, found by binary
+// search; blocks and nodes recycled through free lists, label buffer compacted once half
+// of it is dead; word weights with a per-node subtree maximum for top-K completions
+
+import java.util.Arrays;
+import java.util.List;
+
+public class RadixTrie implements MutableStringTrie {
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final byte WORD = 1;
+
+    // Node storage: node ids index into these arrays. The label of the edge into node n is
+    // text[labelStart[n] .. labelStart[n] + labelLength[n]); the root's is empty.
+    // A leaf has no block (base NIL); free nodes are chained through base[].
+    private int[] labelStart;
+    private int[] labelLength;
+    private int[] base;
+    private char[] fanout;
+    private byte[] flags;
+    // Word weight, and the highest weight at or below the node
+    private int[] weight;
+    private int[] best;
+    private int used;       // Node slots handed out so far (high-water mark)
+    private int freeNodes = NIL;
+    private int nodes;
+
+    // Child pool: child ids in order of their first label character, kept alongside
+    private int[] pool;
+    private char[] poolChars;
+    private int poolUsed;
+    // Recycled blocks by log2 of their capacity, chained through pool[]
+    private final int[] freeBlocks = new int[17];
+
+    // Label characters; dead counts the ones no live label points at any more
+    private char[] text;
+    private int textUsed;
+    private int dead;
+
+    private int size;
+
+    // Nodes entered by the last walk, and how far into the last one's label it got
+    private int[] path = new int[16];
+    private int pathLength;
+    private int walkOffset;
+    private TopKCompletions completions;
+
+    public RadixTrie() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public RadixTrie(int nodeCapacity) {
+        int capacity = Math.max(nodeCapacity, 1);
+        labelStart = new int[capacity];
+        labelLength = new int[capacity];
+        base = new int[capacity];
+        fanout = new char[capacity];
+        flags = new byte[capacity];
+        weight = new int[capacity];
+        best = new int[capacity];
+        pool = new int[capacity];
+        poolChars = new char[capacity];
+        text = new char[capacity * 4];
+        clear();
+    }
+
+    // Basic accessors
+    public String name() {
+        return "Radix";
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int nodeCount() {
+        return nodes;
+    }
+
+    public int nodeCapacity() {
+        return used;
+    }
+
+    public long memoryBytes() {
+        return 23L * base.length + 6L * pool.length + 2L * text.length;
+    }
+
+    public void clear() {
+        used = 0;
+        nodes = 0;
+        freeNodes = NIL;
+        poolUsed = 0;
+        Arrays.fill(freeBlocks, NIL);
+        textUsed = 0;
+        dead = 0;
+        size = 0;
+        pathLength = 0;
+        newNode(0, 0);
+    }
+
+    public boolean isWord(int node) {
+        return (flags[node] & WORD) != 0;
+    }
+
+    public int weight(int node) {
+        return isWord(node) ? weight[node] : 0;
+    }
+
+    public int bestWeight(int node) {
+        return best[node];
+    }
+
+    public int childCount(int node) {
+        return fanout[node];
+    }
+
+    public int childAt(int node, int i) {
+        return pool[base[node] + i];
+    }
+
+    public String childLabel(int node, int i) {
+        return label(childAt(node, i));
+    }
+
+    // Label of the edge into node
+    public String label(int node) {
+        return new String(text, labelStart[node], labelLength[node]);
+    }
+
+    // Child of node whose label starts with c, or NIL
+    public int child(int node, char c) {
+        int low = base[node], high = low + fanout[node] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char m = poolChars[mid];
+            if (m < c) {
+                low = mid + 1;
+            } else if (m > c) {
+                high = mid - 1;
+            } else {
+                return pool[mid];
+            }
+        }
+        return NIL;
+    }
+
+    public int walk(CharSequence s) {
+        int n = s.length();
+        pathLength = 0;
+        walkOffset = 0;
+        int node = ROOT;
+        int i = 0;
+        while (i < n) {
+            node = child(node, s.charAt(i));
+            if (node == NIL) break;
+            if (pathLength == path.length) path = Arrays.copyOf(path, pathLength * 2);
+            path[pathLength++] = node;
+            int start = labelStart[node], length = labelLength[node];
+            int j = 0;
+            while (j < length && i < n && text[start + j] == s.charAt(i)) {
+                i++;
+                j++;
+            }
+            walkOffset = j;
+            if (j < length) break;
+        }
+        return i;
+    }
+
+    public int pathLength() {
+        return pathLength;
+    }
+
+    public int pathNode(int i) {
+        return path[i];
+    }
+
+    // Label characters of the last path node the walk consumed
+    public int walkOffset() {
+        return walkOffset;
+    }
+
+    // Node the last walk ended in
+    private int walkEnd() {
+        return pathLength == 0 ? ROOT : path[pathLength - 1];
+    }
+
+    public boolean contains(CharSequence word) {
+        int end = walk(word) == word.length() ? walkEnd() : NIL;
+        return end != NIL && walkOffset == labelLength[end] && isWord(end);
+    }
+
+    public int weightOf(CharSequence word) {
+        return contains(word) ? weight[walkEnd()] : 0;
+    }
+
+    // Returns false if the word was already present; a new word weighs 0
+    public boolean add(CharSequence word) {
+        return add(word, 0, false);
+    }
+
+    public boolean add(CharSequence word, int weight) {
+        return add(word, weight, true);
+    }
+
+    private boolean add(CharSequence word, int w, boolean reweight) {
+        if (w == NO_WEIGHT) throw new IllegalArgumentException("Weight out of range: " + w);
+        int n = word.length();
+        int matched = walk(word);
+        int end = walkEnd();
+        if (matched == n && walkOffset == labelLength[end] && isWord(end)) {
+            if (!reweight) return false;
+            weight[end] = w;
+            updateBest(pathLength - 1);
+            return false;
+        }
+        if (walkOffset < labelLength[end]) {
+            split(end, walkOffset);
+        }
+        if (matched < n) {
+            int leaf = newNode(appendText(word, matched, n), n - matched);
+            flags[leaf] = WORD;
+            weight[leaf] = w;
+            best[leaf] = w;
+            addChild(end, leaf);
+        } else {
+            flags[end] |= WORD;
+            weight[end] = w;
+        }
+        updateBest(pathLength - 1);
+        size++;
+        return true;
+    }
+
+    // Unmark the word, drop a leaf left without a word and merge single-child chains again
+    public boolean remove(CharSequence word) {
+        if (!contains(word)) return false;
+        int end = walkEnd();
+        flags[end] &= ~WORD;
+        size--;
+        if (end == ROOT) {
+            updateBest(-1);
+            return true;
+        }
+        int parent = pathLength > 1 ? path[pathLength - 2] : ROOT;
+        if (fanout[end] == 0) {
+            removeChild(parent, end);
+            dead += labelLength[end];
+            freeNode(end);
+            if (parent != ROOT && !isWord(parent) && fanout[parent] == 1) merge(parent);
+            updateBest(pathLength - 2);
+        } else {
+            if (fanout[end] == 1) merge(end);
+            updateBest(pathLength - 1);
+        }
+        compactTextIfSparse();
+        return true;
+    }
+
+    // Recompute the subtree maximum of the last walk's path[i], its ancestors and the root,
+    // stopping at the first one that does not change (nothing above it can then change)
+    private void updateBest(int i) {
+        for (; i >= -1; i--) {
+            int node = i < 0 ? ROOT : path[i];
+            int b = subtreeBest(node);
+            if (b == best[node]) return;
+            best[node] = b;
+        }
+    }
+
+    private int subtreeBest(int node) {
+        int b = isWord(node) ? weight[node] : NO_WEIGHT;
+        for (int i = 0, start = base[node], n = fanout[node]; i < n; i++) {
+            b = Math.max(b, best[pool[start + i]]);
+        }
+        return b;
+    }
+
+    public int topK(CharSequence prefix, int k, List<String> out) {
+        if (walk(prefix) < prefix.length()) return 0;
+        int node = walkEnd();
+        // The completions all start with node's whole path, which may run past the prefix
+        String spelled = prefix.toString() + new String(text, labelStart[node] + walkOffset, labelLength[node] - walkOffset);
+        if (completions == null) completions = new TopKCompletions();
+        return completions.search(this, node, spelled, k, out);
+    }
+
+    public int collect(CharSequence prefix, int limit, List<String> out) {
+        if (limit <= 0 || walk(prefix) < prefix.length()) return 0;
+        int node = walkEnd();
+        // The words below node all start with its whole path, which may run past the prefix
+        int pathEnd = prefix.length() + labelLength[node] - walkOffset;
+        char[] word = new char[pathEnd + 16];
+        for (int i = 0; i < prefix.length(); i++) word[i] = prefix.charAt(i);
+        System.arraycopy(text, labelStart[node] + walkOffset, word, prefix.length(), pathEnd - prefix.length());
+
+        int added = 0;
+        if (isWord(node)) {
+            out.add(new String(word, 0, pathEnd));
+            if (++added == limit) return added;
+        }
+        // Depth-first with explicit stacks: node, next child index and path length per level
+        int[] stackNode = new int[16];
+        int[] stackIndex = new int[16];
+        int[] stackEnd = new int[16];
+        int depth = 0;
+        stackNode[0] = node;
+        stackEnd[0] = pathEnd;
+        while (depth >= 0) {
+            int current = stackNode[depth];
+            int i = stackIndex[depth]++;
+            if (i == fanout[current]) {
+                depth--;
+                continue;
+            }
+            int next = childAt(current, i);
+            int start = stackEnd[depth], end = start + labelLength[next];
+            if (word.length < end) word = Arrays.copyOf(word, end * 2);
+            System.arraycopy(text, labelStart[next], word, start, labelLength[next]);
+            if (isWord(next)) {
+                out.add(new String(word, 0, end));
+                if (++added == limit) return added;
+            }
+            if (fanout[next] > 0) {
+                if (++depth == stackNode.length) {
+                    stackNode = Arrays.copyOf(stackNode, depth * 2);
+                    stackIndex = Arrays.copyOf(stackIndex, depth * 2);
+                    stackEnd = Arrays.copyOf(stackEnd, depth * 2);
+                }
+                stackNode[depth] = next;
+                stackIndex[depth] = 0;
+                stackEnd[depth] = end;
+            }
+        }
+        return added;
+    }
+
+    // Cut node's label after k characters: a new node takes the rest of the label together
+    // with node's children, word mark and weights, and becomes node's only child
+    private void split(int node, int k) {
+        int tail = newNode(labelStart[node] + k, labelLength[node] - k);
+        base[tail] = base[node];
+        fanout[tail] = fanout[node];
+        flags[tail] = flags[node];
+        weight[tail] = weight[node];
+        best[tail] = best[node];
+        labelLength[node] = k;
+        base[node] = NIL;
+        fanout[node] = 0;
+        flags[node] = 0;
+        addChild(node, tail);
+    }
+
+    // Fold node's only child into it: the labels are joined and node takes over the child's
+    // children, word mark and weight; node keeps its id, its place in the parent and the
+    // subtree maximum its parent last saw, for updateBest to refresh
+    private void merge(int node) {
+        int child = pool[base[node]];
+        int start = labelStart[node], length = labelLength[node];
+        int childLength = labelLength[child];
+        if (start + length != labelStart[child]) {
+            // Not adjacent in the buffer (the halves of an earlier split are): copy both
+            int joined = appendText(new String(text, start, length) + label(child), 0, length + childLength);
+            dead += length + childLength;
+            start = joined;
+        }
+        freeBlock(base[node], 0);
+        labelStart[node] = start;
+        labelLength[node] = length + childLength;
+        base[node] = base[child];
+        fanout[node] = fanout[child];
+        flags[node] = flags[child];
+        weight[node] = weight[child];
+        base[child] = NIL;
+        freeNode(child);
+    }
+
+    private void addChild(int node, int child) {
+        char c = text[labelStart[child]];
+        int n = fanout[node];
+        if (n == 0 || capacityClass(n + 1) != capacityClass(n)) {
+            resize(node, n, n + 1);
+        }
+        int b = base[node];
+        int index = n;
+        while (index > 0 && poolChars[b + index - 1] > c) index--;
+        System.arraycopy(pool, b + index, pool, b + index + 1, n - index);
+        System.arraycopy(poolChars, b + index, poolChars, b + index + 1, n - index);
+        pool[b + index] = child;
+        poolChars[b + index] = c;
+        fanout[node] = (char) (n + 1);
+    }
+
+    private void removeChild(int node, int child) {
+        int n = fanout[node];
+        int b = base[node];
+        int index = 0;
+        while (pool[b + index] != child) index++;
+        System.arraycopy(pool, b + index + 1, pool, b + index, n - index - 1);
+        System.arraycopy(poolChars, b + index + 1, poolChars, b + index, n - index - 1);
+        fanout[node] = (char) --n;
+        if (n == 0 || capacityClass(n) != capacityClass(n + 1)) {
+            resize(node, n + 1, n);
+        }
+    }
+
+    // Move node's children into a block with room for count, freeing the old block, which
+    // was sized for oldCount
+    private void resize(int node, int oldCount, int count) {
+        int n = Math.min(fanout[node], count);
+        int oldBase = base[node];
+        int newBase = count == 0 ? NIL : allocateBlock(capacityClass(count));
+        if (n > 0) {
+            System.arraycopy(pool, oldBase, pool, newBase, n);
+            System.arraycopy(poolChars, oldBase, poolChars, newBase, n);
+        }
+        if (oldBase != NIL) freeBlock(oldBase, capacityClass(oldCount));
+        base[node] = newBase;
+    }
+
+    private static int capacityClass(int count) {
+        return count <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(count - 1);
+    }
+
+    private int allocateBlock(int sizeClass) {
+        int block = freeBlocks[sizeClass];
+        if (block != NIL) {
+            freeBlocks[sizeClass] = pool[block];
+            return block;
+        }
+        int length = 1 << sizeClass;
+        if (poolUsed + length > pool.length) {
+            int capacity = Math.max(poolUsed + length, pool.length * 2);
+            pool = Arrays.copyOf(pool, capacity);
+            poolChars = Arrays.copyOf(poolChars, capacity);
+        }
+        block = poolUsed;
+        poolUsed += length;
+        return block;
+    }
+
+    private void freeBlock(int block, int sizeClass) {
+        pool[block] = freeBlocks[sizeClass];
+        freeBlocks[sizeClass] = block;
+    }
+
+    // Copy s[from..to) to the end of the label buffer, returns where it starts
+    private int appendText(CharSequence s, int from, int to) {
+        int length = to - from;
+        if (textUsed + length > text.length) {
+            text = Arrays.copyOf(text, Math.max(textUsed + length, text.length * 2));
+        }
+        int start = textUsed;
+        for (int i = from; i < to; i++) text[textUsed++] = s.charAt(i);
+        return start;
+    }
+
+    // Copy every live label into a fresh buffer once most of the old one is dead
+    private void compactTextIfSparse() {
+        if (dead < 1024 || dead * 2 < textUsed) return;
+        char[] fresh = new char[Math.max(16, (textUsed - dead) * 2)];
+        int at = 0;
+        for (int node = 0; node < used; node++) {
+            // Free nodes have NIL-chained base and no label to keep
+            if (labelLength[node] == 0) continue;
+            System.arraycopy(text, labelStart[node], fresh, at, labelLength[node]);
+            labelStart[node] = at;
+            at += labelLength[node];
+        }
+        text = fresh;
+        textUsed = at;
+        dead = 0;
+    }
+
+    private int newNode(int start, int length) {
+        int node = freeNodes;
+        if (node != NIL) {
+            freeNodes = base[node];
+        } else {
+            if (used == base.length) {
+                int capacity = used * 2;
+                labelStart = Arrays.copyOf(labelStart, capacity);
+                labelLength = Arrays.copyOf(labelLength, capacity);
+                base = Arrays.copyOf(base, capacity);
+                fanout = Arrays.copyOf(fanout, capacity);
+                flags = Arrays.copyOf(flags, capacity);
+                weight = Arrays.copyOf(weight, capacity);
+                best = Arrays.copyOf(best, capacity);
+            }
+            node = used++;
+        }
+        labelStart[node] = start;
+        labelLength[node] = length;
+        base[node] = NIL;
+        fanout[node] = 0;
+        flags[node] = 0;
+        weight[node] = 0;
+        best[node] = NO_WEIGHT;
+        nodes++;
+        return node;
+    }
+
+    // Only nodes without children are freed, so there is no block to return
+    private void freeNode(int node) {
+        labelLength[node] = 0;
+        base[node] = freeNodes;
+        freeNodes = node;
+        nodes--;
+    }
+
+    // Children sorted by first label character and matching it, no empty labels below the
+    // root, no non-word node with fewer than two children, subtree maxima current, every live
+    // node reached once
+    public boolean isValid() {
+        int[] stack = new int[16];
+        int top = 1, seen = 0, words = 0;
+        stack[0] = ROOT;
+        while (top > 0) {
+            int node = stack[--top];
+            seen++;
+            if (isWord(node)) words++;
+            int n = fanout[node];
+            if ((n == 0) != (base[node] == NIL)) return false;
+            if (node != ROOT) {
+                if (labelLength[node] == 0) return false;
+                if (!isWord(node) && n < 2) return false;
+            }
+            if (best[node] != subtreeBest(node)) return false;
+            for (int i = 0; i < n; i++) {
+                int child = pool[base[node] + i];
+                if (poolChars[base[node] + i] != text[labelStart[child]]) return false;
+                if (i > 0 && poolChars[base[node] + i] <= poolChars[base[node] + i - 1]) return false;
+                if (top == stack.length) stack = Arrays.copyOf(stack, top * 2);
+                stack[top++] = child;
+            }
+        }
+        return seen == nodes && words == size;
+    }
+}
@@ -0,0 +1,62 @@
+// Search Benchmark - Lookup latency of the pointer-linked BST vs the frozen Eytzinger array
+// Features: Balanced IntBST, IntEytzinger frozen from it and Arrays.binarySearch on the sorted
+// keys, 10^3 to 10^7 keys, half hits and half misses in random order, warm-up rounds
+// before timing, nanoseconds per lookup report
+// Usage: java -Xmx2g SearchBenchmark [maxKeys]   (default 10,000,000)
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class SearchBenchmark {
+    private static final int QUERIES = 1 << 22;
+    private static final int WARMUP_ROUNDS = 3;
+
+    private static long sink;
+
+    public static void main(String[] args) {
+        int maxKeys = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        System.out.println("Lookups per run: " + QUERIES + " (half hits, half misses)");
+        System.out.println(String.format("%-12s %12s %12s %12s", "keys", "IntBST", "Eytzinger", "binary"));
+        for (int n = 1_000; n <= maxKeys; n *= 10) {
+            run(n);
+        }
+        if (sink == 42) System.out.println();
+    }
+
+    private interface Lookup {
+        boolean contains(int k);
+    }
+
+    private static void run(int n) {
+        Random random = new Random(42);
+        // Even keys only, so every odd query is a guaranteed miss
+        int[] keys = IntKeys.randomUnique(n, n * 4, random);
+        for (int i = 0; i < n; i++) keys[i] *= 2;
+        int[] queries = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = (i & 1) == 0 ? keys[random.nextInt(n)] : 2 * random.nextInt(n * 4) + 1;
+        }
+
+        IntBST tree = new IntBST(n);
+        tree.buildFrom(keys);
+        IntEytzinger frozen = IntEytzinger.freeze(tree);
+        int[] sorted = tree.toSortedArray();
+
+        System.out.println(String.format("%-12d %12s %12s %12s", n,
+            time(queries, tree::contains),
+            time(queries, frozen::contains),
+            time(queries, k -> Arrays.binarySearch(sorted, k) >= 0)));
+    }
+
+    private static String time(int[] queries, Lookup lookup) {
+        long nanos = 0;
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            long start = System.nanoTime();
+            int found = 0;
+            for (int k : queries) if (lookup.contains(k)) found++;
+            nanos = System.nanoTime() - start;
+            sink += found;
+        }
+        return String.format("%.1f ns", nanos / (double) queries.length);
+    }
+}
@@ -0,0 +1,246 @@
+// Skip List Canvas - Custom-painted towers and forward links of an IntSkipList
+// Features: One column per key in key order with the head tower first and a nil column last,
+// each tower as tall as its level count, forward links as arrows per level, only the columns
+// inside the viewport are drawn (links entering from off-screen towers are found with a
+// predecessor search), highlighted search path, drag or mouse wheel to scroll
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import javax.swing.JPanel;
+
+public class SkipListCanvas extends JPanel {
+    public static final int COLUMN_WIDTH = 64;
+    private static final int CELL_WIDTH = 40;
+    private static final int MAX_LEVEL_STEP = 34;
+    private static final int MIN_LEVEL_STEP = 6;
+    private static final int MARGIN = 20;
+    private static final int LABEL_HEIGHT = 22;
+
+    private static final Font KEY_FONT = new Font("Arial", Font.BOLD, 13);
+    private static final Font LEVEL_FONT = new Font("Arial", Font.PLAIN, 10);
+    private static final BasicStroke LINK_STROKE = new BasicStroke(1.5f);
+    private static final BasicStroke PATH_STROKE = new BasicStroke(3.0f);
+
+    private static final Color CELL_COLOR = new Color(135, 206, 250);
+    private static final Color HEAD_COLOR = new Color(190, 190, 190);
+    private static final Color PATH_COLOR = new Color(255, 165, 0);
+    private static final Color FOUND_COLOR = new Color(255, 215, 0);
+    private static final Color PATH_LINE_COLOR = new Color(220, 20, 60);
+
+    private IntSkipList list;
+    // Node ids in key order; column c > 0 holds order[c - 1], column 0 is the head
+    private int[] order = new int[16];
+    private int[] columnOf = new int[16];
+    private int count;
+    private int[] preds = new int[IntSkipList.DEFAULT_MAX_LEVEL];
+
+    private boolean showPath;
+    private int target = IntSkipList.NIL;
+    // Horizontal scroll in pixels from the head column
+    private double scroll;
+
+    public SkipListCanvas(IntSkipList list) {
+        setList(list);
+
+        MouseAdapter navigation = new MouseAdapter() {
+            private int lastX;
+
+            @Override
+            public void mousePressed(MouseEvent e) {
+                lastX = e.getX();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                scrollTo(scroll - (e.getX() - lastX));
+                lastX = e.getX();
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                scrollTo(scroll + e.getPreciseWheelRotation() * COLUMN_WIDTH * 3);
+            }
+        };
+        addMouseListener(navigation);
+        addMouseMotionListener(navigation);
+        addMouseWheelListener(navigation);
+    }
+
+    public void setList(IntSkipList list) {
+        this.list = list;
+        preds = new int[list.maxLevel()];
+        showPath = false;
+        target = IntSkipList.NIL;
+        refresh();
+    }
+
+    // Rebuild the column order after the list changed; O(n)
+    public void refresh() {
+        if (order.length < list.size()) {
+            order = new int[Math.max(list.size(), order.length * 2)];
+        }
+        if (columnOf.length < list.capacity()) {
+            columnOf = new int[list.capacity()];
+        }
+        count = 0;
+        list.nodes(node -> {
+            order[count] = node;
+            columnOf[node] = ++count;
+        });
+        scrollTo(scroll);
+    }
+
+    // Highlight the path recorded by the list's last operation, ending at target (or NIL)
+    public void showPath(int target) {
+        showPath = true;
+        this.target = target;
+        repaint();
+    }
+
+    public void hidePath() {
+        showPath = false;
+        target = IntSkipList.NIL;
+        repaint();
+    }
+
+    // Scroll so that the node's column sits in the middle of the canvas
+    public void reveal(int node) {
+        scrollTo(columnOf[node] * (double) COLUMN_WIDTH + COLUMN_WIDTH / 2.0 - getWidth() / 2.0);
+    }
+
+    private void scrollTo(double pixels) {
+        double max = Math.max(0, (count + 2) * (double) COLUMN_WIDTH + 2 * MARGIN - getWidth());
+        scroll = Math.max(0, Math.min(max, pixels));
+        repaint();
+    }
+
+    private int nodeAt(int column) {
+        return column == 0 ? IntSkipList.HEAD : order[column - 1];
+    }
+
+    // Column of a link target; NIL links end in the nil column after the last key
+    private int columnOfLink(int node) {
+        return node == IntSkipList.NIL ? count + 1 : columnOf[node];
+    }
+
+    private int columnX(int column) {
+        return (int) Math.round(MARGIN + column * (double) COLUMN_WIDTH - scroll);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        int levels = Math.max(list.height(), 1);
+        int step = Math.max(MIN_LEVEL_STEP, Math.min(MAX_LEVEL_STEP,
+            (getHeight() - 2 * MARGIN - LABEL_HEIGHT) / levels));
+        int cellHeight = Math.max(step - 6, 3);
+        int baseY = getHeight() - MARGIN - LABEL_HEIGHT;
+        int inset = (COLUMN_WIDTH - CELL_WIDTH) / 2;
+
+        // Only the columns that intersect the canvas are drawn
+        int from = Math.max(0, (int) ((scroll - MARGIN) / COLUMN_WIDTH));
+        int to = (int) Math.min(count + 1, (long) ((scroll + getWidth()) / COLUMN_WIDTH) + 1);
+
+        // Links entering the viewport from towers left of it
+        g2.setStroke(LINK_STROKE);
+        g2.setColor(Color.GRAY);
+        if (from > 0 && from <= count && list.height() > 0) {
+            list.predecessors(list.key(nodeAt(from)), preds);
+            for (int level = 0; level < list.height(); level++) {
+                int pred = preds[level];
+                int column = pred == IntSkipList.HEAD ? 0 : columnOf[pred];
+                if (column < from) {
+                    drawLink(g2, column, columnOfLink(list.next(pred, level)), level, step, cellHeight, baseY, inset);
+                }
+            }
+        }
+
+        FontMetrics keyMetrics = g2.getFontMetrics(KEY_FONT);
+        for (int column = from; column <= to; column++) {
+            int x = columnX(column);
+            if (column == count + 1) {
+                // Every level ends here
+                g2.setColor(Color.DARK_GRAY);
+                g2.setStroke(LINK_STROKE);
+                g2.drawLine(x + inset, baseY - levels * step, x + inset, baseY);
+                g2.setFont(KEY_FONT);
+                g2.drawString("nil", x + inset - keyMetrics.stringWidth("nil") / 2, baseY + LABEL_HEIGHT - 4);
+                continue;
+            }
+            int node = nodeAt(column);
+            int height = column == 0 ? levels : list.towerHeight(node);
+            for (int level = 0; level < height; level++) {
+                int y = baseY - (level + 1) * step + (step - cellHeight) / 2;
+                g2.setColor(cellColor(column, node, level));
+                g2.fillRect(x + inset, y, CELL_WIDTH, cellHeight);
+                g2.setColor(Color.BLACK);
+                g2.setStroke(LINK_STROKE);
+                g2.drawRect(x + inset, y, CELL_WIDTH, cellHeight);
+                g2.setColor(Color.GRAY);
+                drawLink(g2, column, columnOfLink(list.next(node, level)), level, step, cellHeight, baseY, inset);
+                if (column == 0 && step >= 14) {
+                    g2.setFont(LEVEL_FONT);
+                    g2.setColor(Color.DARK_GRAY);
+                    g2.drawString(String.valueOf(level), x + inset + 4, y + cellHeight - 3);
+                }
+            }
+            String label = column == 0 ? "head" : String.valueOf(list.key(node));
+            g2.setFont(KEY_FONT);
+            g2.setColor(Color.BLACK);
+            g2.drawString(label, x + (COLUMN_WIDTH - keyMetrics.stringWidth(label)) / 2, baseY + LABEL_HEIGHT - 4);
+        }
+
+        if (showPath) {
+            paintPath(g2, step, cellHeight, baseY, inset);
+        }
+        g2.dispose();
+    }
+
+    private Color cellColor(int column, int node, int level) {
+        if (showPath) {
+            if (node == target && column > 0) return FOUND_COLOR;
+            for (int i = 0; i < list.pathLength(); i++) {
+                if (list.pathNode(i) == node && list.pathLevel(i) == level) return PATH_COLOR;
+            }
+        }
+        return column == 0 ? HEAD_COLOR : CELL_COLOR;
+    }
+
+    // Arrow from the right edge of a cell to the left edge of the next tower on the same level
+    private void drawLink(Graphics2D g2, int fromColumn, int toColumn, int level, int step, int cellHeight,
+            int baseY, int inset) {
+        int y = baseY - (level + 1) * step + step / 2;
+        int x1 = columnX(fromColumn) + inset + CELL_WIDTH;
+        int x2 = columnX(toColumn) + inset;
+        g2.drawLine(x1, y, x2, y);
+        int head = Math.min(6, Math.max(2, cellHeight / 3));
+        g2.drawLine(x2, y, x2 - head, y - head);
+        g2.drawLine(x2, y, x2 - head, y + head);
+    }
+
+    // The walk: right along a level, then down a tower
+    private void paintPath(Graphics2D g2, int step, int cellHeight, int baseY, int inset) {
+        g2.setColor(PATH_LINE_COLOR);
+        g2.setStroke(PATH_STROKE);
+        int prevX = 0, prevY = 0;
+        for (int i = 0; i < list.pathLength(); i++) {
+            int node = list.pathNode(i);
+            int x = columnX(node == IntSkipList.HEAD ? 0 : columnOf[node]) + inset + CELL_WIDTH / 2;
+            int y = baseY - list.pathLevel(i) * step - step / 2;
+            if (i > 0) g2.drawLine(prevX, prevY, x, y);
+            prevX = x;
+            prevY = y;
+        }
+    }
+}
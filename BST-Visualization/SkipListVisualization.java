@@ -0,0 +1,386 @@
+// Skip List Visualization - Towers, forward links and search paths of a skip list
+// Features: IntSkipList drawn on the SkipListCanvas, configurable level probability p and
+// maximum level (changing either rebuilds the list from its keys), search path highlighted
+// for insert and search, tower-height histogram against the expected geometric
+// distribution, keys compared per operation
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Cursor;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.Arrays;
+import java.util.Random;
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JComboBox;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JSpinner;
+import javax.swing.JTextField;
+import javax.swing.SpinnerNumberModel;
+import javax.swing.SwingUtilities;
+
+public class SkipListVisualization extends JFrame implements ActionListener, KeyListener {
+    private static final String[] PROBABILITIES = {"p = 1/2", "p = 1/4", "p = 1/e", "p = 1/8"};
+    private static final double[] PROBABILITY_VALUES = {0.5, 0.25, 1 / Math.E, 0.125};
+
+    private IntSkipList list;
+    private int[] towerCounts = new int[IntSkipList.DEFAULT_MAX_LEVEL];
+
+    private JPanel topPanel, infoPanel, histogramPanel;
+    private JPanel topLeftPanel, topRightPanel;
+    private SkipListCanvas canvas;
+    private JComboBox<String> probabilityBox;
+    private JSpinner maxLevelSpinner;
+    private JButton btnAdd, btnDelete, btnSearch, btnRandom, btnClear, btnHelp, btnBack;
+    private JTextField tf;
+    private JLabel ansLevels, ansKeys, ansLastOp, ansExpected;
+
+    private static final Color OBSERVED_COLOR = new Color(135, 206, 250);
+    private static final Color EXPECTED_COLOR = new Color(220, 20, 60);
+
+    public SkipListVisualization() {
+        initialize();
+    }
+
+    private void initialize() {
+        setTitle("Skip List - Towers and Search Paths");
+        setSize(1400, 800);
+        getContentPane().setBackground(new Color(240, 248, 255));
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        setLocationRelativeTo(null);
+
+        list = new IntSkipList(PROBABILITY_VALUES[0], 16);
+        setupPanels();
+        setupControls();
+        listChanged();
+
+        setVisible(true);
+    }
+
+    private void setupPanels() {
+        topPanel = new JPanel(new BorderLayout());
+        topPanel.setBackground(new Color(230, 240, 250));
+        topPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        topLeftPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 10));
+        topLeftPanel.setBackground(new Color(230, 240, 250));
+        topPanel.add(topLeftPanel, BorderLayout.WEST);
+
+        topRightPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        topRightPanel.setBackground(new Color(230, 240, 250));
+        topPanel.add(topRightPanel, BorderLayout.EAST);
+
+        canvas = new SkipListCanvas(list);
+        canvas.setBackground(new Color(248, 248, 255));
+
+        histogramPanel = new JPanel() {
+            @Override
+            protected void paintComponent(Graphics g) {
+                super.paintComponent(g);
+                paintHistogram((Graphics2D) g);
+            }
+        };
+        histogramPanel.setPreferredSize(new Dimension(280, 0));
+        histogramPanel.setBackground(new Color(245, 245, 245));
+        histogramPanel.setBorder(BorderFactory.createTitledBorder("Tower Heights"));
+
+        infoPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 20, 10));
+        infoPanel.setBackground(new Color(245, 245, 245));
+        infoPanel.setBorder(BorderFactory.createTitledBorder("Operation Cost"));
+
+        add(topPanel, BorderLayout.NORTH);
+        add(canvas, BorderLayout.CENTER);
+        add(histogramPanel, BorderLayout.EAST);
+        add(infoPanel, BorderLayout.SOUTH);
+    }
+
+    private void setupControls() {
+        probabilityBox = new JComboBox<>(PROBABILITIES);
+        probabilityBox.setFont(new Font("Arial", Font.BOLD, 14));
+        probabilityBox.addActionListener(e -> rebuild());
+        topLeftPanel.add(probabilityBox);
+
+        topLeftPanel.add(boldLabel("Max level:"));
+        maxLevelSpinner = new JSpinner(new SpinnerNumberModel(16, 1, IntSkipList.DEFAULT_MAX_LEVEL, 1));
+        maxLevelSpinner.addChangeListener(e -> rebuild());
+        topLeftPanel.add(maxLevelSpinner);
+
+        // Statistics
+        topLeftPanel.add(boldLabel("  Levels: "));
+        ansLevels = boldLabel("0");
+        topLeftPanel.add(ansLevels);
+        topLeftPanel.add(boldLabel("  |  Keys: "));
+        ansKeys = boldLabel("0");
+        topLeftPanel.add(ansKeys);
+
+        // Input field
+        tf = new JTextField();
+        tf.setFont(new Font("Arial", Font.BOLD, 16));
+        tf.setPreferredSize(new Dimension(120, 35));
+        tf.addKeyListener(this);
+        tf.setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(Color.GRAY, 1),
+            BorderFactory.createEmptyBorder(5, 10, 5, 10)
+        ));
+        topRightPanel.add(tf);
+
+        // Buttons
+        btnAdd = createStyledButton("Add", new Color(60, 179, 113));
+        btnDelete = createStyledButton("Delete", new Color(220, 20, 60));
+        btnSearch = createStyledButton("Search", new Color(30, 144, 255));
+        btnRandom = createStyledButton("Random", new Color(184, 134, 11));
+        btnClear = createStyledButton("Clear", new Color(255, 140, 0));
+        btnHelp = createStyledButton("Help", new Color(70, 130, 180));
+        btnBack = createStyledButton("← Back", new Color(105, 105, 105));
+
+        for (JButton button : new JButton[] {btnAdd, btnDelete, btnSearch, btnRandom, btnClear, btnHelp, btnBack}) {
+            button.addActionListener(this);
+            topRightPanel.add(button);
+        }
+
+        ansLastOp = new JLabel("Last operation: -");
+        ansLastOp.setFont(new Font("Arial", Font.PLAIN, 14));
+        infoPanel.add(ansLastOp);
+        ansExpected = new JLabel();
+        ansExpected.setFont(new Font("Arial", Font.PLAIN, 14));
+        infoPanel.add(ansExpected);
+    }
+
+    private JLabel boldLabel(String text) {
+        JLabel label = new JLabel(text);
+        label.setFont(new Font("Arial", Font.BOLD, 16));
+        return label;
+    }
+
+    private JButton createStyledButton(String text, Color backgroundColor) {
+        JButton button = new JButton(text);
+        button.setFont(new Font("Arial", Font.BOLD, 12));
+        button.setPreferredSize(new Dimension(80, 35));
+        button.setBackground(backgroundColor);
+        button.setForeground(Color.WHITE);
+        button.setBorderPainted(false);
+        button.setFocusPainted(false);
+        button.setCursor(new Cursor(Cursor.HAND_CURSOR));
+
+        button.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseEntered(MouseEvent e) {
+                button.setBackground(backgroundColor.brighter());
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                button.setBackground(backgroundColor);
+            }
+        });
+
+        return button;
+    }
+
+    // New p or max level: the keys are reinserted, so every tower is drawn again
+    private void rebuild() {
+        int[] keys = new int[list.size()];
+        int[] count = {0};
+        list.inorder(k -> keys[count[0]++] = k);
+        list = new IntSkipList(PROBABILITY_VALUES[probabilityBox.getSelectedIndex()],
+            (Integer) maxLevelSpinner.getValue(), Math.max(keys.length, 16), 42);
+        for (int k : keys) list.insert(k);
+        canvas.setList(list);
+        listChanged();
+    }
+
+    // List Operations
+    public void add(int value) {
+        boolean inserted = list.insert(value);
+        // The recorded path ends at the new tower, or at the key that was already there
+        int node = list.pathNode(list.pathLength() - 1);
+        listChanged();
+        canvas.showPath(node);
+        canvas.reveal(node);
+        if (!inserted) {
+            JOptionPane.showMessageDialog(this, value + " is already in the list.");
+        }
+    }
+
+    // The deleted tower is gone, so there is no path to draw
+    public void delete(int value) {
+        boolean deleted = list.delete(value);
+        canvas.hidePath();
+        listChanged();
+        if (!deleted) {
+            JOptionPane.showMessageDialog(this, value + " is not available.");
+        }
+    }
+
+    public void search(int value) {
+        int node = list.find(value);
+        updateInfo();
+        canvas.showPath(node);
+        if (node != IntSkipList.NIL) {
+            canvas.reveal(node);
+        } else {
+            JOptionPane.showMessageDialog(this, value + " not found.");
+        }
+    }
+
+    private void addRandom() {
+        String[] options = {"15 keys", "1,000 keys", "100,000 keys"};
+        int choice = JOptionPane.showOptionDialog(this, "Insert random keys:", "Random Keys",
+            JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+        if (choice < 0) return;
+        int count = choice == 0 ? 15 : choice == 1 ? 1000 : 100_000;
+        Random random = new Random();
+        for (int i = 0; i < count; i++) {
+            list.insert(random.nextInt(count * 10));
+        }
+        canvas.hidePath();
+        listChanged();
+    }
+
+    private void listChanged() {
+        canvas.refresh();
+        if (towerCounts.length < list.maxLevel()) {
+            towerCounts = new int[list.maxLevel()];
+        }
+        Arrays.fill(towerCounts, 0);
+        list.towerHeights(towerCounts);
+        histogramPanel.repaint();
+        updateInfo();
+    }
+
+    private void updateInfo() {
+        ansLevels.setText(String.valueOf(list.height()));
+        ansKeys.setText(String.valueOf(list.size()));
+        ansLastOp.setText("Last operation: " + list.lastTouches() + " keys compared, "
+            + list.pathLength() + " steps");
+        double p = list.probability();
+        int n = list.size();
+        // Expected top level is about log_{1/p} n; a search compares about log_{1/p} n / p keys
+        double expectedLevels = n < 2 ? n : Math.log(n) / Math.log(1 / p);
+        ansExpected.setText(String.format("Expected: about %.1f levels, %.1f keys compared per search",
+            expectedLevels, n < 2 ? n : expectedLevels / p));
+    }
+
+    // Observed towers of each height against n * (1 - p) * p^(h - 1)
+    private void paintHistogram(Graphics2D g2) {
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        int levels = Math.max(list.height(), 1);
+        int n = list.size();
+        double p = list.probability();
+        int left = 40, top = 30, width = histogramPanel.getWidth() - left - 20;
+        int rowHeight = Math.max(4, Math.min(28, (histogramPanel.getHeight() - top - 40) / levels));
+        int most = 1;
+        for (int h = 0; h < levels; h++) most = Math.max(most, towerCounts[h]);
+
+        g2.setFont(new Font("Arial", Font.PLAIN, 11));
+        double expected = n * (1 - p);
+        for (int h = 0; h < levels; h++, expected *= p) {
+            // The top level also holds every tower capped at the max level
+            double expectedHere = h == list.maxLevel() - 1 ? expected / (1 - p) : expected;
+            int y = top + (levels - 1 - h) * rowHeight;
+            int barWidth = (int) ((long) towerCounts[h] * width / most);
+            g2.setColor(OBSERVED_COLOR);
+            g2.fillRect(left, y + 1, barWidth, rowHeight - 2);
+            g2.setColor(EXPECTED_COLOR);
+            int expectedX = left + (int) Math.min(width, expectedHere * width / most);
+            g2.drawLine(expectedX, y, expectedX, y + rowHeight - 1);
+            if (rowHeight >= 10) {
+                g2.setColor(Color.BLACK);
+                g2.drawString(String.valueOf(h + 1), 14, y + rowHeight / 2 + 4);
+                g2.drawString(String.valueOf(towerCounts[h]), left + 4, y + rowHeight / 2 + 4);
+            }
+        }
+        g2.setColor(Color.BLACK);
+        g2.drawString("bar = observed, red line = expected", left - 20, top + levels * rowHeight + 18);
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        if (e.getSource() == btnBack) {
+            dispose();
+            SwingUtilities.invokeLater(DSAVisualizationMain::new);
+            return;
+        } else if (e.getSource() == btnClear) {
+            list.clear();
+            canvas.hidePath();
+            listChanged();
+            return;
+        } else if (e.getSource() == btnRandom) {
+            addRandom();
+            return;
+        } else if (e.getSource() == btnHelp) {
+            showHelp();
+            return;
+        }
+
+        String input = tf.getText().trim();
+        if (input.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "Please enter a number!");
+            return;
+        }
+
+        try {
+            int value = Integer.parseInt(input);
+            if (e.getSource() == btnAdd) {
+                add(value);
+            } else if (e.getSource() == btnDelete) {
+                delete(value);
+            } else if (e.getSource() == btnSearch) {
+                search(value);
+            }
+            tf.setText("");
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Please enter a valid integer!");
+        }
+    }
+
+    private void showHelp() {
+        String helpText = "<html><body style='width: 500px;'>" +
+            "<h2>Skip List</h2>" +
+            "<p>A sorted linked list with express lanes. Every key gets a tower: level 1 always, " +
+            "and each further level with probability p, up to the max level.</p>" +
+            "<ul>" +
+            "<li><b>Search:</b> Start at the top of the head tower, move right while the next key is " +
+            "smaller, otherwise drop one level (path in red, visited cells in orange)</li>" +
+            "<li><b>Add:</b> Search, then link a new tower of random height after the last " +
+            "node visited on each level</li>" +
+            "<li><b>Delete:</b> Search, then unlink the tower on every level it reaches</li>" +
+            "<li><b>p / Max level:</b> Changing either rebuilds the list from its keys. Smaller p " +
+            "gives fewer levels and links but more keys compared per level</li>" +
+            "</ul>" +
+            "<p>The histogram on the right compares tower heights with the expected " +
+            "n(1-p)p<sup>h-1</sup>.</p>" +
+            "<p>Drag or use the mouse wheel to scroll.</p>" +
+            "<p>Headless throughput against IntBST and IntAVL: <code>java TreeBenchmark [keys]</code></p>" +
+            "</body></html>";
+
+        JOptionPane.showMessageDialog(this, helpText, "Skip List Help", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    @Override
+    public void keyTyped(KeyEvent e) {
+        if (e.getKeyChar() == KeyEvent.VK_ENTER) {
+            btnAdd.doClick();
+        }
+    }
+
+    @Override
+    public void keyPressed(KeyEvent e) {}
+
+    @Override
+    public void keyReleased(KeyEvent e) {}
+}
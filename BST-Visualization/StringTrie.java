@@ -0,0 +1,80 @@
+// String Trie - Read-only interface of the trie engines behind TrieVisualization
+// Features: Contains of words, nodes addressed by int ids with the root at
+// ROOT, ordered children with the characters on each edge, a recorded root-to-node walk for
+// highlighting, prefix enumeration with a limit, node and byte counts, so the view can switch
+// engines and compare them on the same words; words carry an int weight (a frequency score,
+// 0 unless given) and the best-weighted completions of a prefix come from a bounded
+// best-first search over the per-node subtree maximum
+//
+// Engines that take single-word updates implement MutableStringTrie; a static dictionary
+// (Dafsa) can only be cleared or rebuilt as a whole.
+
+import java.util.List;
+
+public interface StringTrie {
+    int NIL = -1;
+    int ROOT = 0;
+    int NO_WEIGHT = Integer.MIN_VALUE;
+
+    // Short display name, e.g. "Radix"
+    String name();
+
+    int size();
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    // Live nodes, including the root
+    int nodeCount();
+
+    // Node ids are below this; arrays indexed by node id need this many slots
+    int nodeCapacity();
+
+    long memoryBytes();
+
+    void clear();
+
+    boolean contains(CharSequence word);
+
+    // Weight of the word, 0 if it is not present
+    int weightOf(CharSequence word);
+
+    boolean isWord(int node);
+
+    int childCount(int node);
+
+    // The i-th child of node and the characters on the edge to it: one character in a plain
+    // trie, a whole run in a path-compressed one
+    int childAt(int node, int i);
+
+    String childLabel(int node, int i);
+
+    // Weight of the word ending at node (0 if none), and the highest weight of any word at or
+    // below node (NO_WEIGHT if there is none)
+    int weight(int node);
+
+    int bestWeight(int node);
+
+    // Follow s from the root, recording each node entered (the root excluded). Returns the
+    // number of characters matched; the walk may end part-way along the last node's edge.
+    int walk(CharSequence s);
+
+    int pathLength();
+
+    int pathNode(int i);
+
+    // Append every word starting with prefix to out, stopping after limit words; each word
+    // comes before its extensions. Returns the number added.
+    int collect(CharSequence prefix, int limit, List<String> out);
+
+    // Append the k highest-weighted words starting with prefix to out, best first; ties go
+    // to the word the search reaches first (with equal weights throughout: shorter first,
+    // then in child order). Returns the number added.
+    int topK(CharSequence prefix, int k, List<String> out);
+
+    // Replace the contents with the given words, in any order
+    void build(List<String> words);
+
+    boolean isValid();
+}
@@ -0,0 +1,139 @@
+// Top-K Completions - Bounded best-first search for the highest-weighted words under a node
+// Features: Works on any StringTrie through its node API and the subtree maximum each engine
+// keeps per node (bestWeight), so a node is only expanded while it can still beat the words
+// already found; a max-heap of candidates (a subtree scored by its best word, or a word by
+// its own weight) in parallel int arrays, ties broken first-come (breadth-first among equal
+// weights, so shorter words first, then in child order); words are spelled only for the
+// results, by following each candidate's parent entry; scratch arrays are reused between
+// searches
+//
+// Work is about k * depth * fanout heap operations whatever the size of the subtree.
+
+import java.util.Arrays;
+import java.util.List;
+
+public class TopKCompletions {
+    // Expanded entries: trie node, entry it was reached from and its index among that
+    // entry's children
+    private int[] entryNode = new int[64];
+    private int[] entryParent = new int[64];
+    private int[] entryChild = new int[64];
+    private int entries;
+
+    // Candidate heap: score, arrival order and entry * 2 + (1 for a word, 0 for a subtree)
+    private int[] heapScore = new int[64];
+    private int[] heapSeq = new int[64];
+    private int[] heapItem = new int[64];
+    private int heapSize;
+    private int seq;
+
+    private int expanded;
+    private final StringBuilder suffix = new StringBuilder();
+
+    // Nodes expanded by the last search
+    public int expanded() {
+        return expanded;
+    }
+
+    // Append the k best words at or below node to out, best first; path spells node.
+    // Returns the number added.
+    public int search(StringTrie trie, int node, String path, int k, List<String> out) {
+        entries = 0;
+        heapSize = 0;
+        seq = 0;
+        expanded = 0;
+        if (node == StringTrie.NIL || k <= 0) return 0;
+        push(trie.bestWeight(node), newEntry(node, -1, -1) * 2);
+
+        int added = 0;
+        while (heapSize > 0 && added < k) {
+            int item = heapItem[0];
+            pop();
+            int entry = item >>> 1;
+            if ((item & 1) != 0) {
+                out.add(spell(trie, entry, path));
+                added++;
+                continue;
+            }
+            // A subtree: its word competes on its own weight, each child on its best
+            expanded++;
+            int current = entryNode[entry];
+            if (trie.isWord(current)) push(trie.weight(current), entry * 2 + 1);
+            for (int i = 0, n = trie.childCount(current); i < n; i++) {
+                int child = trie.childAt(current, i);
+                push(trie.bestWeight(child), newEntry(child, entry, i) * 2);
+            }
+        }
+        return added;
+    }
+
+    private int newEntry(int node, int parent, int child) {
+        if (entries == entryNode.length) {
+            entryNode = Arrays.copyOf(entryNode, entries * 2);
+            entryParent = Arrays.copyOf(entryParent, entries * 2);
+            entryChild = Arrays.copyOf(entryChild, entries * 2);
+        }
+        entryNode[entries] = node;
+        entryParent[entries] = parent;
+        entryChild[entries] = child;
+        return entries++;
+    }
+
+    // Path plus the edge labels from the search root down to entry
+    private String spell(StringTrie trie, int entry, String path) {
+        suffix.setLength(0);
+        for (int e = entry; entryParent[e] >= 0; e = entryParent[e]) {
+            String label = trie.childLabel(entryNode[entryParent[e]], entryChild[e]);
+            suffix.insert(0, label);
+        }
+        return path + suffix;
+    }
+
+    // Higher score first, then earlier arrival
+    private boolean before(int i, int j) {
+        return heapScore[i] > heapScore[j] || (heapScore[i] == heapScore[j] && heapSeq[i] < heapSeq[j]);
+    }
+
+    private void push(int score, int item) {
+        if (heapSize == heapScore.length) {
+            heapScore = Arrays.copyOf(heapScore, heapSize * 2);
+            heapSeq = Arrays.copyOf(heapSeq, heapSize * 2);
+            heapItem = Arrays.copyOf(heapItem, heapSize * 2);
+        }
+        int i = heapSize++;
+        set(i, score, seq++, item);
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(i, parent)) break;
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void pop() {
+        heapSize--;
+        if (heapSize == 0) return;
+        set(0, heapScore[heapSize], heapSeq[heapSize], heapItem[heapSize]);
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && before(child + 1, child)) child++;
+            if (!before(child, i)) break;
+            swap(i, child);
+            i = child;
+        }
+    }
+
+    private void set(int i, int score, int sequence, int item) {
+        heapScore[i] = score;
+        heapSeq[i] = sequence;
+        heapItem[i] = item;
+    }
+
+    private void swap(int i, int j) {
+        int score = heapScore[i], sequence = heapSeq[i], item = heapItem[i];
+        set(i, heapScore[j], heapSeq[j], heapItem[j]);
+        set(j, score, sequence, item);
+    }
+}
@@ -0,0 +1,210 @@
+// Top-K Stream - Feeds an unbounded stream of ints into an IntTopK on a background thread
+// Features: Numbers from a file (any separators, parsed byte by byte through a fixed buffer)
+// or from an endless generator, handed over in fixed-size batches, one lock per batch so a
+// view can take consistent snapshots while it runs, item counter for the ingest rate;
+// memory stays at K ints plus one batch and one read buffer however long the stream is
+// Usage: java TopKStream [k] [seconds] [file]   (default 10 5, endless generator)
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+public class TopKStream {
+    public static final int BATCH = 4096;
+
+    // Fills batch from the front, returns the count or -1 once the stream has ended
+    public interface Source {
+        int read(int[] batch) throws IOException;
+
+        default void close() throws IOException {
+        }
+    }
+
+    private final Source source;
+    private final IntTopK topK;
+    private final int[] batch = new int[BATCH];
+    private volatile boolean running;
+    private volatile boolean finished;
+    private volatile long items;
+    private volatile IOException failure;
+    private Thread thread;
+
+    public TopKStream(Source source, IntTopK topK) {
+        this.source = source;
+        this.topK = topK;
+    }
+
+    // Uniform keys in [0, bound) from a xorshift generator, without end
+    public static Source generator(long seed, int bound) {
+        return new Source() {
+            private long state = seed == 0 ? 0x9E3779B97F4A7C15L : seed;
+
+            public int read(int[] batch) {
+                long x = state;
+                for (int i = 0; i < batch.length; i++) {
+                    x ^= x << 13;
+                    x ^= x >>> 7;
+                    x ^= x << 17;
+                    batch[i] = (int) ((x >>> 33) % bound);
+                }
+                state = x;
+                return batch.length;
+            }
+        };
+    }
+
+    // Decimal ints separated by anything that is not a digit or a leading minus sign
+    public static Source file(String path) throws IOException {
+        InputStream in = new FileInputStream(path);
+        return new Source() {
+            private final byte[] buffer = new byte[1 << 16];
+            private int position, limit;
+            private boolean ended;
+
+            public int read(int[] batch) throws IOException {
+                int count = 0;
+                while (count < batch.length) {
+                    int c = next();
+                    while (c >= 0 && c != '-' && (c < '0' || c > '9')) c = next();
+                    if (c < 0) break;
+                    boolean negative = c == '-';
+                    if (negative) c = next();
+                    long value = 0;
+                    boolean digits = false;
+                    while (c >= '0' && c <= '9') {
+                        value = value * 10 + (c - '0');
+                        digits = true;
+                        c = next();
+                    }
+                    if (digits) {
+                        batch[count++] = (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, negative ? -value : value));
+                    }
+                    if (c < 0) break;
+                }
+                return count == 0 && ended ? -1 : count;
+            }
+
+            private int next() throws IOException {
+                if (position == limit) {
+                    if (ended) return -1;
+                    limit = in.read(buffer);
+                    position = 0;
+                    if (limit <= 0) {
+                        ended = true;
+                        limit = 0;
+                        return -1;
+                    }
+                }
+                return buffer[position++];
+            }
+
+            public void close() throws IOException {
+                in.close();
+            }
+        };
+    }
+
+    public IntTopK topK() {
+        return topK;
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        finished = false;
+        thread = new Thread(this::run, "top-k-stream");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public synchronized void stop() {
+        running = false;
+        if (thread == null) return;
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                int count = source.read(batch);
+                if (count < 0) break;
+                synchronized (topK) {
+                    topK.offerAll(batch, count);
+                }
+                items += count;
+            }
+        } catch (IOException e) {
+            failure = e;
+        } finally {
+            try {
+                source.close();
+            } catch (IOException e) {
+                if (failure == null) failure = e;
+            }
+            finished = true;
+            running = false;
+        }
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    // True once the source ran dry, failed or the stream was stopped
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public long items() {
+        return items;
+    }
+
+    // The read error that ended the stream, or null
+    public IOException failure() {
+        return failure;
+    }
+
+    // Kept keys in heap array order, consistent with one batch boundary; returns the count
+    public int snapshot(int[] out) {
+        synchronized (topK) {
+            return topK.copyTo(out);
+        }
+    }
+
+    public int[] sortedSnapshot() {
+        synchronized (topK) {
+            return topK.toSortedArray();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int k = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        Source source = args.length > 2 ? file(args[2]) : generator(42, Integer.MAX_VALUE);
+        TopKStream stream = new TopKStream(source, new IntTopK(k, IntHeap.MIN));
+
+        Runtime runtime = Runtime.getRuntime();
+        stream.start();
+        long start = System.nanoTime(), last = start, lastItems = 0;
+        for (int s = 0; s < seconds && !stream.isFinished(); s++) {
+            Thread.sleep(1000);
+            long now = System.nanoTime(), items = stream.items();
+            System.out.println(String.format("%,15d items  %8.2f M items/s  heap used %,d KB", items,
+                (items - lastItems) * 1000.0 / (now - last), (runtime.totalMemory() - runtime.freeMemory()) >> 10));
+            last = now;
+            lastItems = items;
+        }
+        stream.stop();
+        if (stream.failure() != null) throw stream.failure();
+
+        long items = stream.items();
+        IntTopK topK = stream.topK();
+        System.out.println(String.format("%,d items in %.1f s, %,d entered the top %d, top-K storage %d bytes",
+            items, (System.nanoTime() - start) / 1e9, topK.accepted(), k, topK.memoryBytes()));
+        System.out.println("Top " + k + ": " + java.util.Arrays.toString(stream.sortedSnapshot()));
+    }
+}
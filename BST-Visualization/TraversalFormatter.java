@@ -0,0 +1,128 @@
+// Tree Traversal Formatter - Bounded, linear-time traversal text for the tree views
+// Features: One reusable StringBuilder, first-N rendering with a "…(k more)" suffix,
+// iterative walks that stop as soon as the output is full
+
+import java.util.Arrays;
+
+public class TraversalFormatter {
+    public static final int NIL = -1;
+
+    public enum Order { INORDER, PREORDER, POSTORDER }
+
+    // Binary tree whose nodes are addressed by int ids
+    public interface Tree {
+        int root();
+        int left(int node);
+        int right(int node);
+        int key(int node);
+    }
+
+    private final StringBuilder out = new StringBuilder();
+    private final int limit;
+    private int count;
+
+    private int[] stack = new int[64];
+    private boolean[] expanded = new boolean[64];
+
+    public TraversalFormatter(int limit) {
+        this.limit = limit;
+    }
+
+    // Format the first elements of a traversal; size is the total node count
+    // so the walk can stop early and still report how many were left out.
+    public String format(Tree tree, Order order, int size) {
+        begin();
+        int root = tree.root();
+        if (root != NIL) {
+            switch (order) {
+                case INORDER: inorder(tree, root); break;
+                case PREORDER: preorder(tree, root); break;
+                default: postorder(tree, root); break;
+            }
+        }
+        return finish(size);
+    }
+
+    // Streaming use for trees that are not addressed by ids: begin(), add()... then finish()
+    public void begin() {
+        out.setLength(0);
+        count = 0;
+    }
+
+    // Append one key, returns false once the output is full
+    public boolean add(int key) {
+        if (count >= limit) return false;
+        if (count > 0) out.append(' ');
+        out.append(key);
+        count++;
+        return count < limit;
+    }
+
+    public boolean add(String key) {
+        if (count >= limit) return false;
+        if (count > 0) out.append(' ');
+        out.append(key);
+        count++;
+        return count < limit;
+    }
+
+    public boolean isFull() {
+        return count >= limit;
+    }
+
+    public String finish(int size) {
+        if (size > count) {
+            out.append(" …(").append(size - count).append(" more)");
+        }
+        return out.toString();
+    }
+
+    private void inorder(Tree tree, int root) {
+        int top = 0;
+        int curr = root;
+        while (top > 0 || curr != NIL) {
+            while (curr != NIL) {
+                top = push(top, curr, false);
+                curr = tree.left(curr);
+            }
+            curr = stack[--top];
+            if (!add(tree.key(curr))) return;
+            curr = tree.right(curr);
+        }
+    }
+
+    private void preorder(Tree tree, int root) {
+        int top = push(0, root, false);
+        while (top > 0) {
+            int node = stack[--top];
+            if (!add(tree.key(node))) return;
+            if (tree.right(node) != NIL) top = push(top, tree.right(node), false);
+            if (tree.left(node) != NIL) top = push(top, tree.left(node), false);
+        }
+    }
+
+    // Each node is pushed once unexpanded and emitted when popped the second time
+    private void postorder(Tree tree, int root) {
+        int top = push(0, root, false);
+        while (top > 0) {
+            int node = stack[--top];
+            if (expanded[top]) {
+                if (!add(tree.key(node))) return;
+                continue;
+            }
+            top = push(top, node, true);
+            if (tree.right(node) != NIL) top = push(top, tree.right(node), false);
+            if (tree.left(node) != NIL) top = push(top, tree.left(node), false);
+        }
+    }
+
+    private int push(int top, int node, boolean isExpanded) {
+        if (top == stack.length) {
+            stack = Arrays.copyOf(stack, stack.length * 2);
+            expanded = Arrays.copyOf(expanded, stack.length);
+        }
+        stack[top] = node;
+        expanded[top] = isExpanded;
+        return top + 1;
+    }
+}
@@ -0,0 +1,135 @@
+// Tree Benchmark - Insert / search / delete throughput of the tree engines
+// Features: IntBST vs IntAVL vs IntSkipList (p = 1/2 and 1/4) vs java.util.TreeSet on the
+// same random and sorted key streams, warm-up rounds before timing, million operations
+// per second report
+// Usage: java TreeBenchmark [keys]   (default 1,000,000)
+
+import java.util.Random;
+import java.util.TreeSet;
+
+public class TreeBenchmark {
+    // Sorted input turns the plain BST into a linked list, so it gets fewer keys
+    private static final int BST_SORTED_LIMIT = 20_000;
+    private static final int WARMUP_ROUNDS = 3;
+
+    private static long sink;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int[] random = IntKeys.randomUnique(n, n * 8, new Random(42));
+        int[] sorted = IntKeys.sortedUnique(random);
+        int[] sortedSmall = new int[Math.min(n, BST_SORTED_LIMIT)];
+        System.arraycopy(sorted, 0, sortedSmall, 0, sortedSmall.length);
+
+        System.out.println("Keys: " + n + " (sorted BST run uses " + sortedSmall.length + ")");
+        System.out.println(String.format("%-22s %10s %10s %10s %8s", "", "insert", "search", "delete", "height"));
+        run("IntBST random", random, TreeBenchmark::bst);
+        run("IntAVL random", random, TreeBenchmark::avl);
+        run("SkipList 1/2 random", random, (keys, times) -> skipList(0.5, keys, times));
+        run("SkipList 1/4 random", random, (keys, times) -> skipList(0.25, keys, times));
+        run("TreeSet random", random, TreeBenchmark::treeSet);
+        run("IntBST sorted", sortedSmall, TreeBenchmark::bst);
+        run("IntAVL sorted", sorted, TreeBenchmark::avl);
+        run("SkipList 1/2 sorted", sorted, (keys, times) -> skipList(0.5, keys, times));
+        run("SkipList 1/4 sorted", sorted, (keys, times) -> skipList(0.25, keys, times));
+        run("TreeSet sorted", sorted, TreeBenchmark::treeSet);
+        if (sink == 42) System.out.println();
+    }
+
+    private interface Workload {
+        // Fills times[0..2] with insert, search and delete nanoseconds, returns the tree height
+        int measure(int[] keys, long[] times);
+    }
+
+    private static void run(String name, int[] keys, Workload workload) {
+        long[] times = new long[3];
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            workload.measure(keys, times);
+        }
+        int height = workload.measure(keys, times);
+        System.out.println(String.format("%-22s %10s %10s %10s %8s", name,
+            rate(keys.length, times[0]), rate(keys.length, times[1]), rate(keys.length, times[2]),
+            height < 0 ? "-" : String.valueOf(height)));
+    }
+
+    // Million operations per second
+    private static String rate(int ops, long nanos) {
+        return String.format("%.2f M/s", ops * 1000.0 / Math.max(nanos, 1));
+    }
+
+    private static int bst(int[] keys, long[] times) {
+        IntBST tree = new IntBST(keys.length);
+        long start = System.nanoTime();
+        for (int k : keys) tree.insert(k);
+        times[0] = System.nanoTime() - start;
+        int height = tree.height();
+
+        start = System.nanoTime();
+        int found = 0;
+        for (int k : keys) if (tree.contains(k)) found++;
+        times[1] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int k : keys) tree.delete(k);
+        times[2] = System.nanoTime() - start;
+        sink += found + tree.size();
+        return height;
+    }
+
+    private static int avl(int[] keys, long[] times) {
+        IntAVL tree = new IntAVL(keys.length);
+        long start = System.nanoTime();
+        for (int k : keys) tree.insert(k);
+        times[0] = System.nanoTime() - start;
+        int height = tree.height();
+
+        start = System.nanoTime();
+        int found = 0;
+        for (int k : keys) if (tree.contains(k)) found++;
+        times[1] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int k : keys) tree.delete(k);
+        times[2] = System.nanoTime() - start;
+        sink += found + tree.size();
+        return height;
+    }
+
+    // Height column is the number of levels in use
+    private static int skipList(double p, int[] keys, long[] times) {
+        IntSkipList list = new IntSkipList(p, IntSkipList.DEFAULT_MAX_LEVEL, keys.length, 42);
+        long start = System.nanoTime();
+        for (int k : keys) list.insert(k);
+        times[0] = System.nanoTime() - start;
+        int height = list.height();
+
+        start = System.nanoTime();
+        int found = 0;
+        for (int k : keys) if (list.contains(k)) found++;
+        times[1] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int k : keys) list.delete(k);
+        times[2] = System.nanoTime() - start;
+        sink += found + list.size();
+        return height;
+    }
+
+    private static int treeSet(int[] keys, long[] times) {
+        TreeSet<Integer> tree = new TreeSet<>();
+        long start = System.nanoTime();
+        for (int k : keys) tree.add(k);
+        times[0] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        int found = 0;
+        for (int k : keys) if (tree.contains(k)) found++;
+        times[1] = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int k : keys) tree.remove(k);
+        times[2] = System.nanoTime() - start;
+        sink += found + tree.size();
+        return -1;
+    }
+}
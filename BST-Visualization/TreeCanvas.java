@@ -0,0 +1,596 @@
+// Tree Canvas - Single custom-painted view for the tree visualizations
+// Features: Draws nodes and edges straight from the model using the shared tidy TreeLayout,
+// skips subtrees outside the viewport, drag to pan, mouse wheel zoom and double-click to fit,
+// optional animated transitions between layouts, n-ary mode with wide nodes (B-Tree pages)
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.geom.Line2D;
+import java.util.Arrays;
+import javax.swing.JPanel;
+import javax.swing.Timer;
+
+public class TreeCanvas extends JPanel {
+    public static final int NIL = -1;
+
+    // Read-only view of a binary tree whose nodes are addressed by int ids
+    public interface Source extends TreeLayout.Tree {
+        String label(int node);
+        Color fill(int node);
+
+        // Small text drawn above the node's top-right corner, or null for none
+        default String badge(int node) {
+            return null;
+        }
+    }
+
+    // Read-only view of an n-ary tree in first-child / next-sibling form
+    public interface NarySource extends TreeLayout.Nary {
+        String label(int node);
+        Color fill(int node);
+
+        default String badge(int node) {
+            return null;
+        }
+    }
+
+    public static final int NODE_WIDTH = 44;
+    public static final int NODE_HEIGHT = 36;
+    private static final int H_GAP = 8;
+    private static final int LEVEL_GAP = 75;
+    private static final int MARGIN = 30;
+    // Larger trees jump to their new layout; tracking every position would cost O(n) per change
+    private static final int ANIMATION_LIMIT = 20_000;
+    private static final int ANIMATION_MS = 300;
+
+    private static final Font NODE_FONT = new Font("Arial", Font.BOLD, 14);
+    private static final Font BADGE_FONT = new Font("Arial", Font.BOLD, 10);
+    private static final Color BADGE_COLOR = new Color(200, 0, 0);
+    private static final BasicStroke EDGE_STROKE = new BasicStroke(2.0f);
+    private static final BasicStroke BORDER_STROKE = new BasicStroke(2.0f);
+
+    // Exactly one of source and nary is set
+    private final Source source;
+    private final NarySource nary;
+    private final int nodeWidth;
+    private final TreeLayout layout;
+    // Binary mode: whether layout.x() holds absolute coordinates for the current layout;
+    // resolving is O(n), so it is done at most once per relayout and only when asked for
+    private boolean resolved;
+    // N-ary mode: extent of the layout and each subtree's x span (leftmost to rightmost leaf)
+    private int naryMaxX, naryLevels;
+    private int[] spanMin = new int[0], spanMax = new int[0], preorder = new int[0];
+
+    // Paint walk: node ids with the world coordinates of their top-left corner
+    private int[] stack = new int[64];
+    private int[] stackX = new int[64];
+    private int[] stackY = new int[64];
+    private int[] visible = new int[256];
+    private int[] visibleX = new int[256];
+    private int[] visibleY = new int[256];
+    private final Line2D.Double edge = new Line2D.Double();
+
+    // View transform: screen = world * zoom + pan
+    private double zoom = 1.0;
+    private double panX = 0, panY = 0;
+    private int dragX, dragY;
+    // Keep fitting the tree into view until the user pans or zooms
+    private boolean autoFit = true;
+
+    // Animation: where each node was shown before the last relayout and where it goes.
+    // An entry is valid when its generation matches the current one.
+    private boolean animated;
+    private int generation;
+    private int[] fromX = new int[0], fromY = new int[0], fromGeneration = new int[0];
+    private int[] toX = new int[0], toY = new int[0], toGeneration = new int[0];
+    private double fromZoom, fromPanX, fromPanY;
+    private long animationStart;
+    private final Timer animationTimer = new Timer(15, e -> {
+        if (System.currentTimeMillis() - animationStart >= ANIMATION_MS) {
+            ((Timer) e.getSource()).stop();
+        }
+        repaint();
+    });
+
+    public TreeCanvas(Source source) {
+        this(source, null, NODE_WIDTH);
+    }
+
+    // N-ary tree whose nodes are all nodeWidth wide; leaves get consecutive slots
+    public TreeCanvas(NarySource source, int nodeWidth) {
+        this(null, source, Math.max(nodeWidth, NODE_WIDTH));
+    }
+
+    private TreeCanvas(Source source, NarySource nary, int nodeWidth) {
+        this.source = source;
+        this.nary = nary;
+        this.nodeWidth = nodeWidth;
+        layout = new TreeLayout(nodeWidth + H_GAP);
+        setOpaque(true);
+
+        MouseAdapter navigation = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                dragX = e.getX();
+                dragY = e.getY();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                autoFit = false;
+                animationTimer.stop();
+                panX += e.getX() - dragX;
+                panY += e.getY() - dragY;
+                dragX = e.getX();
+                dragY = e.getY();
+                repaint();
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                autoFit = false;
+                animationTimer.stop();
+                double factor = Math.pow(1.15, -e.getPreciseWheelRotation());
+                zoomAt(e.getX(), e.getY(), factor);
+            }
+
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    autoFit = true;
+                    fitToView();
+                }
+            }
+        };
+        addMouseListener(navigation);
+        addMouseMotionListener(navigation);
+        addMouseWheelListener(navigation);
+    }
+
+    // Slide nodes from their old to their new positions after each relayout
+    public void setAnimated(boolean animated) {
+        this.animated = animated;
+        if (!animated) animationTimer.stop();
+    }
+
+    // Recompute the whole layout after the model changed
+    public void relayout() {
+        if (nary != null) {
+            layout.layout(nary);
+            measureNary();
+            layoutChanged(false);
+            return;
+        }
+        boolean animate = captureShownPositions();
+        layout.layout(source);
+        layoutChanged(animate);
+    }
+
+    // Re-lay out after a change confined to the subtrees along a root-to-node path.
+    // The n-ary layout has no partial update, so n-ary trees are laid out in full.
+    public void relayout(int[] path, int length) {
+        if (nary != null) {
+            relayout();
+            return;
+        }
+        boolean animate = captureShownPositions();
+        layout.layoutPath(source, path, length);
+        layoutChanged(animate);
+    }
+
+    // Re-lay out only the listed nodes, children before parents (see TreeLayout.layoutNodes)
+    public void relayoutNodes(int[] nodes, int count) {
+        if (nary != null) {
+            relayout();
+            return;
+        }
+        boolean animate = captureShownPositions();
+        layout.layoutNodes(source, nodes, count);
+        layoutChanged(animate);
+    }
+
+    // Extent of the n-ary layout and the x span of every subtree, children before parents
+    private void measureNary() {
+        naryMaxX = 0;
+        naryLevels = 0;
+        int root = nary.root();
+        if (root == NIL) return;
+        int capacity = nary.capacity();
+        if (spanMin.length < capacity) {
+            spanMin = new int[capacity];
+            spanMax = new int[capacity];
+            preorder = new int[capacity];
+        }
+        int count = 0;
+        int top = push(0, root, 0, 0);
+        while (top > 0) {
+            int node = stack[--top];
+            preorder[count++] = node;
+            naryMaxX = Math.max(naryMaxX, layout.x(node));
+            naryLevels = Math.max(naryLevels, layout.depth(node) + 1);
+            for (int child = nary.firstChild(node); child != NIL; child = nary.nextSibling(child)) {
+                top = push(top, child, 0, 0);
+            }
+        }
+        for (int i = count - 1; i >= 0; i--) {
+            int node = preorder[i];
+            int first = nary.firstChild(node);
+            if (first == NIL) {
+                spanMin[node] = spanMax[node] = layout.x(node);
+                continue;
+            }
+            int last = first;
+            for (int child = nary.nextSibling(first); child != NIL; child = nary.nextSibling(child)) {
+                last = child;
+            }
+            spanMin[node] = spanMin[first];
+            spanMax[node] = spanMax[last];
+        }
+    }
+
+    private void layoutChanged(boolean animate) {
+        resolved = false;
+        if (autoFit) {
+            fitToView();
+        } else {
+            repaint();
+        }
+        if (animate) {
+            placeTargets();
+            animationStart = System.currentTimeMillis();
+            animationTimer.restart();
+        }
+    }
+
+    // Remember what is on screen right now as the starting point of the next animation
+    private boolean captureShownPositions() {
+        if (!animated || nary != null || source.capacity() > ANIMATION_LIMIT) {
+            animationTimer.stop();
+            return false;
+        }
+        int capacity = source.capacity();
+        if (fromX.length < capacity) {
+            fromX = Arrays.copyOf(fromX, capacity);
+            fromY = Arrays.copyOf(fromY, capacity);
+            fromGeneration = Arrays.copyOf(fromGeneration, capacity);
+            toX = Arrays.copyOf(toX, capacity);
+            toY = Arrays.copyOf(toY, capacity);
+            toGeneration = Arrays.copyOf(toGeneration, capacity);
+        }
+        double t = animationProgress();
+        fromZoom = lerp(fromZoom, zoom, t);
+        fromPanX = lerp(fromPanX, panX, t);
+        fromPanY = lerp(fromPanY, panY, t);
+        for (int node = 0; node < capacity; node++) {
+            if (toGeneration[node] != generation) continue;
+            boolean moving = fromGeneration[node] == generation;
+            fromX[node] = moving ? (int) Math.round(lerp(fromX[node], toX[node], t)) : toX[node];
+            fromY[node] = moving ? (int) Math.round(lerp(fromY[node], toY[node], t)) : toY[node];
+            fromGeneration[node] = generation + 1;
+        }
+        generation++;
+        return true;
+    }
+
+    // World coordinates of every node in the new layout
+    private void placeTargets() {
+        int root = source.root();
+        if (root == NIL) return;
+        int top = push(0, root, rootX(), MARGIN);
+        while (top > 0) {
+            top--;
+            int node = stack[top];
+            toX[node] = stackX[top];
+            toY[node] = stackY[top];
+            toGeneration[node] = generation;
+            int left = source.left(node), right = source.right(node);
+            if (left != NIL) top = push(top, left, toX[node] + layout.offset(left), toY[node] + LEVEL_GAP);
+            if (right != NIL) top = push(top, right, toX[node] + layout.offset(right), toY[node] + LEVEL_GAP);
+        }
+    }
+
+    // Eased animation progress, 1 when nothing is moving
+    private double animationProgress() {
+        if (!animationTimer.isRunning()) return 1;
+        double t = Math.min(1.0, (System.currentTimeMillis() - animationStart) / (double) ANIMATION_MS);
+        return t * t * (3 - 2 * t);
+    }
+
+    private static double lerp(double from, double to, double t) {
+        return from + (to - from) * t;
+    }
+
+    // World x of the root's top-left corner; the leftmost node sits on the margin
+    private int rootX() {
+        return MARGIN - layout.minX(source.root());
+    }
+
+    private int root() {
+        return nary != null ? nary.root() : source.root();
+    }
+
+    // Reset the view so the whole tree fits the panel
+    public void fitToView() {
+        int root = root();
+        if (root == NIL || getWidth() == 0) {
+            zoom = 1.0;
+            panX = panY = 0;
+        } else {
+            int width = nary != null ? naryMaxX : layout.maxX(root) - layout.minX(root);
+            int levels = nary != null ? naryLevels : layout.levels(root);
+            double worldWidth = width + nodeWidth + 2 * MARGIN;
+            double worldHeight = (levels - 1) * LEVEL_GAP + NODE_HEIGHT + 2 * MARGIN;
+            zoom = Math.min(1.0, Math.min(getWidth() / worldWidth, getHeight() / worldHeight));
+            panX = (getWidth() - worldWidth * zoom) / 2;
+            panY = 0;
+        }
+        repaint();
+    }
+
+    // Pan so that the node is centered, keeping the zoom level
+    public void reveal(int node) {
+        if (node == NIL || root() == NIL) return;
+        if (nary == null && !resolved) {
+            layout.resolve(source);
+            resolved = true;
+        }
+        double nodeX = MARGIN + layout.x(node) + nodeWidth / 2.0;
+        double nodeY = MARGIN + layout.depth(node) * LEVEL_GAP + NODE_HEIGHT / 2.0;
+        panX = getWidth() / 2.0 - nodeX * zoom;
+        panY = getHeight() / 2.0 - nodeY * zoom;
+        repaint();
+    }
+
+    private void zoomAt(int screenX, int screenY, double factor) {
+        double newZoom = Math.max(0.02, Math.min(4.0, zoom * factor));
+        panX = screenX - (screenX - panX) * newZoom / zoom;
+        panY = screenY - (screenY - panY) * newZoom / zoom;
+        zoom = newZoom;
+        repaint();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        int root = root();
+        if (root == NIL) return;
+
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        // While nodes move, the view transform is interpolated too and culling is off;
+        // animated trees are small enough to draw whole.
+        double t = animationProgress();
+        boolean moving = t < 1;
+        double viewZoom = moving ? lerp(fromZoom, zoom, t) : zoom;
+        double viewPanX = moving ? lerp(fromPanX, panX, t) : panX;
+        double viewPanY = moving ? lerp(fromPanY, panY, t) : panY;
+
+        // Visible area in world coordinates
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+        int viewLeft = (int) Math.floor((clip.x - viewPanX) / viewZoom) - nodeWidth;
+        int viewTop = (int) Math.floor((clip.y - viewPanY) / viewZoom) - NODE_HEIGHT;
+        int viewRight = (int) Math.ceil((clip.x + clip.width - viewPanX) / viewZoom);
+        int viewBottom = (int) Math.ceil((clip.y + clip.height - viewPanY) / viewZoom);
+        if (moving) {
+            viewLeft = viewTop = -Integer.MAX_VALUE / 2;
+            viewRight = viewBottom = Integer.MAX_VALUE / 2;
+        }
+
+        g2.translate(viewPanX, viewPanY);
+        g2.scale(viewZoom, viewZoom);
+
+        // Edges first, collecting the visible nodes on the way.
+        // Coordinates are accumulated from the relative layout while walking down.
+        g2.setStroke(EDGE_STROKE);
+        g2.setColor(Color.BLACK);
+        int visibleCount = 0;
+        int top = 0;
+        if (nary != null) {
+            visibleCount = paintNaryEdges(g2, root, 3 / viewZoom, viewLeft, viewTop, viewRight, viewBottom);
+        } else {
+            if (subtreeVisible(root, rootX(), MARGIN, viewLeft, viewTop, viewRight, viewBottom)) {
+                top = push(top, root, rootX(), MARGIN);
+            }
+            // A subtree narrower than a few pixels on screen is drawn as one block
+            double minSubtreeWidth = moving ? 0 : 3 / viewZoom;
+            while (top > 0) {
+                top--;
+                int node = stack[top], nx = stackX[top], ny = stackY[top];
+                int width = layout.maxX(node) - layout.minX(node);
+                if (width < minSubtreeWidth && layout.levels(node) > 1) {
+                    g2.fillRect(nx + layout.minX(node), ny, Math.max(width, (int) minSubtreeWidth) + NODE_WIDTH,
+                        (layout.levels(node) - 1) * LEVEL_GAP + NODE_HEIGHT);
+                    continue;
+                }
+                boolean nodeVisible = nx >= viewLeft && nx <= viewRight
+                    && ny >= viewTop && ny <= viewBottom;
+                int sx = moving ? shownX(node, nx, t) : nx, sy = moving ? shownY(node, ny, t) : ny;
+                if (nodeVisible) {
+                    if (visibleCount == visible.length) {
+                        visible = Arrays.copyOf(visible, visible.length * 2);
+                        visibleX = Arrays.copyOf(visibleX, visible.length);
+                        visibleY = Arrays.copyOf(visibleY, visible.length);
+                    }
+                    visible[visibleCount] = node;
+                    visibleX[visibleCount] = sx;
+                    visibleY[visibleCount++] = sy;
+                }
+                int cx = sx + NODE_WIDTH / 2, cy = sy + NODE_HEIGHT / 2;
+                int childY = ny + LEVEL_GAP;
+                int left = source.left(node), right = source.right(node);
+                if (left != NIL) {
+                    int childX = nx + layout.offset(left);
+                    boolean childVisible = subtreeVisible(left, childX, childY, viewLeft, viewTop, viewRight, viewBottom);
+                    if (nodeVisible || childVisible) {
+                        int ex = moving ? shownX(left, childX, t) : childX, ey = moving ? shownY(left, childY, t) : childY;
+                        drawEdge(g2, cx, cy, ex + NODE_WIDTH / 2, ey + NODE_HEIGHT / 2,
+                            viewLeft, viewTop, viewRight + NODE_WIDTH, viewBottom + NODE_HEIGHT);
+                    }
+                    if (childVisible) top = push(top, left, childX, childY);
+                }
+                if (right != NIL) {
+                    int childX = nx + layout.offset(right);
+                    boolean childVisible = subtreeVisible(right, childX, childY, viewLeft, viewTop, viewRight, viewBottom);
+                    if (nodeVisible || childVisible) {
+                        int ex = moving ? shownX(right, childX, t) : childX, ey = moving ? shownY(right, childY, t) : childY;
+                        drawEdge(g2, cx, cy, ex + NODE_WIDTH / 2, ey + NODE_HEIGHT / 2,
+                            viewLeft, viewTop, viewRight + NODE_WIDTH, viewBottom + NODE_HEIGHT);
+                    }
+                    if (childVisible) top = push(top, right, childX, childY);
+                }
+            }
+        }
+
+        // Nodes on top; text is skipped once it would be too small to read
+        boolean drawText = viewZoom >= 0.35;
+        g2.setFont(NODE_FONT);
+        FontMetrics fm = g2.getFontMetrics();
+        g2.setStroke(BORDER_STROKE);
+        for (int i = 0; i < visibleCount; i++) {
+            int node = visible[i], nx = visibleX[i], ny = visibleY[i];
+            g2.setColor(nary != null ? nary.fill(node) : source.fill(node));
+            g2.fillRoundRect(nx, ny, nodeWidth, NODE_HEIGHT, 10, 10);
+            g2.setColor(Color.BLACK);
+            g2.drawRoundRect(nx, ny, nodeWidth, NODE_HEIGHT, 10, 10);
+            if (drawText) {
+                String text = nary != null ? nary.label(node) : source.label(node);
+                int textX = nx + (nodeWidth - fm.stringWidth(text)) / 2;
+                int textY = ny + (NODE_HEIGHT + fm.getAscent() - fm.getDescent()) / 2;
+                g2.drawString(text, textX, textY);
+            }
+        }
+        if (drawText) {
+            g2.setFont(BADGE_FONT);
+            g2.setColor(BADGE_COLOR);
+            for (int i = 0; i < visibleCount; i++) {
+                String badge = nary != null ? nary.badge(visible[i]) : source.badge(visible[i]);
+                if (badge != null) {
+                    g2.drawString(badge, visibleX[i] + nodeWidth - 4, visibleY[i] - 2);
+                }
+            }
+        }
+        g2.dispose();
+    }
+
+    // Edge pass for n-ary trees over the absolute layout. Edges leave the parent's bottom
+    // edge at evenly spaced points, one per child, so a B-Tree page shows its child slots.
+    private int paintNaryEdges(Graphics2D g2, int root, double minSubtreeWidth,
+                               int viewLeft, int viewTop, int viewRight, int viewBottom) {
+        int visibleCount = 0;
+        int top = 0;
+        if (naryVisible(root, viewLeft, viewTop, viewRight, viewBottom)) {
+            top = push(top, root, 0, 0);
+        }
+        while (top > 0) {
+            int node = stack[--top];
+            int nx = MARGIN + layout.x(node), ny = MARGIN + layout.depth(node) * LEVEL_GAP;
+            // A subtree narrower than a few pixels on screen is drawn as one block
+            int width = spanMax[node] - spanMin[node];
+            if (width < minSubtreeWidth && nary.firstChild(node) != NIL) {
+                g2.fillRect(MARGIN + spanMin[node], ny, Math.max(width, (int) minSubtreeWidth) + nodeWidth,
+                    (naryLevels - 1 - layout.depth(node)) * LEVEL_GAP + NODE_HEIGHT);
+                continue;
+            }
+            boolean nodeVisible = nx >= viewLeft && nx <= viewRight
+                && ny >= viewTop && ny <= viewBottom;
+            if (nodeVisible) {
+                if (visibleCount == visible.length) {
+                    visible = Arrays.copyOf(visible, visible.length * 2);
+                    visibleX = Arrays.copyOf(visibleX, visible.length);
+                    visibleY = Arrays.copyOf(visibleY, visible.length);
+                }
+                visible[visibleCount] = node;
+                visibleX[visibleCount] = nx;
+                visibleY[visibleCount++] = ny;
+            }
+            int children = 0;
+            for (int child = nary.firstChild(node); child != NIL; child = nary.nextSibling(child)) {
+                children++;
+            }
+            int i = 0;
+            for (int child = nary.firstChild(node); child != NIL; child = nary.nextSibling(child), i++) {
+                boolean childVisible = naryVisible(child, viewLeft, viewTop, viewRight, viewBottom);
+                if (nodeVisible || childVisible) {
+                    int edgeX = nx + nodeWidth * (2 * i + 1) / (2 * children);
+                    drawEdge(g2, edgeX, ny + NODE_HEIGHT,
+                        MARGIN + layout.x(child) + nodeWidth / 2, ny + LEVEL_GAP,
+                        viewLeft, viewTop, viewRight + nodeWidth, viewBottom + NODE_HEIGHT);
+                }
+                if (childVisible) top = push(top, child, 0, 0);
+            }
+        }
+        return visibleCount;
+    }
+
+    private boolean naryVisible(int node, int viewLeft, int viewTop, int viewRight, int viewBottom) {
+        int ny = MARGIN + layout.depth(node) * LEVEL_GAP;
+        return MARGIN + spanMax[node] >= viewLeft && MARGIN + spanMin[node] <= viewRight
+            && ny + (naryLevels - 1 - layout.depth(node)) * LEVEL_GAP >= viewTop && ny <= viewBottom;
+    }
+
+    // Position of a node part way through an animation; new nodes appear at their target
+    private int shownX(int node, int targetX, double t) {
+        if (node >= fromGeneration.length || fromGeneration[node] != generation) return targetX;
+        return (int) Math.round(lerp(fromX[node], targetX, t));
+    }
+
+    private int shownY(int node, int targetY, double t) {
+        if (node >= fromGeneration.length || fromGeneration[node] != generation) return targetY;
+        return (int) Math.round(lerp(fromY[node], targetY, t));
+    }
+
+    // Draw only the part of an edge inside the view (Liang-Barsky clipping).
+    // Rasterizing long off-screen lines is far more expensive than the clipping.
+    private void drawEdge(Graphics2D g2, int x1, int y1, int x2, int y2,
+                          int viewLeft, int viewTop, int viewRight, int viewBottom) {
+        double dx = x2 - x1, dy = y2 - y1;
+        double t0 = 0, t1 = 1;
+        double[] p = {-dx, dx, -dy, dy};
+        double[] q = {x1 - viewLeft, viewRight - x1, y1 - viewTop, viewBottom - y1};
+        for (int i = 0; i < 4; i++) {
+            if (p[i] == 0) {
+                if (q[i] < 0) return;
+            } else {
+                double t = q[i] / p[i];
+                if (p[i] < 0) {
+                    if (t > t1) return;
+                    if (t > t0) t0 = t;
+                } else {
+                    if (t < t0) return;
+                    if (t < t1) t1 = t;
+                }
+            }
+        }
+        edge.setLine(x1 + t0 * dx, y1 + t0 * dy, x1 + t1 * dx, y1 + t1 * dy);
+        g2.draw(edge);
+    }
+
+    // nx, ny: world position of the subtree root's top-left corner
+    private boolean subtreeVisible(int node, int nx, int ny, int viewLeft, int viewTop, int viewRight, int viewBottom) {
+        return nx + layout.maxX(node) >= viewLeft && nx + layout.minX(node) <= viewRight
+            && ny + (layout.levels(node) - 1) * LEVEL_GAP >= viewTop && ny <= viewBottom;
+    }
+
+    private int push(int top, int node, int nodeX, int nodeY) {
+        if (top == stack.length) {
+            stack = Arrays.copyOf(stack, stack.length * 2);
+            stackX = Arrays.copyOf(stackX, stack.length);
+            stackY = Arrays.copyOf(stackY, stack.length);
+        }
+        stack[top] = node;
+        stackX[top] = nodeX;
+        stackY[top] = nodeY;
+        return top + 1;
+    }
+}
@@ -0,0 +1,326 @@
+// Tree Layout - Tidy tree drawing shared by the tree views
+// Features: Iterative Reingold-Tilford layout for binary trees in O(n), contour threads
+// instead of per-level lists, re-layout of just the nodes on a changed path,
+// leaf-slot layout for n-ary trees, all state kept in primitive arrays
+
+import java.util.Arrays;
+
+public class TreeLayout {
+    public static final int NIL = -1;
+
+    // Binary tree whose nodes are addressed by int ids
+    public interface Tree {
+        int root();
+        int left(int node);
+        int right(int node);
+        // Upper bound (exclusive) for node ids
+        int capacity();
+    }
+
+    // N-ary tree in first-child / next-sibling form
+    public interface Nary {
+        int root();
+        int firstChild(int node);
+        int nextSibling(int node);
+        int capacity();
+    }
+
+    // Smallest horizontal distance between the centers of two nodes on the same level
+    private final int distance;
+
+    // Binary layout, everything relative: offset is the x distance from the parent,
+    // minX/maxX bound the subtree around the node and levels is the subtree height.
+    private int[] offset = new int[0];
+    private int[] minX = new int[0];
+    private int[] maxX = new int[0];
+    private int[] levels = new int[0];
+    // Deepest leftmost and rightmost node of each subtree with their x relative to it
+    private int[] leftExtreme = new int[0];
+    private int[] leftExtremeX = new int[0];
+    private int[] rightExtreme = new int[0];
+    private int[] rightExtremeX = new int[0];
+    // Contour thread from a leaf to the next contour node one level down
+    private int[] thread = new int[0];
+    private int[] threadX = new int[0];
+
+    // Absolute coordinates, filled by resolve() and the n-ary layout
+    private int[] x = new int[0];
+    private int[] depth = new int[0];
+
+    private int[] stack = new int[64];
+    // Second result of nextOnRight / nextOnLeft
+    private int step;
+    // Duplicate filter for layoutNodes
+    private int[] seen = new int[0];
+    private int pass;
+
+    public TreeLayout(int distance) {
+        // Children sit half the distance to either side, so keep it even
+        this.distance = distance + (distance & 1);
+    }
+
+    // Lay out the whole tree. Each node is set up once in post-order; separating two
+    // subtrees only walks down their facing contours, which keeps the total at O(n).
+    public void layout(Tree tree) {
+        ensureCapacity(tree.capacity());
+        int top = 0;
+        int curr = tree.root(), lastVisited = NIL;
+        while (top > 0 || curr != NIL) {
+            if (curr != NIL) {
+                top = push(top, curr);
+                curr = tree.left(curr);
+            } else {
+                int peek = stack[top - 1];
+                int right = tree.right(peek);
+                if (right != NIL && lastVisited != right) {
+                    curr = right;
+                } else {
+                    setup(tree, peek);
+                    lastVisited = peek;
+                    top--;
+                }
+            }
+        }
+    }
+
+    // Re-lay out after a change that only touched the subtrees of the given root-to-node path.
+    // Subtrees hanging off the path keep their layout; path nodes are redone bottom-up.
+    public void layoutPath(Tree tree, int[] path, int length) {
+        ensureCapacity(tree.capacity());
+        for (int i = length - 1; i >= 0; i--) {
+            setup(tree, path[i]);
+        }
+    }
+
+    // Re-lay out the given nodes in order. Every node must come after all of its changed
+    // descendants, e.g. an update path bottom-up with the nodes moved by rotations mixed in.
+    // A node listed more than once is laid out at its last position only, since an earlier
+    // pass would run against children that are not final yet.
+    public void layoutNodes(Tree tree, int[] nodes, int count) {
+        ensureCapacity(tree.capacity());
+        pass++;
+        int top = 0;
+        for (int i = count - 1; i >= 0; i--) {
+            int node = nodes[i];
+            if (seen[node] != pass) {
+                seen[node] = pass;
+                top = push(top, node);
+            }
+        }
+        while (top > 0) {
+            setup(tree, stack[--top]);
+        }
+    }
+
+    // Compute the relative layout of one node from its already laid out children
+    private void setup(Tree tree, int node) {
+        int l = tree.left(node), r = tree.right(node);
+        thread[node] = NIL;
+        if (l == NIL && r == NIL) {
+            offset[node] = 0;
+            minX[node] = maxX[node] = 0;
+            levels[node] = 1;
+            leftExtreme[node] = rightExtreme[node] = node;
+            leftExtremeX[node] = rightExtremeX[node] = 0;
+            return;
+        }
+
+        if (r == NIL || l == NIL) {
+            int child = l != NIL ? l : r;
+            offset[child] = l != NIL ? -distance / 2 : distance / 2;
+            levels[node] = levels[child] + 1;
+            leftExtreme[node] = leftExtreme[child];
+            leftExtremeX[node] = leftExtremeX[child] + offset[child];
+            rightExtreme[node] = rightExtreme[child];
+            rightExtremeX[node] = rightExtremeX[child] + offset[child];
+            minX[node] = Math.min(0, minX[child] + offset[child]);
+            maxX[node] = Math.max(0, maxX[child] + offset[child]);
+            return;
+        }
+
+        // Walk the right contour of the left subtree and the left contour of the right one
+        // level by level; lx and rx are relative to l and r. The walk never goes below the
+        // shorter subtree, so threads left behind by an earlier shape are never followed.
+        int common = Math.min(levels[l], levels[r]);
+        int ln = l, rn = r;
+        int lx = 0, rx = 0;
+        int separation = distance;
+        for (int level = 1; ; level++) {
+            separation = Math.max(separation, lx - rx + distance);
+            if (level == common) break;
+            int next = nextOnRight(tree, ln);
+            lx += step;
+            ln = next;
+            next = nextOnLeft(tree, rn);
+            rx += step;
+            rn = next;
+        }
+        separation += separation & 1;
+        offset[l] = -separation / 2;
+        offset[r] = separation / 2;
+
+        // The shorter subtree's outer contour continues in the taller one
+        if (levels[l] > levels[r]) {
+            int next = nextOnRight(tree, ln);
+            int e = rightExtreme[r];
+            thread[e] = next;
+            threadX[e] = (offset[l] + lx + step) - (offset[r] + rightExtremeX[r]);
+        } else if (levels[r] > levels[l]) {
+            int next = nextOnLeft(tree, rn);
+            int e = leftExtreme[l];
+            thread[e] = next;
+            threadX[e] = (offset[r] + rx + step) - (offset[l] + leftExtremeX[l]);
+        }
+
+        levels[node] = Math.max(levels[l], levels[r]) + 1;
+        if (levels[l] >= levels[r]) {
+            leftExtreme[node] = leftExtreme[l];
+            leftExtremeX[node] = leftExtremeX[l] + offset[l];
+        } else {
+            leftExtreme[node] = leftExtreme[r];
+            leftExtremeX[node] = leftExtremeX[r] + offset[r];
+        }
+        if (levels[r] >= levels[l]) {
+            rightExtreme[node] = rightExtreme[r];
+            rightExtremeX[node] = rightExtremeX[r] + offset[r];
+        } else {
+            rightExtreme[node] = rightExtreme[l];
+            rightExtremeX[node] = rightExtremeX[l] + offset[l];
+        }
+        minX[node] = Math.min(0, Math.min(minX[l] + offset[l], minX[r] + offset[r]));
+        maxX[node] = Math.max(0, Math.max(maxX[l] + offset[l], maxX[r] + offset[r]));
+    }
+
+    // Next node one level down on a right contour; its x relative to the node is left in step
+    private int nextOnRight(Tree tree, int node) {
+        int child = tree.right(node);
+        if (child == NIL) child = tree.left(node);
+        if (child != NIL) {
+            step = offset[child];
+            return child;
+        }
+        step = threadX[node];
+        return thread[node];
+    }
+
+    private int nextOnLeft(Tree tree, int node) {
+        int child = tree.left(node);
+        if (child == NIL) child = tree.right(node);
+        if (child != NIL) {
+            step = offset[child];
+            return child;
+        }
+        step = threadX[node];
+        return thread[node];
+    }
+
+    // Absolute coordinates for every node of a laid out binary tree; the leftmost node gets x = 0
+    public void resolve(Tree tree) {
+        int root = tree.root();
+        if (root == NIL) return;
+        x[root] = -minX[root];
+        depth[root] = 0;
+        int top = push(0, root);
+        while (top > 0) {
+            int node = stack[--top];
+            int l = tree.left(node), r = tree.right(node);
+            if (l != NIL) {
+                x[l] = x[node] + offset[l];
+                depth[l] = depth[node] + 1;
+                top = push(top, l);
+            }
+            if (r != NIL) {
+                x[r] = x[node] + offset[r];
+                depth[r] = depth[node] + 1;
+                top = push(top, r);
+            }
+        }
+    }
+
+    // Lay out an n-ary tree: leaves take consecutive slots from the left and every
+    // parent is centered over its first and last child. Fills x() and depth() directly.
+    public void layout(Nary tree) {
+        ensureCapacity(tree.capacity());
+        int root = tree.root();
+        if (root == NIL) return;
+        int slot = 0;
+        int node = root;
+        depth[root] = 0;
+        int top = push(0, root);
+        while (top > 0) {
+            int child = tree.firstChild(node);
+            if (child != NIL) {
+                depth[child] = top;
+                top = push(top, child);
+                node = child;
+                continue;
+            }
+            x[node] = slot++ * distance;
+            // Climb until a node has a next sibling, finishing the parents on the way
+            while (true) {
+                top--;
+                if (top == 0) break;
+                int sibling = tree.nextSibling(node);
+                if (sibling != NIL) {
+                    depth[sibling] = top;
+                    top = push(top, sibling);
+                    node = sibling;
+                    break;
+                }
+                int parent = stack[top - 1];
+                x[parent] = (x[tree.firstChild(parent)] + x[node]) / 2;
+                node = parent;
+            }
+        }
+    }
+
+    public int offset(int node) {
+        return offset[node];
+    }
+
+    public int minX(int node) {
+        return minX[node];
+    }
+
+    public int maxX(int node) {
+        return maxX[node];
+    }
+
+    public int levels(int node) {
+        return levels[node];
+    }
+
+    public int x(int node) {
+        return x[node];
+    }
+
+    public int depth(int node) {
+        return depth[node];
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (offset.length >= capacity) return;
+        capacity = Math.max(capacity, offset.length * 2);
+        offset = Arrays.copyOf(offset, capacity);
+        minX = Arrays.copyOf(minX, capacity);
+        maxX = Arrays.copyOf(maxX, capacity);
+        levels = Arrays.copyOf(levels, capacity);
+        leftExtreme = Arrays.copyOf(leftExtreme, capacity);
+        leftExtremeX = Arrays.copyOf(leftExtremeX, capacity);
+        rightExtreme = Arrays.copyOf(rightExtreme, capacity);
+        rightExtremeX = Arrays.copyOf(rightExtremeX, capacity);
+        thread = Arrays.copyOf(thread, capacity);
+        threadX = Arrays.copyOf(threadX, capacity);
+        x = Arrays.copyOf(x, capacity);
+        depth = Arrays.copyOf(depth, capacity);
+        seen = Arrays.copyOf(seen, capacity);
+    }
+
+    private int push(int top, int node) {
+        if (top == stack.length) {
+            stack = Arrays.copyOf(stack, stack.length * 2);
+        }
+        stack[top] = node;
+        return top + 1;
+    }
+}
@@ -0,0 +1,445 @@
+// Trie Benchmark - Memory and lookup throughput of the trie engines vs a HashMap-per-node trie
+// Features: Words from a file (one per line) or a synthetic syllable vocabulary, build time,
+// node count, retained heap bytes per key (used heap after GC, before and after the build),
+// lookups per second on a shuffled mix of hits and near-miss words, warm-up rounds before
+// timing, the cost of laying out every node the way TrieVisualization does, a DAFSA built
+// from the sorted words, saved and memory-mapped back, top-10 autocomplete by weight
+// against collecting and sorting every completion, and fuzzy search within 1 and 2 edits
+// against computing the edit distance to every word
+// Usage: java TrieBenchmark [words | file]   (default 500,000 synthetic words)
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+public class TrieBenchmark {
+    private static final int WARMUP_ROUNDS = 2;
+    private static final String[] ONSETS = {"", "b", "c", "d", "f", "g", "h", "l", "m", "n", "p", "r", "s", "t",
+        "v", "w", "br", "ch", "cl", "cr", "dr", "fl", "gr", "pl", "pr", "sh", "st", "th", "tr"};
+    private static final String[] VOWELS = {"a", "e", "i", "o", "u", "ai", "ea", "ee", "ou", "y"};
+    private static final String[] CODAS = {"", "", "", "n", "r", "s", "t", "l", "m", "ck", "nd", "ng", "st"};
+    private static final String[] SUFFIXES = {"", "", "", "", "s", "ed", "ing", "er", "ly", "ness", "able"};
+
+    private static long sink;
+
+    // The node layout TrieVisualization used before CompactTrie, display fields included
+    private static class MapNode {
+        final Map<Character, MapNode> children = new HashMap<>();
+        boolean isEndOfWord;
+        java.awt.Color color = new java.awt.Color(173, 216, 230);
+        final char character;
+        final int level;
+
+        MapNode(char c, int level) {
+            character = c;
+            this.level = level;
+        }
+    }
+
+    private interface Dictionary {
+        boolean contains(String word);
+    }
+
+    public static void main(String[] args) throws IOException {
+        String[] words;
+        String source;
+        if (args.length > 0 && !args[0].matches("\\d+")) {
+            words = readWords(args[0]);
+            source = args[0];
+        } else {
+            int n = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+            words = syntheticWords(n, 42);
+            source = "synthetic";
+        }
+        String[] queries = queries(words, 7);
+        long characters = 0;
+        for (String w : words) characters += w.length();
+
+        System.out.println(String.format("Words: %,d (%s), %.1f characters on average, %,d lookups",
+            words.length, source, characters / (double) words.length, queries.length));
+        System.out.println(String.format("%-24s %10s %12s %12s %14s", "", "build", "nodes", "bytes/key", "lookups"));
+
+        // Each structure is built once for the memory figure, then rebuilt for the timed rounds
+        long before = usedHeap();
+        MapNode mapRoot = buildMapTrie(words);
+        long mapBytes = usedHeap() - before;
+        int mapNodes = countMapNodes(mapRoot);
+        mapRoot = null;
+        run("HashMap trie (old)", words, queries, mapNodes, mapBytes, w -> {
+            MapNode root = buildMapTrie(w);
+            return word -> mapContains(root, word);
+        });
+
+        before = usedHeap();
+        CompactTrie trie = buildCompactTrie(words);
+        long trieBytes = usedHeap() - before;
+        run("CompactTrie", words, queries, trie.nodeCount(), trieBytes, w -> {
+            CompactTrie t = buildCompactTrie(w);
+            return t::contains;
+        });
+        System.out.println(String.format("CompactTrie: %,d bitmap nodes, own estimate %.1f bytes/key",
+            trie.bitmapNodes(), trie.memoryBytes() / (double) words.length));
+
+        before = usedHeap();
+        RadixTrie radix = buildRadixTrie(words);
+        long radixBytes = usedHeap() - before;
+        run("RadixTrie", words, queries, radix.nodeCount(), radixBytes, w -> {
+            RadixTrie t = buildRadixTrie(w);
+            return t::contains;
+        });
+
+        String[] sorted = words.clone();
+        Arrays.sort(sorted);
+        List<String> sortedList = Arrays.asList(sorted);
+        checkMinimalDafsa();
+        before = usedHeap();
+        Dafsa dafsa = Dafsa.fromSorted(sortedList);
+        long dafsaBytes = usedHeap() - before;
+        run("Dafsa (edges)", words, queries, dafsa.edgeCount(), dafsaBytes, w -> Dafsa.fromSorted(sortedList)::contains);
+        dafsaFile(dafsa, queries);
+
+        System.out.println();
+        System.out.println(String.format("%-24s %12s %10s", "Full layout", "nodes", "time"));
+        layout(trie);
+        layout(radix);
+
+        System.out.println();
+        System.out.println(String.format("%-24s %12s %12s %14s %14s", "Top-10 by weight", "prefix", "words under",
+            "nodes opened", "time/query"));
+        topK(new CompactTrie(), words);
+        topK(new RadixTrie(), words);
+
+        System.out.println();
+        System.out.println(String.format("%-24s %12s %12s %14s %14s", "Fuzzy search", "edits", "matches",
+            "nodes visited", "time/query"));
+        // The lookup mix: stored words and words with one character changed
+        String[] typed = Arrays.copyOf(queries, 50);
+        for (int k = 1; k <= 2; k++) {
+            fuzzy(trie, typed, k);
+            fuzzy(radix, typed, k);
+            fuzzy(dafsa, typed, k);
+            bruteForceFuzzy(words, typed, k);
+        }
+        if (sink == 42) System.out.println();
+    }
+
+    private interface Builder {
+        Dictionary build(String[] words);
+    }
+
+    private static void run(String name, String[] words, String[] queries, int nodes, long bytes, Builder builder) {
+        long buildNanos = 0, lookupNanos = 0;
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            long start = System.nanoTime();
+            Dictionary dictionary = builder.build(words);
+            buildNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int hits = 0;
+            for (String q : queries) {
+                if (dictionary.contains(q)) hits++;
+            }
+            lookupNanos = System.nanoTime() - start;
+            sink += hits;
+        }
+        System.out.println(String.format("%-24s %7d ms %,12d %12.1f %9.2f M/s", name, buildNanos / 1_000_000,
+            nodes, bytes / (double) words.length, queries.length * 1000.0 / Math.max(lookupNanos, 1)));
+    }
+
+    private static MapNode buildMapTrie(String[] words) {
+        MapNode root = new MapNode(' ', 0);
+        for (String word : words) {
+            MapNode current = root;
+            for (char c : word.toCharArray()) {
+                MapNode next = current.children.get(c);
+                if (next == null) {
+                    next = new MapNode(c, current.level + 1);
+                    current.children.put(c, next);
+                }
+                current = next;
+            }
+            current.isEndOfWord = true;
+        }
+        return root;
+    }
+
+    private static boolean mapContains(MapNode root, String word) {
+        MapNode current = root;
+        for (int i = 0; i < word.length() && current != null; i++) {
+            current = current.children.get(word.charAt(i));
+        }
+        return current != null && current.isEndOfWord;
+    }
+
+    private static int countMapNodes(MapNode root) {
+        List<MapNode> stack = new ArrayList<>();
+        stack.add(root);
+        int count = 0;
+        while (!stack.isEmpty()) {
+            MapNode node = stack.remove(stack.size() - 1);
+            count++;
+            stack.addAll(node.children.values());
+        }
+        return count;
+    }
+
+    private static CompactTrie buildCompactTrie(String[] words) {
+        CompactTrie trie = new CompactTrie();
+        for (String word : words) trie.add(word);
+        return trie;
+    }
+
+    // Edge counts worked out by hand for minimal automata; "ab" and "b" end in states that
+    // differ only in being final, which the edges into them record, so they are one state
+    private static void checkMinimalDafsa() {
+        String[][] lists = {{"ab", "abc", "bc"}, {"tap", "taps", "top", "tops"}};
+        int[] minimalEdges = {4, 5};
+        for (int i = 0; i < lists.length; i++) {
+            Dafsa dafsa = Dafsa.fromSorted(Arrays.asList(lists[i]));
+            if (dafsa.edgeCount() != minimalEdges[i] || !dafsa.isValid()) {
+                throw new IllegalStateException("DAFSA for " + Arrays.toString(lists[i]) + " has "
+                    + dafsa.edgeCount() + " edges, the minimal automaton has " + minimalEdges[i]);
+            }
+        }
+    }
+
+    // Save, then map the file back and check that it answers like the built automaton
+    private static void dafsaFile(Dafsa dafsa, String[] queries) throws IOException {
+        java.nio.file.Path file = Files.createTempFile("trie-benchmark", ".dafsa");
+        try {
+            long start = System.nanoTime();
+            dafsa.save(file.toString());
+            long saveNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            Dafsa mapped = Dafsa.load(file.toString());
+            long loadNanos = System.nanoTime() - start;
+
+            long lookupNanos = 0;
+            for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+                start = System.nanoTime();
+                int hits = 0;
+                for (String q : queries) {
+                    if (mapped.contains(q)) hits++;
+                }
+                lookupNanos = System.nanoTime() - start;
+                sink += hits;
+            }
+            for (int i = 0; i < queries.length; i += 97) {
+                if (mapped.contains(queries[i]) != dafsa.contains(queries[i])) {
+                    throw new IllegalStateException("Mapped DAFSA disagrees on " + queries[i]);
+                }
+            }
+            System.out.println(String.format("Dafsa file: %,d bytes, saved in %d ms, mapped in %.2f ms, %.2f M lookups/s mapped",
+                Files.size(file), saveNanos / 1_000_000, loadNanos / 1e6, queries.length * 1000.0 / Math.max(lookupNanos, 1)));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static RadixTrie buildRadixTrie(String[] words) {
+        RadixTrie trie = new RadixTrie();
+        for (String word : words) trie.add(word);
+        return trie;
+    }
+
+    // Zipf-like weights (a few heavy words, a long light tail), then the ten best completions of
+    // 1-, 2- and 3-character prefixes from the bounded search and from collect-everything-and-sort
+    private static void topK(MutableStringTrie trie, String[] words) {
+        Random random = new Random(11);
+        for (String word : words) {
+            trie.add(word, 1_000_000 / (1 + random.nextInt(words.length)));
+        }
+        int k = 10;
+        for (int length = 1; length <= 3; length++) {
+            String[] prefixes = new String[200];
+            for (int i = 0; i < prefixes.length; i++) {
+                String word = words[random.nextInt(words.length)];
+                prefixes[i] = word.substring(0, Math.min(length, word.length()));
+            }
+            long searchNanos = 0, sortNanos = 0, under = 0;
+            for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+                List<String> out = new ArrayList<>();
+                long start = System.nanoTime();
+                for (String prefix : prefixes) {
+                    out.clear();
+                    trie.topK(prefix, k, out);
+                    sink += out.size();
+                }
+                searchNanos = System.nanoTime() - start;
+
+                under = 0;
+                List<String> all = new ArrayList<>();
+                start = System.nanoTime();
+                for (String prefix : prefixes) {
+                    all.clear();
+                    under += trie.collect(prefix, Integer.MAX_VALUE, all);
+                    all.sort(Comparator.comparingInt(trie::weightOf).reversed());
+                    sink += all.subList(0, Math.min(k, all.size())).size();
+                }
+                sortNanos = System.nanoTime() - start;
+            }
+            // Nodes the best-first search opens, measured on the plain trie where the prefix
+            // node is directly at hand
+            String opened = "";
+            if (trie instanceof CompactTrie) {
+                CompactTrie compact = (CompactTrie) trie;
+                TopKCompletions search = new TopKCompletions();
+                long expanded = 0;
+                for (String prefix : prefixes) {
+                    search.search(compact, compact.find(prefix), prefix, k, new ArrayList<>());
+                    expanded += search.expanded();
+                }
+                opened = String.format("%,d", expanded / prefixes.length);
+            }
+            System.out.println(String.format("%-24s %12d %,12d %14s %11.1f us   (collect + sort: %,.1f us)",
+                trie.name(), length, under / prefixes.length, opened, searchNanos / 1e3 / prefixes.length,
+                sortNanos / 1e3 / prefixes.length));
+        }
+    }
+
+    private static void fuzzy(StringTrie trie, String[] queries, int k) {
+        FuzzySearch search = new FuzzySearch();
+        long nanos = 0, matches = 0, visited = 0;
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            matches = 0;
+            visited = 0;
+            long start = System.nanoTime();
+            for (String query : queries) {
+                matches += search.search(trie, query, k, new ArrayList<>());
+                visited += search.visitedCount();
+            }
+            nanos = System.nanoTime() - start;
+        }
+        System.out.println(String.format("%-24s %12d %12.1f %,14d %11.1f us", trie.name(), k,
+            matches / (double) queries.length, visited / queries.length, nanos / 1e3 / queries.length));
+    }
+
+    // Every word against the query, timed once: it is slow enough not to need warming up
+    private static void bruteForceFuzzy(String[] words, String[] queries, int k) {
+        long matches = 0;
+        long start = System.nanoTime();
+        for (String query : queries) {
+            for (String word : words) {
+                if (FuzzySearch.distance(word, query) <= k) matches++;
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        System.out.println(String.format("%-24s %12d %12.1f %,14d %11.1f us", "Every word", k,
+            matches / (double) queries.length, words.length, nanos / 1e3 / queries.length));
+    }
+
+    // Breadth-first first-child / next-sibling numbering plus TreeLayout, as the view does on
+    // every update; what it costs grows with the node count, not the word count
+    private static void layout(StringTrie trie) {
+        long nanos = 0;
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            long start = System.nanoTime();
+            int count = trie.nodeCount();
+            int[] nodes = new int[count];
+            int[] firstChild = new int[count];
+            int[] nextSibling = new int[count];
+            Arrays.fill(firstChild, TreeLayout.NIL);
+            Arrays.fill(nextSibling, TreeLayout.NIL);
+            int used = 1;
+            for (int i = 0; i < used; i++) {
+                int previous = TreeLayout.NIL;
+                for (int c = 0, n = trie.childCount(nodes[i]); c < n; c++) {
+                    nodes[used] = trie.childAt(nodes[i], c);
+                    if (previous == TreeLayout.NIL) {
+                        firstChild[i] = used;
+                    } else {
+                        nextSibling[previous] = used;
+                    }
+                    previous = used++;
+                }
+            }
+            TreeLayout layout = new TreeLayout(40);
+            layout.layout(new TreeLayout.Nary() {
+                public int root() {
+                    return 0;
+                }
+
+                public int firstChild(int node) {
+                    return firstChild[node];
+                }
+
+                public int nextSibling(int node) {
+                    return nextSibling[node];
+                }
+
+                public int capacity() {
+                    return count;
+                }
+            });
+            nanos = System.nanoTime() - start;
+            sink += layout.x(count - 1);
+        }
+        System.out.println(String.format("%-24s %,12d %7d ms", trie.name(), trie.nodeCount(), nanos / 1_000_000));
+    }
+
+    // Non-empty lines, trimmed and lower-cased as TrieVisualization stores them
+    private static String[] readWords(String path) throws IOException {
+        Set<String> words = new LinkedHashSet<>();
+        for (String line : Files.readAllLines(Paths.get(path), StandardCharsets.UTF_8)) {
+            String word = line.trim().toLowerCase();
+            if (!word.isEmpty()) words.add(word);
+        }
+        return words.toArray(new String[0]);
+    }
+
+    // Distinct words of one to four syllables plus an optional suffix, so prefixes are shared
+    // the way they are in natural-language vocabularies
+    private static String[] syntheticWords(int n, long seed) {
+        Random random = new Random(seed);
+        Set<String> words = new LinkedHashSet<>();
+        StringBuilder sb = new StringBuilder();
+        while (words.size() < n) {
+            sb.setLength(0);
+            int syllables = 1 + random.nextInt(4);
+            for (int s = 0; s < syllables; s++) {
+                sb.append(ONSETS[random.nextInt(ONSETS.length)]);
+                sb.append(VOWELS[random.nextInt(VOWELS.length)]);
+                sb.append(CODAS[random.nextInt(CODAS.length)]);
+            }
+            sb.append(SUFFIXES[random.nextInt(SUFFIXES.length)]);
+            words.add(sb.toString());
+        }
+        return words.toArray(new String[0]);
+    }
+
+    // Every word once, plus as many near misses (one character changed), shuffled
+    private static String[] queries(String[] words, long seed) {
+        Random random = new Random(seed);
+        String[] queries = new String[2 * words.length];
+        for (int i = 0; i < words.length; i++) {
+            queries[2 * i] = words[i];
+            char[] miss = words[i].toCharArray();
+            int at = random.nextInt(miss.length);
+            miss[at] = (char) ('a' + random.nextInt(26));
+            queries[2 * i + 1] = new String(miss);
+        }
+        for (int i = queries.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            String t = queries[i];
+            queries[i] = queries[j];
+            queries[j] = t;
+        }
+        return queries;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -1,5 +1,11 @@
 // Trie (Prefix Tree) Visualization - String operations and autocomplete
-// Features: Insert, search, prefix matching, autocomplete suggestions
+// Features: Insert, search, fuzzy search within k edits (explored and cut-off nodes shown,
+// compared with checking every word), delete, prefix matching, top-K autocomplete ranked by
+// word weight on a switchable engine (plain CompactTrie, path-compressed RadixTrie or a read-only DAFSA,
+// words and weights carried over); weighted word lists loaded into the trie, static
+// dictionaries built from a sorted word file or memory-mapped from a saved .dafsa file; node
+// highlights live in a view-side array indexed by node id; large tries are drawn down to a
+// node budget
 
 import java.awt.BasicStroke;
 import java.awt.BorderLayout;
@@ -16,12 +22,18 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.Arrays;
 import javax.swing.BorderFactory;
 import javax.swing.DefaultListModel;
 import javax.swing.JButton;
+import javax.swing.JComboBox;
+import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JList;
@@ -37,55 +49,79 @@ import javax.swing.SwingUtilities;
 
 public class TrieVisualization extends JFrame implements ActionListener {
     private JPanel topPanel, visualPanel, infoPanel;
-    private JButton btnInsert, btnSearch, btnDelete, btnPrefix, btnClear, btnRandom, btnBack, btnHelp;
+    private JButton btnInsert, btnSearch, btnFuzzy, btnDelete, btnPrefix, btnClear, btnRandom, btnDictionary, btnBack, btnHelp;
     private JTextField tfWord, tfPrefix;
     private JTextArea logArea;
-    private JLabel statusLabel;
+    private JLabel statusLabel, nodesLabel;
+    private JComboBox<String> structureBox;
+    private JComboBox<Integer> editsBox;
     private JList<String> suggestionList;
     private DefaultListModel<String> suggestionModel;
     
-    private TrieNode root;
-    private java.util.Map<TrieNode, NodeDisplay> nodeDisplays;
-    private String lastSearchedWord;
-    private String lastSearchedPrefix;
+    private static final String[] STRUCTURES = {"Trie", "Radix", "DAFSA"};
+    private static final int RADIX = 1;
+    private static final int DAFSA = 2;
+    // The current engine, and the same engine when it takes single-word updates (null for the
+    // read-only DAFSA); change both through setTrie
+    private MutableStringTrie editable = new CompactTrie();
+    private StringTrie trie = editable;
+    // Autocomplete shows this many completions, best weight first
+    private static final int SUGGESTIONS = 10;
+    private static final String WEIGHT_RANGE = "a whole number from " + (StringTrie.NO_WEIGHT + 1) + " to " + Integer.MAX_VALUE;
+    private final FuzzySearch fuzzy = new FuzzySearch();
+    // Set while a loaded dictionary selects the DAFSA entry, so its words are not rebuilt
+    private boolean keepTrie;
+    // Highlight of each trie node, indexed by node id
+    private static final byte MARK_NONE = 0;
+    private static final byte MARK_PATH = 1;
+    private static final byte MARK_FOUND = 2;
+    private static final byte MARK_PREFIX_ONLY = 3;
+    private static final byte MARK_SUGGESTION = 4;
+    private static final Color[] MARK_COLORS = {
+        new Color(173, 216, 230), // Light blue
+        new Color(255, 255, 0),   // Yellow for search/prefix path
+        new Color(50, 205, 50),   // Green for found word
+        new Color(255, 69, 0),    // Red for prefix only
+        new Color(144, 238, 144)  // Light green for suggestions
+    };
+    private byte[] marks = new byte[64];
     
-    private static class TrieNode {
-        java.util.Map<Character, TrieNode> children;
-        boolean isEndOfWord;
-        Color color;
-        char character;
-        int level;
-        
-        TrieNode(char c, int level) {
-            children = new HashMap<>();
-            isEndOfWord = false;
-            color = new Color(173, 216, 230); // Light blue
-            character = c;
-            this.level = level;
+    // Breadth-first numbering of the trie in first-child / next-sibling form for the shared layout;
+    // radix edges carry whole runs, so their nodes are wider and spaced further apart
+    private static final int NODE_SIZE = 30;
+    private static final int TRIE_SPACING = 40;
+    private static final int RADIX_SPACING = 64;
+    // Breadth-first numbering stops here, so a dictionary shows its top levels only
+    private static final int MAX_DRAWN_NODES = 2000;
+    private TreeLayout layout = new TreeLayout(TRIE_SPACING);
+    private int[] layoutNodes = new int[64];
+    private String[] layoutLabels = new String[64];
+    private int[] firstChild = new int[64];
+    private int[] nextSibling = new int[64];
+    private int layoutCount;
+    // Panel x of the layout origin
+    private int layoutLeft;
+    private final TreeLayout.Nary layoutTree = new TreeLayout.Nary() {
+        public int root() {
+            return layoutCount == 0 ? TreeLayout.NIL : 0;
         }
-        
-        void setColor(Color color) {
-            this.color = color;
+
+        public int firstChild(int node) {
+            return firstChild[node];
         }
-    }
-    
-    private static class NodeDisplay {
-        int x, y;
-        int width, height;
-        TrieNode node;
-        
-        NodeDisplay(TrieNode node, int x, int y) {
-            this.node = node;
-            this.x = x;
-            this.y = y;
-            this.width = 30;
-            this.height = 30;
+
+        public int nextSibling(int node) {
+            return nextSibling[node];
         }
-    }
+
+        public int capacity() {
+            return layoutCount;
+        }
+    };
+    private String lastSearchedWord;
+    private String lastSearchedPrefix;
     
     public TrieVisualization() {
-        root = new TrieNode(' ', 0);
-        nodeDisplays = new HashMap<>();
         initialize();
         insertSampleWords();
     }
@@ -134,21 +170,39 @@ public class TrieVisualization extends JFrame implements ActionListener {
         topPanel.add(new JLabel("Word:"));
         tfWord = new JTextField(15);
         tfWord.setFont(new Font("Arial", Font.PLAIN, 12));
+        tfWord.setToolTipText("A word, optionally followed by its weight, e.g. \"care 40\"");
         tfWord.addActionListener(this); // Allow Enter key
         topPanel.add(tfWord);
         
         btnInsert = createStyledButton("Insert", new Color(60, 179, 113), 70);
         btnSearch = createStyledButton("Search", new Color(30, 144, 255), 70);
+        btnFuzzy = createStyledButton("Fuzzy", new Color(255, 140, 0), 70);
         btnDelete = createStyledButton("Delete", new Color(220, 20, 60), 70);
         btnInsert.addActionListener(this);
         btnSearch.addActionListener(this);
+        btnFuzzy.addActionListener(this);
         btnDelete.addActionListener(this);
         topPanel.add(btnInsert);
         topPanel.add(btnSearch);
+        topPanel.add(btnFuzzy);
+        editsBox = new JComboBox<>(new Integer[] {1, 2, 3});
+        editsBox.setToolTipText("Edits allowed by fuzzy search");
+        topPanel.add(editsBox);
         topPanel.add(btnDelete);
         
         topPanel.add(new JSeparator(SwingConstants.VERTICAL));
         
+        // Engine selection; the words move over on every switch
+        structureBox = new JComboBox<>(STRUCTURES);
+        structureBox.setFont(new Font("Arial", Font.BOLD, 12));
+        structureBox.addActionListener(e -> switchStructure());
+        topPanel.add(structureBox);
+        nodesLabel = new JLabel();
+        nodesLabel.setFont(new Font("Arial", Font.BOLD, 12));
+        topPanel.add(nodesLabel);
+        
+        topPanel.add(new JSeparator(SwingConstants.VERTICAL));
+        
         // Prefix operations
         topPanel.add(new JLabel("Prefix:"));
         tfPrefix = new JTextField(10);
@@ -164,16 +218,19 @@ public class TrieVisualization extends JFrame implements ActionListener {
         
         // Utility buttons
         btnRandom = createStyledButton("Sample Words", new Color(184, 134, 11), 100);
+        btnDictionary = createStyledButton("Dictionary...", new Color(0, 128, 128), 100);
         btnClear = createStyledButton("Clear", new Color(255, 69, 0), 60);
         btnHelp = createStyledButton("Help", new Color(70, 130, 180), 60);
         btnBack = createStyledButton("← Back", new Color(105, 105, 105), 70);
         
         btnRandom.addActionListener(this);
+        btnDictionary.addActionListener(this);
         btnClear.addActionListener(this);
         btnHelp.addActionListener(this);
         btnBack.addActionListener(this);
         
         topPanel.add(btnRandom);
+        topPanel.add(btnDictionary);
         topPanel.add(btnClear);
         topPanel.add(btnHelp);
         topPanel.add(btnBack);
@@ -199,7 +256,7 @@ public class TrieVisualization extends JFrame implements ActionListener {
         
         // Right panel for autocomplete suggestions
         JPanel rightPanel = new JPanel(new BorderLayout());
-        rightPanel.setBorder(BorderFactory.createTitledBorder("Autocomplete Suggestions"));
+        rightPanel.setBorder(BorderFactory.createTitledBorder("Autocomplete (Top " + SUGGESTIONS + ")"));
         rightPanel.setPreferredSize(new Dimension(300, 200));
         
         suggestionModel = new DefaultListModel<>();
@@ -255,24 +312,51 @@ public class TrieVisualization extends JFrame implements ActionListener {
             return;
         }
         
-        word = word.toLowerCase().trim();
-        TrieNode current = root;
-        
-        logArea.append("Inserting word: '" + word + "'\n");
+        if (editable == null) {
+            JOptionPane.showMessageDialog(this, "The DAFSA is read-only. Switch to Trie or Radix to insert words.");
+            return;
+        }
         
-        for (char c : word.toCharArray()) {
-            if (!current.children.containsKey(c)) {
-                current.children.put(c, new TrieNode(c, current.level + 1));
-                logArea.append("  Created new node for character: " + c + "\n");
+        // "word weight" sets the weight too; a word inserted without one weighs 0
+        String[] parts = word.toLowerCase().trim().split("\\s+");
+        word = parts[0];
+        Integer weight = null;
+        if (parts.length > 1) {
+            try {
+                weight = parseWeight(parts[1]);
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(this, "The weight after the word must be " + WEIGHT_RANGE + "!");
+                return;
             }
-            current = current.children.get(c);
         }
         
-        if (current.isEndOfWord) {
-            logArea.append("  Word '" + word + "' already exists in trie\n");
-            statusLabel.setText("Word '" + word + "' already exists in the trie");
+        logArea.append("Inserting word: '" + word + "'" + (weight != null ? " with weight " + weight : "") + "\n");
+        
+        // New nodes hold the characters past the longest stored prefix; a radix trie may also
+        // split an edge there
+        int matched = trie.walk(word);
+        int nodesBefore = trie.nodeCount();
+        boolean added;
+        try {
+            added = weight != null ? editable.add(word, weight) : editable.add(word);
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, "Could not insert '" + word + "': " + ex.getMessage());
+            return;
+        }
+        
+        if (!added) {
+            if (weight != null) {
+                logArea.append("  Word '" + word + "' already exists, weight set to " + weight + "\n");
+                statusLabel.setText("Weight of '" + word + "' set to " + weight);
+            } else {
+                logArea.append("  Word '" + word + "' already exists in trie\n");
+                statusLabel.setText("Word '" + word + "' already exists in the trie");
+            }
         } else {
-            current.isEndOfWord = true;
+            int created = trie.nodeCount() - nodesBefore;
+            if (created > 0) {
+                logArea.append("  Created " + created + " new node(s) for '" + word.substring(matched) + "'\n");
+            }
             logArea.append("  Marked end of word for: " + word + "\n");
             statusLabel.setText("Successfully inserted '" + word + "' into the trie");
         }
@@ -291,30 +375,24 @@ public class TrieVisualization extends JFrame implements ActionListener {
         lastSearchedWord = word;
         resetNodeColors();
         
-        TrieNode current = root;
-        java.util.List<TrieNode> path = new ArrayList<>();
-        
         logArea.append("Searching for word: '" + word + "'\n");
         
-        for (char c : word.toCharArray()) {
-            if (!current.children.containsKey(c)) {
-                logArea.append("  Character '" + c + "' not found. Word does not exist.\n");
-                statusLabel.setText("Word '" + word + "' not found in the trie");
-                updateVisualization();
-                return false;
-            }
-            current = current.children.get(c);
-            path.add(current);
-            current.setColor(new Color(255, 255, 0)); // Yellow for search path
+        int matched = markWalk(word);
+        if (matched < word.length()) {
+            logArea.append("  Character '" + word.charAt(matched) + "' not found. Word does not exist.\n");
+            statusLabel.setText("Word '" + word + "' not found in the trie");
+            updateVisualization();
+            return false;
         }
+        int current = trie.pathNode(trie.pathLength() - 1);
         
-        boolean found = current.isEndOfWord;
+        boolean found = trie.contains(word);
         if (found) {
-            current.setColor(new Color(50, 205, 50)); // Green for found word
-            logArea.append("  Word '" + word + "' found in trie!\n");
+            marks[current] = MARK_FOUND;
+            logArea.append("  Word '" + word + "' found in trie! (weight " + trie.weightOf(word) + ")\n");
             statusLabel.setText("Word '" + word + "' found in the trie");
         } else {
-            current.setColor(new Color(255, 69, 0)); // Red for prefix only
+            marks[current] = MARK_PREFIX_ONLY;
             logArea.append("  Prefix '" + word + "' exists but not as complete word\n");
             statusLabel.setText("'" + word + "' exists as prefix but not as complete word");
         }
@@ -323,6 +401,70 @@ public class TrieVisualization extends JFrame implements ActionListener {
         return found;
     }
     
+    // Words within k edits: walk the trie with one edit-distance row per level and cut every
+    // branch whose row minimum exceeds k, then check every stored word the slow way to compare
+    private void fuzzySearch(String word) {
+        if (word == null || word.trim().isEmpty()) {
+            JOptionPane.showMessageDialog(this, "Please enter a valid word!");
+            return;
+        }
+        
+        word = word.toLowerCase().trim();
+        int k = (Integer) editsBox.getSelectedItem();
+        resetNodeColors();
+        
+        logArea.append("Fuzzy search for '" + word + "' within " + k + " edit(s)\n");
+        
+        java.util.List<String> matches = new ArrayList<>();
+        long start = System.nanoTime();
+        int count = fuzzy.search(trie, word, k, matches);
+        long walkMicros = (System.nanoTime() - start) / 1000;
+        
+        // Explored frontier: yellow where the walk went on, red where it was cut, green matches
+        int cut = 0;
+        for (int i = 0; i < fuzzy.visitedCount(); i++) {
+            if (fuzzy.wasCut(i)) {
+                marks[fuzzy.visitedNode(i)] = MARK_PREFIX_ONLY;
+                cut++;
+            } else {
+                marks[fuzzy.visitedNode(i)] = MARK_PATH;
+            }
+        }
+        for (String match : matches) {
+            trie.walk(match);
+            marks[trie.pathLength() == 0 ? StringTrie.ROOT : trie.pathNode(trie.pathLength() - 1)] = MARK_FOUND;
+        }
+        
+        // Baseline: the edit distance to every stored word
+        java.util.List<String> all = new ArrayList<>();
+        start = System.nanoTime();
+        trie.collect("", Integer.MAX_VALUE, all);
+        int bruteCount = 0;
+        for (String candidate : all) {
+            if (FuzzySearch.distance(candidate, word) <= k) bruteCount++;
+        }
+        long bruteMicros = (System.nanoTime() - start) / 1000;
+        
+        logArea.append("  Visited " + fuzzy.visitedCount() + " of " + trie.nodeCount() + " nodes (" + cut
+            + " cut off) in " + walkMicros + " µs\n");
+        logArea.append("  Brute force: " + all.size() + " words compared in " + bruteMicros + " µs, "
+            + bruteCount + " within " + k + "\n");
+        
+        // Closest first, also offered in the suggestion list
+        suggestionModel.clear();
+        for (int d = 0; d <= k; d++) {
+            for (int i = 0; i < count; i++) {
+                if (fuzzy.distance(i) != d) continue;
+                suggestionModel.addElement(matches.get(i));
+                logArea.append("    - " + matches.get(i) + " (" + d + " edit" + (d == 1 ? "" : "s") + ")\n");
+            }
+        }
+        
+        statusLabel.setText(count + " word(s) within " + k + " edit(s) of '" + word + "'; visited "
+            + fuzzy.visitedCount() + " of " + trie.nodeCount() + " nodes");
+        updateVisualization();
+    }
+    
     private void findPrefix() {
         String prefix = tfPrefix.getText();
         if (prefix == null || prefix.trim().isEmpty()) {
@@ -334,80 +476,221 @@ public class TrieVisualization extends JFrame implements ActionListener {
         lastSearchedPrefix = prefix;
         resetNodeColors();
         
-        TrieNode current = root;
-        
         logArea.append("Finding words with prefix: '" + prefix + "'\n");
         
         // Navigate to prefix node
-        for (char c : prefix.toCharArray()) {
-            if (!current.children.containsKey(c)) {
-                logArea.append("  Prefix '" + prefix + "' not found in trie\n");
-                statusLabel.setText("No words found with prefix '" + prefix + "'");
-                suggestionModel.clear();
-                updateVisualization();
-                return;
-            }
-            current = current.children.get(c);
-            current.setColor(new Color(255, 255, 0)); // Yellow for prefix path
+        if (markWalk(prefix) < prefix.length()) {
+            logArea.append("  Prefix '" + prefix + "' not found in trie\n");
+            statusLabel.setText("No words found with prefix '" + prefix + "'");
+            suggestionModel.clear();
+            updateVisualization();
+            return;
         }
+        int prefixNodes = trie.pathLength();
         
-        // Find all words with this prefix
+        // Only the best few completions: a bounded best-first search, not the whole subtree
         java.util.List<String> suggestions = new ArrayList<>();
-        findAllWordsWithPrefix(current, prefix, suggestions);
+        long start = System.nanoTime();
+        trie.topK(prefix, SUGGESTIONS, suggestions);
+        long micros = (System.nanoTime() - start) / 1000;
         
-        // Update suggestions list
         suggestionModel.clear();
         for (String suggestion : suggestions) {
             suggestionModel.addElement(suggestion);
         }
         
-        // Highlight prefix path and suggestions
-        highlightPrefixSuggestions(current, new Color(144, 238, 144)); // Light green
-        
-        logArea.append("  Found " + suggestions.size() + " words with prefix '" + prefix + "'\n");
+        // Highlight the paths from the prefix down to each suggestion
+        logArea.append("  Top " + suggestions.size() + " completions of '" + prefix + "' in " + micros + " µs:\n");
         for (String suggestion : suggestions) {
-            logArea.append("    - " + suggestion + "\n");
+            trie.walk(suggestion);
+            for (int i = prefixNodes; i < trie.pathLength(); i++) {
+                marks[trie.pathNode(i)] = MARK_SUGGESTION;
+            }
+            logArea.append("    - " + suggestion + " (" + trie.weightOf(suggestion) + ")\n");
         }
         
-        statusLabel.setText("Found " + suggestions.size() + " words with prefix '" + prefix + "'");
+        statusLabel.setText("Top " + suggestions.size() + " completions of '" + prefix + "' in " + micros + " µs");
         updateVisualization();
     }
     
-    private void findAllWordsWithPrefix(TrieNode node, String currentWord, java.util.List<String> results) {
-        if (node.isEndOfWord) {
-            results.add(currentWord);
+    private void deleteWord(String word) {
+        if (word == null || word.trim().isEmpty()) {
+            JOptionPane.showMessageDialog(this, "Please enter a valid word!");
+            return;
+        }
+        
+        if (editable == null) {
+            JOptionPane.showMessageDialog(this, "The DAFSA is read-only. Switch to Trie or Radix to delete words.");
+            return;
+        }
+        
+        word = word.toLowerCase().trim();
+        resetNodeColors();
+        int nodesBefore = trie.nodeCount();
+        
+        logArea.append("Deleting word: '" + word + "'\n");
+        if (editable.remove(word)) {
+            logArea.append("  Removed '" + word + "', freed " + (nodesBefore - trie.nodeCount()) + " nodes\n");
+            statusLabel.setText("Successfully deleted '" + word + "' from the trie");
+        } else {
+            logArea.append("  Word '" + word + "' is not in the trie\n");
+            statusLabel.setText("Word '" + word + "' not found in the trie");
+        }
+        
+        updateVisualization();
+        tfWord.setText("");
+    }
+    
+    // Walk s and mark the nodes entered; returns the number of characters matched
+    private int markWalk(String s) {
+        int matched = trie.walk(s);
+        for (int i = 0; i < trie.pathLength(); i++) {
+            marks[trie.pathNode(i)] = MARK_PATH;
+        }
+        return matched;
+    }
+    
+    // Move every word into the selected engine and re-layout with its node spacing; weights
+    // move too, except into the unweighted DAFSA
+    private void switchStructure() {
+        int structure = structureBox.getSelectedIndex();
+        if (keepTrie) return;
+        java.util.List<String> words = new ArrayList<>();
+        trie.collect("", Integer.MAX_VALUE, words);
+        int[] weights = new int[words.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = trie.weightOf(words.get(i));
         }
+        int nodesBefore = trie.nodeCount();
         
-        for (java.util.Map.Entry<Character, TrieNode> entry : node.children.entrySet()) {
-            findAllWordsWithPrefix(entry.getValue(), currentWord + entry.getKey(), results);
+        if (structure == DAFSA) {
+            Dafsa dictionary = Dafsa.fromSorted(new ArrayList<>());
+            dictionary.build(words);
+            setTrie(dictionary);
+        } else {
+            MutableStringTrie engine = structure == RADIX ? new RadixTrie() : new CompactTrie();
+            for (int i = 0; i < weights.length; i++) {
+                engine.add(words.get(i), weights[i]);
+            }
+            setTrie(engine);
         }
+        layout = new TreeLayout(structure == RADIX ? RADIX_SPACING : TRIE_SPACING);
+        marks = new byte[Math.max(64, trie.nodeCapacity() * 2)];
+        
+        logArea.append("Switched to " + STRUCTURES[structure] + ": " + words.size() + " words, "
+            + trie.nodeCount() + " nodes (was " + nodesBefore + ")\n");
+        statusLabel.setText(STRUCTURES[structure] + " mode: " + trie.nodeCount() + " nodes for " + words.size() + " words");
+        updateVisualization();
     }
     
-    private void highlightPrefixSuggestions(TrieNode prefixNode, Color color) {
-        highlightSubtree(prefixNode, color);
+    // In DAFSA mode build one from a sorted word file (and offer to save it); a saved .dafsa
+    // file is mapped in any mode; otherwise load a word list with optional weights into the
+    // current trie
+    private void loadDictionary() {
+        JFileChooser chooser = new JFileChooser();
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        String path = chooser.getSelectedFile().getPath();
+        if (!path.endsWith(".dafsa") && editable != null) {
+            loadWordList(path);
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            Dafsa dictionary;
+            if (path.endsWith(".dafsa")) {
+                dictionary = Dafsa.load(path);
+                logArea.append(String.format("Mapped %s: %,d words, %,d edges in %.1f ms%n", chooser.getSelectedFile().getName(),
+                    dictionary.size(), dictionary.edgeCount(), (System.nanoTime() - start) / 1e6));
+            } else {
+                dictionary = Dafsa.buildFromFile(path);
+                logArea.append(String.format("Built DAFSA from %s: %,d words, %,d edges (%,d KB) in %d ms%n",
+                    chooser.getSelectedFile().getName(), dictionary.size(), dictionary.edgeCount(),
+                    dictionary.memoryBytes() / 1024, (System.nanoTime() - start) / 1_000_000));
+                int save = JOptionPane.showConfirmDialog(this, "Save as " + path + ".dafsa so it can be memory-mapped next time?",
+                    "Save Dictionary", JOptionPane.YES_NO_OPTION);
+                if (save == JOptionPane.YES_OPTION) {
+                    dictionary.save(path + ".dafsa");
+                    logArea.append("  Saved " + path + ".dafsa\n");
+                }
+            }
+            setTrie(dictionary);
+            layout = new TreeLayout(TRIE_SPACING);
+            marks = new byte[Math.max(64, trie.nodeCapacity())];
+            keepTrie = true;
+            structureBox.setSelectedIndex(DAFSA);
+            keepTrie = false;
+            suggestionModel.clear();
+            statusLabel.setText("Dictionary loaded: " + dictionary.size() + " words (read-only)");
+            updateVisualization();
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(this, "Could not read file: " + ex.getMessage());
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage() + "\nThe word file must be sorted, one word per line.");
+        }
     }
     
-    private void highlightSubtree(TrieNode node, Color color) {
-        node.setColor(color);
-        for (TrieNode child : node.children.values()) {
-            highlightSubtree(child, color);
+    // Replace the words of the editable engine with a file of lines "word" or "word weight"
+    // (any whitespace between). The file goes into a fresh engine of the same kind, swapped in
+    // only once every line is read, so a bad file leaves the current words as they were.
+    private void loadWordList(String path) {
+        String name = Paths.get(path).getFileName().toString();
+        long start = System.nanoTime();
+        MutableStringTrie loaded = editable instanceof RadixTrie ? new RadixTrie() : new CompactTrie();
+        int lineNumber = 0;
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(path), StandardCharsets.UTF_8)) {
+            for (String line; (line = reader.readLine()) != null; ) {
+                lineNumber++;
+                String[] parts = line.trim().toLowerCase().split("\\s+");
+                if (parts[0].isEmpty()) continue;
+                loaded.add(parts[0], parts.length > 1 ? parseWeight(parts[1]) : 0);
+            }
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(this, "Could not read file: " + ex.getMessage() + "\nThe trie was not changed.");
+            return;
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Line " + lineNumber + " of " + name + ": the weight must be "
+                + WEIGHT_RANGE + ".\nThe trie was not changed.");
+            return;
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, "Line " + lineNumber + " of " + name + ": " + ex.getMessage()
+                + "\nThe trie was not changed.");
+            return;
         }
+        setTrie(loaded);
+        logArea.append(String.format("Loaded %s: %,d words, %,d nodes (%,d KB) in %d ms%n", name, trie.size(),
+            trie.nodeCount(), trie.memoryBytes() / 1024, (System.nanoTime() - start) / 1_000_000));
+        resetNodeColors();
+        suggestionModel.clear();
+        statusLabel.setText("Word list loaded: " + trie.size() + " words");
+        updateVisualization();
     }
     
-    private void resetNodeColors() {
-        resetNodeColorsRecursive(root);
+    // A weight is any int but NO_WEIGHT, which the engines keep to mark nodes that are not words
+    private static int parseWeight(String text) {
+        int weight = Integer.parseInt(text);
+        if (weight == StringTrie.NO_WEIGHT) throw new NumberFormatException(text + " is reserved");
+        return weight;
     }
     
-    private void resetNodeColorsRecursive(TrieNode node) {
-        node.setColor(new Color(173, 216, 230)); // Light blue
-        for (TrieNode child : node.children.values()) {
-            resetNodeColorsRecursive(child);
+    // Insert and Delete only work on an engine that takes single-word updates
+    private void setTrie(StringTrie engine) {
+        trie = engine;
+        editable = engine instanceof MutableStringTrie ? (MutableStringTrie) engine : null;
+        btnInsert.setEnabled(editable != null);
+        btnDelete.setEnabled(editable != null);
+    }
+    
+    private void resetNodeColors() {
+        if (marks.length < trie.nodeCapacity()) {
+            marks = new byte[trie.nodeCapacity() * 2];
+        } else {
+            Arrays.fill(marks, MARK_NONE);
         }
     }
     
     private void clearTrie() {
-        root = new TrieNode(' ', 0);
-        nodeDisplays.clear();
+        trie.clear();
+        resetNodeColors();
         suggestionModel.clear();
         logArea.append("Trie cleared\n");
         statusLabel.setText("Trie cleared. Ready for new words.");
@@ -417,9 +700,16 @@ public class TrieVisualization extends JFrame implements ActionListener {
     private void insertSampleWords() {
         String[] sampleWords = {"cat", "car", "card", "care", "careful", "cars", 
                                "dog", "dodge", "door", "doors", "tree", "try", "trying"};
+        // Made-up frequency scores for the autocomplete ranking
+        int[] sampleWeights = {80, 95, 40, 60, 35, 50, 90, 15, 70, 20, 55, 85, 45};
         
-        for (String word : sampleWords) {
-            insertWordSilent(word);
+        if (editable == null) {
+            trie.build(Arrays.asList(sampleWords));
+        } else {
+            editable.clear();
+            for (int i = 0; i < sampleWords.length; i++) {
+                editable.add(sampleWords[i], sampleWeights[i]);
+            }
         }
         
         logArea.append("Inserted sample words: " + String.join(", ", sampleWords) + "\n");
@@ -427,73 +717,65 @@ public class TrieVisualization extends JFrame implements ActionListener {
         updateVisualization();
     }
     
-    private void insertWordSilent(String word) {
-        if (word == null || word.trim().isEmpty()) return;
-        
-        word = word.toLowerCase().trim();
-        TrieNode current = root;
-        
-        for (char c : word.toCharArray()) {
-            if (!current.children.containsKey(c)) {
-                current.children.put(c, new TrieNode(c, current.level + 1));
-            }
-            current = current.children.get(c);
-        }
-        
-        current.isEndOfWord = true;
-    }
-    
     private void updateVisualization() {
-        nodeDisplays.clear();
+        // New nodes start unmarked
+        if (marks.length < trie.nodeCapacity()) {
+            marks = Arrays.copyOf(marks, trie.nodeCapacity() * 2);
+        }
         calculateNodePositions();
+        nodesLabel.setText("Nodes: " + trie.nodeCount() + "  (" + trie.memoryBytes() / 1024 + " KB)");
         visualPanel.repaint();
     }
     
     private void calculateNodePositions() {
-        int panelWidth = visualPanel.getWidth() > 0 ? visualPanel.getWidth() : 1200;
-        int startX = panelWidth / 2;
-        int startY = 50;
-        
-        if (root.children.isEmpty()) return;
-        
-        // Calculate positions using level-order traversal
-        java.util.Queue<TrieNode> queue = new LinkedList<>();
-        java.util.Queue<Integer> xPositions = new LinkedList<>();
-        java.util.Queue<Integer> yPositions = new LinkedList<>();
-        
-        // Add root children to start
-        int childCount = root.children.size();
-        int spacing = Math.max(50, panelWidth / (childCount + 1));
-        int currentX = startX - (childCount - 1) * spacing / 2;
-        
-        for (TrieNode child : root.children.values()) {
-            queue.offer(child);
-            xPositions.offer(currentX);
-            yPositions.offer(startY);
-            currentX += spacing;
-        }
-        
-        while (!queue.isEmpty()) {
-            TrieNode current = queue.poll();
-            int x = xPositions.poll();
-            int y = yPositions.poll();
-            
-            nodeDisplays.put(current, new NodeDisplay(current, x, y));
-            
-            // Add children
-            if (!current.children.isEmpty()) {
-                int numChildren = current.children.size();
-                int childSpacing = Math.max(40, spacing / 2);
-                int childStartX = x - (numChildren - 1) * childSpacing / 2;
-                
-                for (TrieNode child : current.children.values()) {
-                    queue.offer(child);
-                    xPositions.offer(childStartX);
-                    yPositions.offer(y + 80);
-                    childStartX += childSpacing;
+        // Number the nodes level by level, using the node array itself as the queue
+        layoutCount = 0;
+        addLayoutNode(StringTrie.ROOT, "");
+        for (int i = 0; i < layoutCount; i++) {
+            int previous = TreeLayout.NIL;
+            int node = layoutNodes[i];
+            for (int c = 0, n = trie.childCount(node); c < n && layoutCount < MAX_DRAWN_NODES; c++) {
+                int id = addLayoutNode(trie.childAt(node, c), trie.childLabel(node, c));
+                if (previous == TreeLayout.NIL) {
+                    firstChild[i] = id;
+                } else {
+                    nextSibling[previous] = id;
                 }
+                previous = id;
             }
         }
+        layout.layout(layoutTree);
+        
+        // Center the tree; the root itself is not drawn
+        int width = 0;
+        for (int i = 1; i < layoutCount; i++) {
+            width = Math.max(width, layout.x(i));
+        }
+        int panelWidth = visualPanel.getWidth() > 0 ? visualPanel.getWidth() : 1200;
+        layoutLeft = Math.max(NODE_SIZE, (panelWidth - width) / 2);
+    }
+    
+    private int addLayoutNode(int node, String label) {
+        if (layoutCount == layoutNodes.length) {
+            layoutNodes = Arrays.copyOf(layoutNodes, layoutCount * 2);
+            layoutLabels = Arrays.copyOf(layoutLabels, layoutCount * 2);
+            firstChild = Arrays.copyOf(firstChild, layoutCount * 2);
+            nextSibling = Arrays.copyOf(nextSibling, layoutCount * 2);
+        }
+        layoutNodes[layoutCount] = node;
+        layoutLabels[layoutCount] = label;
+        firstChild[layoutCount] = TreeLayout.NIL;
+        nextSibling[layoutCount] = TreeLayout.NIL;
+        return layoutCount++;
+    }
+    
+    // Top-left corner of a node's circle
+    private int nodeX(int id) {
+        return layoutLeft + layout.x(id) - NODE_SIZE / 2;
+    }
+    
+    private int nodeY(int id) {
+        return 50 + (layout.depth(id) - 1) * 80;
     }
     
     private void drawTrie(Graphics g) {
@@ -504,8 +786,14 @@ public class TrieVisualization extends JFrame implements ActionListener {
         drawConnections(g2);
         
         // Draw nodes
-        for (NodeDisplay display : nodeDisplays.values()) {
-            drawNode(g2, display);
+        for (int id = 1; id < layoutCount; id++) {
+            drawNode(g2, id);
+        }
+        
+        if (layoutCount == MAX_DRAWN_NODES) {
+            g2.setColor(Color.DARK_GRAY);
+            g2.setFont(new Font("Arial", Font.ITALIC, 12));
+            g2.drawString("Showing the top " + MAX_DRAWN_NODES + " nodes; search and prefix work on the whole trie", 10, 20);
         }
     }
     
@@ -513,47 +801,76 @@ public class TrieVisualization extends JFrame implements ActionListener {
         g2.setStroke(new BasicStroke(2.0f));
         g2.setColor(Color.GRAY);
         
-        for (NodeDisplay parentDisplay : nodeDisplays.values()) {
-            TrieNode parent = parentDisplay.node;
-            for (TrieNode child : parent.children.values()) {
-                NodeDisplay childDisplay = nodeDisplays.get(child);
-                if (childDisplay != null) {
-                    g2.drawLine(
-                        parentDisplay.x + parentDisplay.width / 2,
-                        parentDisplay.y + parentDisplay.height,
-                        childDisplay.x + childDisplay.width / 2,
-                        childDisplay.y
-                    );
-                }
+        for (int parent = 1; parent < layoutCount; parent++) {
+            for (int child = firstChild[parent]; child != TreeLayout.NIL; child = nextSibling[child]) {
+                g2.drawLine(
+                    nodeX(parent) + NODE_SIZE / 2,
+                    nodeY(parent) + NODE_SIZE,
+                    nodeX(child) + NODE_SIZE / 2,
+                    nodeY(child)
+                );
             }
         }
     }
     
-    private void drawNode(Graphics2D g2, NodeDisplay display) {
-        TrieNode node = display.node;
+    private void drawNode(Graphics2D g2, int id) {
+        int node = layoutNodes[id];
+        int x = nodeX(id), y = nodeY(id);
+        g2.setFont(new Font("Arial", Font.BOLD, 14));
+        FontMetrics fm = g2.getFontMetrics();
+        
+        // A single character sits in a circle; a radix edge label in a box as wide as it needs,
+        // shortened if it would run into the next node
+        String text = layoutLabels[id];
+        int width = NODE_SIZE;
+        if (text.length() > 1) {
+            int room = RADIX_SPACING - 6;
+            if (fm.stringWidth(text) + 12 > room) {
+                while (text.length() > 1 && fm.stringWidth(text + "..") + 12 > room) {
+                    text = text.substring(0, text.length() - 1);
+                }
+                text += "..";
+            }
+            width = Math.max(NODE_SIZE, fm.stringWidth(text) + 12);
+            x += (NODE_SIZE - width) / 2;
+        }
         
-        // Draw node circle
-        g2.setColor(node.color);
-        g2.fillOval(display.x, display.y, display.width, display.height);
+        // Draw node shape
+        g2.setColor(MARK_COLORS[marks[node]]);
+        if (width == NODE_SIZE) {
+            g2.fillOval(x, y, NODE_SIZE, NODE_SIZE);
+        } else {
+            g2.fillRoundRect(x, y, width, NODE_SIZE, NODE_SIZE, NODE_SIZE);
+        }
         
         // Draw border (thicker for end-of-word nodes)
-        if (node.isEndOfWord) {
+        if (trie.isWord(node)) {
             g2.setStroke(new BasicStroke(3.0f));
             g2.setColor(Color.BLACK);
         } else {
             g2.setStroke(new BasicStroke(1.0f));
             g2.setColor(Color.DARK_GRAY);
         }
-        g2.drawOval(display.x, display.y, display.width, display.height);
+        if (width == NODE_SIZE) {
+            g2.drawOval(x, y, NODE_SIZE, NODE_SIZE);
+        } else {
+            g2.drawRoundRect(x, y, width, NODE_SIZE, NODE_SIZE, NODE_SIZE);
+        }
         
-        // Draw character
+        // Draw label
         g2.setColor(Color.BLACK);
-        g2.setFont(new Font("Arial", Font.BOLD, 14));
-        FontMetrics fm = g2.getFontMetrics();
-        String text = String.valueOf(node.character);
-        int textX = display.x + (display.width - fm.stringWidth(text)) / 2;
-        int textY = display.y + (display.height + fm.getAscent()) / 2;
+        int textX = x + (width - fm.stringWidth(text)) / 2;
+        int textY = y + (NODE_SIZE + fm.getAscent()) / 2;
         g2.drawString(text, textX, textY);
+        
+        // Word weight under the node
+        int weight = trie.weight(node);
+        if (weight != 0) {
+            g2.setFont(new Font("Arial", Font.PLAIN, 10));
+            g2.setColor(Color.DARK_GRAY);
+            String label = String.valueOf(weight);
+            g2.drawString(label, x + (width - g2.getFontMetrics().stringWidth(label)) / 2, y + NODE_SIZE + 11);
+        }
     }
     
     @Override
@@ -565,10 +882,16 @@ public class TrieVisualization extends JFrame implements ActionListener {
             insertWord(tfWord.getText());
         } else if (e.getSource() == btnSearch) {
             searchWord(tfWord.getText());
+        } else if (e.getSource() == btnFuzzy) {
+            fuzzySearch(tfWord.getText());
+        } else if (e.getSource() == btnDelete) {
+            deleteWord(tfWord.getText());
         } else if (e.getSource() == btnPrefix) {
             findPrefix();
         } else if (e.getSource() == btnClear) {
             clearTrie();
+        } else if (e.getSource() == btnDictionary) {
+            loadDictionary();
         } else if (e.getSource() == btnRandom) {
             clearTrie();
             insertSampleWords();
@@ -585,28 +908,53 @@ public class TrieVisualization extends JFrame implements ActionListener {
             "It's particularly useful for autocomplete, spell checkers, and prefix matching.</p>" +
             "<h3>Operations:</h3>" +
             "<ul>" +
-            "<li><b>Insert:</b> Add a word to the trie</li>" +
+            "<li><b>Insert:</b> Add a word to the trie; \"word 40\" also gives it weight 40 " +
+            "(or re-weights it)</li>" +
             "<li><b>Search:</b> Check if a word exists in the trie</li>" +
+            "<li><b>Fuzzy:</b> Find words within 1-3 edits (insert, delete or change a letter); " +
+            "the walk is shown in yellow, branches it cut off in red</li>" +
             "<li><b>Delete:</b> Remove a word from the trie</li>" +
-            "<li><b>Find Prefix:</b> Find all words starting with given prefix</li>" +
+            "<li><b>Find Prefix:</b> The " + SUGGESTIONS + " highest-weighted words starting with the prefix</li>" +
             "</ul>" +
             "<h3>Visual Elements:</h3>" +
             "<ul>" +
             "<li><b>Circle Nodes:</b> Each character in the trie</li>" +
             "<li><b>Thick Border:</b> End of word marker</li>" +
             "<li><b>Yellow Path:</b> Search/prefix path</li>" +
-            "<li><b>Green Highlight:</b> Found words/suggestions</li>" +
-            "<li><b>Red Highlight:</b> Prefix exists but not complete word</li>" +
+            "<li><b>Green Highlight:</b> Found word / paths to the suggestions</li>" +
+            "<li><b>Number Below:</b> Word weight</li>" +
+            "<li><b>Red Highlight:</b> Prefix exists but not complete word / branch cut off by fuzzy search</li>" +
             "</ul>" +
             "<h3>Time Complexity:</h3>" +
             "<ul>" +
             "<li><b>Insert/Search/Delete:</b> O(m) where m = word length</li>" +
-            "<li><b>Prefix Search:</b> O(p + n) where p = prefix length, n = results</li>" +
+            "<li><b>Fuzzy Search:</b> One edit-distance row per level, shared by all words below; " +
+            "a branch stops once every entry of its row is over k</li>" +
+            "<li><b>Top-K:</b> Every node keeps the best weight below it, so a best-first search " +
+            "opens about k * depth nodes, however many words share the prefix</li>" +
             "</ul>" +
             "<h3>Space Complexity:</h3>" +
             "<ul>" +
-            "<li><b>Storage:</b> O(ALPHABET_SIZE * N * M) worst case</li>" +
+            "<li><b>Storage:</b> One node per distinct prefix, O(N * M) worst case</li>" +
             "<li><b>Typical:</b> Much better due to shared prefixes</li>" +
+            "<li><b>Children:</b> A small array up to 4 children, a bitmap-indexed array above, " +
+            "so a leaf costs a few bytes instead of a hash map</li>" +
+            "</ul>" +
+            "<h3>Radix Mode:</h3>" +
+            "<ul>" +
+            "<li>Chains of single-child nodes become one edge labelled with the whole run</li>" +
+            "<li>Insert splits an edge where a new word leaves it; delete merges it back</li>" +
+            "<li>Nodes only where words branch or end, so far fewer nodes to store and draw</li>" +
+            "</ul>" +
+            "<h3>DAFSA Mode:</h3>" +
+            "<ul>" +
+            "<li>A minimal automaton: shared suffixes are stored once, like shared prefixes</li>" +
+            "<li>Read-only: Insert and Delete are off; switching rebuilds it from all words</li>" +
+            "<li>Unweighted: autocomplete lists the shortest completions first</li>" +
+            "<li><b>Dictionary...:</b> build one from a sorted word file (one word per line) and " +
+            "save it as .dafsa, or open a .dafsa file, which is memory-mapped instead of parsed</li>" +
+            "<li>In Trie or Radix mode <b>Dictionary...</b> loads a word list instead, " +
+            "one \"word\" or \"word weight\" per line</li>" +
             "</ul>" +
             "</body></html>";
         